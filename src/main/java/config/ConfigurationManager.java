@@ -9,6 +9,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
+import java.util.Set;
 
 public class ConfigurationManager {
 
@@ -75,9 +76,21 @@ public class ConfigurationManager {
         return value.trim();
     }
 
+    public static boolean hasProperty(String key) {
+        String value = properties.getProperty(key);
+        return value != null && !value.trim().isEmpty();
+    }
+
+    public static Set<String> keys() {
+        return properties.stringPropertyNames();
+    }
+
     public static String getProperty(String key, String defaultValue) {
-        String value = getProperty(key);
-        return (value == null || value.isEmpty()) ? defaultValue : value;
+        return hasProperty(key) ? properties.getProperty(key).trim() : defaultValue;
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        return hasProperty(key) ? getInt(key) : defaultValue;
     }
 
     public static String requireProperty(String key) {
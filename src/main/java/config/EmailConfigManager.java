@@ -1,11 +1,15 @@
 package config;
 
+import helpers.LoggerHelper;
+import org.slf4j.Logger;
+
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
 
 public class EmailConfigManager {
+    private static final Logger logger = LoggerHelper.getLogger(EmailConfigManager.class);
     private static Properties properties = new Properties();
 
     static {
@@ -15,15 +19,23 @@ public class EmailConfigManager {
     public static void loadProperties() {
         try (InputStream input = new FileInputStream("src/main/resources/email.properties")) {
             properties.load(input);
-            System.out.println("✅ Reloaded email.properties.");
+            logger.info("✅ Reloaded email.properties.");
         } catch (IOException e) {
-            System.err.println("❌ Failed to load email.properties: " + e.getMessage());
+            logger.error("❌ Failed to load email.properties: {}", e.getMessage());
         }
     }
 
+    /**
+     * Reads {@code key}; a system property of the same name wins, so a run can point at another SMTP server.
+     */
     public static String get(String key) {
-        String value = properties.getProperty(key);
-        System.out.println("🔍 config[" + key + "] = '" + value + "'");
+        String value = System.getProperty(key, properties.getProperty(key));
+        logger.debug("🔍 config[{}] = '{}'", key, key.contains("password") ? "****" : value);
         return value;
     }
+
+    public static String get(String key, String defaultValue) {
+        String value = get(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
 }
\ No newline at end of file
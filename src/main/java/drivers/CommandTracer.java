@@ -0,0 +1,367 @@
+package drivers;
+
+import config.ConfigurationManager;
+import helpers.LatencyHistogram;
+import helpers.LoggerHelper;
+import helpers.StepContext;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Where scenario time goes, command by command: every Appium command passing through
+ * {@link RecordingCommandExecutor} is timed into a per-command {@link LatencyHistogram} and charged to the
+ * Cucumber step running on its thread.
+ * <p>
+ * Commands are split into <b>act</b> (taps, typing, gestures, app control, session commands) and <b>query</b>
+ * (finds, reads, page sources, screenshots). Step time not spent in any command is <b>idle</b>: polling sleeps
+ * and client-side work. Waits are queries repeated with idle time in between, so query + idle is the time a
+ * step spends waiting.
+ * <p>
+ * {@code hooks.StepEventsPlugin} reports the step boundaries; time outside steps is charged to
+ * {@link StepContext#NO_STEP}. {@link #report()} logs the summary at suite end and writes the full tables
+ * (slowest commands, round trips per step, locators with the most failed finds) to {@code commandTracer.report}.
+ */
+public final class CommandTracer {
+
+    private static final Logger logger = LoggerHelper.getLogger(CommandTracer.class);
+
+    private static final boolean enabled =
+            Boolean.parseBoolean(ConfigurationManager.getProperty("commandTracer.enabled", "true"));
+    private static final int top = ConfigurationManager.getInt("commandTracer.top", 15);
+    private static final Path reportFile =
+            Paths.get(ConfigurationManager.getProperty("commandTracer.report", "target/command-trace.txt"));
+
+    private static final int MAX_DETAIL_LENGTH = 120;
+
+    // Read-only commands; anything else (session commands included) is an action
+    private static final Set<String> QUERY = Set.of(
+            DriverCommand.FIND_ELEMENT, DriverCommand.FIND_ELEMENTS,
+            DriverCommand.FIND_CHILD_ELEMENT, DriverCommand.FIND_CHILD_ELEMENTS,
+            DriverCommand.GET_PAGE_SOURCE, DriverCommand.SCREENSHOT, DriverCommand.ELEMENT_SCREENSHOT,
+            DriverCommand.IS_ELEMENT_DISPLAYED, DriverCommand.IS_ELEMENT_ENABLED, DriverCommand.IS_ELEMENT_SELECTED,
+            DriverCommand.GET_ELEMENT_TEXT, DriverCommand.GET_ELEMENT_ATTRIBUTE, DriverCommand.GET_ELEMENT_RECT,
+            DriverCommand.GET_ELEMENT_LOCATION, DriverCommand.GET_ELEMENT_SIZE, DriverCommand.GET_ELEMENT_TAG_NAME,
+            DriverCommand.GET_TIMEOUTS,
+            // Appium
+            "getCurrentPackage", "currentActivity", "queryAppState", "isKeyboardShown");
+    private static final Set<String> FINDS = Set.of(
+            DriverCommand.FIND_ELEMENT, DriverCommand.FIND_ELEMENTS,
+            DriverCommand.FIND_CHILD_ELEMENT, DriverCommand.FIND_CHILD_ELEMENTS);
+
+    private static final Map<String, CommandStats> commands = new ConcurrentHashMap<>();
+    private static final Map<String, StepStats> steps = new ConcurrentHashMap<>();
+    private static final Map<String, long[]> locators = new ConcurrentHashMap<>();
+    private static final PriorityQueue<SlowCommand> slowest = new PriorityQueue<>(Comparator.comparingLong(s -> s.micros));
+    private static volatile long slowestThreshold;
+
+    // The step (or hook stretch) running on this thread; null outside scenarios
+    private static final ThreadLocal<Tally> current = new ThreadLocal<>();
+    private static final ThreadLocal<Tally> scenario = new ThreadLocal<>();
+
+    private CommandTracer() {
+    }
+
+    private static final class CommandStats {
+        final boolean query;
+        final LatencyHistogram histogram = new LatencyHistogram();
+        long failures;
+
+        CommandStats(String name) {
+            this.query = QUERY.contains(name);
+        }
+    }
+
+    private static final class StepStats {
+        long runs;
+        long commands;
+        long actMicros;
+        long queryMicros;
+        long wallMicros;
+    }
+
+    /**
+     * Commands and command time of one step (or hook stretch, or whole scenario) on one thread.
+     */
+    private static final class Tally {
+        final String label;
+        final long startNanos = System.nanoTime();
+        long commands;
+        long actMicros;
+        long queryMicros;
+
+        Tally(String label) {
+            this.label = label;
+        }
+
+        void add(Tally other) {
+            commands += other.commands;
+            actMicros += other.actMicros;
+            queryMicros += other.queryMicros;
+        }
+    }
+
+    private static final class SlowCommand {
+        final long micros;
+        final String line;
+
+        SlowCommand(long micros, String line) {
+            this.micros = micros;
+            this.line = line;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    // === Step boundaries ===
+
+    public static void scenarioStarted(String name) {
+        scenario.set(new Tally(name));
+        current.set(new Tally(StepContext.NO_STEP));
+    }
+
+    public static void stepStarted(String text) {
+        fold();
+        current.set(new Tally(text));
+    }
+
+    public static void stepFinished() {
+        fold();
+        current.set(new Tally(StepContext.NO_STEP));
+    }
+
+    /**
+     * Closes the scenario on this thread and logs where its time went.
+     */
+    public static void scenarioFinished() {
+        fold();
+        current.remove();
+        Tally total = scenario.get();
+        scenario.remove();
+        if (total == null || total.commands == 0) {
+            return;
+        }
+        long wallMicros = (System.nanoTime() - total.startNanos) / 1000;
+        logger.info("🛰️ '{}': {} round trip(s), act {} ms, query {} ms, idle {} ms of {} ms", total.label, total.commands,
+                total.actMicros / 1000, total.queryMicros / 1000, idleMicros(wallMicros, total) / 1000, wallMicros / 1000);
+    }
+
+    private static void fold() {
+        Tally tally = current.get();
+        if (tally == null) {
+            return;
+        }
+        long wallMicros = (System.nanoTime() - tally.startNanos) / 1000;
+        StepStats stats = steps.computeIfAbsent(tally.label, k -> new StepStats());
+        synchronized (stats) {
+            stats.runs++;
+            stats.commands += tally.commands;
+            stats.actMicros += tally.actMicros;
+            stats.queryMicros += tally.queryMicros;
+            stats.wallMicros += wallMicros;
+        }
+        Tally total = scenario.get();
+        if (total != null) {
+            total.add(tally);
+        }
+    }
+
+    // === Recording ===
+
+    /**
+     * Records one remote command; called by {@link RecordingCommandExecutor} on the thread that sent it.
+     */
+    static void record(Command command, Response response, RuntimeException failure, long nanos) {
+        long micros = nanos / 1000;
+        String name = command.getName();
+        boolean failed = failure != null || (response != null && response.getStatus() != null && response.getStatus() != 0);
+
+        CommandStats stats = commands.computeIfAbsent(name, CommandStats::new);
+        synchronized (stats) {
+            stats.histogram.record(micros);
+            if (failed) {
+                stats.failures++;
+            }
+        }
+
+        Tally tally = current.get();
+        if (tally != null) {
+            tally.commands++;
+            if (stats.query) {
+                tally.queryMicros += micros;
+            } else {
+                tally.actMicros += micros;
+            }
+        }
+
+        if (FINDS.contains(name)) {
+            recordFind(command, response, failed, micros);
+        }
+        if (micros > slowestThreshold) {
+            recordSlow(command, failed, micros);
+        }
+    }
+
+    private static void recordFind(Command command, Response response, boolean failed, long micros) {
+        Map<String, ?> parameters = command.getParameters();
+        if (parameters == null || parameters.get("value") == null) {
+            return;
+        }
+        String locator = parameters.get("using") + "=" + parameters.get("value");
+        boolean empty = !failed && response != null && response.getValue() instanceof Collection
+                && ((Collection<?>) response.getValue()).isEmpty();
+        // {finds, failed findElement, empty findElements, micros spent on misses}
+        long[] counts = locators.computeIfAbsent(locator, k -> new long[4]);
+        synchronized (counts) {
+            counts[0]++;
+            if (failed) {
+                counts[1]++;
+            }
+            if (empty) {
+                counts[2]++;
+            }
+            if (failed || empty) {
+                counts[3] += micros;
+            }
+        }
+    }
+
+    private static void recordSlow(Command command, boolean failed, long micros) {
+        String detail = describe(command);
+        Tally total = scenario.get();
+        Tally tally = current.get();
+        String line = String.format("%8d ms  %s%s%s  ← %s / %s", micros / 1000, command.getName(), detail == null ? "" : " " + detail,
+                failed ? " ❌" : "", total != null ? total.label : "-", tally != null ? tally.label : StepContext.NO_STEP);
+        synchronized (slowest) {
+            slowest.add(new SlowCommand(micros, line));
+            if (slowest.size() > top) {
+                slowest.poll();
+                slowestThreshold = slowest.peek().micros;
+            }
+        }
+    }
+
+    /**
+     * @return the command's parameters, shortened for reports, or null if it has none
+     */
+    static String describe(Command command) {
+        if (command.getParameters() == null || command.getParameters().isEmpty()) {
+            return null;
+        }
+        String detail = command.getParameters().toString();
+        return detail.length() > MAX_DETAIL_LENGTH ? detail.substring(0, MAX_DETAIL_LENGTH) + "…" : detail;
+    }
+
+    // === Report ===
+
+    /**
+     * Logs the headline numbers and writes the full tables to {@code commandTracer.report}.
+     */
+    public static void report() {
+        if (!enabled || commands.isEmpty()) {
+            return;
+        }
+        String nl = System.lineSeparator();
+        StringBuilder sb = new StringBuilder();
+
+        LatencyHistogram all = new LatencyHistogram();
+        long actMicros = 0;
+        long queryMicros = 0;
+        long failures = 0;
+        for (CommandStats stats : commands.values()) {
+            synchronized (stats) {
+                all.add(stats.histogram);
+                failures += stats.failures;
+                if (stats.query) {
+                    queryMicros += stats.histogram.totalMicros();
+                } else {
+                    actMicros += stats.histogram.totalMicros();
+                }
+            }
+        }
+        String headline = String.format("🛰️ Appium commands: %d round trip(s), %d failed, %d ms total (act %d ms, query %d ms), p50/p95/p99 %d/%d/%d ms",
+                all.count(), failures, all.totalMicros() / 1000, actMicros / 1000, queryMicros / 1000,
+                all.percentileMicros(50) / 1000, all.percentileMicros(95) / 1000, all.percentileMicros(99) / 1000);
+        sb.append(headline).append(nl);
+
+        sb.append(nl).append("== Commands by total time ==").append(nl);
+        sb.append(String.format("%-28s %5s %7s %9s %8s %8s %8s %8s %6s%n", "command", "kind", "count", "total ms", "p50 ms", "p95 ms", "p99 ms", "max ms", "failed"));
+        sortedBy(commands, s -> s.histogram.totalMicros()).stream().limit(top).forEach(e -> {
+            CommandStats s = e.getValue();
+            synchronized (s) {
+                LatencyHistogram h = s.histogram;
+                sb.append(String.format("%-28s %5s %7d %9d %8d %8d %8d %8d %6d%n", e.getKey(), s.query ? "query" : "act", h.count(),
+                        h.totalMicros() / 1000, h.percentileMicros(50) / 1000, h.percentileMicros(95) / 1000,
+                        h.percentileMicros(99) / 1000, h.maxMicros() / 1000, s.failures));
+            }
+        });
+
+        sb.append(nl).append("== Slowest single commands ==").append(nl);
+        List<SlowCommand> slow;
+        synchronized (slowest) {
+            slow = new ArrayList<>(slowest);
+        }
+        slow.sort(Comparator.comparingLong((SlowCommand s) -> s.micros).reversed());
+        slow.forEach(s -> sb.append(s.line).append(nl));
+
+        sb.append(nl).append("== Steps by total time (per run; waiting ≈ query + idle) ==").append(nl);
+        sb.append(String.format("%6s %9s %9s %8s %8s %8s  %s%n", "runs", "trips/run", "wall ms", "act ms", "query ms", "idle ms", "step"));
+        sortedBy(steps, s -> s.wallMicros).stream().limit(top * 2L).forEach(e -> {
+            StepStats s = e.getValue();
+            synchronized (s) {
+                long idle = Math.max(0, s.wallMicros - s.actMicros - s.queryMicros);
+                sb.append(String.format("%6d %9.1f %9d %8d %8d %8d  %s%n", s.runs, (double) s.commands / s.runs, s.wallMicros / 1000 / s.runs,
+                        s.actMicros / 1000 / s.runs, s.queryMicros / 1000 / s.runs, idle / 1000 / s.runs, e.getKey()));
+            }
+        });
+
+        sb.append(nl).append("== Locators with the most failed finds ==").append(nl);
+        sb.append(String.format("%7s %7s %7s %9s  %s%n", "finds", "failed", "empty", "miss ms", "locator"));
+        List<Map.Entry<String, long[]>> missed = sortedBy(locators, c -> c[1] + c[2]);
+        missed.stream().filter(e -> e.getValue()[1] + e.getValue()[2] > 0).limit(top).forEach(e -> {
+            long[] c = e.getValue();
+            sb.append(String.format("%7d %7d %7d %9d  %s%n", c[0], c[1], c[2], c[3] / 1000, e.getKey()));
+        });
+
+        logger.info(headline);
+        try {
+            Files.createDirectories(reportFile.toAbsolutePath().getParent());
+            Files.write(reportFile, sb.toString().getBytes(StandardCharsets.UTF_8));
+            logger.info("🛰️ Command trace written to {}", reportFile);
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not write command trace to {}: {}", reportFile, e.getMessage());
+        }
+    }
+
+    private static <T> List<Map.Entry<String, T>> sortedBy(Map<String, T> map, ToLongFunction<T> key) {
+        List<Map.Entry<String, T>> entries = new ArrayList<>(map.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, T> e) -> {
+            synchronized (e.getValue()) {
+                return key.applyAsLong(e.getValue());
+            }
+        }).reversed());
+        return entries;
+    }
+
+    private static long idleMicros(long wallMicros, Tally tally) {
+        return Math.max(0, wallMicros - tally.actMicros - tally.queryMicros);
+    }
+}
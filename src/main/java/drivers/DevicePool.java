@@ -0,0 +1,177 @@
+package drivers;
+
+import config.ConfigurationManager;
+import helpers.LoggerHelper;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of devices that TestNG worker threads lease for the lifetime of their Appium session.
+ * <p>
+ * Devices are declared in config.properties as {@code device.N.udid}, {@code device.N.deviceName},
+ * {@code device.N.platformVersion}, {@code device.N.systemPort} and {@code device.N.appiumServerURL}
+ * (N = 1, 2, ...). When no {@code device.1.udid} is configured the single device from the
+ * top-level {@code udid}/{@code deviceName} keys is used, so serial runs behave as before.
+ * <p>
+ * A lease is sticky per thread: a thread keeps its device while its session is alive and returns it
+ * once the session has been torn down, so two sessions never share a device.
+ */
+public class DevicePool {
+
+    private static final Logger logger = LoggerHelper.getLogger(DevicePool.class);
+    private static final int MAX_DEVICES = 32;
+
+    private static final List<DeviceProfile> devices = Collections.unmodifiableList(loadDevices());
+    private static final BlockingQueue<DeviceProfile> available = new LinkedBlockingQueue<>(devices);
+    private static final ThreadLocal<DeviceProfile> currentLease = new ThreadLocal<>();
+    private static final ThreadLocal<Long> leaseStartedAt = new ThreadLocal<>();
+
+    private static final long leaseTimeoutSeconds = ConfigurationManager.getInt("device.pool.leaseTimeoutSeconds", 900);
+
+    // === Lease statistics ===
+    private static final AtomicLong leaseCount = new AtomicLong();
+    private static final AtomicLong totalWaitMs = new AtomicLong();
+    private static final AtomicLong maxWaitMs = new AtomicLong();
+    private static final Map<String, AtomicLong> heldMsByDevice = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> leasesByDevice = new ConcurrentHashMap<>();
+    private static final long createdAt = System.currentTimeMillis();
+
+    private DevicePool() {
+    }
+
+    public static int size() {
+        return devices.size();
+    }
+
+    public static List<DeviceProfile> getDevices() {
+        return devices;
+    }
+
+    /**
+     * Returns the device leased by the current thread, leasing a free one if necessary.
+     * Blocks until a device becomes available or {@code device.pool.leaseTimeoutSeconds} elapses.
+     */
+    public static DeviceProfile acquire() {
+        DeviceProfile leased = currentLease.get();
+        if (leased != null) {
+            return leased;
+        }
+
+        long start = System.currentTimeMillis();
+        DeviceProfile device;
+        try {
+            device = available.poll(leaseTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("❌ Interrupted while waiting for a device lease", e);
+        }
+        long waited = System.currentTimeMillis() - start;
+
+        if (device == null) {
+            throw new IllegalStateException("❌ No device became available within " + leaseTimeoutSeconds + "s (pool size " + size() + ")");
+        }
+
+        currentLease.set(device);
+        leaseStartedAt.set(System.currentTimeMillis());
+        LoggerHelper.tag(LoggerHelper.DEVICE, device.getUdid());
+        leaseCount.incrementAndGet();
+        totalWaitMs.addAndGet(waited);
+        maxWaitMs.accumulateAndGet(waited, Math::max);
+        leasesByDevice.computeIfAbsent(device.getUdid(), k -> new AtomicLong()).incrementAndGet();
+
+        logger.info("📲 Leased device {} to thread '{}' after waiting {} ms", device, Thread.currentThread().getName(), waited);
+        return device;
+    }
+
+    /**
+     * @return the device leased by the current thread, or null if it holds none
+     */
+    public static DeviceProfile current() {
+        return currentLease.get();
+    }
+
+    /**
+     * Returns the current thread's device to the pool. Safe to call when no lease is held.
+     */
+    public static void release() {
+        DeviceProfile device = currentLease.get();
+        if (device == null) {
+            return;
+        }
+
+        long held = System.currentTimeMillis() - leaseStartedAt.get();
+        heldMsByDevice.computeIfAbsent(device.getUdid(), k -> new AtomicLong()).addAndGet(held);
+
+        currentLease.remove();
+        leaseStartedAt.remove();
+        LoggerHelper.tag(LoggerHelper.DEVICE, null);
+        available.offer(device);
+        logger.info("📤 Released device {} after {} ms", device, held);
+    }
+
+    /**
+     * Logs how long threads waited for devices and how busy each device was.
+     */
+    public static void logStats() {
+        long wallMs = Math.max(1, System.currentTimeMillis() - createdAt);
+        long leases = leaseCount.get();
+        long avgWait = leases == 0 ? 0 : totalWaitMs.get() / leases;
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("📊 Device pool: %d device(s), %d lease(s), avg wait %d ms, max wait %d ms%n",
+                size(), leases, avgWait, maxWaitMs.get()));
+
+        long busyTotal = 0;
+        for (DeviceProfile device : devices) {
+            long held = heldMsByDevice.getOrDefault(device.getUdid(), new AtomicLong()).get();
+            long count = leasesByDevice.getOrDefault(device.getUdid(), new AtomicLong()).get();
+            busyTotal += held;
+            sb.append(String.format("  ➤ %s: %d lease(s), busy %d ms (%.0f%%)%n",
+                    device, count, held, 100.0 * held / wallMs));
+        }
+        sb.append(String.format("  ➤ Pool utilisation: %.0f%% over %d ms%n",
+                100.0 * busyTotal / (wallMs * Math.max(1, size())), wallMs));
+
+        logger.info(sb.toString().trim());
+    }
+
+    private static List<DeviceProfile> loadDevices() {
+        List<DeviceProfile> list = new ArrayList<>();
+        String defaultUrl = ConfigurationManager.getProperty("appiumServerURL", "http://127.0.0.1:4723");
+
+        for (int i = 1; i <= MAX_DEVICES; i++) {
+            String prefix = "device." + i + ".";
+            if (!ConfigurationManager.hasProperty(prefix + "udid")) {
+                break;
+            }
+            String udid = ConfigurationManager.getProperty(prefix + "udid");
+            list.add(new DeviceProfile(
+                    udid,
+                    ConfigurationManager.getProperty(prefix + "deviceName", udid),
+                    ConfigurationManager.getProperty(prefix + "platformVersion", ConfigurationManager.getProperty("platformVersion", "")),
+                    ConfigurationManager.getInt(prefix + "systemPort", 0),
+                    ConfigurationManager.getProperty(prefix + "appiumServerURL", defaultUrl)));
+        }
+
+        if (list.isEmpty()) {
+            list.add(new DeviceProfile(
+                    ConfigurationManager.get("udid"),
+                    ConfigurationManager.get("deviceName"),
+                    ConfigurationManager.get("platformVersion"),
+                    ConfigurationManager.getInt("systemPort", 0),
+                    defaultUrl));
+        }
+
+        logger.info("📱 Device pool initialised with {} device(s): {}", list.size(), list);
+        return list;
+    }
+}
@@ -0,0 +1,51 @@
+package drivers;
+
+/**
+ * Immutable description of one device in the {@link DevicePool}.
+ * Each device gets its own Appium server URL and driver port so that
+ * several sessions can run side by side on one host.
+ */
+public final class DeviceProfile {
+
+    private final String udid;
+    private final String deviceName;
+    private final String platformVersion;
+    private final int systemPort;
+    private final String appiumServerURL;
+
+    public DeviceProfile(String udid, String deviceName, String platformVersion, int systemPort, String appiumServerURL) {
+        this.udid = udid;
+        this.deviceName = deviceName;
+        this.platformVersion = platformVersion;
+        this.systemPort = systemPort;
+        this.appiumServerURL = appiumServerURL;
+    }
+
+    public String getUdid() {
+        return udid;
+    }
+
+    public String getDeviceName() {
+        return deviceName;
+    }
+
+    public String getPlatformVersion() {
+        return platformVersion;
+    }
+
+    /**
+     * @return UiAutomator2 systemPort / XCUITest wdaLocalPort, or 0 to let Appium choose
+     */
+    public int getSystemPort() {
+        return systemPort;
+    }
+
+    public String getAppiumServerURL() {
+        return appiumServerURL;
+    }
+
+    @Override
+    public String toString() {
+        return deviceName + " (" + udid + ")";
+    }
+}
@@ -1,16 +1,23 @@
 package drivers;
 
 import config.ConfigurationManager;
+import helpers.JfrEvents;
+import helpers.LoggerHelper;
+import helpers.PerfBaseline;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.ios.IOSDriver;
 import org.openqa.selenium.remote.DesiredCapabilities;
+import org.slf4j.Logger;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.Duration;
 
 public class DriverManager {
 
+    private static final Logger logger = LoggerHelper.getLogger(DriverManager.class);
+
     private static final ThreadLocal<AppiumDriver> threadLocalDriver = new ThreadLocal<>();
 
     public static AppiumDriver getDriver() {
@@ -26,55 +33,100 @@ public class DriverManager {
     }
 
     public static AppiumDriver initializeDriver() {
+        AppiumDriver driver = createDriver(DevicePool.acquire());
+        setDriver(driver);
+        return driver;
+    }
+
+    /**
+     * Creates a new session on the given device without binding it to the calling thread.
+     * Used by {@link SessionPool} to build sessions in the background.
+     */
+    public static AppiumDriver createDriver(DeviceProfile device) {
         String platform = ConfigurationManager.get("platformName").toUpperCase();
         boolean fullReset = Boolean.parseBoolean(ConfigurationManager.get("appium.fullReset"));
         boolean noReset = Boolean.parseBoolean(ConfigurationManager.get("noReset"));
         boolean dontStopAppOnReset = Boolean.parseBoolean(ConfigurationManager.get("dontStopAppOnReset"));
 
-        System.out.println("📱 Initializing driver for platform: " + platform + " | fullReset=" + fullReset + ", noReset=" + noReset + ", dontStopAppOnReset=" + dontStopAppOnReset);
+        logger.info("📱 Initializing driver for platform: {} on {} | fullReset={}, noReset={}, dontStopAppOnReset={}", platform, device, fullReset, noReset, dontStopAppOnReset);
 
-        AppiumDriver driver;
+        AppiumDriver driver = null;
         long start = System.currentTimeMillis();
+        JfrEvents.SessionEvent event = JfrEvents.sessionCreating();
 
-        switch (platform) {
-            case "ANDROID":
-                driver = initAndroidDriver(fullReset, noReset, dontStopAppOnReset);
-                break;
-            case "IOS":
-                driver = initIOSDriver(fullReset, noReset);
-                break;
-            default:
-                throw new IllegalArgumentException("❌ Unsupported platform: " + platform);
+        try {
+            switch (platform) {
+                case "ANDROID":
+                    driver = initAndroidDriver(device, fullReset, noReset, dontStopAppOnReset);
+                    break;
+                case "IOS":
+                    driver = initIOSDriver(device, fullReset, noReset);
+                    break;
+                default:
+                    throw new IllegalArgumentException("❌ Unsupported platform: " + platform);
+            }
+        } finally {
+            JfrEvents.sessionFinished(event, device.getUdid(), driver != null);
         }
 
         long duration = System.currentTimeMillis() - start;
-        System.out.println("✅ Driver created successfully in " + duration + " ms");
+        logger.info("✅ Driver created successfully in {} ms", duration);
+        PerfBaseline.record(device.getUdid(), PerfBaseline.SETUP, "driver.create", duration, true);
+
+        // New W3C sessions start with no implicit wait; saves reading it back later
+        SessionTimeouts.track(driver, Duration.ZERO);
 
-        setDriver(driver);
         return driver;
     }
 
     public static void quitDriver() {
         AppiumDriver driver = getDriver();
         if (driver != null) {
+            JfrEvents.SessionEvent event = JfrEvents.sessionQuitting("quit");
+            boolean quit = false;
             try {
                 driver.quit();
-                System.out.println("✅ Driver session quit successfully.");
+                quit = true;
+                logger.info("✅ Driver session quit successfully.");
             } catch (Exception e) {
-                System.err.println("⚠️ Failed to quit driver: " + e.getMessage());
+                logger.warn("⚠️ Failed to quit driver: {}", e.getMessage());
+            } finally {
+                DeviceProfile device = DevicePool.current();
+                JfrEvents.sessionFinished(event, device != null ? device.getUdid() : null, quit);
             }
         }
         threadLocalDriver.remove();
     }
 
-    private static AndroidDriver initAndroidDriver(boolean fullReset, boolean noReset, boolean dontStopAppOnReset) {
+    /**
+     * Unbinds the current thread's driver without quitting it and returns it, so its
+     * session can be handed to {@link SessionPool} for asynchronous shutdown.
+     */
+    public static AppiumDriver detachDriver() {
+        AppiumDriver driver = getDriver();
+        threadLocalDriver.remove();
+        return driver;
+    }
+
+    /**
+     * Quits the current session (if any) and returns this thread's device to the {@link DevicePool}.
+     */
+    public static void releaseDevice() {
+        quitDriver();
+        DevicePool.release();
+    }
+
+    private static AndroidDriver initAndroidDriver(DeviceProfile device, boolean fullReset, boolean noReset, boolean dontStopAppOnReset) {
         DesiredCapabilities caps = new DesiredCapabilities();
 
         caps.setCapability("platformName", ConfigurationManager.get("platformName"));
         caps.setCapability("automationName", ConfigurationManager.get("automationName"));
-        caps.setCapability("deviceName", ConfigurationManager.get("deviceName"));
-        caps.setCapability("udid", ConfigurationManager.get("udid"));
-        caps.setCapability("platformVersion", ConfigurationManager.get("platformVersion"));
+        caps.setCapability("deviceName", device.getDeviceName());
+        caps.setCapability("udid", device.getUdid());
+        caps.setCapability("platformVersion", device.getPlatformVersion());
+        if (device.getSystemPort() > 0) {
+            caps.setCapability("systemPort", device.getSystemPort());
+        }
         caps.setCapability("appPackage", ConfigurationManager.get("appPackage"));
         caps.setCapability("appActivity", ConfigurationManager.get("appActivity"));
         caps.setCapability("fullReset", fullReset);
@@ -82,37 +134,42 @@ public class DriverManager {
         caps.setCapability("dontStopAppOnReset", dontStopAppOnReset);
         caps.setCapability("newCommandTimeout", 300);
 
-        System.out.println("📦 Android Capabilities:");
-        caps.asMap().forEach((k, v) -> System.out.println("  ➤ " + k + ": " + v));
+        logger.info("📦 Android Capabilities: {}", caps.asMap());
 
         try {
-            URL serverUrl = new URL(ConfigurationManager.get("appiumServerURL"));
-            return new AndroidDriver(serverUrl, caps);
+            URL serverUrl = new URL(device.getAppiumServerURL());
+            return RecordingCommandExecutor.isNeeded()
+                    ? new AndroidDriver(new RecordingCommandExecutor(serverUrl), caps)
+                    : new AndroidDriver(serverUrl, caps);
         } catch (MalformedURLException e) {
             throw new RuntimeException("❌ Invalid Appium server URL: " + e.getMessage(), e);
         }
     }
 
-    private static IOSDriver initIOSDriver(boolean fullReset, boolean noReset) {
+    private static IOSDriver initIOSDriver(DeviceProfile device, boolean fullReset, boolean noReset) {
         DesiredCapabilities caps = new DesiredCapabilities();
 
         caps.setCapability("platformName", "iOS");
         caps.setCapability("automationName", "XCUITest");
-        caps.setCapability("deviceName", ConfigurationManager.get("deviceName"));
-        caps.setCapability("udid", ConfigurationManager.get("udid"));
-        caps.setCapability("platformVersion", ConfigurationManager.get("platformVersion"));
+        caps.setCapability("deviceName", device.getDeviceName());
+        caps.setCapability("udid", device.getUdid());
+        caps.setCapability("platformVersion", device.getPlatformVersion());
+        if (device.getSystemPort() > 0) {
+            caps.setCapability("wdaLocalPort", device.getSystemPort());
+        }
         caps.setCapability("bundleId", ConfigurationManager.get("bundleId"));
         caps.setCapability("useNewWDA", true);
         caps.setCapability("newCommandTimeout", 300);
         caps.setCapability("fullReset", fullReset);
         caps.setCapability("noReset", noReset);
 
-        System.out.println("📦 iOS Capabilities:");
-        caps.asMap().forEach((k, v) -> System.out.println("  ➤ " + k + ": " + v));
+        logger.info("📦 iOS Capabilities: {}", caps.asMap());
 
         try {
-            URL serverUrl = new URL(ConfigurationManager.get("appiumServerURL"));
-            return new IOSDriver(serverUrl, caps);
+            URL serverUrl = new URL(device.getAppiumServerURL());
+            return RecordingCommandExecutor.isNeeded()
+                    ? new IOSDriver(new RecordingCommandExecutor(serverUrl), caps)
+                    : new IOSDriver(serverUrl, caps);
         } catch (MalformedURLException e) {
             throw new RuntimeException("❌ Invalid Appium server URL: " + e.getMessage(), e);
         }
@@ -0,0 +1,280 @@
+package drivers;
+
+import config.ConfigurationManager;
+import helpers.LoggerHelper;
+import helpers.StepContext;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+import org.slf4j.Logger;
+import utils.ArtifactPipeline;
+import utils.ImageStore;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Bounded, in-memory record of a session's recent Appium commands, screenshots and page sources.
+ * <p>
+ * Nothing is captured for it: {@link RecordingCommandExecutor} feeds it the commands the test already
+ * sends, and keeps the screenshot and page source responses that pass through. Page sources are stored
+ * deflated (and consecutive identical ones once); screenshots are already PNG. Memory stays within
+ * {@code flightRecorder.maxKb} plus {@code flightRecorder.commands} short command lines however long
+ * the scenario runs.
+ * <p>
+ * Hooks clears it before each scenario and {@link #dump}s it when one fails; passing scenarios are
+ * discarded unless {@code flightRecorder.recordPasses} is on.
+ */
+public class FlightRecorder {
+
+    private static final Logger logger = LoggerHelper.getLogger(FlightRecorder.class);
+
+    private static final boolean enabled =
+            Boolean.parseBoolean(ConfigurationManager.getProperty("flightRecorder.enabled", "true"));
+    private static final boolean recordPasses =
+            Boolean.parseBoolean(ConfigurationManager.getProperty("flightRecorder.recordPasses", "false"));
+    private static final int maxCommands = ConfigurationManager.getInt("flightRecorder.commands", 200);
+    private static final int maxScreenshots = ConfigurationManager.getInt("flightRecorder.screenshots", 5);
+    private static final int maxPageSources = ConfigurationManager.getInt("flightRecorder.pageSources", 10);
+    private static final long maxBytes = ConfigurationManager.getInt("flightRecorder.maxKb", 8192) * 1024L;
+    private static final String outputDir = ConfigurationManager.getProperty("flightRecorder.dir", "target/flight-recorder");
+
+    private static final int MAX_DETAIL_LENGTH = 160;
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("HHmmss_SSS").withZone(ZoneId.systemDefault());
+
+    private final Deque<CommandEntry> commands = new ArrayDeque<>();
+    private final Deque<Frame> screenshots = new ArrayDeque<>();
+    private final Deque<Frame> pageSources = new ArrayDeque<>();
+    private long frameBytes;
+    private int lastSourceHash;
+
+    private static final class CommandEntry {
+        final long at;
+        final long millis;
+        final String step;
+        final String line;
+
+        CommandEntry(long at, long millis, String step, String line) {
+            this.at = at;
+            this.millis = millis;
+            this.step = step;
+            this.line = line;
+        }
+    }
+
+    private static final class Frame {
+        final long at;
+        final String step;
+        final byte[] data;
+        final int rawLength;
+
+        Frame(long at, String step, byte[] data, int rawLength) {
+            this.at = at;
+            this.step = step;
+            this.data = data;
+            this.rawLength = rawLength;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static boolean recordsPasses() {
+        return recordPasses;
+    }
+
+    /**
+     * @return the recorder of the current thread's session, or null if there is none
+     */
+    public static FlightRecorder current() {
+        AppiumDriver driver = DriverManager.getDriver();
+        return RecordingCommandExecutor.recorderOf(driver);
+    }
+
+    // === Recording ===
+
+    synchronized void record(Command command, Response response, RuntimeException failure, long startedAt, long millis) {
+        String step = StepContext.step();
+        String name = command.getName();
+        String outcome = failure != null ? "❌ " + failure.getClass().getSimpleName()
+                : isError(response) ? "❌ " + response.getState() : "ok";
+
+        commands.addLast(new CommandEntry(startedAt, millis, step, name + detail(command) + " → " + outcome));
+        while (commands.size() > maxCommands) {
+            commands.removeFirst();
+        }
+
+        if (failure != null || isError(response) || !(response.getValue() instanceof String)) {
+            return;
+        }
+        String value = (String) response.getValue();
+        if (DriverCommand.SCREENSHOT.equals(name)) {
+            byte[] png = Base64.getMimeDecoder().decode(value);
+            addFrame(screenshots, maxScreenshots, new Frame(startedAt, step, png, png.length));
+        } else if (DriverCommand.GET_PAGE_SOURCE.equals(name) && value.hashCode() != lastSourceHash) {
+            // Waits re-read unchanged sources all the time; one copy is enough
+            lastSourceHash = value.hashCode();
+            byte[] xml = value.getBytes(StandardCharsets.UTF_8);
+            addFrame(pageSources, maxPageSources, new Frame(startedAt, step, deflate(xml), xml.length));
+        }
+    }
+
+    /**
+     * Forgets everything recorded so far; called when a new scenario starts on the session.
+     */
+    public synchronized void clear() {
+        commands.clear();
+        screenshots.clear();
+        pageSources.clear();
+        frameBytes = 0;
+        lastSourceHash = 0;
+    }
+
+    private void addFrame(Deque<Frame> frames, int limit, Frame frame) {
+        frames.addLast(frame);
+        frameBytes += frame.data.length;
+        while (frames.size() > limit) {
+            frameBytes -= frames.removeFirst().data.length;
+        }
+        // Over the byte budget: drop the oldest frame of either kind
+        while (frameBytes > maxBytes && (!screenshots.isEmpty() || !pageSources.isEmpty())) {
+            Deque<Frame> oldest = pageSources.isEmpty() ? screenshots
+                    : screenshots.isEmpty() ? pageSources
+                    : screenshots.peekFirst().at <= pageSources.peekFirst().at ? screenshots : pageSources;
+            frameBytes -= oldest.removeFirst().data.length;
+        }
+    }
+
+    // === Dumping ===
+
+    /**
+     * Writes a timeline of the recorded commands plus every recorded screenshot and page source to
+     * {@code flightRecorder.dir} and Allure, then clears the recorder.
+     */
+    public void dump(String scenarioName, boolean failed) {
+        List<CommandEntry> commandsCopy;
+        List<Frame> screenshotsCopy;
+        List<Frame> sourcesCopy;
+        synchronized (this) {
+            commandsCopy = new ArrayList<>(commands);
+            screenshotsCopy = new ArrayList<>(screenshots);
+            sourcesCopy = new ArrayList<>(pageSources);
+            clear();
+        }
+        if (commandsCopy.isEmpty() && screenshotsCopy.isEmpty() && sourcesCopy.isEmpty()) {
+            return;
+        }
+
+        Path dir = Paths.get(outputDir, scenarioName.replaceAll("[^a-zA-Z0-9\\-_]", "_") + "_" + FILE_TIME.format(Instant.now()));
+        StringBuilder timeline = new StringBuilder(String.format("🛩️ Flight recorder for '%s' (%s): last %d command(s), %d screenshot(s), %d page source(s)%n",
+                scenarioName, failed ? "FAILED" : "passed", commandsCopy.size(), screenshotsCopy.size(), sourcesCopy.size()));
+
+        // Merge the three rings into one timeline, oldest first
+        int c = 0;
+        int s = 0;
+        int p = 0;
+        String step = null;
+        while (c < commandsCopy.size() || s < screenshotsCopy.size() || p < sourcesCopy.size()) {
+            long nextCommand = c < commandsCopy.size() ? commandsCopy.get(c).at : Long.MAX_VALUE;
+            long nextScreenshot = s < screenshotsCopy.size() ? screenshotsCopy.get(s).at : Long.MAX_VALUE;
+            long nextSource = p < sourcesCopy.size() ? sourcesCopy.get(p).at : Long.MAX_VALUE;
+
+            String entryStep;
+            String line;
+            if (nextCommand <= nextScreenshot && nextCommand <= nextSource) {
+                CommandEntry entry = commandsCopy.get(c++);
+                entryStep = entry.step;
+                line = String.format("%s %6d ms  %s", TIME.format(Instant.ofEpochMilli(entry.at)), entry.millis, entry.line);
+            } else if (nextScreenshot <= nextSource) {
+                Frame frame = screenshotsCopy.get(s++);
+                entryStep = frame.step;
+                // Named as the pipeline will place it: under the image store's extension when the store re-encodes
+                String name = FILE_TIME.format(Instant.ofEpochMilli(frame.at)) + "_screenshot" + (ImageStore.isEnabled() ? ImageStore.extension() : ".png");
+                ArtifactPipeline.artifact("🛩️ " + name, frame.data, ArtifactPipeline.PNG).toDisk(dir.resolve(name)).toAllure().submit();
+                line = String.format("%s            📸 %s (%d KB)", TIME.format(Instant.ofEpochMilli(frame.at)), name, frame.rawLength / 1024);
+            } else {
+                Frame frame = sourcesCopy.get(p++);
+                entryStep = frame.step;
+                String name = FILE_TIME.format(Instant.ofEpochMilli(frame.at)) + "_source.xml";
+                ArtifactPipeline.artifact("🛩️ " + name, inflate(frame.data, frame.rawLength), ArtifactPipeline.XML).toDisk(dir.resolve(name)).toAllure().submit();
+                line = String.format("%s            🧾 %s (%d KB, %d KB stored)", TIME.format(Instant.ofEpochMilli(frame.at)),
+                        name, frame.rawLength / 1024, frame.data.length / 1024);
+            }
+
+            if (!entryStep.equals(step)) {
+                step = entryStep;
+                timeline.append(String.format("── %s%n", step));
+            }
+            timeline.append(line).append(System.lineSeparator());
+        }
+
+        ArtifactPipeline.artifact("🛩️ Flight recorder timeline", timeline.toString().getBytes(StandardCharsets.UTF_8), ArtifactPipeline.TEXT)
+                .toDisk(dir.resolve("timeline.txt")).toAllure().submit();
+        logger.info("🛩️ Flight recorder dumped {} command(s), {} screenshot(s), {} page source(s) to {}",
+                commandsCopy.size(), screenshotsCopy.size(), sourcesCopy.size(), dir);
+    }
+
+    // === Helpers ===
+
+    private static boolean isError(Response response) {
+        return response != null && response.getStatus() != null && response.getStatus() != 0;
+    }
+
+    private static String detail(Command command) {
+        if (command.getParameters() == null || command.getParameters().isEmpty()) {
+            return "";
+        }
+        String detail = " " + command.getParameters();
+        return detail.length() > MAX_DETAIL_LENGTH ? detail.substring(0, MAX_DETAIL_LENGTH) + "…" : detail;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed, int rawLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                read += inflater.inflate(raw, read, rawLength - read);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            logger.warn("⚠️ Corrupt page source frame: {}", e.getMessage());
+            return new byte[0];
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package drivers;
+
+import helpers.JfrEvents;
+import helpers.ScenarioTrace;
+import helpers.StepContext;
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+
+import java.net.URL;
+
+/**
+ * Appium command executor that hands every command, with its timing and response, to the session's
+ * {@link FlightRecorder}, the {@link CommandTracer}, the {@link ScenarioTrace} timeline and JFR. One executor
+ * per session, so the recorder is per session too; it is null when the flight recorder is disabled.
+ */
+public class RecordingCommandExecutor extends AppiumCommandExecutor {
+
+    private final FlightRecorder recorder = FlightRecorder.isEnabled() ? new FlightRecorder() : null;
+
+    public RecordingCommandExecutor(URL serverUrl) {
+        super(MobileCommand.commandRepository, serverUrl);
+    }
+
+    /**
+     * @return true if sessions need this executor: the flight recorder, the command tracer or the timeline is on
+     */
+    public static boolean isNeeded() {
+        return FlightRecorder.isEnabled() || CommandTracer.isEnabled() || ScenarioTrace.isEnabled();
+    }
+
+    /**
+     * @return the recorder of {@code driver}'s session, or null if it was not created with this executor
+     * or the flight recorder is off
+     */
+    public static FlightRecorder recorderOf(RemoteWebDriver driver) {
+        if (driver == null) {
+            return null;
+        }
+        CommandExecutor executor = driver.getCommandExecutor();
+        return executor instanceof RecordingCommandExecutor ? ((RecordingCommandExecutor) executor).recorder : null;
+    }
+
+    @Override
+    public Response execute(Command command) throws WebDriverException {
+        JfrEvents.CommandEvent event = new JfrEvents.CommandEvent();
+        event.begin();
+        long startedAt = System.currentTimeMillis();
+        long start = System.nanoTime();
+        Response response = null;
+        RuntimeException failure = null;
+        try {
+            response = super.execute(command);
+            return response;
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            if (recorder != null) {
+                recorder.record(command, response, failure, startedAt, nanos / 1_000_000);
+            }
+            if (CommandTracer.isEnabled()) {
+                CommandTracer.record(command, response, failure, nanos);
+            }
+            if (ScenarioTrace.isEnabled()) {
+                ScenarioTrace.command(command.getName(), CommandTracer.describe(command), start, nanos);
+            }
+            if (event.shouldCommit()) {
+                event.command = command.getName();
+                event.parameters = CommandTracer.describe(command);
+                event.failed = failure != null || (response != null && response.getStatus() != null && response.getStatus() != 0);
+                event.step = StepContext.step();
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package drivers;
+
+import config.ConfigurationManager;
+import helpers.JfrEvents;
+import helpers.LoggerHelper;
+import io.appium.java_client.AppiumDriver;
+import org.slf4j.Logger;
+import utils.DriverUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Takes Appium session creation and teardown off the scenario's critical path.
+ * <p>
+ * A device can only host one UiAutomator2/XCUITest session at a time, so the next session is
+ * started as soon as the current one is known to be finished ({@link #recycle()} from {@code @After}):
+ * the old session is quit and the new one created on a background thread while Cucumber moves on
+ * to the next scenario. {@link #freshSession(Supplier)} in {@code @Before} then hands the ready
+ * session over (a hit), waits for the in-flight one (a late hit) or creates one inline (a miss).
+ * No session is created on a device until every quit of a session on it has finished.
+ * <p>
+ * Controlled by {@code session.pool.prewarm} (default true) and {@code session.pool.handoverTimeoutSeconds}.
+ */
+public class SessionPool {
+
+    private static final Logger logger = LoggerHelper.getLogger(SessionPool.class);
+
+    private static final boolean prewarmEnabled =
+            Boolean.parseBoolean(ConfigurationManager.getProperty("session.pool.prewarm", "true"));
+    private static final long handoverTimeoutSeconds =
+            ConfigurationManager.getInt("session.pool.handoverTimeoutSeconds", 120);
+
+    private static final AtomicInteger threadIds = new AtomicInteger();
+    private static final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "session-pool-" + threadIds.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Pending sessions keyed by the worker thread that will consume them
+    private static final Map<Thread, CompletableFuture<AppiumDriver>> pending = new ConcurrentHashMap<>();
+    // Background quits keyed by the worker thread whose device they free; a new session waits for them
+    private static final Map<Thread, CompletableFuture<Void>> retiring = new ConcurrentHashMap<>();
+
+    // === Metrics ===
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong lateHits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong handoverWaitMs = new AtomicLong();
+    private static final AtomicLong asyncQuits = new AtomicLong();
+    private static final AtomicLong setupCount = new AtomicLong();
+    private static final AtomicLong setupTotalMs = new AtomicLong();
+
+    private SessionPool() {
+    }
+
+    /**
+     * Retires the current thread's session and, if pre-warming is enabled, starts building its
+     * replacement on the same device in the background.
+     */
+    public static void recycle() {
+        AppiumDriver old = DriverManager.detachDriver();
+        DeviceProfile device = DevicePool.current();
+
+        CompletableFuture<AppiumDriver> previous = pending.remove(Thread.currentThread());
+        if (previous != null) {
+            retireWhenDone(previous);
+        }
+
+        if (!prewarmEnabled || device == null) {
+            retireAsync(old);
+            return;
+        }
+
+        // Quit first, after any earlier quit on this device: it can only host one session at a time
+        CompletableFuture<Void> retired = retiring.remove(Thread.currentThread());
+        CompletableFuture<AppiumDriver> next = (retired != null ? retired : CompletableFuture.<Void>completedFuture(null))
+                .thenApplyAsync(ignored -> {
+                    quitQuietly(old);
+                    return DriverManager.createDriver(device);
+                }, executor);
+        pending.put(Thread.currentThread(), next);
+        logger.info("🔥 Pre-warming next session on {} in background", device);
+    }
+
+    /**
+     * Binds a brand-new session to the current thread: the pre-warmed one when available,
+     * otherwise one created inline by {@code fallback}. Any session currently bound is quit first, and an
+     * inline creation also waits for background quits on this device.
+     */
+    public static AppiumDriver freshSession(Supplier<AppiumDriver> fallback) {
+        CompletableFuture<AppiumDriver> next = pending.remove(Thread.currentThread());
+        // Synchronously: the replacement goes to the same device and Appium server
+        quitQuietly(DriverManager.detachDriver());
+
+        if (next != null) {
+            boolean ready = next.isDone();
+            long start = System.currentTimeMillis();
+            try {
+                AppiumDriver driver = next.get(handoverTimeoutSeconds, TimeUnit.SECONDS);
+                if (!DriverUtils.isDriverInvalid(driver)) {
+                    long waited = System.currentTimeMillis() - start;
+                    handoverWaitMs.addAndGet(waited);
+                    (ready ? hits : lateHits).incrementAndGet();
+                    DriverManager.setDriver(driver);
+                    logger.info("♻️ Session pool {}: handed over pre-warmed session (waited {} ms)", ready ? "hit" : "late hit", waited);
+                    return driver;
+                }
+                logger.warn("⚠️ Pre-warmed session is invalid. Creating a new one.");
+                quitQuietly(driver);
+            } catch (TimeoutException e) {
+                logger.warn("⚠️ Pre-warmed session not ready after {} s; retiring it before creating a new one", handoverTimeoutSeconds);
+                retireWhenDone(next);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                retireWhenDone(next);
+            } catch (Exception e) {
+                logger.warn("⚠️ Pre-warmed session failed: {}", e.getMessage());
+            }
+        }
+
+        awaitRetired();
+        misses.incrementAndGet();
+        logger.info("🐢 Session pool miss: creating session inline");
+        return fallback.get();
+    }
+
+    /**
+     * @return true if a session is being (or has been) pre-warmed for the current thread
+     */
+    public static boolean hasPending() {
+        return pending.containsKey(Thread.currentThread());
+    }
+
+    /**
+     * Quits the given session on a background thread.
+     */
+    public static void retireAsync(AppiumDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        asyncQuits.incrementAndGet();
+        track(CompletableFuture.runAsync(() -> quitQuietly(driver), executor));
+    }
+
+    /**
+     * Quits a pre-warmed session once its creation has finished, whether or not it succeeded.
+     */
+    private static void retireWhenDone(CompletableFuture<AppiumDriver> future) {
+        track(future.handle((driver, error) -> {
+            quitQuietly(driver);
+            return null;
+        }));
+    }
+
+    private static void track(CompletableFuture<Void> quit) {
+        retiring.merge(Thread.currentThread(), quit, CompletableFuture::allOf);
+    }
+
+    /**
+     * Blocks until every background quit on the current thread's device has finished.
+     */
+    private static void awaitRetired() {
+        CompletableFuture<Void> retired = retiring.remove(Thread.currentThread());
+        if (retired == null || retired.isDone()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            retired.get(handoverTimeoutSeconds, TimeUnit.SECONDS);
+            logger.info("⏳ Waited {} ms for the previous session on this device to quit", System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("⚠️ Previous session did not quit in time: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Records how long a scenario's {@code @Before} setup took, for the pool report.
+     */
+    public static void recordSetup(long millis) {
+        setupCount.incrementAndGet();
+        setupTotalMs.addAndGet(millis);
+    }
+
+    /**
+     * Quits every pre-warmed session that was never handed over and logs pool metrics.
+     */
+    public static void shutdown() {
+        pending.values().forEach(future -> future.thenAccept(SessionPool::quitQuietly));
+        pending.clear();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logStats();
+    }
+
+    public static void logStats() {
+        long handovers = hits.get() + lateHits.get();
+        long total = handovers + misses.get();
+        long setups = setupCount.get();
+        logger.info("📊 Session pool: {} hit(s), {} late hit(s), {} miss(es) ({}% served from pool), avg handover wait {} ms, {} async quit(s), avg scenario setup {} ms",
+                hits.get(), lateHits.get(), misses.get(),
+                total == 0 ? 0 : 100 * handovers / total,
+                handovers == 0 ? 0 : handoverWaitMs.get() / handovers,
+                asyncQuits.get(),
+                setups == 0 ? 0 : setupTotalMs.get() / setups);
+    }
+
+    private static void quitQuietly(AppiumDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        JfrEvents.SessionEvent event = JfrEvents.sessionQuitting("retire");
+        boolean quit = false;
+        try {
+            driver.quit();
+            quit = true;
+            logger.debug("✅ Retired session {}", driver.getSessionId());
+        } catch (Exception e) {
+            logger.debug("⚠️ Failed to quit retired session: {}", e.getMessage());
+        } finally {
+            JfrEvents.sessionFinished(event, (String) driver.getCapabilities().getCapability("udid"), quit);
+        }
+    }
+}
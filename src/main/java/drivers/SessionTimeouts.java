@@ -0,0 +1,111 @@
+package drivers;
+
+import helpers.LoggerHelper;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks each session's server-side implicit wait so timeouts commands are only sent when the value changes.
+ * <p>
+ * Overrides are scoped with try-with-resources and restore the previous value on close, so nested
+ * overrides compose instead of clobbering each other:
+ * <pre>
+ * try (SessionTimeouts.Scope ignored = SessionTimeouts.implicitWait(driver, Duration.ZERO)) {
+ *     driver.findElements(locator);
+ * }
+ * </pre>
+ * The value of a session not yet seen is read from the server once. All implicit-wait changes should go
+ * through this class; a direct {@code driver.manage().timeouts().implicitlyWait(...)} makes the tracked value stale.
+ */
+public final class SessionTimeouts {
+
+    private static final Logger logger = LoggerHelper.getLogger(SessionTimeouts.class);
+
+    // Keyed by driver instance; entries go away with the driver
+    private static final Map<WebDriver, Duration> implicitWaits = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final AtomicLong sent = new AtomicLong();
+    private static final AtomicLong skipped = new AtomicLong();
+    private static final AtomicLong queried = new AtomicLong();
+
+    private SessionTimeouts() {
+    }
+
+    /**
+     * Restores the implicit wait that was in effect when the scope was opened.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final WebDriver driver;
+        private final Duration previous;
+
+        private Scope(WebDriver driver, Duration previous) {
+            this.driver = driver;
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            apply(driver, previous);
+        }
+    }
+
+    /**
+     * Sets the implicit wait for the duration of the returned scope.
+     */
+    public static Scope implicitWait(WebDriver driver, Duration value) {
+        Duration previous = current(driver);
+        apply(driver, value);
+        return new Scope(driver, previous);
+    }
+
+    /**
+     * Sets the session's implicit wait until changed again.
+     */
+    public static void setImplicitWait(WebDriver driver, Duration value) {
+        apply(driver, value);
+    }
+
+    /**
+     * @return the tracked implicit wait, reading it from the server the first time a session is seen
+     */
+    public static Duration current(WebDriver driver) {
+        Duration known = implicitWaits.get(driver);
+        if (known != null) {
+            return known;
+        }
+        Duration actual = driver.manage().timeouts().getImplicitWaitTimeout();
+        queried.incrementAndGet();
+        implicitWaits.put(driver, actual);
+        return actual;
+    }
+
+    /**
+     * Records the implicit wait of a session whose value is known without asking (e.g. W3C default of zero on creation).
+     */
+    public static void track(WebDriver driver, Duration value) {
+        implicitWaits.put(driver, value);
+    }
+
+    private static void apply(WebDriver driver, Duration value) {
+        if (value.equals(current(driver))) {
+            skipped.incrementAndGet();
+            return;
+        }
+        driver.manage().timeouts().implicitlyWait(value);
+        implicitWaits.put(driver, value);
+        sent.incrementAndGet();
+        logger.debug("⏱️ Implicit wait set to {} ms", value.toMillis());
+    }
+
+    public static void logStats() {
+        long total = sent.get() + skipped.get();
+        logger.info("📊 Timeouts: {} command(s) sent, {} skipped as redundant ({}% saved), {} server read(s)",
+                sent.get(), skipped.get(), total == 0 ? 0 : 100 * skipped.get() / total, queried.get());
+    }
+}
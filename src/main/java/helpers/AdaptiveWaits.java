@@ -0,0 +1,355 @@
+package helpers;
+
+import config.ConfigurationManager;
+import drivers.DeviceProfile;
+import drivers.DevicePool;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sets wait timeouts and polling intervals from how long each locator has actually taken to appear.
+ * <p>
+ * Every wait that goes through {@link #until} records its outcome per device, call site and locator key (the
+ * config key when the locator came from config.properties), so a quick presence check and a long wait for the
+ * next screen on the same locator learn separately. Once a key has {@code waits.adaptive.minSamples} successful
+ * samples, its timeout becomes {@code p99 × waits.adaptive.margin} (never below {@code p50 + waits.adaptive.headroomMs}),
+ * clamped to [{@code waits.adaptive.minMs}, {@code waits.adaptive.maxSeconds}] and never above the caller's static
+ * timeout, so learning only ever shortens a wait; until then the caller's timeout is used. A wait that misses a
+ * learned timeout keeps waiting up to the caller's timeout, and the time it finally took becomes a sample, so a
+ * screen that slows down raises its timeout again. Waits that time out are only counted: negative checks
+ * expected to fail must not push their own timeout up. History is kept in {@code waits.adaptive.historyFile}
+ * across runs, and {@link #saveAndReport()} lists static timeouts far above what the screens need.
+ */
+public final class AdaptiveWaits {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveWaits.class);
+
+    private static final boolean enabled =
+            Boolean.parseBoolean(ConfigurationManager.getProperty("waits.adaptive.enabled", "true"));
+    private static final Duration defaultTimeout =
+            Duration.ofSeconds(ConfigurationManager.getInt("waits.defaultSeconds", 10));
+    private static final int minSamples = ConfigurationManager.getInt("waits.adaptive.minSamples", 5);
+    private static final int maxSamples = ConfigurationManager.getInt("waits.adaptive.maxSamples", 100);
+    private static final double margin =
+            Double.parseDouble(ConfigurationManager.getProperty("waits.adaptive.margin", "1.5"));
+    private static final long headroomMs = ConfigurationManager.getInt("waits.adaptive.headroomMs", 1000);
+    private static final long minMs = ConfigurationManager.getInt("waits.adaptive.minMs", 1000);
+    private static final long maxMs = ConfigurationManager.getInt("waits.adaptive.maxSeconds", 30) * 1000L;
+    private static final Path historyFile =
+            Paths.get(ConfigurationManager.getProperty("waits.adaptive.historyFile", "wait-history.tsv"));
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+    // Separates the locator from its call site in history keys; keys without it predate per-call-site history
+    private static final String AT = " @ ";
+
+    private static final Duration MIN_POLL = Duration.ofMillis(100);
+    private static final Duration MAX_POLL = Duration.ofMillis(500);
+
+    // "device<TAB>key" -> history
+    private static final Map<String, History> histories = new ConcurrentHashMap<>();
+
+    static {
+        load();
+    }
+
+    private AdaptiveWaits() {
+    }
+
+    /**
+     * @return the project-wide static timeout ({@code waits.defaultSeconds}), used when there is no history
+     */
+    public static Duration defaultTimeout() {
+        return defaultTimeout;
+    }
+
+    /**
+     * Waits for {@code condition} on {@code locator} with a history-based timeout and polling interval,
+     * recording how long it took.
+     *
+     * @param fallback the static timeout the caller would have used; applies until the key has enough history,
+     *                 and always bounds the wait when the learned timeout runs out first
+     * @throws TimeoutException if the condition is not met in time
+     */
+    public static <T> T until(WebDriver driver, By locator, Duration fallback, ExpectedCondition<T> condition) {
+        History history = history(keyOf(locator, callSite()));
+        Duration timeout = history.timeout(fallback);
+        Duration polling = history.polling();
+
+        JfrEvents.WaitEvent event = JfrEvents.waitStarted();
+        long start = System.currentTimeMillis();
+        boolean satisfied = false;
+        try {
+            T result;
+            try {
+                result = new WebDriverWait(driver, timeout, polling).until(condition);
+            } catch (TimeoutException e) {
+                if (timeout.compareTo(fallback) >= 0) {
+                    throw e;
+                }
+                // The learned timeout was too short this time: wait out the rest of the caller's, and learn from it
+                logger.warn("⏱️ {} missed its learned {} ms timeout; waiting up to the static {} ms",
+                        locator, timeout.toMillis(), fallback.toMillis());
+                result = new WebDriverWait(driver, fallback.minus(timeout), polling).until(condition);
+            }
+            satisfied = true;
+            history.success(System.currentTimeMillis() - start, fallback);
+            return result;
+        } catch (TimeoutException e) {
+            history.timedOut(fallback);
+            throw e;
+        } finally {
+            JfrEvents.waitFinished(event, locator, timeout.toMillis(), satisfied);
+        }
+    }
+
+    /**
+     * @return the timeout {@link #until} would use for {@code locator} if called from where this is called
+     */
+    public static Duration timeoutFor(By locator, Duration fallback) {
+        return history(keyOf(locator, callSite())).timeout(fallback);
+    }
+
+    /**
+     * Writes the history file and logs waits whose static timeout is far above what the key has needed.
+     */
+    public static void saveAndReport() {
+        save();
+        report();
+    }
+
+    private static String keyOf(By locator, String callSite) {
+        String key = LocatorRegistry.keyOf(locator);
+        return (key != null ? key : locator.toString()) + AT + callSite;
+    }
+
+    /**
+     * @return {@code Class.method} of the first frame outside this class and the shared {@link ElementHelper}
+     * wrappers, e.g. {@code pages.login.OTPPage.isOTPPageDisplayed}
+     */
+    private static String callSite() {
+        return WALKER.walk(frames -> frames
+                .filter(f -> !f.getClassName().equals(AdaptiveWaits.class.getName())
+                        && !f.getClassName().equals(ElementHelper.class.getName())
+                        && !f.getMethodName().startsWith("lambda$"))
+                .findFirst()
+                .map(f -> f.getClassName() + "." + f.getMethodName())
+                .orElse("unknown"));
+    }
+
+    private static History history(String key) {
+        DeviceProfile device = DevicePool.current();
+        String id = (device != null ? device.getUdid() : "default") + "\t" + sanitize(key);
+        return histories.computeIfAbsent(id, k -> new History());
+    }
+
+    private static String sanitize(String value) {
+        return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    // === Persistence ===
+
+    private static void load() {
+        if (!Files.isRegularFile(historyFile)) {
+            return;
+        }
+        int stale = 0;
+        try {
+            for (String line : Files.readAllLines(historyFile, StandardCharsets.UTF_8)) {
+                String[] parts = line.split("\t", 4);
+                if (parts.length < 4 || line.startsWith("#")) {
+                    continue;
+                }
+                if (!parts[1].contains(AT)) {
+                    // Learned across every caller of the locator; not safe to apply to any one of them
+                    stale++;
+                    continue;
+                }
+                History history = new History();
+                history.timeouts = Long.parseLong(parts[2]);
+                if (!parts[3].isEmpty()) {
+                    for (String sample : parts[3].split(",")) {
+                        history.add(Long.parseLong(sample));
+                    }
+                }
+                histories.put(parts[0] + "\t" + parts[1], history);
+            }
+            logger.info("⏱️ Loaded wait history for {} locator(s) from {}", histories.size(), historyFile);
+            if (stale > 0) {
+                logger.info("⏱️ Dropped {} wait history line(s) not keyed by call site", stale);
+            }
+        } catch (Exception e) {
+            logger.warn("⚠️ Ignoring unreadable wait history {}: {}", historyFile, e.getMessage());
+            histories.clear();
+        }
+    }
+
+    private static void save() {
+        try {
+            Path parent = historyFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(historyFile, StandardCharsets.UTF_8)) {
+                writer.write("# device\tlocator\ttimeouts\tsamples(ms)");
+                writer.newLine();
+                for (Map.Entry<String, History> entry : new TreeMap<>(histories).entrySet()) {
+                    writer.write(entry.getKey() + "\t" + entry.getValue().serialize());
+                    writer.newLine();
+                }
+            }
+            logger.info("💾 Saved wait history for {} locator(s) to {}", histories.size(), historyFile);
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not save wait history: {}", e.getMessage());
+        }
+    }
+
+    // === Reporting ===
+
+    private static void report() {
+        StringBuilder sb = new StringBuilder("📊 Oversized waits (static timeout ≥ 2× what the history needs):");
+        int oversized = 0;
+        long wastedPerMissMs = 0;
+
+        for (Map.Entry<String, History> entry : new TreeMap<>(histories).entrySet()) {
+            History history = entry.getValue();
+            long staticMs = history.largestFallbackMs;
+            Duration adaptive = history.adaptiveTimeout();
+            if (staticMs == 0 || adaptive == null || staticMs < 2 * adaptive.toMillis()) {
+                continue;
+            }
+            oversized++;
+            wastedPerMissMs += staticMs - adaptive.toMillis();
+            long[] p = history.percentiles();
+            sb.append(String.format("%n  ➤ %s: static %d ms, p50/p95/p99 %d/%d/%d ms over %d sample(s) → adaptive %d ms",
+                    entry.getKey().replace('\t', ' '), staticMs, p[0], p[1], p[2], history.size(), adaptive.toMillis()));
+        }
+
+        if (oversized == 0) {
+            logger.info("📊 No oversized waits found ({} locator(s) tracked)", histories.size());
+        } else {
+            sb.append(String.format("%n  %d oversized wait(s); %d ms saved if each is missed once", oversized, wastedPerMissMs));
+            logger.info(sb.toString());
+        }
+
+        histories.forEach((key, history) -> {
+            if (history.runTimeouts > 0) {
+                logger.warn("⏱️ {} timed out {} time(s) this run (timeout {} ms)",
+                        key.replace('\t', ' '), history.runTimeouts, history.timeout(Duration.ofMillis(history.largestFallbackMs)).toMillis());
+            }
+        });
+    }
+
+    /**
+     * Successful wait durations for one device and locator, most recent {@code maxSamples} kept.
+     */
+    private static final class History {
+        private final long[] samples = new long[maxSamples];
+        private int count;
+        private int next;
+        private long timeouts;
+        private long runTimeouts;
+        private long largestFallbackMs;
+
+        synchronized void success(long millis, Duration fallback) {
+            add(millis);
+            largestFallbackMs = Math.max(largestFallbackMs, fallback.toMillis());
+        }
+
+        /**
+         * Counts a miss without sampling it: negative checks time out by design, and learning from them would
+         * only lengthen the wait they already pay in full.
+         */
+        synchronized void timedOut(Duration fallback) {
+            timeouts++;
+            runTimeouts++;
+            largestFallbackMs = Math.max(largestFallbackMs, fallback.toMillis());
+        }
+
+        synchronized void add(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        synchronized int size() {
+            return count;
+        }
+
+        /**
+         * @return p50, p95 and p99 of the recorded samples
+         */
+        synchronized long[] percentiles() {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return new long[]{percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99)};
+        }
+
+        /**
+         * @return the history-based timeout, or null without enough samples
+         */
+        synchronized Duration adaptiveTimeout() {
+            if (!enabled || count < minSamples) {
+                return null;
+            }
+            long[] p = percentiles();
+            long millis = Math.max((long) (p[2] * margin), p[0] + headroomMs);
+            return Duration.ofMillis(Math.max(minMs, Math.min(maxMs, millis)));
+        }
+
+        /**
+         * @return the learned timeout, capped at {@code fallback}; {@code fallback} without enough history
+         */
+        synchronized Duration timeout(Duration fallback) {
+            Duration adaptive = adaptiveTimeout();
+            return adaptive != null && adaptive.compareTo(fallback) < 0 ? adaptive : fallback;
+        }
+
+        /**
+         * Polls about five times within the typical wait, between 100 and 500 ms.
+         */
+        synchronized Duration polling() {
+            if (!enabled || count < minSamples) {
+                return MAX_POLL;
+            }
+            Duration poll = Duration.ofMillis(percentiles()[0] / 5);
+            return poll.compareTo(MIN_POLL) < 0 ? MIN_POLL : poll.compareTo(MAX_POLL) > 0 ? MAX_POLL : poll;
+        }
+
+        synchronized String serialize() {
+            List<String> values = new ArrayList<>(count);
+            // Oldest first so a reload keeps the same order
+            for (int i = 0; i < count; i++) {
+                int index = (next - count + i + samples.length) % samples.length;
+                values.add(Long.toString(samples[index]));
+            }
+            return timeouts + "\t" + String.join(",", values);
+        }
+
+        private static long percentile(long[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+    }
+}
@@ -1,20 +1,25 @@
 package helpers;
 
+import config.ConfigurationManager;
 import org.slf4j.Logger;
+
 import java.io.IOException;
-import java.util.concurrent.TimeUnit;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 
 public class AdbHelper {
 
     private static final Logger logger = LoggerHelper.getLogger(AdbHelper.class);
 
+    private static final int MEDIA_INDEX_TIMEOUT_SECONDS = ConfigurationManager.getInt("adb.mediaIndex.timeoutSeconds", 10);
+
     public static void pushAndScanFile(String udid, String localPath, String remotePath) {
         try {
             pushFileToDevice(udid, localPath, remotePath);
             scanMediaFile(udid, remotePath);
             verifyFilePresence(udid, remotePath);
-
-            TimeUnit.SECONDS.sleep(5);
+            awaitMediaIndexed(udid, remotePath, Duration.ofSeconds(MEDIA_INDEX_TIMEOUT_SECONDS));
         } catch (Exception e) {
             logger.error("❌ pushAndScanFile failed: {}", e.getMessage(), e);
         }
@@ -51,6 +56,47 @@ public class AdbHelper {
         }
     }
 
+    /**
+     * Waits until the media store lists {@code remotePath}, i.e. the scan finished and pickers will show the file.
+     *
+     * @return true if the file was indexed in time
+     */
+    public static boolean awaitMediaIndexed(String udid, String remotePath, Duration timeout) {
+        String adbCommand = String.format(
+                "adb -s %s shell content query --uri content://media/external/files --projection _data --where \"_data='%s'\"",
+                udid, remotePath
+        );
+        long start = System.currentTimeMillis();
+        boolean indexed = Sleeps.until(timeout, Duration.ofMillis(250), () -> {
+            try {
+                return executeShellCommandForOutput(adbCommand).contains(remotePath);
+            } catch (IOException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+
+        if (indexed) {
+            logger.info("🗂️ Media store indexed {} in {} ms", remotePath, System.currentTimeMillis() - start);
+        } else {
+            logger.warn("⚠️ Media store did not list {} within {}s", remotePath, timeout.getSeconds());
+        }
+        return indexed;
+    }
+
+    private static String executeShellCommandForOutput(String command) throws IOException, InterruptedException {
+        ProcessBuilder pb = new ProcessBuilder("bash", "-c", command).redirectErrorStream(true);
+        Process process = pb.start();
+        String output;
+        try (InputStream in = process.getInputStream()) {
+            output = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        process.waitFor();
+        return output;
+    }
+
     private static int executeShellCommand(String command) throws IOException, InterruptedException {
         ProcessBuilder pb = new ProcessBuilder("bash", "-c", command);
         Process process = pb.start();
@@ -5,6 +5,7 @@ import io.appium.java_client.MobileBy;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
 
 import java.time.Duration;
 import java.util.Arrays;
@@ -12,6 +13,8 @@ import java.util.List;
 
 public class AndroidPermissionHelper {
 
+    private static final Logger logger = LoggerHelper.getLogger(AndroidPermissionHelper.class);
+
     private final AppiumDriver driver;
     private final WebDriverWait wait;
 
@@ -36,14 +39,15 @@ public class AndroidPermissionHelper {
                     List<WebElement> buttons = driver.findElements(locator);
                     if (!buttons.isEmpty()) {
                         buttons.get(0).click();
-                        System.out.println("✅ Accepted permission popup via: " + locator);
-                        Thread.sleep(1000);
+                        logger.info("✅ Accepted permission popup via: {}", locator);
+                        // Wait for the dialog to go rather than a fixed second
+                        ElementProbe.waitUntilAbsent(locator, 5);
                         return true;
                     }
                 }
             }
         } catch (Exception e) {
-            System.out.println("⚠️ Failed while handling Android permission: " + e.getMessage());
+            logger.warn("⚠️ Failed while handling Android permission: {}", e.getMessage());
         }
         return false;
     }
@@ -0,0 +1,252 @@
+package helpers;
+
+import config.ConfigurationManager;
+import drivers.DriverManager;
+import drivers.SessionPool;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.InteractsWithApps;
+import io.qameta.allure.Allure;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.DriverUtils;
+import utils.PlatformHelper;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static helpers.AppStateDetector.AppState;
+
+/**
+ * Brings the app into a state the next scenario can start from using the cheapest reset that works.
+ * <p>
+ * Tiers are tried in order, starting at a minimum chosen from the target state, and escalate until
+ * one succeeds: navigate home, terminate and re-activate the app, clear app data, and finally a
+ * new Appium session (via {@link SessionPool}). Each attempt is timed and the chosen tier is
+ * recorded so the run summary shows how often the expensive tiers were needed.
+ */
+public class AppResetEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppResetEngine.class);
+
+    public enum ResetTier {
+        NAVIGATE_HOME,
+        RESTART_APP,
+        CLEAR_DATA,
+        NEW_SESSION
+    }
+
+    public enum TargetState {
+        GUEST,
+        OTP,
+        FRESH_LAUNCH
+    }
+
+    /**
+     * Outcome of a reset: the tier that succeeded, how long the whole reset took and,
+     * when the tier verified it, the app state it ended in (null otherwise).
+     */
+    public static final class ResetResult {
+        private final ResetTier tier;
+        private final AppState state;
+        private final long millis;
+
+        ResetResult(ResetTier tier, AppState state, long millis) {
+            this.tier = tier;
+            this.state = state;
+            this.millis = millis;
+        }
+
+        public ResetTier getTier() {
+            return tier;
+        }
+
+        public AppState getState() {
+            return state;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+    }
+
+    // States from which Hooks can reach a guest or OTP session without restarting
+    private static final Set<AppState> SESSION_START_STATES = EnumSet.of(
+            AppState.NOTIFICATION_POPUP, AppState.LOGIN_SCREEN,
+            AppState.HOME_SCREEN_GUEST, AppState.HOME_SCREEN_OTP);
+
+    private static final int maxBackPresses = ConfigurationManager.getInt("reset.navigateHome.maxBackPresses", 3);
+    // A relaunched app sits on its splash screen for seconds; the default detection budget would read that as UNKNOWN
+    private static final long launchDetectMs = ConfigurationManager.getInt("reset.launch.detectTimeoutMs", 15000);
+
+    private static final Map<ResetTier, AtomicLong> attempts = new EnumMap<>(ResetTier.class);
+    private static final Map<ResetTier, AtomicLong> attemptMs = new EnumMap<>(ResetTier.class);
+    private static final Map<ResetTier, AtomicLong> chosen = new EnumMap<>(ResetTier.class);
+
+    static {
+        for (ResetTier tier : ResetTier.values()) {
+            attempts.put(tier, new AtomicLong());
+            attemptMs.put(tier, new AtomicLong());
+            chosen.put(tier, new AtomicLong());
+        }
+    }
+
+    private AppResetEngine() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigurationManager.getProperty("reset.engine.enabled", "true"));
+    }
+
+    /**
+     * Maps scenario tags to the app state the scenario needs to start from.
+     */
+    public static TargetState targetStateFor(Collection<String> tags) {
+        if (tags.contains("@guestSession")) {
+            return TargetState.GUEST;
+        }
+        if (tags.contains("@otpSession")) {
+            return TargetState.OTP;
+        }
+        if (tags.contains("@notification") || tags.contains("@resetSession") || tags.contains("@freshLaunch")) {
+            return TargetState.FRESH_LAUNCH;
+        }
+        return TargetState.OTP;
+    }
+
+    /**
+     * @return the cheapest tier that can possibly reach {@code target}
+     */
+    public static ResetTier minimumTierFor(TargetState target) {
+        return target == TargetState.FRESH_LAUNCH ? ResetTier.CLEAR_DATA : ResetTier.NAVIGATE_HOME;
+    }
+
+    /**
+     * Resets the app for {@code target}, starting at {@code minimum} and escalating on failure.
+     *
+     * @param newSession creates a session inline when the pool has none ready
+     */
+    public static ResetResult reset(TargetState target, ResetTier minimum, Supplier<AppiumDriver> newSession) {
+        long start = System.currentTimeMillis();
+
+        for (ResetTier tier : ResetTier.values()) {
+            if (tier.ordinal() < minimum.ordinal()) {
+                continue;
+            }
+
+            long tierStart = System.currentTimeMillis();
+            AppState state = null;
+            boolean reached;
+            try {
+                reached = apply(tier, newSession);
+                if (reached && target != TargetState.FRESH_LAUNCH && tier != ResetTier.NEW_SESSION) {
+                    state = tier == ResetTier.NAVIGATE_HOME
+                            ? AppStateDetector.detectAppState()
+                            : AppStateDetector.detectAppState(launchDetectMs);
+                    reached = SESSION_START_STATES.contains(state);
+                }
+            } catch (Exception e) {
+                logger.warn("⚠️ Reset tier {} failed: {}", tier, e.getMessage());
+                reached = false;
+            }
+
+            long tierMs = System.currentTimeMillis() - tierStart;
+            attempts.get(tier).incrementAndGet();
+            attemptMs.get(tier).addAndGet(tierMs);
+            logger.info("🔁 Reset tier {} {} in {} ms (target {})", tier, reached ? "succeeded" : "did not reach target", tierMs, target);
+
+            if (reached) {
+                chosen.get(tier).incrementAndGet();
+                long total = System.currentTimeMillis() - start;
+                PerfBaseline.setup("reset." + tier, total, true);
+                ElementHelper.safeAllureStep("🔁 App reset via " + tier + " in " + total + " ms");
+                return new ResetResult(tier, state, total);
+            }
+        }
+
+        String msg = "❌ All reset tiers failed for target " + target;
+        logger.error(msg);
+        Allure.addAttachment("Reset Failure", msg);
+        throw new IllegalStateException(msg);
+    }
+
+    private static boolean apply(ResetTier tier, Supplier<AppiumDriver> newSession) {
+        if (tier == ResetTier.NEW_SESSION) {
+            return !DriverUtils.isDriverInvalid(SessionPool.freshSession(newSession));
+        }
+
+        AppiumDriver driver = DriverManager.getDriver();
+        if (DriverUtils.isDriverInvalid(driver)) {
+            return false;
+        }
+
+        switch (tier) {
+            case NAVIGATE_HOME:
+                return navigateHome(driver);
+            case RESTART_APP:
+                return restartApp(driver);
+            case CLEAR_DATA:
+                return clearAppData(driver);
+            default:
+                return false;
+        }
+    }
+
+    private static boolean navigateHome(AppiumDriver driver) {
+        By home = ElementHelper.getLocator("selfCollectBtn.text");
+        By login = ElementHelper.getLocator("continueAsGuest.accessibility");
+
+        if (ElementProbe.isVisibleNow(home) || ElementProbe.isVisibleNow(login)) {
+            return true;
+        }
+        for (int press = 0; press < maxBackPresses; press++) {
+            driver.navigate().back();
+            if (ElementProbe.waitForAnyVisible(1, home, login) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean restartApp(AppiumDriver driver) {
+        if (!(driver instanceof InteractsWithApps)) {
+            return false;
+        }
+        InteractsWithApps apps = (InteractsWithApps) driver;
+        String appId = appId();
+        apps.terminateApp(appId);
+        apps.activateApp(appId);
+        return true;
+    }
+
+    private static boolean clearAppData(AppiumDriver driver) {
+        if (!PlatformHelper.isAndroid() || !(driver instanceof InteractsWithApps)) {
+            return false;
+        }
+        String appId = appId();
+        driver.executeScript("mobile: clearApp", Map.of("appId", appId));
+        ((InteractsWithApps) driver).activateApp(appId);
+        return true;
+    }
+
+    private static String appId() {
+        return PlatformHelper.isIOS()
+                ? ConfigurationManager.get("bundleId")
+                : ConfigurationManager.get("appPackage");
+    }
+
+    public static void logStats() {
+        StringBuilder sb = new StringBuilder("📊 App reset tiers:");
+        for (ResetTier tier : ResetTier.values()) {
+            long count = attempts.get(tier).get();
+            sb.append(String.format("%n  ➤ %s: chosen %d, attempted %d, avg %d ms",
+                    tier, chosen.get(tier).get(), count, count == 0 ? 0 : attemptMs.get(tier).get() / count));
+        }
+        logger.info(sb.toString());
+    }
+}
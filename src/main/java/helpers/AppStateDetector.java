@@ -2,15 +2,25 @@ package helpers;
 
 import config.ConfigurationManager;
 import drivers.DriverManager;
-import io.appium.java_client.AppiumDriver;
 import org.openqa.selenium.By;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import utils.SessionManager;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Classifies the current screen by matching one hierarchy snapshot against every registered
+ * {@link ScreenFingerprint} at once, instead of waiting out one element check after another.
+ * <p>
+ * The best full match (highest confidence, then registration order) wins. If nothing matches the
+ * hierarchy is re-captured every {@code appState.detect.pollMs} until {@code appState.detect.timeoutMs}
+ * runs out. New screens are added with {@link #register(ScreenFingerprint)} or to the defaults below.
+ */
 public class AppStateDetector {
     private static final Logger logger = LoggerFactory.getLogger(AppStateDetector.class);
-    private static final AppiumDriver driver = DriverManager.getDriver();
 
     public enum AppState {
         NOTIFICATION_POPUP,
@@ -18,52 +28,232 @@ public class AppStateDetector {
         OTP_SCREEN,
         HOME_SCREEN_GUEST,
         HOME_SCREEN_OTP,
+        PRODUCT_SCREEN,
+        CART_SCREEN,
+        FULFILMENT_SCREEN,
+        PAYMENTS_SCREEN,
+        ORDER_SUBMITTED_SCREEN,
+        ORDER_DETAILS_SCREEN,
         UNKNOWN
     }
 
+    private static final long timeoutMs = ConfigurationManager.getInt("appState.detect.timeoutMs", 2000);
+    private static final long pollMs = ConfigurationManager.getInt("appState.detect.pollMs", 250);
+
+    // Registration order breaks confidence ties: overlays first, then entry screens, then flow screens
+    private static final List<ScreenFingerprint> fingerprints = new CopyOnWriteArrayList<>(List.of(
+            ScreenFingerprint.of(AppState.NOTIFICATION_POPUP)
+                    .present("allowNotificationsBtn.id"),
+            ScreenFingerprint.of(AppState.LOGIN_SCREEN)
+                    .visible("continueAsGuest.accessibility")
+                    .supportedBy("loginPageTitle.text")
+                    .supportedBy("phoneInputField.text"),
+            ScreenFingerprint.of(AppState.OTP_SCREEN)
+                    .present("verifyOtpTitle.text"),
+            ScreenFingerprint.of(AppState.HOME_SCREEN_OTP)
+                    .visible("selfCollectBtn.text")
+                    .anyOf("orderTrackingTitle.text", "activeOrderBtn.text")
+                    .supportedBy("deliveryBtn.text"),
+            ScreenFingerprint.of(AppState.HOME_SCREEN_GUEST)
+                    .visible("selfCollectBtn.text")
+                    .absent("orderTrackingTitle.text", "activeOrderBtn.text")
+                    .supportedBy("deliveryBtn.text"),
+            ScreenFingerprint.of(AppState.PRODUCT_SCREEN)
+                    .present("ProductsPageTitle.text")
+                    .anyOf("addToCartBtn.accessibilityId", "buyNowBtn.text")
+                    .supportedBy("pickup.dropdown.accessibilityId"),
+            ScreenFingerprint.of(AppState.CART_SCREEN)
+                    .present("cartPageTitle.text")
+                    .anyOf("proceedToFulfilmentBtn.text", "totalAmountLabel.text", "cartDescription.text")
+                    .supportedBy("addMoreItemsBtn.text"),
+            ScreenFingerprint.of(AppState.FULFILMENT_SCREEN)
+                    .present("confirmFulfilmentTitle.text")
+                    .supportedBy("proceedToPaymentBtn.text"),
+            ScreenFingerprint.of(AppState.PAYMENTS_SCREEN)
+                    .present("paymentsTitle.text")
+                    .supportedBy("payment.bankTransfer.text"),
+            ScreenFingerprint.of(AppState.ORDER_SUBMITTED_SCREEN)
+                    .present("orderSubmittedTitle.text")
+                    .supportedBy("viewOrderBtn.text")
+                    .supportedBy("backToHomeBtn.text"),
+            ScreenFingerprint.of(AppState.ORDER_DETAILS_SCREEN)
+                    .present("orderDetailsTitle.text")
+                    .supportedBy("payNowLink.text")
+    ));
+
+    /**
+     * Outcome of a detection: the screen, how sure the classifier is (fraction of the winning
+     * fingerprint's signals that held), how long it took and how many snapshots were needed.
+     */
+    public static final class Detection {
+        private final AppState state;
+        private final double confidence;
+        private final long millis;
+        private final int snapshots;
+        private final String closest;
+
+        Detection(AppState state, double confidence, long millis, int snapshots, String closest) {
+            this.state = state;
+            this.confidence = confidence;
+            this.millis = millis;
+            this.snapshots = snapshots;
+            this.closest = closest;
+        }
+
+        public AppState getState() {
+            return state;
+        }
+
+        public double getConfidence() {
+            return confidence;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        public int getSnapshots() {
+            return snapshots;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (confidence %.2f, %d snapshot(s), %d ms)%s",
+                    state, confidence, snapshots, millis, closest == null ? "" : ", closest: " + closest);
+        }
+    }
+
+    /**
+     * Adds a screen fingerprint. Fingerprints registered later lose confidence ties.
+     */
+    public static void register(ScreenFingerprint fingerprint) {
+        fingerprints.add(fingerprint);
+    }
+
     public static AppState detectAppState() {
-        logger.info("🔍 Detecting app state...");
+        return detectAppState(timeoutMs);
+    }
 
+    /**
+     * @param budgetMs how long to keep re-capturing while nothing matches, e.g. longer while the app is still launching
+     */
+    public static AppState detectAppState(long budgetMs) {
+        logger.info("🔍 Detecting app state...");
         try {
-            if (ElementHelper.isElementPresent("allowNotificationsBtn.id")) {
-                logger.info("📍 Detected: Notification popup");
-                return AppState.NOTIFICATION_POPUP;
-            }
+            return detect(budgetMs).getState();
+        } catch (Exception e) {
+            logger.warn("⚠️ Error while detecting app state: {}", e.getMessage(), e);
+            return AppState.UNKNOWN;
+        }
+    }
 
-            By guestButton = ElementHelper.getLocator("continueAsGuest.accessibility");
-            By selfCollectButton = ElementHelper.getLocator("selfCollectBtn.text");
+    /**
+     * Captures snapshots of the current driver until a fingerprint matches or the detection budget runs out.
+     */
+    public static Detection detect() {
+        return detect(timeoutMs);
+    }
+
+    /**
+     * Like {@link #detect()}, with its own budget instead of {@code appState.detect.timeoutMs}.
+     */
+    public static Detection detect(long budgetMs) {
+        long start = System.currentTimeMillis();
+        long deadline = start + budgetMs;
+        int snapshots = 0;
 
-            if (ElementHelper.waitUntilVisible(guestButton, 2) != null) {
-                logger.info("📍 Detected: Login screen");
-                return AppState.LOGIN_SCREEN;
+        while (true) {
+            HierarchySnapshot snapshot = HierarchySnapshot.capture();
+            snapshots++;
+            Detection detection = classify(snapshot, true, start, snapshots);
+
+            if (detection.getState() != AppState.UNKNOWN || System.currentTimeMillis() + pollMs > deadline) {
+                if (detection.getState() == AppState.UNKNOWN) {
+                    logger.warn("❓ App state unknown: {}", detection);
+                } else {
+                    logger.info("📍 Detected: {}", detection);
+                }
+                return detection;
             }
 
-            if (ElementHelper.isElementPresent("verifyOtpTitle.text")) {
-                logger.info("📍 Detected: OTP screen");
-                return AppState.OTP_SCREEN;
+            Sleeps.poll(pollMs);
+            if (Thread.currentThread().isInterrupted()) {
+                return detection;
             }
+        }
+    }
 
-            if (ElementHelper.waitUntilVisible(selfCollectButton, 2) != null) {
-                boolean hasOtpOnlyElements =
-                        ElementHelper.isElementPresent("orderTrackingTitle.text") ||
-                                ElementHelper.isElementPresent("activeOrderBtn.text");
+    /**
+     * Classifies a snapshot without touching the device; usable offline against saved page sources.
+     */
+    public static Detection classify(HierarchySnapshot snapshot) {
+        return classify(snapshot, false, System.currentTimeMillis(), 1);
+    }
 
-                logger.info("🧠 [State Detection] Visible: selfCollectBtn");
-                logger.info("🧠 [State Detection] OTP-only elements present: {}", hasOtpOnlyElements);
+    private static Detection classify(HierarchySnapshot snapshot, boolean liveFallback, long start, int snapshots) {
+        ScreenFingerprint.Probe probe = new SnapshotProbe(snapshot, liveFallback);
 
-                if (hasOtpOnlyElements) {
-                    logger.info("📍 Detected: Home screen (OTP logged in)");
-                    return AppState.HOME_SCREEN_OTP;
-                } else {
-                    logger.info("📍 Detected: Home screen (Guest)");
-                    return AppState.HOME_SCREEN_GUEST;
-                }
+        ScreenFingerprint.Match best = null;
+        ScreenFingerprint.Match closest = null;
+        for (ScreenFingerprint fingerprint : fingerprints) {
+            ScreenFingerprint.Match match = fingerprint.match(probe);
+            if (match.matched && (best == null || match.confidence > best.confidence)) {
+                best = match;
+            }
+            if (closest == null || match.coverage > closest.coverage) {
+                closest = match;
             }
-        } catch (Exception e) {
-            logger.warn("⚠️ Error while detecting app state: {}", e.getMessage(), e);
         }
 
-        logger.warn("❓ App state unknown");
-        return AppState.UNKNOWN;
+        long millis = System.currentTimeMillis() - start;
+        if (best != null) {
+            return new Detection(best.fingerprint.getState(), best.confidence, millis, snapshots, null);
+        }
+        String hint = closest == null || closest.coverage == 0
+                ? null
+                : closest.fingerprint.getState() + " missing " + closest.failed;
+        return new Detection(AppState.UNKNOWN, 0, millis, snapshots, hint);
+    }
+
+    /**
+     * Answers signals from the snapshot, memoised per key. Locators a snapshot cannot evaluate are
+     * looked up on the live driver when allowed; keys without a locator on this platform never match.
+     */
+    private static final class SnapshotProbe implements ScreenFingerprint.Probe {
+        private final HierarchySnapshot snapshot;
+        private final boolean liveFallback;
+        private final Map<String, Boolean> present = new HashMap<>();
+        private final Map<String, Boolean> visible = new HashMap<>();
+
+        SnapshotProbe(HierarchySnapshot snapshot, boolean liveFallback) {
+            this.snapshot = snapshot;
+            this.liveFallback = liveFallback;
+        }
+
+        @Override
+        public boolean present(String key) {
+            return present.computeIfAbsent(key, k -> evaluate(k, false));
+        }
+
+        @Override
+        public boolean visible(String key) {
+            return visible.computeIfAbsent(key, k -> evaluate(k, true));
+        }
+
+        private boolean evaluate(String key, boolean mustBeVisible) {
+            By locator = LocatorRegistry.locators(snapshot.getPlatform()).get(key);
+            if (locator == null) {
+                return false;
+            }
+            try {
+                return mustBeVisible ? snapshot.isVisible(locator) : snapshot.isPresent(locator);
+            } catch (UnsupportedOperationException e) {
+                if (!liveFallback || DriverManager.getDriver() == null) {
+                    return false;
+                }
+                logger.debug("🔎 '{}' not evaluable on snapshot, checking live", key);
+                return mustBeVisible ? ElementProbe.isVisibleNow(locator) : ElementProbe.isPresentNow(locator);
+            }
+        }
     }
-}
\ No newline at end of file
+}
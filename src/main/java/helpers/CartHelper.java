@@ -2,11 +2,12 @@ package helpers;
 
 import helpers.ElementHelper;
 import helpers.LocatorHelper;
-import io.qameta.allure.Allure;
 import org.openqa.selenium.By;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+
 public class CartHelper {
 
     private static final Logger logger = LoggerFactory.getLogger(CartHelper.class);
@@ -16,7 +17,6 @@ public class CartHelper {
         By emptyCartTextLocator = LocatorHelper.resolveLocator("cartDescription.text");
 
         logger.info("🧹 Starting to clear cart items...");
-        Allure.step("🧹 Starting to clear cart items...");
 
         int attempts = 0;
         int maxAttempts = 10;
@@ -24,21 +24,24 @@ public class CartHelper {
         while (attempts < maxAttempts) {
             attempts++;
 
+            // One wait for whichever shows first; an empty cart wins if both are visible
+            By visible = ElementProbe.waitForAnyVisible(3, emptyCartTextLocator, deleteBtnLocator);
+
             // Stop if cart is already empty
-            if (ElementHelper.isElementDisplayed(emptyCartTextLocator, 2)) {
+            if (emptyCartTextLocator.equals(visible)) {
                 logger.info("🛒 Cart is empty — no more items to delete.");
-                Allure.step("🛒 Cart is empty.");
                 break;
             }
 
             // If delete button is found, click it
-            if (ElementHelper.isElementPresent(deleteBtnLocator, 3)) {
+            if (visible != null) {
                 logger.info("❌ Deleting item #{}", attempts);
-                Allure.step("❌ Deleting item #" + attempts);
+                int before = ElementProbe.countNow(deleteBtnLocator);
                 ElementHelper.clickElement(deleteBtnLocator);
 
-                // Optional: small wait to let the cart update
-                ElementHelper.delay(500);
+                // Let the cart update: one delete button fewer, or the empty-cart text
+                Sleeps.until(Duration.ofSeconds(3), Duration.ofMillis(150),
+                        () -> ElementProbe.countNow(deleteBtnLocator) < before || ElementProbe.countNow(emptyCartTextLocator) > 0);
             } else {
                 logger.warn("⚠️ No delete button found on attempt #{}", attempts);
                 break;
@@ -47,10 +50,8 @@ public class CartHelper {
 
         if (!ElementHelper.isElementDisplayed(emptyCartTextLocator, 3)) {
             logger.warn("❌ Cart may still have items after {} attempts", attempts);
-            Allure.step("❌ Cart may still have items after " + attempts + " attempts");
         } else {
             logger.info("✅ Cart cleared successfully");
-            Allure.step("✅ Cart cleared successfully");
         }
     }
 }
\ No newline at end of file
@@ -1,12 +1,10 @@
 package helpers;
 
-import config.ConfigurationManager;
 import drivers.DriverManager;
 import io.appium.java_client.AppiumBy;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileBy;
 import io.qameta.allure.Allure;
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.PointerInput;
 import org.openqa.selenium.interactions.Sequence;
@@ -14,8 +12,10 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import utils.ArtifactPipeline;
 
-import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.time.Duration;
 import java.util.Collections;
@@ -25,7 +25,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class ElementHelper {
-    private static final int DEFAULT_WAIT_TIME = 10;
+    private static final Duration DEFAULT_WAIT_TIME = AdaptiveWaits.defaultTimeout();
     private static final Logger logger = LoggerFactory.getLogger(ElementHelper.class);
 
     private ElementHelper() {
@@ -37,13 +37,15 @@ public class ElementHelper {
     }
 
     public static WebElement waitForElementVisible(AppiumDriver driver, By locator, int timeoutInSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return AdaptiveWaits.until(driver, locator, Duration.ofSeconds(timeoutInSeconds),
+                ExpectedConditions.visibilityOfElementLocated(locator));
     }
 
     public static WebElement waitForElementVisible(AppiumDriver driver, By locator, int timeout, WebElement parent) {
         Logger logger = LoggerFactory.getLogger(ElementHelper.class);
 
+        JfrEvents.WaitEvent event = JfrEvents.waitStarted();
+        boolean satisfied = false;
         try {
             logger.debug("🔎 Waiting for element [{}] inside parent...", locator);
             WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
@@ -58,6 +60,7 @@ public class ElementHelper {
             });
 
             if (element != null) {
+                satisfied = true;
                 logger.info("✅ Found and visible: [{}] inside parent", locator);
                 return element;
             } else {
@@ -65,26 +68,36 @@ public class ElementHelper {
             }
         } catch (Exception e) {
             logger.error("❌ Failed to find visible element [{}] in parent: {}", locator, e.getMessage());
+        } finally {
+            JfrEvents.waitFinished(event, locator, timeout * 1000L, satisfied);
         }
 
         throw new NoSuchElementException("Element " + locator.toString() + " not visible in parent");
     }
 
     public static List<WebElement> waitForElementsVisible(AppiumDriver driver, By locator, int timeoutInSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        return wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(locator));
+        JfrEvents.WaitEvent event = JfrEvents.waitStarted();
+        boolean satisfied = false;
+        try {
+            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
+            List<WebElement> elements = wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(locator));
+            satisfied = true;
+            return elements;
+        } finally {
+            JfrEvents.waitFinished(event, locator, timeoutInSeconds * 1000L, satisfied);
+        }
     }
 
     public static WebElement getElement(By locator) {
-        return new WebDriverWait(getDriverSafely(), Duration.ofSeconds(DEFAULT_WAIT_TIME))
-                .until(ExpectedConditions.presenceOfElementLocated(locator));
+        return AdaptiveWaits.until(getDriverSafely(), locator, DEFAULT_WAIT_TIME,
+                ExpectedConditions.presenceOfElementLocated(locator));
     }
 
 
 
     public static WebElement getClickableElement(By locator) {
-        return new WebDriverWait(getDriverSafely(), Duration.ofSeconds(DEFAULT_WAIT_TIME))
-                .until(ExpectedConditions.elementToBeClickable(locator));
+        return AdaptiveWaits.until(getDriverSafely(), locator, DEFAULT_WAIT_TIME,
+                ExpectedConditions.elementToBeClickable(locator));
     }
 
     public static boolean isElementDisplayed(String locatorKey) {
@@ -116,8 +129,10 @@ public class ElementHelper {
 
     public static boolean waitForAnyElementVisible(By[] locators, int timeoutInSeconds) {
         WebDriverWait wait = new WebDriverWait(getDriverSafely(), Duration.ofSeconds(timeoutInSeconds));
+        JfrEvents.WaitEvent event = JfrEvents.waitStarted();
+        boolean satisfied = false;
         try {
-            return wait.until(driver -> {
+            satisfied = wait.until(driver -> {
                 for (By locator : locators) {
                     try {
                         if (driver.findElement(locator).isDisplayed()) return true;
@@ -125,16 +140,19 @@ public class ElementHelper {
                 }
                 return false;
             });
+            return satisfied;
         } catch (TimeoutException e) {
             logger.warn("❌ None of the elements became visible within timeout.");
             return false;
+        } finally {
+            JfrEvents.waitFinished(event, locators, timeoutInSeconds * 1000L, satisfied);
         }
     }
 
     public static boolean isElementDisplayed(By locator, int timeoutInSeconds) {
         try {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
-            wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            AdaptiveWaits.until(DriverManager.getDriver(), locator, Duration.ofSeconds(timeoutInSeconds),
+                    ExpectedConditions.visibilityOfElementLocated(locator));
             return true;
         } catch (TimeoutException e) {
             return false;
@@ -143,8 +161,8 @@ public class ElementHelper {
 
     public static boolean waitForElementToBeClickable(By locator, int timeoutInSeconds) {
         try {
-            new WebDriverWait(getDriverSafely(), Duration.ofSeconds(timeoutInSeconds))
-                    .until(ExpectedConditions.elementToBeClickable(locator));
+            AdaptiveWaits.until(getDriverSafely(), locator, Duration.ofSeconds(timeoutInSeconds),
+                    ExpectedConditions.elementToBeClickable(locator));
             return true;
         } catch (TimeoutException e) {
             logger.warn("❌ Element not clickable: {}", locator);
@@ -154,8 +172,8 @@ public class ElementHelper {
 
     public static boolean isElementPresent(By locator, int timeoutInSeconds) {
         try {
-            new WebDriverWait(getDriverSafely(), Duration.ofSeconds(timeoutInSeconds))
-                    .until(ExpectedConditions.presenceOfElementLocated(locator));
+            AdaptiveWaits.until(getDriverSafely(), locator, Duration.ofSeconds(timeoutInSeconds),
+                    ExpectedConditions.presenceOfElementLocated(locator));
             return true;
         } catch (TimeoutException e) {
             logger.warn("❌ Element not present: {}", locator);
@@ -170,8 +188,8 @@ public class ElementHelper {
 
     public static boolean waitForElementToBeVisible(By locator, int timeoutInSeconds) {
         try {
-            new WebDriverWait(getDriverSafely(), Duration.ofSeconds(timeoutInSeconds))
-                    .until(ExpectedConditions.visibilityOfElementLocated(locator));
+            AdaptiveWaits.until(getDriverSafely(), locator, Duration.ofSeconds(timeoutInSeconds),
+                    ExpectedConditions.visibilityOfElementLocated(locator));
             return true;
         } catch (TimeoutException e) {
             return false;
@@ -180,7 +198,7 @@ public class ElementHelper {
 
     public static void clickElement(WebElement element) {
         try {
-            new WebDriverWait(getDriverSafely(), Duration.ofSeconds(DEFAULT_WAIT_TIME))
+            new WebDriverWait(getDriverSafely(), DEFAULT_WAIT_TIME)
                     .until(ExpectedConditions.elementToBeClickable(element)).click();
             logger.info("✅ Clicked WebElement.");
         } catch (Exception e) {
@@ -235,7 +253,7 @@ public class ElementHelper {
                     return false;
                 }
 
-                delay(1000); // optional pause between retries
+                Sleeps.pause(1000, "scroll retry backoff");
             }
         }
 
@@ -267,42 +285,22 @@ public class ElementHelper {
 
     public static void takeScreenshot(String screenshotName, String folderName) {
         try {
-            File src = ((TakesScreenshot) getDriverSafely()).getScreenshotAs(OutputType.FILE);
+            byte[] screenshot = ArtifactPipeline.screenshot(getDriverSafely());
+            if (screenshot == null) {
+                return;
+            }
             String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-            String filePath = System.getProperty("user.dir") + "/screenshots/" + folderName + "/" + screenshotName + "_" + timestamp + ".png";
-            FileUtils.copyFile(src, new File(filePath));
-            logger.info("✅ Screenshot saved at: {}", filePath);
+            Path filePath = Paths.get(System.getProperty("user.dir"), "screenshots", folderName, screenshotName + "_" + timestamp + ".png");
+            ArtifactPipeline.artifact(screenshotName, screenshot, ArtifactPipeline.PNG).toDisk(filePath).submit();
         } catch (Exception e) {
             logger.error("❌ Failed to take screenshot: {}", e.getMessage());
         }
     }
 
     public static WebElement waitUntilClickable(String locatorKey, int timeoutSeconds) {
-        By locator = resolveLocator(locatorKey);
-        return new WebDriverWait(getDriverSafely(), Duration.ofSeconds(timeoutSeconds))
-                .until(ExpectedConditions.elementToBeClickable(locator));
-    }
-
-    private static By resolveLocator(String locatorKey) {
-        String raw = ConfigurationManager.getProperty(locatorKey);
-
-        if (raw == null) {
-            throw new IllegalArgumentException(String.format("❌ Locator not found for key: %s", locatorKey));
-        }
-
-        raw = raw.trim();
-
-        if (raw.startsWith("new UiSelector()")) {
-            return MobileBy.AndroidUIAutomator(raw);
-        } else if (raw.startsWith("//") || raw.startsWith("(//")) {
-            return By.xpath(raw);
-        } else if (raw.contains(":id/")) {
-            return By.id(raw);
-        } else if (!raw.contains(" ")) {
-            return MobileBy.AccessibilityId(raw);
-        } else {
-            throw new IllegalArgumentException(String.format("❌ Unrecognized locator format: %s", raw));
-        }
+        By locator = LocatorHelper.resolveLocator(locatorKey);
+        return AdaptiveWaits.until(getDriverSafely(), locator, Duration.ofSeconds(timeoutSeconds),
+                ExpectedConditions.elementToBeClickable(locator));
     }
 
     public static boolean isElementDisplayed(String locatorKey, int timeoutInSeconds) {
@@ -317,8 +315,8 @@ public class ElementHelper {
 
     public static WebElement waitUntilVisible(By locator, int timeoutSeconds) {
         try {
-            return new WebDriverWait(getDriverSafely(), Duration.ofSeconds(timeoutSeconds))
-                    .until(ExpectedConditions.visibilityOfElementLocated(locator));
+            return AdaptiveWaits.until(getDriverSafely(), locator, Duration.ofSeconds(timeoutSeconds),
+                    ExpectedConditions.visibilityOfElementLocated(locator));
         } catch (TimeoutException e) {
             logger.debug("⏱️ Element not visible after {}s: {}", timeoutSeconds, locator);
             return null;
@@ -341,14 +339,11 @@ public class ElementHelper {
         }
     }
 
+    /**
+     * Unconditional pause; counted against the sleep budget, see {@link Sleeps}. Prefer a condition wait.
+     */
     public static void delay(int milliseconds) {
-        try {
-            Thread.sleep(milliseconds);
-            safeAllureStep("⏱ Delay for " + milliseconds + " ms");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.error("❌ Delay interrupted: {}", e.getMessage());
-        }
+        Sleeps.pause(milliseconds, "ElementHelper.delay");
     }
     public static void clickElementByText(AppiumDriver driver, String text) {
         try {
@@ -391,15 +386,15 @@ public class ElementHelper {
             if ("Android".equalsIgnoreCase(platform)) {
                 String scrollable = "new UiScrollable(new UiSelector().scrollable(true)).scrollIntoView(new UiSelector().text(\"" + text + "\"))";
                 getDriverSafely().findElement(MobileBy.AndroidUIAutomator(scrollable));
-                System.out.println("✅ Scrolled to text: " + text);
+                logger.info("✅ Scrolled to text: {}", text);
             } else if ("iOS".equalsIgnoreCase(platform)) {
                 WebElement element = getDriverSafely().findElement(MobileBy.iOSNsPredicateString("label == '" + text + "' || name == '" + text + "'"));
-                System.out.println("✅ Found iOS element: " + text);
+                logger.info("✅ Found iOS element: {}", text);
             } else {
-                System.out.println("⚠️ Unsupported platform: " + platform);
+                logger.warn("⚠️ Unsupported platform: {}", platform);
             }
         } catch (Exception e) {
-            System.out.println("❌ Scroll to text failed: " + text + " → " + e.getMessage());
+            logger.error("❌ Scroll to text failed: {} → {}", text, e.getMessage());
         }
     }
 
@@ -0,0 +1,128 @@
+package helpers;
+
+import drivers.SessionTimeouts;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Answers "is it there right now?" with a single {@code findElements} call under a zero implicit wait.
+ * <p>
+ * Use these instead of {@link ElementHelper#isElementDisplayed} / {@link ElementHelper#isElementPresent}
+ * wherever absence is the expected or common answer (optional popups, loop exit conditions, state checks
+ * after the screen has settled): the positive-wait APIs wait out their full timeout before saying no.
+ * {@link #waitUntilAbsent} covers the opposite case, waiting for something to go away.
+ */
+public final class ElementProbe {
+
+    private static final Logger logger = LoggerFactory.getLogger(ElementProbe.class);
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(200);
+
+    private ElementProbe() {
+    }
+
+    public static boolean isPresentNow(String locatorKey) {
+        return isPresentNow(LocatorHelper.resolveLocator(locatorKey));
+    }
+
+    /**
+     * @return true if at least one element matches {@code locator} at this moment
+     */
+    public static boolean isPresentNow(By locator) {
+        return !findNow(locator).isEmpty();
+    }
+
+    /**
+     * @return how many elements match {@code locator} at this moment
+     */
+    public static int countNow(By locator) {
+        return findNow(locator).size();
+    }
+
+    public static boolean isVisibleNow(String locatorKey) {
+        return isVisibleNow(LocatorHelper.resolveLocator(locatorKey));
+    }
+
+    /**
+     * @return true if at least one element matching {@code locator} is displayed at this moment
+     */
+    public static boolean isVisibleNow(By locator) {
+        for (WebElement element : findNow(locator)) {
+            try {
+                if (element.isDisplayed()) {
+                    return true;
+                }
+            } catch (StaleElementReferenceException ignored) {
+                // Element went away between lookup and check
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Waits until no element matching {@code locator} is displayed.
+     *
+     * @return true if it went away (or was never there) within the timeout
+     */
+    public static boolean waitUntilAbsent(By locator, int timeoutSeconds) {
+        long start = System.currentTimeMillis();
+        try {
+            new WebDriverWait(ElementHelper.getDriverSafely(), Duration.ofSeconds(timeoutSeconds), POLL_INTERVAL)
+                    .until(driver -> !isVisibleNow(locator));
+            logger.debug("✅ Gone after {} ms: {}", System.currentTimeMillis() - start, locator);
+            return true;
+        } catch (TimeoutException e) {
+            logger.warn("⏱️ Still visible after {}s: {}", timeoutSeconds, locator);
+            return false;
+        }
+    }
+
+    /**
+     * Waits until any of {@code locators} is displayed, probing all of them on each poll.
+     *
+     * @return the first locator found visible, or null if none appeared within the timeout
+     */
+    public static By waitForAnyVisible(int timeoutSeconds, By... locators) {
+        try {
+            return new WebDriverWait(ElementHelper.getDriverSafely(), Duration.ofSeconds(timeoutSeconds), POLL_INTERVAL)
+                    .until(driver -> {
+                        for (By locator : locators) {
+                            if (isVisibleNow(locator)) {
+                                return locator;
+                            }
+                        }
+                        return null;
+                    });
+        } catch (TimeoutException e) {
+            logger.debug("⏱️ None of {} locator(s) visible after {}s", locators.length, timeoutSeconds);
+            return null;
+        }
+    }
+
+    private static List<WebElement> findNow(By locator) {
+        WebDriver driver = ElementHelper.getDriverSafely();
+        long start = System.currentTimeMillis();
+        List<WebElement> elements = withoutImplicitWait(driver, () -> driver.findElements(locator));
+        logger.debug("🔎 Probe {} → {} element(s) in {} ms", locator, elements.size(), System.currentTimeMillis() - start);
+        return elements;
+    }
+
+    /**
+     * Runs {@code lookup} with the implicit wait at zero, restoring the previous value afterwards.
+     */
+    static <T> T withoutImplicitWait(WebDriver driver, Supplier<T> lookup) {
+        try (SessionTimeouts.Scope ignored = SessionTimeouts.implicitWait(driver, Duration.ZERO)) {
+            return lookup.get();
+        }
+    }
+}
@@ -9,27 +9,50 @@ import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeBodyPart;
 import jakarta.mail.internet.MimeMessage;
 import jakarta.mail.internet.MimeMultipart;
+import org.slf4j.Logger;
+
+import java.nio.file.Path;
 import java.util.Properties;
 
 public class EmailReportSender {
 
+    private static final Logger logger = LoggerHelper.getLogger(EmailReportSender.class);
+
     public static void sendReportEmail(String reportZipPath) {
         String enabled = EmailConfigManager.get("email.enabled");
         if (!Boolean.parseBoolean(enabled.trim())) {
-            System.out.println("🚫 Email sending disabled via config. Skipping send.");
+            logger.info("🚫 Email sending disabled via config. Skipping send.");
             return;
         }
+
+        try {
+            send(EmailConfigManager.get("email.subject"), EmailConfigManager.get("email.body"), Path.of(reportZipPath));
+            logger.info("✅ Allure report emailed successfully.");
+        } catch (MessagingException e) {
+            logger.error("❌ Failed to send email: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends one message to {@code email.recipients}, with {@code attachment} as the report zip if it is not null.
+     *
+     * @throws MessagingException if the server could not be reached or refused the message
+     */
+    public static void send(String subject, String body, Path attachment) throws MessagingException {
         final String senderEmail = EmailConfigManager.get("email.sender");
         final String senderPassword = EmailConfigManager.get("email.password");
         final String recipients = EmailConfigManager.get("email.recipients");
-        final String subject = EmailConfigManager.get("email.subject");
-        final String body = EmailConfigManager.get("email.body");
+        final String timeout = EmailConfigManager.get("email.timeoutMs", "30000");
 
         Properties props = new Properties();
         props.put("mail.smtp.auth", EmailConfigManager.get("email.auth"));
         props.put("mail.smtp.starttls.enable", EmailConfigManager.get("email.starttls"));
         props.put("mail.smtp.host", EmailConfigManager.get("email.host"));
         props.put("mail.smtp.port", EmailConfigManager.get("email.port"));
+        // Without these a stalled server hangs the end of the run forever
+        props.put("mail.smtp.connectiontimeout", timeout);
+        props.put("mail.smtp.timeout", timeout);
+        props.put("mail.smtp.writetimeout", timeout);
 
         Session session = Session.getInstance(props, new Authenticator() {
             protected PasswordAuthentication getPasswordAuthentication() {
@@ -37,40 +60,36 @@ public class EmailReportSender {
             }
         });
 
-        try {
-            Message message = new MimeMessage(session);
-            message.setFrom(new InternetAddress(senderEmail));
+        Message message = new MimeMessage(session);
+        message.setFrom(new InternetAddress(senderEmail));
 
-            String[] recipientArray = recipients.split(",");
-            InternetAddress[] recipientAddresses = new InternetAddress[recipientArray.length];
-            for (int i = 0; i < recipientArray.length; i++) {
-                recipientAddresses[i] = new InternetAddress(recipientArray[i].trim());
-            }
-            message.setRecipients(Message.RecipientType.TO, recipientAddresses);
+        String[] recipientArray = recipients.split(",");
+        InternetAddress[] recipientAddresses = new InternetAddress[recipientArray.length];
+        for (int i = 0; i < recipientArray.length; i++) {
+            recipientAddresses[i] = new InternetAddress(recipientArray[i].trim());
+        }
+        message.setRecipients(Message.RecipientType.TO, recipientAddresses);
+
+        message.setSubject(subject);
 
-            message.setSubject(subject);
+        // Body
+        MimeBodyPart messageBodyPart = new MimeBodyPart();
+        messageBodyPart.setText(body);
 
-            // Body
-            MimeBodyPart messageBodyPart = new MimeBodyPart();
-            messageBodyPart.setText(body);
+        Multipart multipart = new MimeMultipart();
+        multipart.addBodyPart(messageBodyPart);
 
-            // Attachment
+        // Attachment
+        if (attachment != null) {
             MimeBodyPart attachmentPart = new MimeBodyPart();
-            DataSource source = new FileDataSource(reportZipPath);
+            DataSource source = new FileDataSource(attachment.toFile());
             attachmentPart.setDataHandler(new DataHandler(source));
             attachmentPart.setFileName("Allure-Report.zip");
-
-            Multipart multipart = new MimeMultipart();
-            multipart.addBodyPart(messageBodyPart);
             multipart.addBodyPart(attachmentPart);
+        }
 
-            message.setContent(multipart);
+        message.setContent(multipart);
 
-            Transport.send(message);
-            System.out.println("✅ Allure report emailed successfully.");
-        } catch (MessagingException e) {
-            System.err.println("❌ Failed to send email: " + e.getMessage());
-            e.printStackTrace();
-        }
+        Transport.send(message);
     }
-}
\ No newline at end of file
+}
@@ -1,17 +1,19 @@
 package helpers;
 
+import java.nio.file.Paths;
+
 public class EmailReportTest {
     public static void main(String[] args) {
         String sourceDir = "allure-report";
         String zipPath = "allure-report.zip";
 
         try {
-            ReportZipper.zipFolder(sourceDir, zipPath);
-            System.out.println("✅ Report zipped successfully.");
+            ReportArchiver.Result result = ReportArchiver.archive(Paths.get(sourceDir), Paths.get(zipPath));
+            System.out.println("✅ Report zipped successfully: " + result);
             EmailReportSender.sendReportEmail(zipPath);
         } catch (Exception e) {
             System.err.println("❌ Failed to zip/send report: " + e.getMessage());
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,358 @@
+package helpers;
+
+import config.ConfigurationManager;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.PlatformHelper;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scrolls lists with gestures sized to the scrollable container and stops as soon as the list stops moving.
+ * <p>
+ * The swipe region comes from the container's bounds: the element given, or else the largest visible
+ * scrollable node in the current hierarchy (the window when there is none). On Android every swipe is a
+ * {@code mobile: scrollGesture} / {@code mobile: flingGesture}, which waits for the UI to go idle and
+ * reports {@code canScrollMore}; elsewhere a W3C drag is used and the end of the list is the point where
+ * the page source hash stops changing. No fixed sleeps are involved either way.
+ * <p>
+ * Every scroll reports its swipe count and time; totals are logged by {@link #logStats()}.
+ */
+public final class GestureEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(GestureEngine.class);
+
+    private static final int maxSwipes = ConfigurationManager.getInt("gestures.maxSwipes", 10);
+    private static final double swipePercent =
+            Double.parseDouble(ConfigurationManager.getProperty("gestures.swipePercent", "0.75"));
+    private static final int flingSpeed = ConfigurationManager.getInt("gestures.flingSpeed", 7500);
+    private static final long settleTimeoutMs = ConfigurationManager.getInt("gestures.settleTimeoutMs", 1500);
+    private static final long settlePollMs = ConfigurationManager.getInt("gestures.settlePollMs", 150);
+
+    // Fraction of the container kept clear of the swipe path (sticky headers, edge gestures)
+    private static final double EDGE_INSET = 0.1;
+    private static final Duration DRAG_DURATION = Duration.ofMillis(600);
+    private static final Duration DRAG_HOLD = Duration.ofMillis(100);
+
+    private static final AtomicLong scrolls = new AtomicLong();
+    private static final AtomicLong swipes = new AtomicLong();
+    private static final AtomicLong millis = new AtomicLong();
+
+    /**
+     * Finger direction: {@link #UP} reveals content further down the list.
+     */
+    public enum Direction {
+        UP("down"),
+        DOWN("up"),
+        LEFT("right"),
+        RIGHT("left");
+
+        // Direction the content scrolls, as UiAutomator2 gestures expect it
+        private final String scrollDirection;
+
+        Direction(String scrollDirection) {
+            this.scrollDirection = scrollDirection;
+        }
+    }
+
+    /**
+     * Outcome of a scroll: whether the target was found, whether the list ran out, and what it cost.
+     */
+    public static final class ScrollResult {
+        private final boolean found;
+        private final boolean endReached;
+        private final int swipes;
+        private final long millis;
+
+        ScrollResult(boolean found, boolean endReached, int swipes, long millis) {
+            this.found = found;
+            this.endReached = endReached;
+            this.swipes = swipes;
+            this.millis = millis;
+        }
+
+        public boolean isFound() {
+            return found;
+        }
+
+        public boolean isEndReached() {
+            return endReached;
+        }
+
+        public int getSwipes() {
+            return swipes;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s after %d swipe(s) in %d ms%s",
+                    found ? "found" : "not found", swipes, millis, endReached ? " (end of list)" : "");
+        }
+    }
+
+    private GestureEngine() {
+    }
+
+    /**
+     * Scrolls the main scrollable container up to {@code gestures.maxSwipes} times until {@code target} is visible.
+     */
+    public static ScrollResult scrollTo(By target) {
+        return scrollTo(null, target, Direction.UP, maxSwipes);
+    }
+
+    public static ScrollResult scrollTo(By target, int limit) {
+        return scrollTo(null, target, Direction.UP, limit);
+    }
+
+    /**
+     * Swipes inside {@code container} (the main scrollable container when null) until {@code target} is
+     * visible, the list stops moving, or {@code limit} swipes have been made.
+     */
+    public static ScrollResult scrollTo(By container, By target, Direction direction, int limit) {
+        AppiumDriver driver = ElementHelper.getDriverSafely();
+        long start = System.currentTimeMillis();
+        int count = 0;
+        boolean end = false;
+        boolean found = ElementProbe.isVisibleNow(target);
+
+        if (!found) {
+            Rectangle region = regionOf(driver, container);
+            while (count < limit) {
+                boolean moved = swipe(driver, region, direction);
+                count++;
+                found = ElementProbe.isVisibleNow(target);
+                if (found || !moved) {
+                    end = !moved && !found;
+                    break;
+                }
+            }
+        }
+
+        ScrollResult result = record(new ScrollResult(found, end, count, System.currentTimeMillis() - start));
+        logger.info("{} Scroll to {}: {}", found ? "✅" : "⚠️", target, result);
+        return result;
+    }
+
+    /**
+     * One swipe across the main scrollable container.
+     *
+     * @return true if the list can move further in this direction
+     */
+    public static boolean swipe(Direction direction) {
+        return swipe(null, direction);
+    }
+
+    /**
+     * One swipe across {@code container} (the main scrollable container when null).
+     *
+     * @return true if the list can move further in this direction
+     */
+    public static boolean swipe(By container, Direction direction) {
+        AppiumDriver driver = ElementHelper.getDriverSafely();
+        long start = System.currentTimeMillis();
+        boolean moved = swipe(driver, regionOf(driver, container), direction);
+        record(new ScrollResult(false, !moved, 1, System.currentTimeMillis() - start));
+        logger.debug("↕️ Swiped {}{}", direction, moved ? "" : " (end of list)");
+        return moved;
+    }
+
+    /**
+     * Flings repeatedly until the list stops moving or {@code limit} flings have been made; several pages
+     * per gesture, for getting to the far end of long lists.
+     */
+    public static ScrollResult flingToEnd(By container, Direction direction, int limit) {
+        AppiumDriver driver = ElementHelper.getDriverSafely();
+        long start = System.currentTimeMillis();
+        Rectangle region = regionOf(driver, container);
+        int count = 0;
+        boolean more = true;
+
+        while (more && count < limit) {
+            more = fling(driver, region, direction);
+            count++;
+        }
+
+        ScrollResult result = record(new ScrollResult(false, !more, count, System.currentTimeMillis() - start));
+        logger.info("⏩ Fling {}: {}", direction, result);
+        return result;
+    }
+
+    public static void logStats() {
+        long total = scrolls.get();
+        logger.info("📊 Gestures: {} scroll(s), {} swipe(s), {} ms total{}", total, swipes.get(), millis.get(),
+                total == 0 ? "" : String.format(", %.1f swipe(s) / %d ms per scroll", (double) swipes.get() / total, millis.get() / total));
+    }
+
+    // === Gestures ===
+
+    private static boolean swipe(AppiumDriver driver, Rectangle region, Direction direction) {
+        if (PlatformHelper.isAndroid()) {
+            Map<String, Object> params = area(region);
+            params.put("direction", direction.scrollDirection);
+            params.put("percent", swipePercent);
+            return Boolean.TRUE.equals(driver.executeScript("mobile: scrollGesture", params));
+        }
+
+        int before = HierarchySnapshot.capture().getSourceHash();
+        drag(driver, region, direction);
+        return settle(before) != before;
+    }
+
+    private static boolean fling(AppiumDriver driver, Rectangle region, Direction direction) {
+        if (PlatformHelper.isAndroid()) {
+            Map<String, Object> params = area(region);
+            params.put("direction", direction.scrollDirection);
+            params.put("speed", flingSpeed);
+            return Boolean.TRUE.equals(driver.executeScript("mobile: flingGesture", params));
+        }
+
+        int before = HierarchySnapshot.capture().getSourceHash();
+        Map<String, Object> params = new HashMap<>();
+        params.put("direction", direction.name().toLowerCase());
+        params.put("velocity", flingSpeed);
+        driver.executeScript("mobile: swipe", params);
+        return settle(before) != before;
+    }
+
+    /**
+     * Slow drag with a short hold before release, so the list moves by the drag distance without momentum.
+     */
+    private static void drag(AppiumDriver driver, Rectangle region, Direction direction) {
+        int centerX = region.getX() + region.getWidth() / 2;
+        int centerY = region.getY() + region.getHeight() / 2;
+        int dx = (int) (region.getWidth() * swipePercent / 2);
+        int dy = (int) (region.getHeight() * swipePercent / 2);
+
+        int startX = centerX, startY = centerY, endX = centerX, endY = centerY;
+        switch (direction) {
+            case UP:
+                startY = centerY + dy;
+                endY = centerY - dy;
+                break;
+            case DOWN:
+                startY = centerY - dy;
+                endY = centerY + dy;
+                break;
+            case LEFT:
+                startX = centerX + dx;
+                endX = centerX - dx;
+                break;
+            case RIGHT:
+                startX = centerX - dx;
+                endX = centerX + dx;
+                break;
+        }
+
+        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+        Sequence swipe = new Sequence(finger, 1);
+        swipe.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), startX, startY));
+        swipe.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        swipe.addAction(finger.createPointerMove(DRAG_DURATION, PointerInput.Origin.viewport(), endX, endY));
+        swipe.addAction(finger.createPointerMove(DRAG_HOLD, PointerInput.Origin.viewport(), endX, endY));
+        swipe.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        driver.perform(Collections.singletonList(swipe));
+    }
+
+    /**
+     * Re-captures the hierarchy until two consecutive hashes agree or the settle budget runs out.
+     *
+     * @return the settled hash
+     */
+    private static int settle(int before) {
+        long deadline = System.currentTimeMillis() + settleTimeoutMs;
+        int previous = HierarchySnapshot.capture().getSourceHash();
+        while (System.currentTimeMillis() + settlePollMs < deadline) {
+            if (previous == before) {
+                // Nothing moved on the first look; a gesture that did nothing has nothing to settle
+                return previous;
+            }
+            Sleeps.poll(settlePollMs);
+            if (Thread.currentThread().isInterrupted()) {
+                return previous;
+            }
+            int current = HierarchySnapshot.capture().getSourceHash();
+            if (current == previous) {
+                return current;
+            }
+            previous = current;
+        }
+        return previous;
+    }
+
+    // === Regions ===
+
+    /**
+     * @return the container's bounds inset by {@link #EDGE_INSET}
+     */
+    private static Rectangle regionOf(AppiumDriver driver, By container) {
+        Rectangle bounds = null;
+        if (container != null) {
+            List<WebElement> elements = ElementProbe.withoutImplicitWait(driver, () -> driver.findElements(container));
+            if (!elements.isEmpty()) {
+                bounds = elements.get(0).getRect();
+            } else {
+                logger.warn("⚠️ Scroll container {} not found, using the main scrollable area", container);
+            }
+        }
+        if (bounds == null) {
+            bounds = largestScrollable();
+        }
+        if (bounds == null) {
+            Dimension size = driver.manage().window().getSize();
+            bounds = new Rectangle(0, 0, size.height, size.width);
+        }
+
+        int insetX = (int) (bounds.getWidth() * EDGE_INSET);
+        int insetY = (int) (bounds.getHeight() * EDGE_INSET);
+        return new Rectangle(bounds.getX() + insetX, bounds.getY() + insetY,
+                bounds.getHeight() - 2 * insetY, bounds.getWidth() - 2 * insetX);
+    }
+
+    private static Rectangle largestScrollable() {
+        HierarchySnapshot.Node best = null;
+        long bestArea = 0;
+        for (HierarchySnapshot.Node node : HierarchySnapshot.capture().getNodes()) {
+            if (!node.isScrollable() || !node.isDisplayed() || node.getBounds() == null) {
+                continue;
+            }
+            long area = (long) node.getBounds().getWidth() * node.getBounds().getHeight();
+            if (area > bestArea) {
+                best = node;
+                bestArea = area;
+            }
+        }
+        return best == null ? null : best.getBounds();
+    }
+
+    private static Map<String, Object> area(Rectangle region) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("left", region.getX());
+        params.put("top", region.getY());
+        params.put("width", region.getWidth());
+        params.put("height", region.getHeight());
+        return params;
+    }
+
+    private static ScrollResult record(ScrollResult result) {
+        scrolls.incrementAndGet();
+        swipes.addAndGet(result.swipes);
+        millis.addAndGet(result.millis);
+        return result;
+    }
+}
@@ -12,7 +12,7 @@ public class GuestLoginHelper {
 
     private final AppiumDriver driver;
 
-    private static final Logger logger = LoggerFactory.getLogger(ElementHelper.class);
+    private static final Logger logger = LoggerFactory.getLogger(GuestLoginHelper.class);
     private final By allowNotificationBtn = MobileBy.id("com.android.permissioncontroller:id/permission_allow_button");
     private final By continueAsGuestBtn = MobileBy.AccessibilityId("Continue as Guest");
 
@@ -31,7 +31,7 @@ public class GuestLoginHelper {
                 logger.info("ℹ️ Notification permission popup shown.");
                 ElementHelper.clickElement(allowNotificationBtn);
             } else {
-                System.out.println("ℹ️ Notification permission popup not shown.");
+                logger.info("ℹ️ Notification permission popup not shown.");
             }
 
             // 👤 Tap 'Continue as Guest'
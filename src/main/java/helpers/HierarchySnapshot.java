@@ -0,0 +1,545 @@
+package helpers;
+
+import drivers.DriverManager;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Rectangle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An immutable, in-memory copy of the UI hierarchy taken from a single {@code getPageSource()} call.
+ * <p>
+ * Locators are evaluated locally against the snapshot, so any number of presence/visibility checks
+ * cost one Appium round trip. Supported strategies: id, accessibility id, className, XPath and the
+ * UiSelector subset handled by {@link UiSelectorQuery} (including the target of
+ * {@code UiScrollable.scrollIntoView}, limited to what is currently in the hierarchy).
+ * Anything else throws {@link UnsupportedOperationException} so callers can fall back to a live lookup.
+ * <p>
+ * Works on both UiAutomator2 and XCUITest page sources; {@link #parse(String)} lets saved dumps
+ * (e.g. {@code pickup_view.xml}) be evaluated offline.
+ */
+public final class HierarchySnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(HierarchySnapshot.class);
+
+    private static final Pattern BY_PATTERN = Pattern.compile("^(?:By|AppiumBy|MobileBy)\\.(\\w+): (.*)$", Pattern.DOTALL);
+    private static final Pattern ANDROID_BOUNDS = Pattern.compile("\\[(-?\\d+),(-?\\d+)]\\[(-?\\d+),(-?\\d+)]");
+    private static final String NODE_KEY = "snapshot.node";
+    private static final Duration STABLE_POLL = Duration.ofMillis(200);
+
+    private static final ThreadLocal<DocumentBuilder> builders = ThreadLocal.withInitial(HierarchySnapshot::newBuilder);
+    private static final ThreadLocal<XPath> xpaths = ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+    // Compiled expressions are not thread-safe, so each thread keeps its own
+    private static final ThreadLocal<Map<String, XPathExpression>> compiledXpaths = ThreadLocal.withInitial(HashMap::new);
+
+    private final Document document;
+    private final Node root;
+    private final List<Node> nodes;
+    private final LocatorRegistry.Platform platform;
+    private final int sourceHash;
+    private final long createdAt = System.currentTimeMillis();
+
+    private HierarchySnapshot(Document document, Node root, List<Node> nodes, LocatorRegistry.Platform platform, int sourceHash) {
+        this.document = document;
+        this.root = root;
+        this.nodes = nodes;
+        this.platform = platform;
+        this.sourceHash = sourceHash;
+    }
+
+    /**
+     * Takes a snapshot of the current thread's driver.
+     */
+    public static HierarchySnapshot capture() {
+        AppiumDriver driver = requireDriver();
+
+        long start = System.currentTimeMillis();
+        String source = driver.getPageSource();
+        long fetched = System.currentTimeMillis();
+        HierarchySnapshot snapshot = parse(source);
+        logger.debug("📸 Snapshot: {} nodes, fetched in {} ms, parsed in {} ms",
+                snapshot.size(), fetched - start, System.currentTimeMillis() - fetched);
+        return snapshot;
+    }
+
+    /**
+     * Captures until two consecutive page sources are identical, i.e. the screen stopped changing
+     * (animations, list reloads), or {@code timeout} runs out.
+     *
+     * @return the last snapshot taken
+     */
+    public static HierarchySnapshot awaitStable(Duration timeout) {
+        AppiumDriver driver = requireDriver();
+        long start = System.currentTimeMillis();
+        String[] last = {driver.getPageSource()};
+        boolean stable = Sleeps.until(timeout, STABLE_POLL, () -> {
+            String source = driver.getPageSource();
+            boolean same = source.equals(last[0]);
+            last[0] = source;
+            return same;
+        });
+        logger.debug(stable ? "📸 Screen stable after {} ms" : "⚠️ Screen still changing after {} ms",
+                System.currentTimeMillis() - start);
+        return parse(last[0]);
+    }
+
+    /**
+     * Captures until the page source hash differs from {@code previousHash} (see {@link #getSourceHash()}),
+     * or {@code timeout} runs out.
+     *
+     * @return true if the screen changed in time
+     */
+    public static boolean awaitChange(int previousHash, Duration timeout) {
+        AppiumDriver driver = requireDriver();
+        return Sleeps.until(timeout, STABLE_POLL, () -> driver.getPageSource().hashCode() != previousHash);
+    }
+
+    private static AppiumDriver requireDriver() {
+        AppiumDriver driver = DriverManager.getDriver();
+        if (driver == null) {
+            throw new IllegalStateException("❌ No driver bound to the current thread");
+        }
+        return driver;
+    }
+
+    /**
+     * Parses a UiAutomator2 or XCUITest page source.
+     */
+    public static HierarchySnapshot parse(String xml) {
+        Document document;
+        try {
+            document = builders.get().parse(new InputSource(new StringReader(xml)));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("❌ Unable to parse page source: " + e.getMessage(), e);
+        }
+
+        Element rootElement = document.getDocumentElement();
+        LocatorRegistry.Platform platform = rootElement.getTagName().startsWith("XCUIElementType")
+                || rootElement.getTagName().equals("AppiumAUT")
+                ? LocatorRegistry.Platform.IOS
+                : LocatorRegistry.Platform.ANDROID;
+
+        List<Node> nodes = new ArrayList<>();
+        Node root = build(rootElement, null, platform, nodes);
+        return new HierarchySnapshot(document, root, Collections.unmodifiableList(nodes), platform, xml.hashCode());
+    }
+
+    // === Queries ===
+
+    /**
+     * @return every node matching {@code locator}, in document order
+     * @throws UnsupportedOperationException if the locator cannot be evaluated locally
+     */
+    public List<Node> findAll(By locator) {
+        Matcher m = BY_PATTERN.matcher(locator.toString());
+        if (!m.matches()) {
+            throw new UnsupportedOperationException("Locator cannot be evaluated on a snapshot: " + locator);
+        }
+
+        String strategy = m.group(1);
+        String value = m.group(2);
+        switch (strategy) {
+            case "id":
+                return filter(node -> matchesId(node, value));
+            case "accessibilityId":
+                return filter(node -> value.equals(node.accessibilityId));
+            case "className":
+                return filter(node -> value.equals(node.className));
+            case "xpath":
+                return xpath(value);
+            case "androidUIAutomator":
+                return UiSelectorQuery.parse(value).select(this);
+            default:
+                throw new UnsupportedOperationException("Locator strategy '" + strategy + "' is not supported on a snapshot");
+        }
+    }
+
+    /**
+     * @return the first node matching {@code locator}, or null
+     */
+    public Node find(By locator) {
+        List<Node> matches = findAll(locator);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    public Node find(String locatorKey) {
+        return find(LocatorRegistry.get(locatorKey, platform));
+    }
+
+    public boolean isPresent(By locator) {
+        return !findAll(locator).isEmpty();
+    }
+
+    public boolean isPresent(String locatorKey) {
+        return isPresent(LocatorRegistry.get(locatorKey, platform));
+    }
+
+    public boolean isVisible(By locator) {
+        for (Node node : findAll(locator)) {
+            if (node.isVisible()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isVisible(String locatorKey) {
+        return isVisible(LocatorRegistry.get(locatorKey, platform));
+    }
+
+    /**
+     * @return true if {@code locator} can be answered from a snapshot
+     */
+    public static boolean supports(By locator) {
+        Matcher m = BY_PATTERN.matcher(locator.toString());
+        if (!m.matches()) {
+            return false;
+        }
+        switch (m.group(1)) {
+            case "id":
+            case "accessibilityId":
+            case "className":
+            case "xpath":
+                return true;
+            case "androidUIAutomator":
+                return UiSelectorQuery.isSupported(m.group(2));
+            default:
+                return false;
+        }
+    }
+
+    public Node getRoot() {
+        return root;
+    }
+
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public LocatorRegistry.Platform getPlatform() {
+        return platform;
+    }
+
+    /**
+     * @return hash of the raw page source; equal hashes before and after a gesture mean nothing moved
+     */
+    public int getSourceHash() {
+        return sourceHash;
+    }
+
+    public long getAgeMillis() {
+        return System.currentTimeMillis() - createdAt;
+    }
+
+    // === Evaluation ===
+
+    private boolean matchesId(Node node, String id) {
+        if (node.resourceId.isEmpty()) {
+            return false;
+        }
+        if (platform == LocatorRegistry.Platform.IOS) {
+            return id.equals(node.resourceId);
+        }
+        // UiAutomator2 resolves bare ids against the app package
+        return id.equals(node.resourceId) || (id.indexOf(':') < 0 && node.resourceId.endsWith(":id/" + id));
+    }
+
+    List<Node> filter(Predicate<Node> predicate) {
+        List<Node> result = new ArrayList<>();
+        for (Node node : nodes) {
+            if (predicate.test(node)) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
+    private List<Node> xpath(String expression) {
+        NodeList list;
+        try {
+            XPathExpression compiled = compiledXpaths.get().get(expression);
+            if (compiled == null) {
+                compiled = xpaths.get().compile(expression);
+                compiledXpaths.get().put(expression, compiled);
+            }
+            list = (NodeList) compiled.evaluate(document, XPathConstants.NODESET);
+        } catch (XPathExpressionException e) {
+            throw new IllegalArgumentException("❌ Invalid XPath '" + expression + "': " + e.getMessage(), e);
+        }
+
+        List<Node> result = new ArrayList<>(list.getLength());
+        for (int i = 0; i < list.getLength(); i++) {
+            Object node = list.item(i).getUserData(NODE_KEY);
+            if (node instanceof Node) {
+                result.add((Node) node);
+            }
+        }
+        return result;
+    }
+
+    // === Parsing ===
+
+    private static Node build(Element element, Node parent, LocatorRegistry.Platform platform, List<Node> nodes) {
+        Node node = platform == LocatorRegistry.Platform.IOS ? iosNode(element, parent) : androidNode(element, parent);
+        element.setUserData(NODE_KEY, node, null);
+        nodes.add(node);
+
+        List<Node> children = new ArrayList<>();
+        for (org.w3c.dom.Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element) {
+                children.add(build((Element) child, node, platform, nodes));
+            }
+        }
+        node.children = children.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(children);
+        return node;
+    }
+
+    private static Node androidNode(Element e, Node parent) {
+        Rectangle bounds = null;
+        Matcher m = ANDROID_BOUNDS.matcher(e.getAttribute("bounds"));
+        if (m.matches()) {
+            int x1 = Integer.parseInt(m.group(1));
+            int y1 = Integer.parseInt(m.group(2));
+            bounds = new Rectangle(x1, y1, Integer.parseInt(m.group(4)) - y1, Integer.parseInt(m.group(3)) - x1);
+        }
+
+        String className = e.getAttribute("class");
+        int flags = 0;
+        flags |= flag(e, "displayed", true, Node.DISPLAYED);
+        flags |= flag(e, "enabled", true, Node.ENABLED);
+        flags |= flag(e, "clickable", false, Node.CLICKABLE);
+        flags |= flag(e, "long-clickable", false, Node.LONG_CLICKABLE);
+        flags |= flag(e, "scrollable", false, Node.SCROLLABLE);
+        flags |= flag(e, "checkable", false, Node.CHECKABLE);
+        flags |= flag(e, "checked", false, Node.CHECKED);
+        flags |= flag(e, "focusable", false, Node.FOCUSABLE);
+        flags |= flag(e, "focused", false, Node.FOCUSED);
+        flags |= flag(e, "selected", false, Node.SELECTED);
+
+        return new Node(parent,
+                className.isEmpty() ? e.getTagName() : className,
+                e.getAttribute("resource-id"),
+                e.getAttribute("text"),
+                e.getAttribute("content-desc"),
+                e.getAttribute("package"),
+                parseInt(e.getAttribute("index"), 0),
+                bounds, flags);
+    }
+
+    private static Node iosNode(Element e, Node parent) {
+        Rectangle bounds = null;
+        if (e.hasAttribute("x")) {
+            bounds = new Rectangle(parseInt(e.getAttribute("x"), 0), parseInt(e.getAttribute("y"), 0),
+                    parseInt(e.getAttribute("height"), 0), parseInt(e.getAttribute("width"), 0));
+        }
+
+        String label = e.getAttribute("label");
+        int flags = 0;
+        flags |= flag(e, "visible", true, Node.DISPLAYED);
+        flags |= flag(e, "enabled", true, Node.ENABLED);
+        flags |= flag(e, "selected", false, Node.SELECTED);
+        flags |= flag(e, "focused", false, Node.FOCUSED);
+
+        return new Node(parent,
+                e.hasAttribute("type") ? e.getAttribute("type") : e.getTagName(),
+                e.getAttribute("name"),
+                label.isEmpty() ? e.getAttribute("value") : label,
+                e.getAttribute("name"),
+                "",
+                parseInt(e.getAttribute("index"), 0),
+                bounds, flags);
+    }
+
+    private static int flag(Element e, String attribute, boolean absentValue, int bit) {
+        String value = e.getAttribute(attribute);
+        boolean set = value.isEmpty() ? absentValue : Boolean.parseBoolean(value);
+        return set ? bit : 0;
+    }
+
+    private static int parseInt(String value, int fallback) {
+        try {
+            return value.isEmpty() ? fallback : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static DocumentBuilder newBuilder() {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setNamespaceAware(false);
+            factory.setIgnoringComments(true);
+            return factory.newDocumentBuilder();
+        } catch (Exception e) {
+            throw new IllegalStateException("❌ Unable to create XML parser", e);
+        }
+    }
+
+    /**
+     * One element of the hierarchy, reduced to the attributes locators and gestures need.
+     */
+    public static final class Node {
+        static final int DISPLAYED = 1;
+        static final int ENABLED = 1 << 1;
+        static final int CLICKABLE = 1 << 2;
+        static final int LONG_CLICKABLE = 1 << 3;
+        static final int SCROLLABLE = 1 << 4;
+        static final int CHECKABLE = 1 << 5;
+        static final int CHECKED = 1 << 6;
+        static final int FOCUSABLE = 1 << 7;
+        static final int FOCUSED = 1 << 8;
+        static final int SELECTED = 1 << 9;
+
+        private final Node parent;
+        private final String className;
+        private final String resourceId;
+        private final String text;
+        private final String accessibilityId;
+        private final String packageName;
+        private final int index;
+        private final Rectangle bounds;
+        private final int flags;
+        private List<Node> children = Collections.emptyList();
+
+        Node(Node parent, String className, String resourceId, String text, String accessibilityId,
+             String packageName, int index, Rectangle bounds, int flags) {
+            this.parent = parent;
+            this.className = className;
+            this.resourceId = resourceId;
+            this.text = text;
+            this.accessibilityId = accessibilityId;
+            this.packageName = packageName;
+            this.index = index;
+            this.bounds = bounds;
+            this.flags = flags;
+        }
+
+        public Node getParent() {
+            return parent;
+        }
+
+        public List<Node> getChildren() {
+            return children;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public String getResourceId() {
+            return resourceId;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * @return content-desc on Android, name on iOS
+         */
+        public String getAccessibilityId() {
+            return accessibilityId;
+        }
+
+        public String getPackageName() {
+            return packageName;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return on-screen bounds, or null if the source did not report them
+         */
+        public Rectangle getBounds() {
+            return bounds;
+        }
+
+        public boolean isDisplayed() {
+            return has(DISPLAYED);
+        }
+
+        /**
+         * @return displayed and with a non-empty on-screen area
+         */
+        public boolean isVisible() {
+            return isDisplayed() && (bounds == null || (bounds.getWidth() > 0 && bounds.getHeight() > 0));
+        }
+
+        public boolean isEnabled() {
+            return has(ENABLED);
+        }
+
+        public boolean isClickable() {
+            return has(CLICKABLE);
+        }
+
+        public boolean isScrollable() {
+            return has(SCROLLABLE);
+        }
+
+        public boolean isChecked() {
+            return has(CHECKED);
+        }
+
+        public boolean isSelected() {
+            return has(SELECTED);
+        }
+
+        boolean has(int bit) {
+            return (flags & bit) != 0;
+        }
+
+        /**
+         * @return true if {@code other} is this node or one of its ancestors
+         */
+        public boolean isWithin(Node other) {
+            for (Node n = this; n != null; n = n.parent) {
+                if (n == other) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return className
+                    + (resourceId.isEmpty() ? "" : " id=" + resourceId)
+                    + (text.isEmpty() ? "" : " text='" + text + "'")
+                    + (accessibilityId.isEmpty() ? "" : " desc='" + accessibilityId + "'")
+                    + (bounds == null ? "" : " bounds=" + bounds.getX() + "," + bounds.getY() + " " + bounds.getWidth() + "x" + bounds.getHeight());
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package helpers;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.util.Arrays;
+
+/**
+ * Java Flight Recorder events for test activity, so a recording lines GC, allocation and thread parking up
+ * with the scenario, step, wait, Appium command or screenshot that was running.
+ * <p>
+ * Emitted by {@code hooks.StepEventsPlugin} (scenarios, steps), {@link AdaptiveWaits} and {@link ElementHelper}
+ * (waits), {@code drivers.RecordingCommandExecutor} (commands), {@code drivers.DriverManager} and
+ * {@code drivers.SessionPool} (sessions) and {@code utils.ArtifactPipeline} (screenshots, artifact writes).
+ * Record with {@code mvn test -Pjfr}, which uses {@code src/test/resources/jfr/automation.jfc}; summarise with
+ * {@code utils.debug.JfrStepReport}.
+ * <p>
+ * With no recording running, {@code begin()}/{@code commit()} are no-ops the JIT removes and field values are
+ * only computed behind {@code shouldCommit()}; what is left is one small allocation per event, next to a
+ * remote round trip of milliseconds.
+ */
+public final class JfrEvents {
+
+    private static final String CATEGORY = "Test Automation";
+
+    private static final ThreadLocal<ScenarioEvent> scenario = new ThreadLocal<>();
+    private static final ThreadLocal<StepEvent> step = new ThreadLocal<>();
+
+    private JfrEvents() {
+    }
+
+    @Name("automation.Scenario")
+    @Label("Scenario")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class ScenarioEvent extends Event {
+        @Label("Scenario")
+        public String name;
+
+        @Label("Status")
+        public String status;
+    }
+
+    @Name("automation.Step")
+    @Label("Step")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class StepEvent extends Event {
+        @Label("Scenario")
+        public String scenario;
+
+        @Label("Step")
+        public String step;
+
+        @Label("Status")
+        public String status;
+    }
+
+    @Name("automation.Wait")
+    @Label("Wait")
+    @Description("A WebDriverWait on a locator, from start to condition met or timeout")
+    @Category(CATEGORY)
+    public static final class WaitEvent extends Event {
+        @Label("Locator")
+        public String locator;
+
+        @Label("Timeout")
+        @Timespan(Timespan.MILLISECONDS)
+        public long timeout;
+
+        @Label("Satisfied")
+        public boolean satisfied;
+
+        @Label("Step")
+        public String step;
+    }
+
+    @Name("automation.Command")
+    @Label("Appium Command")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class CommandEvent extends Event {
+        @Label("Command")
+        public String command;
+
+        @Label("Parameters")
+        public String parameters;
+
+        @Label("Failed")
+        public boolean failed;
+
+        @Label("Step")
+        public String step;
+    }
+
+    @Name("automation.Session")
+    @Label("Appium Session")
+    @Description("Creating an Appium session, or quitting one (\"quit\" inline, \"retire\" by the session pool)")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class SessionEvent extends Event {
+        @Label("Action")
+        public String action;
+
+        @Label("Device")
+        public String udid;
+
+        @Label("Succeeded")
+        public boolean succeeded;
+    }
+
+    @Name("automation.Screenshot")
+    @Label("Screenshot Capture")
+    @Category(CATEGORY)
+    public static final class ScreenshotEvent extends Event {
+        @Label("Size")
+        @DataAmount
+        public long size;
+
+        @Label("Step")
+        public String step;
+    }
+
+    @Name("automation.Artifact")
+    @Label("Artifact Write")
+    @Description("Background hashing, downscaling and writing of a screenshot or page source")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class ArtifactEvent extends Event {
+        @Label("Name")
+        public String name;
+
+        @Label("MIME Type")
+        public String mimeType;
+
+        @Label("Size")
+        @DataAmount
+        public long size;
+    }
+
+    // === Scenario and step lifecycle (one open event of each per thread) ===
+
+    public static void scenarioStarted(String name) {
+        ScenarioEvent event = new ScenarioEvent();
+        event.name = name;
+        event.begin();
+        scenario.set(event);
+    }
+
+    public static void scenarioFinished(String status) {
+        ScenarioEvent event = scenario.get();
+        scenario.remove();
+        if (event != null && event.shouldCommit()) {
+            event.status = status;
+            event.commit();
+        }
+    }
+
+    public static void stepStarted(String text) {
+        StepEvent event = new StepEvent();
+        event.step = text;
+        event.begin();
+        step.set(event);
+    }
+
+    public static void stepFinished(String status) {
+        StepEvent event = step.get();
+        step.remove();
+        if (event != null && event.shouldCommit()) {
+            event.scenario = StepContext.scenario();
+            event.status = status;
+            event.commit();
+        }
+    }
+
+    // === Waits ===
+
+    /**
+     * @return a started wait event, to be passed to {@link #waitFinished} when the wait ends
+     */
+    public static WaitEvent waitStarted() {
+        WaitEvent event = new WaitEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @param locator a {@code By}, or an array of them for waits on any of several
+     */
+    public static void waitFinished(WaitEvent event, Object locator, long timeoutMs, boolean satisfied) {
+        if (event.shouldCommit()) {
+            event.locator = locator instanceof Object[] ? Arrays.toString((Object[]) locator) : String.valueOf(locator);
+            event.timeout = timeoutMs;
+            event.satisfied = satisfied;
+            event.step = StepContext.step();
+            event.commit();
+        }
+    }
+
+    // === Sessions ===
+
+    public static SessionEvent sessionCreating() {
+        return sessionEvent("create");
+    }
+
+    /**
+     * @param action {@code "quit"} for a quit on the test thread, {@code "retire"} for one by the session pool
+     */
+    public static SessionEvent sessionQuitting(String action) {
+        return sessionEvent(action);
+    }
+
+    public static void sessionFinished(SessionEvent event, String udid, boolean succeeded) {
+        if (event.shouldCommit()) {
+            event.udid = udid;
+            event.succeeded = succeeded;
+            event.commit();
+        }
+    }
+
+    private static SessionEvent sessionEvent(String action) {
+        SessionEvent event = new SessionEvent();
+        event.action = action;
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,251 @@
+package helpers;
+
+import config.ConfigurationManager;
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.PlatformHelper;
+
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Every locator in config.properties compiled once, per platform, into an immutable {@link By}.
+ * <p>
+ * A key is a locator when its suffix names a strategy ({@code .id}, {@code .text}, {@code .xpath}, ...)
+ * or its value is written in a locator syntax ({@code new UiSelector()...}, {@code //...}, {@code xpath=...}).
+ * Entries that cannot be compiled are reported at load time; lookups are a single map read.
+ * <p>
+ * Resolution rules, in order:
+ * <ol>
+ *   <li>explicit value prefix: {@code xpath=}, {@code id=}, {@code accessibilityId=}, {@code text=}</li>
+ *   <li>UiSelector / UiScrollable value: AndroidUIAutomator (Android only)</li>
+ *   <li>value starting with {@code //} or {@code (//}: XPath</li>
+ *   <li>key suffix: {@code .id/.resourceId}, {@code .xpath}, {@code .accessibility/.accessibilityId},
+ *       {@code .className}, {@code .text}, {@code .containsText}, {@code .indexText}, {@code .uiautomator/.automator}</li>
+ *   <li>value containing {@code :id/}: resource id</li>
+ * </ol>
+ */
+public final class LocatorRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocatorRegistry.class);
+
+    public enum Platform {
+        ANDROID,
+        IOS
+    }
+
+    private static final Set<String> STRATEGY_SUFFIXES = Set.of(
+            "id", "resourceid", "xpath", "accessibility", "accessibilityid", "classname",
+            "text", "containstext", "indextext", "uiautomator", "automator");
+
+    private static final Map<String, By> android;
+    private static final Map<String, By> ios;
+    private static final Map<String, String> androidProblems;
+    private static final Map<String, String> iosProblems;
+    private static final Map<By, String> keysByLocator;
+
+    static {
+        Map<String, By> androidLocators = new HashMap<>();
+        Map<String, By> iosLocators = new HashMap<>();
+        Map<String, String> androidErrors = new TreeMap<>();
+        Map<String, String> iosErrors = new TreeMap<>();
+
+        for (String key : ConfigurationManager.keys()) {
+            String raw = ConfigurationManager.getProperty(key, "");
+            if (raw.isEmpty() || !isLocatorEntry(key, raw)) {
+                continue;
+            }
+            compileInto(key, raw, Platform.ANDROID, androidLocators, androidErrors);
+            compileInto(key, raw, Platform.IOS, iosLocators, iosErrors);
+        }
+
+        android = Collections.unmodifiableMap(androidLocators);
+        ios = Collections.unmodifiableMap(iosLocators);
+        androidProblems = Collections.unmodifiableMap(androidErrors);
+        iosProblems = Collections.unmodifiableMap(iosErrors);
+
+        // Reverse lookup for reporting; keys sorted so shared locators always map to the same key
+        Map<By, String> reverse = new HashMap<>();
+        new TreeMap<>(androidLocators).forEach((key, locator) -> reverse.putIfAbsent(locator, key));
+        new TreeMap<>(iosLocators).forEach((key, locator) -> reverse.putIfAbsent(locator, key));
+        keysByLocator = Collections.unmodifiableMap(reverse);
+
+        logger.info("🗂️ Compiled locators: {} Android, {} iOS", android.size(), ios.size());
+        boolean iosActive = "ios".equalsIgnoreCase(ConfigurationManager.getProperty("platformName", "Android"));
+        Map<String, String> active = iosActive ? iosProblems : androidProblems;
+        active.forEach((key, problem) -> logger.warn("⚠️ Invalid locator '{}': {}", key, problem));
+        logger.debug("🗂️ {} locator(s) unsupported on the inactive platform", (iosActive ? androidProblems : iosProblems).size());
+    }
+
+    private LocatorRegistry() {
+    }
+
+    /**
+     * @return the compiled locator for {@code key} on the current driver's platform (Android when no driver is active)
+     * @throws IllegalArgumentException if the key is missing or cannot be used on this platform
+     */
+    public static By get(String key) {
+        return get(key, PlatformHelper.isIOS() ? Platform.IOS : Platform.ANDROID);
+    }
+
+    public static By get(String key, Platform platform) {
+        By locator = (platform == Platform.IOS ? ios : android).get(key);
+        if (locator != null) {
+            return locator;
+        }
+
+        if (!ConfigurationManager.hasProperty(key)) {
+            throw new IllegalArgumentException("❌ Locator value is missing for key: " + key);
+        }
+
+        String problem = (platform == Platform.IOS ? iosProblems : androidProblems).get(key);
+        String message = "❌ Unsupported locator type for key: " + key + " (" + (problem != null ? problem : "not a locator entry") + ")";
+        logger.error(message);
+        ElementHelper.safeAllureStep(message);
+        throw new IllegalArgumentException(message);
+    }
+
+    /**
+     * @return every compiled locator for {@code platform}, keyed by config key
+     */
+    public static Map<String, By> locators(Platform platform) {
+        return platform == Platform.IOS ? ios : android;
+    }
+
+    /**
+     * @return the config key a compiled locator came from, or null for locators built in code
+     */
+    public static String keyOf(By locator) {
+        return keysByLocator.get(locator);
+    }
+
+    /**
+     * @return locator keys that failed to compile on {@code platform}, with the reason
+     */
+    public static Map<String, String> problems(Platform platform) {
+        return platform == Platform.IOS ? iosProblems : androidProblems;
+    }
+
+    static boolean isLocatorEntry(String key, String raw) {
+        return STRATEGY_SUFFIXES.contains(suffix(key)) || hasLocatorSyntax(raw);
+    }
+
+    /**
+     * Compiles one entry with the unified rule set.
+     *
+     * @throws IllegalArgumentException when the entry is unsupported on {@code platform} or syntactically invalid
+     */
+    static By compile(String key, String raw, Platform platform) {
+        boolean isAndroid = platform == Platform.ANDROID;
+
+        // 1. Explicit value prefixes
+        if (raw.startsWith("xpath=")) return xpath(raw.substring(6));
+        if (raw.startsWith("id=")) return By.id(raw.substring(3));
+        if (raw.startsWith("accessibilityId=")) return AppiumBy.accessibilityId(raw.substring(16));
+        if (raw.startsWith("text=")) return text(raw.substring(5), isAndroid);
+
+        // 2. UiAutomator expressions
+        if (raw.startsWith("new UiSelector") || raw.startsWith("new UiScrollable")) {
+            requireAndroid(isAndroid, "UiAutomator expression");
+            return uiAutomator(raw);
+        }
+
+        // 3. XPath values
+        if (raw.startsWith("//") || raw.startsWith("(//")) return xpath(raw);
+
+        // 4. Key suffix strategies
+        switch (suffix(key)) {
+            case "id":
+            case "resourceid":
+                return By.id(raw);
+            case "xpath":
+                return xpath(raw);
+            case "accessibility":
+            case "accessibilityid":
+                return AppiumBy.accessibilityId(raw);
+            case "classname":
+                return By.className(raw);
+            case "text":
+                return text(raw, isAndroid);
+            case "containstext":
+                requireAndroid(isAndroid, "textContains");
+                return uiAutomator("new UiSelector().textContains(\"" + raw + "\")");
+            case "indextext":
+                requireAndroid(isAndroid, "indexed text");
+                return uiAutomator("new UiSelector().text(\"" + raw + "\").instance(0)");
+            case "uiautomator":
+            case "automator":
+                requireAndroid(isAndroid, "UiAutomator expression");
+                return uiAutomator(raw);
+            default:
+                break;
+        }
+
+        // 5. Bare resource ids
+        if (raw.contains(":id/")) return By.id(raw);
+
+        throw new IllegalArgumentException("unrecognized locator format '" + raw + "'");
+    }
+
+    private static void compileInto(String key, String raw, Platform platform, Map<String, By> locators, Map<String, String> errors) {
+        try {
+            locators.put(key, compile(key, raw, platform));
+        } catch (IllegalArgumentException e) {
+            errors.put(key, e.getMessage());
+        }
+    }
+
+    private static boolean hasLocatorSyntax(String raw) {
+        return raw.startsWith("new UiSelector") || raw.startsWith("new UiScrollable")
+                || raw.startsWith("//") || raw.startsWith("(//")
+                || raw.startsWith("xpath=") || raw.startsWith("id=") || raw.startsWith("accessibilityId=");
+    }
+
+    private static String suffix(String key) {
+        int dot = key.lastIndexOf('.');
+        return dot < 0 ? "" : key.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static By text(String value, boolean isAndroid) {
+        return isAndroid
+                ? uiAutomator("new UiSelector().text(\"" + value + "\")")
+                : AppiumBy.accessibilityId(value); // Fallback for iOS
+    }
+
+    private static By xpath(String expression) {
+        try {
+            XPathFactory.newInstance().newXPath().compile(expression);
+        } catch (XPathExpressionException e) {
+            throw new IllegalArgumentException("invalid XPath '" + expression + "'");
+        }
+        return By.xpath(expression);
+    }
+
+    private static By uiAutomator(String expression) {
+        int depth = 0;
+        boolean inString = false;
+        for (char c : expression.toCharArray()) {
+            if (c == '"') inString = !inString;
+            else if (!inString && c == '(') depth++;
+            else if (!inString && c == ')' && --depth < 0) break;
+        }
+        if (depth != 0 || inString) {
+            throw new IllegalArgumentException("unbalanced UiAutomator expression '" + expression + "'");
+        }
+        return AppiumBy.androidUIAutomator(expression);
+    }
+
+    private static void requireAndroid(boolean isAndroid, String strategy) {
+        if (!isAndroid) {
+            throw new IllegalArgumentException(strategy + " is only supported on Android");
+        }
+    }
+}
@@ -2,9 +2,35 @@ package helpers;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
+/**
+ * The one way to get a logger, plus the MDC fields every log line carries so parallel device runs
+ * can be told apart: {@link #DEVICE} (set while a thread leases a device), {@link #SCENARIO} and
+ * {@link #STEP} (kept in line with {@link StepContext}).
+ * <p>
+ * Use parameterised messages ({@code logger.info("Tapped {}", key)}); arguments are only formatted
+ * if the level is enabled, and formatting happens on the logging thread before the event is queued
+ * for the async appenders in logback.xml.
+ */
 public class LoggerHelper {
+
+    public static final String DEVICE = "udid";
+    public static final String SCENARIO = "scenario";
+    public static final String STEP = "step";
+
     public static Logger getLogger(Class<?> clazz) {
         return LoggerFactory.getLogger(clazz);
     }
-}
\ No newline at end of file
+
+    /**
+     * Sets (or, for null, removes) an MDC field on the current thread.
+     */
+    public static void tag(String key, String value) {
+        if (value == null) {
+            MDC.remove(key);
+        } else {
+            MDC.put(key, value);
+        }
+    }
+}
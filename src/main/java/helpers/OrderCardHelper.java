@@ -12,213 +12,65 @@ import pages.BasePage;
 import utils.AndroidUtils;
 
 import java.time.Duration;
-import java.util.List;
+import java.util.Objects;
 import java.util.Properties;
-import java.util.HashSet;
 
 
 public class OrderCardHelper extends BasePage {
     private static final Logger logger = LoggerFactory.getLogger(OrderCardHelper.class);
     private final Properties configProperties;
     private final AndroidDriver driver;
-    private final String[] priorityStatuses;
-    private final String orderType;
-    private static final int WAIT_TIMEOUT_SECONDS = 10;
+    private final Runnable openListing;
+    private static final int WAIT_TIMEOUT_SECONDS = (int) AdaptiveWaits.defaultTimeout().getSeconds();
     private static final int MAX_SCROLL_ATTEMPTS = 20;
 
-    public OrderCardHelper(AppiumDriver driver) {
+    /**
+     * @param openListing navigates to the order listing from anywhere, landing on its first page; used whenever
+     *                    a lookup has to start over from page 1
+     */
+    public OrderCardHelper(AppiumDriver driver, Runnable openListing) {
         super(driver);
         this.driver = (AndroidDriver) driver;
         this.configProperties = PropertiesLoader.loadProperties("src/main/resources/config.properties");
-        this.priorityStatuses = new String[]{
-                configProperties.getProperty("orders.status.completed"),
-                configProperties.getProperty("orders.status.approved"),
-                configProperties.getProperty("orders.status.submitted")
-        };
-        this.orderType = configProperties.getProperty("orders.order.type");
+        this.openListing = Objects.requireNonNull(openListing, "openListing");
     }
 
+    /**
+     * Opens the details of the first {@code orderType} card with {@code status} (any status when null).
+     * <p>
+     * Cards already indexed earlier in the scenario are scrolled to and tapped directly. Otherwise the
+     * listing is crawled one hierarchy snapshot per scroll position, indexing every card on the way,
+     * until a match is found or the last page ends. Page numbers and swipe counts are always counted from
+     * the top of page 1 at 50 records per page, so both paths start there.
+     */
     public void openFirstMatchingOrderCard(String orderType, String status) {
         logger.info("🔍 Searching for first '{}' order card{}", orderType, status != null ? " with status: " + status : "");
-
-        // Set 50 records per page
-        setRecordsPerPage();
-
-        int pageCount = 1;
-        HashSet<String> seenCardTexts = new HashSet<>();
+        long start = System.currentTimeMillis();
+        OrderCardIndex index = OrderCardIndex.current();
 
         try {
-            while (true) {
-                int scrollAttempts = 0;
-                boolean newCardsFound;
-
-                do {
-                    newCardsFound = false;
-                    // Find all orderType TextViews on the current screen
-                    List<WebElement> orderTypeElements = driver.findElements(
-                            MobileBy.xpath("//android.widget.TextView[contains(@text, '" + orderType + "')]")
-                    );
-                    if (orderTypeElements.isEmpty()) {
-                        logger.debug("🔍 No '{}' orders visible on page {}, scroll attempt {}", orderType, pageCount, scrollAttempts + 1);
-                        if (scrollAttempts < MAX_SCROLL_ATTEMPTS && scrollPage()) {
-                            scrollAttempts++;
-                            newCardsFound = true;
-                            continue;
-                        }
-                        break; // No cards found, try next page
-                    }
-
-                    // Iterate through each orderType element
-                    for (int i = 0; i < orderTypeElements.size(); i++) {
-                        WebElement orderTypeElement = orderTypeElements.get(i);
-                        logger.info("📦 Checking '{}' order TextView [{}] on page {}", orderType, i + 1, pageCount);
-
-                        // Find the parent order card
-                        WebElement card = null;
-                        String cardResourceId = configProperties.getProperty("orders.card.resourceId", "");
-                        if (!cardResourceId.isEmpty()) {
-                            try {
-                                List<WebElement> cards = driver.findElements(
-                                        MobileBy.AndroidUIAutomator("new UiSelector().resourceId(\"" + cardResourceId + "\")")
-                                );
-                                for (WebElement vg : cards) {
-                                    if (vg.findElements(By.xpath(".//android.widget.TextView[contains(@text, '" + orderType + "')]")).size() > 0) {
-                                        card = vg;
-                                        logger.debug("🔹 Found matching card with resourceId: {}", cardResourceId);
-                                        break;
-                                    }
-                                }
-                            } catch (Exception e) {
-                                logger.warn("⚠️ Failed to find card with resourceId '{}': {}", cardResourceId, e.getMessage());
-                            }
-                        }
-
-                        if (card == null) {
-                            try {
-                                for (int j = 1; j <= 3; j++) {
-                                    try {
-                                        card = orderTypeElement.findElement(By.xpath("./ancestor::android.view.ViewGroup[" + j + "]"));
-                                        card.findElement(By.xpath(".//android.widget.TextView[contains(@text, '" + orderType + "')]"));
-                                        logger.debug("🔹 Found parent ViewGroup at level {}", j);
-                                        break;
-                                    } catch (Exception e) {
-                                        logger.debug("🔍 No ViewGroup at ancestor level {}", j);
-                                    }
-                                }
-                                if (card == null) {
-                                    throw new NoSuchElementException("No valid parent ViewGroup found for '" + orderType + "' TextView");
-                                }
-                            } catch (Exception e) {
-                                logger.warn("⚠️ Ancestor lookup failed: {}. Trying fallback selector.", e.getMessage());
-                                List<WebElement> viewGroups = driver.findElements(MobileBy.className("android.view.ViewGroup"));
-                                for (WebElement vg : viewGroups) {
-                                    try {
-                                        vg.findElement(By.xpath(".//android.widget.TextView[contains(@text, '" + orderType + "')]"));
-                                        card = vg;
-                                        logger.debug("🔹 Found matching ViewGroup via fallback");
-                                        break;
-                                    } catch (Exception ignored) {
-                                    }
-                                }
-                                if (card == null) {
-                                    logger.warn("⚠️ No parent ViewGroup found for '{}' TextView [{}] on page {}", orderType, i + 1, pageCount);
-                                    continue; // Skip to next orderType element
-                                }
-                            }
-                        }
-
-                        // Debug: Log card text
-                        StringBuilder cardText = new StringBuilder();
-                        try {
-                            List<WebElement> textViews = card.findElements(By.xpath(".//android.widget.TextView"));
-                            for (WebElement tv : textViews) {
-                                cardText.append(tv.getText()).append(" | ");
-                            }
-                            logger.debug("🔍 Card text: {}", cardText);
-                        } catch (Exception e) {
-                            logger.debug("🔍 Card text not readable: {}", e.getMessage());
-                        }
-
-                        // Check for duplicate cards to avoid infinite loop
-                        String cardTextStr = cardText.toString();
-                        if (seenCardTexts.contains(cardTextStr)) {
-                            logger.warn("⚠️ Detected duplicate card ('{}') on page {}, skipping", cardTextStr, pageCount);
-                            continue;
-                        }
-                        seenCardTexts.add(cardTextStr);
-                        newCardsFound = true;
-
-                        // Mandatory status check before clicking card
-                        if (status != null) {
-                            try {
-                                card.findElement(By.xpath(".//android.widget.TextView[contains(translate(@text, '✔ ', ''), '" + status + "')]"));
-                                logger.info("📄 Confirmed status in card: {}", status);
-                            } catch (Exception e) {
-                                logger.warn("⚠️ Status '{}' not found in '{}' card: {}, trying next card", status, orderType, cardText);
-                                continue; // Try next orderType element
-                            }
-                        }
-
-                        // Click the card to expand
-                        new WebDriverWait(driver, Duration.ofSeconds(5))
-                                .until(ExpectedConditions.elementToBeClickable(card)).click();
-                        logger.info("🖱️ Clicked '{}' card on page {}", orderType, pageCount);
-                        try {
-                            Thread.sleep(3000); // Longer pause to ensure expansion
-                            logger.debug("🔹 Paused to ensure card expansion");
-                        } catch (InterruptedException e) {
-                            logger.debug("🔍 Pause interrupted: {}", e.getMessage());
-                        }
+            OrderCardIndex.OrderCard known = index.find(orderType, status);
+            if (known != null && openIndexedCard(index, known)) {
+                logger.info("✅ Opened indexed card {} in {} ms", known, System.currentTimeMillis() - start);
+                return;
+            }
 
-                        // Scroll to make "View Details" visible and click
-                        String viewDetailsText = configProperties.getProperty("orders.viewDetailsBtn.text", "View Details");
-                        String viewDetailsResourceId = configProperties.getProperty("orders.viewDetailsBtn.resourceId", "");
-                        By viewDetailsLocator = !viewDetailsResourceId.isEmpty()
-                                ? MobileBy.AndroidUIAutomator("new UiSelector().resourceId(\"" + viewDetailsResourceId + "\")")
-                                : MobileBy.AndroidUIAutomator("new UiSelector().textContains(\"" + viewDetailsText + "\")");
+            // An earlier lookup left the listing on some later page, scrolled, or on a card's details
+            if (known != null || index.size() > 0) {
+                goToFirstPage();
+            }
 
-                        // Try scrolling within the card
-                        try {
-                            if (cardScroll(card, viewDetailsLocator)) {
-                                WebElement viewDetailsBtn = new WebDriverWait(driver, Duration.ofSeconds(5))
-                                        .until(ExpectedConditions.elementToBeClickable(viewDetailsLocator));
-                                logger.info("✅ Clicked 'View Details' on '{}' card after card scroll", orderType);
-                                viewDetailsBtn.click();
-                                return; // Exit after success
-                            }
-                        } catch (Exception e) {
-                            logger.debug("🔍 Card scroll failed: {}", e.getMessage());
-                        }
+            // Set 50 records per page
+            setRecordsPerPage();
 
-                        // Fall back to page scroll
-                        try {
-                            WebElement viewDetailsBtn = new WebDriverWait(driver, Duration.ofSeconds(5))
-                                    .until(ExpectedConditions.elementToBeClickable(viewDetailsLocator));
-                            logger.info("✅ 'View Details' button is clickable without scrolling");
-                            viewDetailsBtn.click();
-                        } catch (Exception e) {
-                            logger.debug("🔍 'View Details' not clickable, attempting page scroll");
-                            int viewDetailsScrollAttempts = 0;
-                            do {
-                                if (scrollPage()) {
-                                    try {
-                                        WebElement viewDetailsBtn = new WebDriverWait(driver, Duration.ofSeconds(5))
-                                                .until(ExpectedConditions.elementToBeClickable(viewDetailsLocator));
-                                        viewDetailsBtn.click();
-                                        logger.info("✅ Clicked 'View Details' on '{}' card after page scroll", orderType);
-                                        return; // Exit after success
-                                    } catch (Exception ex) {
-                                        logger.debug("🔍 'View Details' still not clickable after page scroll attempt {}", viewDetailsScrollAttempts + 1);
-                                    }
-                                }
-                                viewDetailsScrollAttempts++;
-                            } while (viewDetailsScrollAttempts < MAX_SCROLL_ATTEMPTS && scrollPage());
-                            logger.warn("⚠️ Failed to make 'View Details' visible for '{}' order on page {} after page scroll", orderType, pageCount);
-                            continue; // Try next card
-                        }
-                        return; // Exit after success
-                    }
-                } while (newCardsFound && scrollAttempts < MAX_SCROLL_ATTEMPTS && scrollPage());
+            int pageCount = 1;
+            while (true) {
+                OrderCardIndex.OrderCard match = crawlPage(index, orderType, status, pageCount);
+                if (match != null) {
+                    openCard(match);
+                    logger.info("✅ Opened {} in {} ms ({} card(s) indexed)", match, System.currentTimeMillis() - start, index.size());
+                    return;
+                }
 
                 // Move to next page
                 if (!goToNextPage(pageCount)) {
@@ -226,7 +78,6 @@ public class OrderCardHelper extends BasePage {
                     throw new NoSuchElementException("No order card found with type '" + orderType + "'" + (status != null ? " and status '" + status + "'" : ""));
                 }
                 pageCount++;
-                seenCardTexts.clear(); // Reset seen cards for new page
             }
         } catch (Exception e) {
             logger.error("❌ Failed to open '{}' order card: {}", orderType, e.getMessage());
@@ -249,60 +100,125 @@ public class OrderCardHelper extends BasePage {
         try {
             WebElement recordsPerPageElement = new WebDriverWait(driver, Duration.ofSeconds(5))
                     .until(ExpectedConditions.elementToBeClickable(recordsPerPageLocator));
+            int before = HierarchySnapshot.capture().getSourceHash();
             recordsPerPageElement.click();
             logger.info("✅ Clicked '{}' to set 50 records per page", recordsPerPageText);
-            Thread.sleep(2000); // Wait for page to reload
-            logger.debug("🔹 Paused to ensure page reload after setting records per page");
+            // Wait for the list to reload, then for it to stop changing
+            if (HierarchySnapshot.awaitChange(before, Duration.ofSeconds(5))) {
+                HierarchySnapshot.awaitStable(Duration.ofSeconds(3));
+            }
         } catch (Exception e) {
             logger.warn("⚠️ Failed to set 50 records per page: {}", e.getMessage());
             // Continue with default records per page
         }
     }
 
-    private boolean scrollPage() {
-        String scrollableResourceId = configProperties.getProperty("orders.scrollable.resourceId", "");
-        String scrollableSelector = !scrollableResourceId.isEmpty()
-                ? "new UiSelector().resourceId(\"" + scrollableResourceId + "\")"
-                : "new UiSelector().scrollable(true)";
-        try {
-            driver.findElement(MobileBy.AndroidUIAutomator(
-                    "new UiScrollable(" + scrollableSelector + ").setMaxSearchSwipes(20).scrollForward()"
-            ));
-            logger.debug("🔍 Scrolled page forward");
-            return true;
-        } catch (Exception e) {
-            logger.debug("🔍 Page scroll failed: {}", e.getMessage());
-            return false;
+    /**
+     * Indexes the current page from the top, one snapshot per scroll position, until a match shows up or the list ends.
+     */
+    private OrderCardIndex.OrderCard crawlPage(OrderCardIndex index, String orderType, String status, int pageCount) {
+        boolean listEnd = false;
+        for (int swipes = 0; ; swipes++) {
+            for (OrderCardIndex.OrderCard card : index.index(HierarchySnapshot.capture(), pageCount, swipes)) {
+                if (card.matches(orderType, status)) {
+                    return card;
+                }
+            }
+            if (listEnd || swipes >= MAX_SCROLL_ATTEMPTS) {
+                logger.debug("🔍 Page {} exhausted after {} swipe(s), {} card(s) indexed", pageCount, swipes, index.size());
+                return null;
+            }
+            listEnd = !scrollPage();
         }
     }
 
-    private boolean cardScroll(WebElement card, By viewDetailsLocator) {
-        String scrollableResourceId = configProperties.getProperty("orders.cardScrollable.resourceId", "");
-        if (!scrollableResourceId.isEmpty()) {
-            try {
-                card.findElement(MobileBy.AndroidUIAutomator(
-                        "new UiScrollable(new UiSelector().resourceId(\"" + scrollableResourceId + "\")).setMaxSearchSwipes(20).scrollIntoView(" +
-                                viewDetailsLocator.toString().replace("By.AndroidUIAutomator: ", "") + ")"
-                ));
-                logger.debug("🔍 Scrolled within card to find 'View Details'");
+    /**
+     * Goes back to where {@code card} was indexed and opens it.
+     *
+     * @return false if the card is no longer where the index says it is
+     */
+    private boolean openIndexedCard(OrderCardIndex index, OrderCardIndex.OrderCard card) {
+        // The card's page and swipes were recorded from the top of page 1 at 50 records per page
+        goToFirstPage();
+        setRecordsPerPage();
+        for (int page = 1; page < card.getPage(); page++) {
+            if (!goToNextPage(page)) {
+                logger.info("🔄 Page {} of indexed card {} no longer exists, re-crawling", page + 1, card);
+                index.invalidate();
+                return false;
+            }
+        }
+
+        By anchor = card.textLocator();
+        if (!GestureEngine.scrollTo(scrollContainer(), anchor, GestureEngine.Direction.UP, card.getSwipes() + 2).isFound()) {
+            logger.info("🔄 Indexed card {} not found where expected, re-crawling", card);
+            index.invalidate();
+            return false;
+        }
+
+        for (OrderCardIndex.OrderCard visible : index.index(HierarchySnapshot.capture(), card.getPage(), card.getSwipes())) {
+            if (visible.getKey().equals(card.getKey())) {
+                openCard(visible);
                 return true;
-            } catch (Exception e) {
-                logger.debug("🔍 Card scroll with resourceId failed: {}", e.getMessage());
             }
         }
+        logger.info("🔄 Indexed card {} no longer next to its anchor text, re-crawling", card);
+        index.invalidate();
+        return false;
+    }
+
+    /**
+     * Reloads the listing so it shows the top of page 1.
+     */
+    private void goToFirstPage() {
+        logger.info("📄 Reopening the order listing at page 1");
+        openListing.run();
+        HierarchySnapshot.awaitStable(Duration.ofSeconds(3));
+    }
+
+    /**
+     * Taps the card to expand it, then opens its details.
+     */
+    private void openCard(OrderCardIndex.OrderCard card) {
+        Rectangle bounds = card.getBounds();
+        ElementHelper.tapElementByBounds(String.format("[%d,%d][%d,%d]",
+                bounds.getX(), bounds.getY(), bounds.getX() + bounds.getWidth(), bounds.getY() + bounds.getHeight()));
+        logger.info("🖱️ Tapped card {}", card);
+
+        String viewDetailsText = configProperties.getProperty("orders.viewDetailsBtn.text", "View Details");
+        String viewDetailsResourceId = configProperties.getProperty("orders.viewDetailsBtn.resourceId", "");
+        By viewDetailsLocator = !viewDetailsResourceId.isEmpty()
+                ? MobileBy.AndroidUIAutomator("new UiSelector().resourceId(\"" + viewDetailsResourceId + "\")")
+                : MobileBy.AndroidUIAutomator("new UiSelector().textContains(\"" + viewDetailsText + "\")");
+
+        // The card expands in place; the button may land below the fold
+        if (ElementProbe.waitForAnyVisible(5, viewDetailsLocator) == null
+                && !GestureEngine.scrollTo(scrollContainer(), viewDetailsLocator, GestureEngine.Direction.UP, 3).isFound()) {
+            throw new NoSuchElementException("'View Details' not shown after expanding " + card);
+        }
+        ElementHelper.clickElement(viewDetailsLocator);
+        logger.info("✅ Clicked 'View Details' on {}", card);
+    }
+
+    /**
+     * @return true if the list moved, false at the end of the list
+     */
+    private boolean scrollPage() {
         try {
-            card.findElement(MobileBy.AndroidUIAutomator(
-                    "new UiScrollable(new UiSelector().scrollable(true)).setMaxSearchSwipes(20).scrollIntoView(" +
-                            viewDetailsLocator.toString().replace("By.AndroidUIAutomator: ", "") + ")"
-            ));
-            logger.debug("🔍 Scrolled within card to find 'View Details' (fallback)");
-            return true;
+            boolean more = GestureEngine.swipe(scrollContainer(), GestureEngine.Direction.UP);
+            logger.debug("🔍 Scrolled page forward{}", more ? "" : " (end of list)");
+            return more;
         } catch (Exception e) {
-            logger.debug("🔍 Card scroll failed: {}", e.getMessage());
+            logger.debug("🔍 Page scroll failed: {}", e.getMessage());
             return false;
         }
     }
 
+    private By scrollContainer() {
+        String scrollableResourceId = configProperties.getProperty("orders.scrollable.resourceId", "");
+        return !scrollableResourceId.isEmpty() ? By.id(scrollableResourceId) : null;
+    }
+
     private boolean goToNextPage(int pageCount) {
         try {
             WebElement nextButton = driver.findElement(
@@ -312,9 +228,17 @@ public class OrderCardHelper extends BasePage {
                 logger.debug("🔍 'Next' button disabled, no more pages available");
                 return false;
             }
-            new WebDriverWait(driver, Duration.ofSeconds(5))
-                    .until(ExpectedConditions.elementToBeClickable(nextButton)).click();
+            nextButton = new WebDriverWait(driver, Duration.ofSeconds(5))
+                    .until(ExpectedConditions.elementToBeClickable(nextButton));
+            int before = HierarchySnapshot.capture().getSourceHash();
+            nextButton.click();
             logger.info("📄 Clicked 'Next' to load page {}", pageCount + 1);
+            // Wait for the next page to replace this one, then for it to stop changing, before scrolling or indexing
+            if (HierarchySnapshot.awaitChange(before, Duration.ofSeconds(5))) {
+                HierarchySnapshot.awaitStable(Duration.ofSeconds(3));
+            } else {
+                logger.warn("⚠️ Order list did not change after clicking 'Next' to page {}", pageCount + 1);
+            }
             return true;
         } catch (Exception e) {
             logger.debug("🔍 No more pages available: {}", e.getMessage());
@@ -0,0 +1,299 @@
+package helpers;
+
+import config.ConfigurationManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Rectangle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Order cards seen on the order listing during one scenario, keyed by a stable card key.
+ * <p>
+ * Cards are extracted from a {@link HierarchySnapshot}, one per scroll position: a card is the
+ * {@code orders.card.resourceId} element when configured, otherwise the nearest clickable ancestor
+ * (within three levels) of a text naming one of {@code orders.card.types}. The key is the order id
+ * ({@code orders.card.idPattern}) when the card shows one, otherwise its normalised texts. Each card
+ * remembers the page and swipe count it was found at, so a later lookup can go straight back to it.
+ * <p>
+ * Hooks binds the scenario's index from {@link utils.TestContext#getOrderCardIndex()} before each
+ * scenario; page objects reach it through {@link #current()}.
+ */
+public class OrderCardIndex {
+
+    private static final ThreadLocal<OrderCardIndex> current = ThreadLocal.withInitial(OrderCardIndex::new);
+
+    private static final int MAX_CARD_DEPTH = 3;
+
+    private final List<String> types = csv(ConfigurationManager.getProperty("orders.card.types", "Self-Collect,Delivery"));
+    private final List<String> statuses = statuses();
+    private final Pattern idPattern = Pattern.compile(
+            ConfigurationManager.getProperty("orders.card.idPattern", "#\\s?([A-Z]{0,4}-?\\d{5,})"));
+    private final String cardResourceId = ConfigurationManager.getProperty("orders.card.resourceId", "");
+
+    private final Map<String, OrderCard> cards = new LinkedHashMap<>();
+
+    /**
+     * One order card as seen at a given page and scroll position.
+     */
+    public static final class OrderCard {
+        private final String key;
+        private final String orderId;
+        private final String type;
+        private final String status;
+        private final List<String> texts;
+        private final Rectangle bounds;
+        private final int page;
+        private final int swipes;
+
+        OrderCard(String key, String orderId, String type, String status, List<String> texts, Rectangle bounds, int page, int swipes) {
+            this.key = key;
+            this.orderId = orderId;
+            this.type = type;
+            this.status = status;
+            this.texts = texts;
+            this.bounds = bounds;
+            this.page = page;
+            this.swipes = swipes;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getOrderId() {
+            return orderId;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public List<String> getTexts() {
+            return texts;
+        }
+
+        /**
+         * @return screen bounds at the time the card was indexed; only valid at that scroll position
+         */
+        public Rectangle getBounds() {
+            return bounds;
+        }
+
+        public int getPage() {
+            return page;
+        }
+
+        public int getSwipes() {
+            return swipes;
+        }
+
+        public boolean matches(String wantedType, String wantedStatus) {
+            return wantedType.equals(type) && (wantedStatus == null || normalise(wantedStatus).equals(status == null ? null : normalise(status)));
+        }
+
+        /**
+         * @return a locator for the most specific text on the card (order id if known), to find it again after scrolling
+         */
+        public By textLocator() {
+            String anchor = orderId != null
+                    ? texts.stream().filter(t -> t.contains(orderId)).findFirst().orElse(orderId)
+                    : texts.get(0);
+            return By.xpath("//*[@text=" + xpathLiteral(anchor) + "]");
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s [%s, %s] page %d after %d swipe(s)", orderId != null ? orderId : key, type, status, page, swipes);
+        }
+    }
+
+    public static void bind(OrderCardIndex index) {
+        current.set(index);
+    }
+
+    public static void clear() {
+        current.remove();
+    }
+
+    public static OrderCardIndex current() {
+        return current.get();
+    }
+
+    /**
+     * Extracts the cards in {@code snapshot} and adds new ones to the index. A card seen again keeps its
+     * first position unless the new sighting knows its status and the old one did not (it was cut off).
+     *
+     * @return the cards in this snapshot, top to bottom
+     */
+    public synchronized List<OrderCard> index(HierarchySnapshot snapshot, int page, int swipes) {
+        List<OrderCard> seen = extract(snapshot, page, swipes);
+        for (OrderCard card : seen) {
+            OrderCard known = cards.get(card.key);
+            if (known == null || (known.status == null && card.status != null)) {
+                cards.put(card.key, card);
+            }
+        }
+        return seen;
+    }
+
+    /**
+     * @return the first indexed card of {@code type} with {@code status} (any status when null), in listing order
+     */
+    public synchronized OrderCard find(String type, String status) {
+        for (OrderCard card : cards.values()) {
+            if (card.matches(type, status)) {
+                return card;
+            }
+        }
+        return null;
+    }
+
+    public synchronized int size() {
+        return cards.size();
+    }
+
+    public synchronized Collection<OrderCard> cards() {
+        return Collections.unmodifiableList(new ArrayList<>(cards.values()));
+    }
+
+    /**
+     * Forgets every card; for when the listing itself changed (new order placed, filters applied).
+     */
+    public synchronized void invalidate() {
+        cards.clear();
+    }
+
+    // === Extraction ===
+
+    List<OrderCard> extract(HierarchySnapshot snapshot, int page, int swipes) {
+        Set<HierarchySnapshot.Node> containers = new LinkedHashSet<>();
+        if (!cardResourceId.isEmpty()) {
+            containers.addAll(snapshot.findAll(By.id(cardResourceId)));
+        } else {
+            for (HierarchySnapshot.Node node : snapshot.getNodes()) {
+                if (node.getText() != null && typeOf(node.getText()) != null) {
+                    containers.add(cardOf(node));
+                }
+            }
+        }
+
+        List<OrderCard> result = new ArrayList<>();
+        for (HierarchySnapshot.Node container : containers) {
+            List<String> texts = new ArrayList<>();
+            collectTexts(container, texts);
+            if (texts.isEmpty()) {
+                continue;
+            }
+
+            String type = null;
+            String status = null;
+            String orderId = null;
+            for (String text : texts) {
+                if (type == null) type = typeOf(text);
+                if (status == null) status = statusOf(text);
+                if (orderId == null) {
+                    Matcher matcher = idPattern.matcher(text);
+                    if (matcher.find()) {
+                        orderId = matcher.groupCount() > 0 ? matcher.group(1) : matcher.group();
+                    }
+                }
+            }
+            if (type == null) {
+                continue;
+            }
+
+            String key = orderId != null
+                    ? type + "#" + orderId
+                    : type + "|" + texts.stream().map(OrderCardIndex::normalise).collect(Collectors.joining("|"));
+            result.add(new OrderCard(key, orderId, type, status, Collections.unmodifiableList(texts),
+                    container.getBounds(), page, swipes));
+        }
+        return result;
+    }
+
+    private HierarchySnapshot.Node cardOf(HierarchySnapshot.Node textNode) {
+        HierarchySnapshot.Node candidate = textNode.getParent();
+        HierarchySnapshot.Node nearest = candidate;
+        for (int depth = 0; candidate != null && depth < MAX_CARD_DEPTH; depth++) {
+            if (candidate.isClickable()) {
+                return candidate;
+            }
+            candidate = candidate.getParent();
+        }
+        return nearest != null ? nearest : textNode;
+    }
+
+    private static void collectTexts(HierarchySnapshot.Node node, List<String> texts) {
+        String text = node.getText();
+        if (text != null && !text.isBlank()) {
+            texts.add(text.trim());
+        }
+        for (HierarchySnapshot.Node child : node.getChildren()) {
+            collectTexts(child, texts);
+        }
+    }
+
+    private String typeOf(String text) {
+        for (String type : types) {
+            if (text.contains(type)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private String statusOf(String text) {
+        String normalised = normalise(text);
+        for (String status : statuses) {
+            if (normalised.equals(normalise(status))) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> statuses() {
+        Set<String> values = new LinkedHashSet<>();
+        for (String key : ConfigurationManager.keys()) {
+            if ((key.startsWith("orders.status.") || key.startsWith("order.status.priority"))
+                    && !ConfigurationManager.getProperty(key, "").isEmpty()) {
+                values.add(ConfigurationManager.getProperty(key, ""));
+            }
+        }
+        return new ArrayList<>(values);
+    }
+
+    // Mirrors the old XPath translate(@text, '✔ ', ''): status badges carry a tick and spacing
+    private static String normalise(String text) {
+        return text.replace("✔", "").replace(" ", "").trim();
+    }
+
+    private static List<String> csv(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty()).collect(Collectors.toList());
+    }
+
+    private static String xpathLiteral(String value) {
+        if (!value.contains("'")) {
+            return "'" + value + "'";
+        }
+        if (!value.contains("\"")) {
+            return "\"" + value + "\"";
+        }
+        return "concat('" + value.replace("'", "',\"'\",'") + "')";
+    }
+}
@@ -0,0 +1,476 @@
+package helpers;
+
+import config.ConfigurationManager;
+import drivers.DeviceProfile;
+import drivers.DevicePool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Keeps scenario, step and setup durations (driver creation, login, app reset) across runs and flags the ones
+ * that got slower.
+ * <p>
+ * Every timing of this run is appended to {@code perf.store}, one TSV line per sample keyed by run, git revision,
+ * app build and device. At suite end {@link #saveAndReport()} compares each metric's median this run against
+ * the passing samples of its last {@code perf.baseline.runs} runs on the same device. A metric regresses when its
+ * median is {@code perf.regression.z} robust standard errors (MAD-based) above the baseline median, and also at
+ * least {@code perf.regression.ratio} times and {@code perf.regression.minDeltaMs} slower, so device noise on a
+ * single sample does not flag it. Each regression names a suspect: the app when only the app build is new
+ * against the baseline, the framework when only the git revision is.
+ * <p>
+ * The report goes to the log and {@code perf.report}; with {@code perf.gate.enforce=true}, {@link #enforceGate()}
+ * fails the run on any regression of {@code perf.gate.ratio} or more.
+ */
+public final class PerfBaseline {
+
+    private static final Logger logger = LoggerFactory.getLogger(PerfBaseline.class);
+
+    public static final String SCENARIO = "scenario";
+    public static final String STEP = "step";
+    public static final String SETUP = "setup";
+
+    private static final boolean enabled =
+            Boolean.parseBoolean(ConfigurationManager.getProperty("perf.enabled", "true"));
+    private static final Path store = Paths.get(ConfigurationManager.getProperty("perf.store", "perf-history.tsv"));
+    private static final Path reportFile = Paths.get(ConfigurationManager.getProperty("perf.report", "target/perf-regressions.txt"));
+    private static final int baselineRuns = ConfigurationManager.getInt("perf.baseline.runs", 10);
+    private static final int minSamples = ConfigurationManager.getInt("perf.baseline.minSamples", 5);
+    private static final double zThreshold =
+            Double.parseDouble(ConfigurationManager.getProperty("perf.regression.z", "3.0"));
+    private static final double ratioThreshold =
+            Double.parseDouble(ConfigurationManager.getProperty("perf.regression.ratio", "1.2"));
+    private static final long minDeltaMs = ConfigurationManager.getInt("perf.regression.minDeltaMs", 250);
+    private static final boolean gateEnforced =
+            Boolean.parseBoolean(ConfigurationManager.getProperty("perf.gate.enforce", "false"));
+    private static final double gateRatio =
+            Double.parseDouble(ConfigurationManager.getProperty("perf.gate.ratio", "1.5"));
+
+    private static final String HEADER = "# run\trevision\tappBuild\tdevice\tkind\tname\tms\tstatus";
+    private static final String DEFAULT_DEVICE = "default";
+
+    private static final String run = Instant.now().truncatedTo(ChronoUnit.SECONDS).toString();
+    private static final Queue<Sample> samples = new ConcurrentLinkedQueue<>();
+    private static final List<Regression> regressions = new ArrayList<>();
+
+    private PerfBaseline() {
+    }
+
+    // === Recording ===
+
+    /**
+     * Records a duration for the device bound to the calling thread.
+     *
+     * @param kind {@link #SCENARIO}, {@link #STEP} or {@link #SETUP}
+     * @param ok   false for failed or skipped runs; kept in the store but never part of a baseline
+     */
+    public static void record(String kind, String name, long millis, boolean ok) {
+        DeviceProfile device = DevicePool.current();
+        record(device != null ? device.getUdid() : null, kind, name, millis, ok);
+    }
+
+    /**
+     * Records a duration for a given device, for work done off the device's worker thread (e.g. pooled session creation).
+     */
+    public static void record(String udid, String kind, String name, long millis, boolean ok) {
+        if (enabled) {
+            samples.add(new Sample(udid != null ? udid : DEFAULT_DEVICE, kind, sanitize(name), millis, ok));
+        }
+    }
+
+    public static void setup(String name, long millis, boolean ok) {
+        record(SETUP, name, millis, ok);
+    }
+
+    // === Suite end ===
+
+    /**
+     * Compares this run against the stored baseline, writes the regression report, then appends this run to the store.
+     */
+    public static void saveAndReport() {
+        if (!enabled || samples.isEmpty()) {
+            return;
+        }
+        String revision = gitRevision();
+        Map<String, String> builds = new HashMap<>();
+        for (Sample sample : samples) {
+            builds.computeIfAbsent(sample.device, PerfBaseline::appBuild);
+        }
+
+        List<Record> history = load();
+        compare(history, revision, builds);
+        report(revision, builds);
+        append(revision, builds);
+    }
+
+    /**
+     * @throws AssertionError if {@code perf.gate.enforce} is set and a metric regressed by {@code perf.gate.ratio} or more
+     */
+    public static void enforceGate() {
+        List<String> problems = new ArrayList<>();
+        synchronized (regressions) {
+            for (Regression regression : regressions) {
+                if (regression.ratio >= gateRatio) {
+                    problems.add(regression.toString());
+                }
+            }
+        }
+        if (problems.isEmpty()) {
+            return;
+        }
+
+        String message = String.format("❌ %d metric(s) regressed by %.1f× or more:%n  %s", problems.size(), gateRatio,
+                String.join("\n  ", problems));
+        if (gateEnforced) {
+            throw new AssertionError(message);
+        }
+        logger.warn(message);
+    }
+
+    // === Comparison ===
+
+    private static void compare(List<Record> history, String revision, Map<String, String> builds) {
+        // device/kind/name -> this run's passing durations
+        Map<String, List<Long>> current = new TreeMap<>();
+        for (Sample sample : samples) {
+            if (sample.ok) {
+                current.computeIfAbsent(sample.key(), k -> new ArrayList<>()).add(sample.millis);
+            }
+        }
+        // device/kind/name -> run -> passing records, oldest run first (the store is append-only)
+        Map<String, LinkedHashMap<String, List<Record>>> past = new HashMap<>();
+        for (Record record : history) {
+            if (record.ok && current.containsKey(record.key())) {
+                past.computeIfAbsent(record.key(), k -> new LinkedHashMap<>())
+                        .computeIfAbsent(record.run, k -> new ArrayList<>()).add(record);
+            }
+        }
+
+        int compared = 0;
+        int noBaseline = 0;
+        for (Map.Entry<String, List<Long>> entry : current.entrySet()) {
+            List<Record> baseline = lastRuns(past.get(entry.getKey()));
+            if (baseline.size() < minSamples) {
+                noBaseline++;
+                continue;
+            }
+            compared++;
+
+            long[] base = baseline.stream().mapToLong(r -> r.millis).sorted().toArray();
+            long[] now = entry.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+            double baseMedian = median(base);
+            double nowMedian = median(now);
+            // MAD × 1.4826 estimates the standard deviation without letting one stalled run inflate it
+            double sigma = Math.max(Math.max(1.4826 * mad(base, baseMedian), 0.02 * baseMedian), 1.0);
+            double z = (nowMedian - baseMedian) / (sigma / Math.sqrt(now.length));
+            double ratio = nowMedian / Math.max(baseMedian, 1.0);
+            if (z >= zThreshold && ratio >= ratioThreshold && nowMedian - baseMedian >= minDeltaMs) {
+                String device = entry.getKey().substring(0, entry.getKey().indexOf('\t'));
+                synchronized (regressions) {
+                    regressions.add(new Regression(entry.getKey(), (long) baseMedian, base.length, (long) nowMedian, now.length,
+                            ratio, z, suspect(baseline, revision, builds.get(device))));
+                }
+            }
+        }
+        logger.info("📈 Compared {} metric(s) against the last {} run(s); {} without enough history", compared, baselineRuns, noBaseline);
+    }
+
+    private static List<Record> lastRuns(LinkedHashMap<String, List<Record>> runs) {
+        if (runs == null) {
+            return List.of();
+        }
+        List<List<Record>> ordered = new ArrayList<>(runs.values());
+        List<Record> baseline = new ArrayList<>();
+        for (List<Record> records : ordered.subList(Math.max(0, ordered.size() - baselineRuns), ordered.size())) {
+            baseline.addAll(records);
+        }
+        return baseline;
+    }
+
+    /**
+     * @return which side changed since the baseline: the app build, the framework revision, both, or neither
+     */
+    private static String suspect(List<Record> baseline, String revision, String build) {
+        Set<String> revisions = new LinkedHashSet<>();
+        Set<String> appBuilds = new LinkedHashSet<>();
+        for (Record record : baseline) {
+            revisions.add(record.revision);
+            appBuilds.add(record.appBuild);
+        }
+        boolean newBuild = !appBuilds.contains(build);
+        boolean newRevision = !revisions.contains(revision);
+        if (newBuild && !newRevision) {
+            return "app (build " + build + " vs " + String.join(",", appBuilds) + ")";
+        }
+        if (newRevision && !newBuild) {
+            return "framework (revision " + revision + " vs " + String.join(",", revisions) + ")";
+        }
+        if (newBuild) {
+            return "app or framework (both changed)";
+        }
+        return "environment (same app build and revision as the baseline)";
+    }
+
+    private static double median(long[] sorted) {
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2.0;
+    }
+
+    private static double mad(long[] sorted, double median) {
+        double[] deviations = new double[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            deviations[i] = Math.abs(sorted[i] - median);
+        }
+        Arrays.sort(deviations);
+        int mid = deviations.length / 2;
+        return deviations.length % 2 == 1 ? deviations[mid] : (deviations[mid - 1] + deviations[mid]) / 2;
+    }
+
+    // === Reporting ===
+
+    private static void report(String revision, Map<String, String> builds) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Performance regressions for run %s (revision %s, app build %s)%n", run, revision, builds));
+        sb.append(String.format("Flagged when z ≥ %.1f, ratio ≥ %.2f and delta ≥ %d ms against the last %d run(s); gate at %.2f× (%s)%n%n",
+                zThreshold, ratioThreshold, minDeltaMs, baselineRuns, gateRatio, gateEnforced ? "enforced" : "warn only"));
+
+        List<Regression> sorted;
+        synchronized (regressions) {
+            sorted = new ArrayList<>(regressions);
+        }
+        sorted.sort((a, b) -> Double.compare(b.ratio, a.ratio));
+        if (sorted.isEmpty()) {
+            sb.append("No regressions.\n");
+            logger.info("📈 No performance regressions against the baseline");
+        } else {
+            sb.append(String.format("%-8s %-20s %10s %10s %6s %6s  %-60s %s%n", "kind", "device", "base ms", "now ms", "ratio", "z", "name", "suspect"));
+            for (Regression regression : sorted) {
+                String[] key = regression.key.split("\t", 3);
+                sb.append(String.format("%-8s %-20s %6d (%2d) %6d (%2d) %5.2f× %6.1f  %-60s %s%n", key[1], key[0], regression.baseMs,
+                        regression.baseSamples, regression.nowMs, regression.nowSamples, regression.ratio, regression.z, key[2], regression.suspect));
+            }
+            logger.warn("🐢 {} performance regression(s) against the baseline:\n  {}", sorted.size(),
+                    String.join("\n  ", sorted.stream().map(Regression::toString).toList()));
+        }
+
+        try {
+            Path parent = reportFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(reportFile, sb.toString(), StandardCharsets.UTF_8);
+            logger.info("📄 Performance report written to {}", reportFile);
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not write performance report: {}", e.getMessage());
+        }
+    }
+
+    // === Store ===
+
+    private static List<Record> load() {
+        List<Record> records = new ArrayList<>();
+        if (!Files.isRegularFile(store)) {
+            return records;
+        }
+        try {
+            for (String line : Files.readAllLines(store, StandardCharsets.UTF_8)) {
+                String[] parts = line.split("\t", 8);
+                if (parts.length < 8 || line.startsWith("#")) {
+                    continue;
+                }
+                records.add(new Record(parts[0], parts[1], parts[2], parts[3] + "\t" + parts[4] + "\t" + parts[5],
+                        Long.parseLong(parts[6]), "ok".equals(parts[7])));
+            }
+            logger.info("📈 Loaded {} timing(s) from {}", records.size(), store);
+        } catch (Exception e) {
+            logger.warn("⚠️ Ignoring unreadable performance history {}: {}", store, e.getMessage());
+            records.clear();
+        }
+        return records;
+    }
+
+    private static void append(String revision, Map<String, String> builds) {
+        try {
+            Path parent = store.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            boolean created = !Files.exists(store);
+            try (BufferedWriter writer = Files.newBufferedWriter(store, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (created) {
+                    writer.write(HEADER);
+                    writer.newLine();
+                }
+                for (Sample sample : samples) {
+                    writer.write(String.join("\t", run, revision, builds.get(sample.device), sample.key(),
+                            Long.toString(sample.millis), sample.ok ? "ok" : "failed"));
+                    writer.newLine();
+                }
+            }
+            logger.info("💾 Appended {} timing(s) to {}", samples.size(), store);
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not save performance history: {}", e.getMessage());
+        }
+    }
+
+    // === Run identity ===
+
+    private static String gitRevision() {
+        String configured = ConfigurationManager.getProperty("perf.gitRevision", "");
+        if (!configured.isBlank()) {
+            return configured;
+        }
+        for (String variable : new String[]{"GIT_COMMIT", "GITHUB_SHA", "CI_COMMIT_SHA"}) {
+            String value = System.getenv(variable);
+            if (value != null && !value.isBlank()) {
+                return value.length() > 12 ? value.substring(0, 12) : value;
+            }
+        }
+        String head = commandOutput("git", "rev-parse", "--short=12", "HEAD");
+        return head.isEmpty() ? "unknown" : head;
+    }
+
+    private static String appBuild(String udid) {
+        String configured = ConfigurationManager.getProperty("perf.appBuild", "");
+        if (!configured.isBlank()) {
+            return configured;
+        }
+        String fromEnv = System.getenv("APP_BUILD");
+        if (fromEnv != null && !fromEnv.isBlank()) {
+            return fromEnv;
+        }
+        if (!DEFAULT_DEVICE.equals(udid) && "android".equalsIgnoreCase(ConfigurationManager.getProperty("platformName", ""))) {
+            String dump = commandOutput("adb", "-s", udid, "shell", "dumpsys", "package", ConfigurationManager.getProperty("appPackage", ""));
+            String versionName = field(dump, "versionName=");
+            String versionCode = field(dump, "versionCode=");
+            if (versionName != null) {
+                return versionCode != null ? versionName + "+" + versionCode : versionName;
+            }
+        }
+        return "unknown";
+    }
+
+    private static String field(String dump, String prefix) {
+        int start = dump.indexOf(prefix);
+        if (start < 0) {
+            return null;
+        }
+        start += prefix.length();
+        int end = start;
+        while (end < dump.length() && !Character.isWhitespace(dump.charAt(end))) {
+            end++;
+        }
+        return dump.substring(start, end);
+    }
+
+    private static String commandOutput(String... command) {
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            String output;
+            try (InputStream in = process.getInputStream()) {
+                output = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+            }
+            return process.waitFor() == 0 ? output : "";
+        } catch (IOException e) {
+            return "";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "";
+        }
+    }
+
+    private static String sanitize(String value) {
+        return value == null ? "" : value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private static final class Sample {
+        final String device;
+        final String kind;
+        final String name;
+        final long millis;
+        final boolean ok;
+
+        Sample(String device, String kind, String name, long millis, boolean ok) {
+            this.device = device;
+            this.kind = kind;
+            this.name = name;
+            this.millis = millis;
+            this.ok = ok;
+        }
+
+        String key() {
+            return device + "\t" + kind + "\t" + name;
+        }
+    }
+
+    private static final class Record {
+        final String run;
+        final String revision;
+        final String appBuild;
+        final String key;
+        final long millis;
+        final boolean ok;
+
+        Record(String run, String revision, String appBuild, String key, long millis, boolean ok) {
+            this.run = run;
+            this.revision = revision;
+            this.appBuild = appBuild;
+            this.key = key;
+            this.millis = millis;
+            this.ok = ok;
+        }
+
+        String key() {
+            return key;
+        }
+    }
+
+    private static final class Regression {
+        final String key;
+        final long baseMs;
+        final int baseSamples;
+        final long nowMs;
+        final int nowSamples;
+        final double ratio;
+        final double z;
+        final String suspect;
+
+        Regression(String key, long baseMs, int baseSamples, long nowMs, int nowSamples, double ratio, double z, String suspect) {
+            this.key = key;
+            this.baseMs = baseMs;
+            this.baseSamples = baseSamples;
+            this.nowMs = nowMs;
+            this.nowSamples = nowSamples;
+            this.ratio = ratio;
+            this.z = z;
+            this.suspect = suspect;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d → %d ms (%.2f×, z=%.1f), suspect %s", key.replace('\t', ' '), baseMs, nowMs, ratio, z, suspect);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package helpers;
 
+import drivers.SessionTimeouts;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileBy;
 import org.openqa.selenium.By;
@@ -30,101 +31,62 @@ public class PermissionHelper {
     }
 
     public void allowAllPermissionsIfPresent() {
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(2));
-        logger.info("👀 Checking for permission dialogs...");
-
-        try {
-            for (int attempt = 0; attempt < 3; attempt++) {
-                boolean found = false;
-
-                for (By locator : allowLocators) {
-                    List<WebElement> buttons = driver.findElements(locator);
-
-                    if (!buttons.isEmpty()) {
-                        WebElement btn = buttons.get(0);
-                        try {
-                            btn.click();
-                            logger.info("✅ Clicked permission button: {}", locator);
-                        } catch (Exception e) {
-                            try {
-                                String bounds = btn.getAttribute("bounds");
-                                ElementHelper.tapElementByBounds(bounds);
-                                logger.info("✅ Tapped permission button at bounds: {}", bounds);
-                            } catch (Exception tapEx) {
-                                logger.warn("❌ Failed to tap by bounds: {}", tapEx.getMessage());
-                            }
-                        }
-
-                        ElementHelper.waitUntilVisible(locator, 2);
-                        found = true;
-                        break;
-                    }
-                }
-
-                if (!found) {
-                    logger.info("ℹ️ No more permission dialogs after {} pass(es).", attempt + 1);
-                    break;
-                }
-            }
-        } catch (Exception e) {
-            logger.error("⚠️ Permission handling failed: {}", e.getMessage(), e);
-        } finally {
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-        }
+        allowAllPermissionsIfPresentWithResult();
     }
 
+    /**
+     * Clicks through up to three stacked permission dialogs.
+     *
+     * @return true if at least one permission dialog was handled
+     */
     public boolean allowAllPermissionsIfPresentWithResult() {
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(2));
         logger.info("👀 Checking for permission dialogs...");
+        By[] locators = allowLocators.toArray(new By[0]);
+        int handled = 0;
 
-        try {
+        // Lookups below must not wait: the short wait for a dialog is the explicit one
+        try (SessionTimeouts.Scope ignored = SessionTimeouts.implicitWait(driver, Duration.ZERO)) {
             for (int attempt = 0; attempt < 3; attempt++) {
-                boolean found = false;
+                By locator = ElementProbe.waitForAnyVisible(2, locators);
+                List<WebElement> buttons = locator == null ? List.of() : driver.findElements(locator);
 
-                for (By locator : allowLocators) {
-                    List<WebElement> buttons = driver.findElements(locator);
-
-                    if (!buttons.isEmpty()) {
-                        WebElement btn = buttons.get(0);
-                        try {
-                            btn.click();
-                            logger.info("✅ Clicked permission button: {}", locator);
-                        } catch (Exception e) {
-                            try {
-                                String bounds = btn.getAttribute("bounds");
-                                ElementHelper.tapElementByBounds(bounds);
-                                logger.info("✅ Tapped permission button at bounds: {}", bounds);
-                            } catch (Exception tapEx) {
-                                logger.warn("❌ Failed to tap by bounds: {}", tapEx.getMessage());
-                            }
-                        }
-
-                        ElementHelper.waitUntilVisible(locator, 2);
-                        found = true;
-                        break;
-                    }
+                if (buttons.isEmpty()) {
+                    logger.info("ℹ️ No more permission dialogs after {} pass(es).", attempt + 1);
+                    break;
                 }
 
-                if (!found) {
-                    logger.info("ℹ️ No more permission dialogs after {} pass(es).", attempt + 1);
-                    return attempt > 0; // Return true if at least one permission was handled
+                WebElement btn = buttons.get(0);
+                try {
+                    btn.click();
+                    logger.info("✅ Clicked permission button: {}", locator);
+                } catch (Exception e) {
+                    try {
+                        String bounds = btn.getAttribute("bounds");
+                        ElementHelper.tapElementByBounds(bounds);
+                        logger.info("✅ Tapped permission button at bounds: {}", bounds);
+                    } catch (Exception tapEx) {
+                        logger.warn("❌ Failed to tap by bounds: {}", tapEx.getMessage());
+                    }
                 }
+                handled++;
             }
         } catch (Exception e) {
             logger.error("⚠️ Permission handling failed: {}", e.getMessage(), e);
-        } finally {
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
         }
 
-        return false;
+        return handled > 0;
     }
+
     public static void waitUntilNoPermissionDialogs(AppiumDriver driver, int maxWaitSeconds) {
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(maxWaitSeconds));
-        wait.until(d -> {
-            boolean hasPermissionPopup = !d.findElements(By.id("com.android.permissioncontroller:id/permission_allow_button")).isEmpty();
-            boolean hasToastDialog = !d.findElements(By.id("com.jumba.custmobile.dev:id/alertTitle")).isEmpty();
-            return !hasPermissionPopup && !hasToastDialog;
-        });
+        // Absence polling: each lookup must return immediately
+        try (SessionTimeouts.Scope ignored = SessionTimeouts.implicitWait(driver, Duration.ZERO)) {
+            wait.until(d -> {
+                boolean hasPermissionPopup = !d.findElements(By.id("com.android.permissioncontroller:id/permission_allow_button")).isEmpty();
+                boolean hasToastDialog = !d.findElements(By.id("com.jumba.custmobile.dev:id/alertTitle")).isEmpty();
+                return !hasPermissionPopup && !hasToastDialog;
+            });
+        }
     }
 
 }
\ No newline at end of file
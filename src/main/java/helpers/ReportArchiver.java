@@ -0,0 +1,572 @@
+package helpers;
+
+import config.ConfigurationManager;
+import org.slf4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Zips a report folder, compressing in parallel and writing the archive in one sequential stream.
+ * <p>
+ * The tree is walked with NIO (hidden files skipped, entries in sorted order). Small files are read and
+ * deflated in chunks on {@code report.archive.threads} workers while the calling thread writes finished
+ * chunks, in order, through a 1 MB buffer; at most two chunks per worker are in flight, so memory stays
+ * bounded. Files with an already-compressed extension ({@code report.archive.storedExtensions}) are
+ * STORED rather than deflated again. Files over {@code report.archive.inMemoryLimitMb} are streamed by the
+ * writer itself instead of being held in memory.
+ * <p>
+ * {@code java.util.zip} cannot write pre-deflated data, so the ZIP structures are written here directly
+ * (no ZIP64: at most 65535 entries and 4 GB, which an emailed report never approaches). The archive is
+ * written to a temporary file and moved into place, so a failed run never leaves a truncated zip behind.
+ * <p>
+ * {@link #archiveOnce} runs the suite's archive on a background thread, once per JVM.
+ */
+public final class ReportArchiver {
+
+    private static final Logger logger = LoggerHelper.getLogger(ReportArchiver.class);
+
+    private static final int threads = ConfigurationManager.getInt("report.archive.threads", Runtime.getRuntime().availableProcessors());
+    private static final int level = ConfigurationManager.getInt("report.archive.level", Deflater.DEFAULT_COMPRESSION);
+    private static final long inMemoryLimit = ConfigurationManager.getInt("report.archive.inMemoryLimitMb", 8) * 1024L * 1024L;
+    private static final Set<String> storedExtensions = Arrays.stream(ConfigurationManager
+                    .getProperty("report.archive.storedExtensions", "png,jpg,jpeg,gif,webp,zip,gz,jar,mp4,webm,woff,woff2")
+                    .split(","))
+            .map(ext -> ext.trim().toLowerCase(Locale.ROOT))
+            .filter(ext -> !ext.isEmpty())
+            .collect(Collectors.toSet());
+
+    private static final int CHUNK_MAX_FILES = 256;
+    private static final long CHUNK_MAX_BYTES = 4L * 1024 * 1024;
+    private static final int OUTPUT_BUFFER = 1024 * 1024;
+    private static final long MAX_ZIP32 = 0xFFFFFFFFL;
+    private static final int MAX_ENTRIES = 0xFFFF;
+
+    private static final AtomicReference<CompletableFuture<Result>> suiteArchive = new AtomicReference<>();
+    private static final AtomicInteger threadIds = new AtomicInteger();
+
+    private ReportArchiver() {
+    }
+
+    /**
+     * What an archive run produced.
+     */
+    public static final class Result {
+        private final Path target;
+        private final int files;
+        private final int stored;
+        private final long inputBytes;
+        private final long outputBytes;
+        private final long millis;
+
+        Result(Path target, int files, int stored, long inputBytes, long outputBytes, long millis) {
+            this.target = target;
+            this.files = files;
+            this.stored = stored;
+            this.inputBytes = inputBytes;
+            this.outputBytes = outputBytes;
+            this.millis = millis;
+        }
+
+        public Path getTarget() {
+            return target;
+        }
+
+        public int getFiles() {
+            return files;
+        }
+
+        public int getStored() {
+            return stored;
+        }
+
+        public long getInputBytes() {
+            return inputBytes;
+        }
+
+        public long getOutputBytes() {
+            return outputBytes;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d file(s) (%d stored as-is), %d KB → %d KB in %d ms",
+                    target, files, stored, inputBytes / 1024, outputBytes / 1024, millis);
+        }
+    }
+
+    /**
+     * Starts archiving {@code source} into {@code target} on a background thread, unless an archive was
+     * already started in this JVM, in which case that one is returned.
+     */
+    public static CompletableFuture<Result> archiveOnce(Path source, Path target) {
+        CompletableFuture<Result> mine = new CompletableFuture<>();
+        if (!suiteArchive.compareAndSet(null, mine)) {
+            return suiteArchive.get();
+        }
+
+        Thread thread = new Thread(() -> {
+            try {
+                mine.complete(archive(source, target));
+            } catch (Throwable t) {
+                mine.completeExceptionally(t);
+            }
+        }, "report-archiver");
+        thread.setDaemon(true);
+        thread.start();
+        return mine;
+    }
+
+    /**
+     * Archives {@code source} into {@code target}; entry names start with the source folder's name.
+     */
+    public static Result archive(Path source, Path target) throws IOException {
+        if (!Files.isDirectory(source)) {
+            throw new IOException("Report folder not found: " + source.toAbsolutePath());
+        }
+        long start = System.currentTimeMillis();
+        List<Path> directories = new ArrayList<>();
+        List<Path> files = new ArrayList<>();
+        walk(source, directories, files);
+        if (directories.size() + files.size() > MAX_ENTRIES) {
+            throw new IOException("Too many entries for a ZIP32 archive: " + (directories.size() + files.size()));
+        }
+
+        Path absoluteTarget = target.toAbsolutePath();
+        if (absoluteTarget.getParent() != null) {
+            Files.createDirectories(absoluteTarget.getParent());
+        }
+        Path temp = Files.createTempFile(absoluteTarget.getParent(), absoluteTarget.getFileName().toString(), ".part");
+        String root = source.toAbsolutePath().normalize().getFileName().toString();
+        Path base = source.toAbsolutePath().normalize().getParent();
+
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "report-archiver-worker-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ZipWriter zip = null;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), OUTPUT_BUFFER)) {
+            zip = new ZipWriter(out);
+            for (Path directory : directories) {
+                zip.writeDirectory(entryName(base, directory, root) + "/", Files.getLastModifiedTime(directory).toMillis());
+            }
+
+            Deque<Future<List<PreparedEntry>>> inFlight = new ArrayDeque<>();
+            int window = Math.max(1, threads) * 2;
+            List<Path> chunk = new ArrayList<>();
+            long chunkBytes = 0;
+            for (Path file : files) {
+                long size = Files.size(file);
+                if (size > inMemoryLimit) {
+                    // Keep order: everything before it must be written first
+                    drain(inFlight, zip, 0);
+                    flushChunk(chunk, base, root, workers, inFlight);
+                    drain(inFlight, zip, 0);
+                    chunk = new ArrayList<>();
+                    chunkBytes = 0;
+                    zip.writeLarge(entryName(base, file, root), file, isStored(file));
+                    continue;
+                }
+                chunk.add(file);
+                chunkBytes += size;
+                if (chunk.size() >= CHUNK_MAX_FILES || chunkBytes >= CHUNK_MAX_BYTES) {
+                    flushChunk(chunk, base, root, workers, inFlight);
+                    chunk = new ArrayList<>();
+                    chunkBytes = 0;
+                    drain(inFlight, zip, window);
+                }
+            }
+            flushChunk(chunk, base, root, workers, inFlight);
+            drain(inFlight, zip, 0);
+            zip.finish();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        } finally {
+            workers.shutdownNow();
+        }
+
+        Files.move(temp, absoluteTarget, StandardCopyOption.REPLACE_EXISTING);
+        Result result = new Result(target, files.size(), zip.stored, zip.inputBytes, Files.size(absoluteTarget),
+                System.currentTimeMillis() - start);
+        logger.info("🗜️ Archived {}", result);
+        return result;
+    }
+
+    // === Walking and chunking ===
+
+    private static void walk(Path source, List<Path> directories, List<Path> files) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(source) && Files.isHidden(dir)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                directories.add(dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (attrs.isRegularFile() && !Files.isHidden(file)) {
+                    files.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        directories.sort(null);
+        files.sort(null);
+    }
+
+    private static void flushChunk(List<Path> chunk, Path base, String root, ExecutorService workers,
+                                   Deque<Future<List<PreparedEntry>>> inFlight) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Path> paths = chunk;
+        inFlight.addLast(workers.submit(() -> {
+            List<PreparedEntry> prepared = new ArrayList<>(paths.size());
+            Deflater deflater = new Deflater(level, true);
+            try {
+                for (Path path : paths) {
+                    prepared.add(prepare(entryName(base, path, root), path, deflater));
+                }
+            } finally {
+                deflater.end();
+            }
+            return prepared;
+        }));
+    }
+
+    private static void drain(Deque<Future<List<PreparedEntry>>> inFlight, ZipWriter zip, int keep) throws IOException {
+        while (inFlight.size() > keep) {
+            try {
+                for (PreparedEntry entry : inFlight.removeFirst().get()) {
+                    zip.writePrepared(entry);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while archiving", e);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+            }
+        }
+    }
+
+    private static PreparedEntry prepare(String name, Path path, Deflater deflater) throws IOException {
+        byte[] raw = Files.readAllBytes(path);
+        CRC32 crc = new CRC32();
+        crc.update(raw);
+        long modified = Files.getLastModifiedTime(path).toMillis();
+        if (isStored(path)) {
+            return new PreparedEntry(name, modified, 0, crc.getValue(), raw.length, raw);
+        }
+
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        byte[] buffer = new byte[Math.max(64, raw.length / 2 + 64)];
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            length += deflater.deflate(buffer, length, buffer.length - length);
+        }
+        return new PreparedEntry(name, modified, 8, crc.getValue(), raw.length, Arrays.copyOf(buffer, length));
+    }
+
+    private static boolean isStored(Path path) {
+        String name = path.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && storedExtensions.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private static String entryName(Path base, Path path, String root) {
+        Path relative = base == null ? path : base.relativize(path.toAbsolutePath().normalize());
+        String name = relative.toString().replace('\\', '/');
+        return name.isEmpty() ? root : name;
+    }
+
+    // === ZIP format ===
+
+    private static final class PreparedEntry {
+        final String name;
+        final long modified;
+        final int method;
+        final long crc;
+        final long size;
+        final byte[] data;
+
+        PreparedEntry(String name, long modified, int method, long crc, long size, byte[] data) {
+            this.name = name;
+            this.modified = modified;
+            this.method = method;
+            this.crc = crc;
+            this.size = size;
+            this.data = data;
+        }
+    }
+
+    private static final class CentralEntry {
+        final byte[] name;
+        final int flags;
+        final int method;
+        final long dosTime;
+        final long crc;
+        final long compressedSize;
+        final long size;
+        final long offset;
+        final boolean directory;
+
+        CentralEntry(byte[] name, int flags, int method, long dosTime, long crc, long compressedSize, long size, long offset, boolean directory) {
+            this.name = name;
+            this.flags = flags;
+            this.method = method;
+            this.dosTime = dosTime;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.offset = offset;
+            this.directory = directory;
+        }
+    }
+
+    /**
+     * Sequential writer for local headers, entry data and the central directory.
+     */
+    private static final class ZipWriter {
+        private static final int UTF8_NAMES = 0x0800;
+        private static final int DATA_DESCRIPTOR = 0x0008;
+
+        private final CountingOutputStream out;
+        private final List<CentralEntry> central = new ArrayList<>();
+        private final byte[] header = new byte[30];
+        int stored;
+        long inputBytes;
+
+        ZipWriter(OutputStream out) {
+            this.out = new CountingOutputStream(out);
+        }
+
+        void writeDirectory(String name, long modified) throws IOException {
+            writeEntry(name, modified, 0, 0, 0, 0, null, true);
+        }
+
+        void writePrepared(PreparedEntry entry) throws IOException {
+            if (entry.method == 0) {
+                stored++;
+            }
+            inputBytes += entry.size;
+            writeEntry(entry.name, entry.modified, entry.method, entry.crc, entry.data.length, entry.size, entry.data, false);
+        }
+
+        /**
+         * Streams a file too big to hold in memory: STORED files are read twice (CRC, then copy),
+         * deflated ones once, with sizes and CRC in a trailing data descriptor.
+         */
+        void writeLarge(String name, Path file, boolean storeAsIs) throws IOException {
+            byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            long dosTime = dosTime(Files.getLastModifiedTime(file).toMillis());
+            long offset = out.count;
+            byte[] buffer = new byte[OUTPUT_BUFFER];
+            CRC32 crc = new CRC32();
+
+            if (storeAsIs) {
+                long size = 0;
+                try (InputStream in = Files.newInputStream(file)) {
+                    for (int read; (read = in.read(buffer)) > 0; ) {
+                        crc.update(buffer, 0, read);
+                        size += read;
+                    }
+                }
+                checkZip32(size);
+                writeLocalHeader(nameBytes, UTF8_NAMES, 0, dosTime, crc.getValue(), size, size);
+                Files.copy(file, out);
+                central.add(new CentralEntry(nameBytes, UTF8_NAMES, 0, dosTime, crc.getValue(), size, size, offset, false));
+                stored++;
+                inputBytes += size;
+                return;
+            }
+
+            int flags = UTF8_NAMES | DATA_DESCRIPTOR;
+            writeLocalHeader(nameBytes, flags, 8, dosTime, 0, 0, 0);
+            long dataStart = out.count;
+            long size = 0;
+            Deflater deflater = new Deflater(level, true);
+            byte[] compressed = new byte[OUTPUT_BUFFER];
+            try (InputStream in = Files.newInputStream(file)) {
+                for (int read; (read = in.read(buffer)) > 0; ) {
+                    crc.update(buffer, 0, read);
+                    size += read;
+                    deflater.setInput(buffer, 0, read);
+                    while (!deflater.needsInput()) {
+                        out.write(compressed, 0, deflater.deflate(compressed));
+                    }
+                }
+                deflater.finish();
+                while (!deflater.finished()) {
+                    out.write(compressed, 0, deflater.deflate(compressed));
+                }
+            } finally {
+                deflater.end();
+            }
+            long compressedSize = out.count - dataStart;
+            checkZip32(Math.max(size, compressedSize));
+            writeInt(0x08074b50);
+            writeInt(crc.getValue());
+            writeInt(compressedSize);
+            writeInt(size);
+            central.add(new CentralEntry(nameBytes, flags, 8, dosTime, crc.getValue(), compressedSize, size, offset, false));
+            inputBytes += size;
+        }
+
+        void finish() throws IOException {
+            long centralStart = out.count;
+            for (CentralEntry entry : central) {
+                writeInt(0x02014b50);
+                writeShort(20);                     // version made by
+                writeShort(20);                     // version needed
+                writeShort(entry.flags);
+                writeShort(entry.method);
+                writeInt(entry.dosTime);
+                writeInt(entry.crc);
+                writeInt(entry.compressedSize);
+                writeInt(entry.size);
+                writeShort(entry.name.length);
+                writeShort(0);                      // extra
+                writeShort(0);                      // comment
+                writeShort(0);                      // disk
+                writeShort(0);                      // internal attributes
+                writeInt(entry.directory ? 0x10 : 0); // external attributes (MS-DOS directory bit)
+                writeInt(entry.offset);
+                out.write(entry.name);
+            }
+            long centralSize = out.count - centralStart;
+            checkZip32(out.count);
+
+            writeInt(0x06054b50);
+            writeShort(0);
+            writeShort(0);
+            writeShort(central.size());
+            writeShort(central.size());
+            writeInt(centralSize);
+            writeInt(centralStart);
+            writeShort(0);
+            out.flush();
+        }
+
+        private void writeEntry(String name, long modified, int method, long crc, long compressedSize, long size,
+                                byte[] data, boolean directory) throws IOException {
+            checkZip32(out.count);
+            byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            long dosTime = dosTime(modified);
+            long offset = out.count;
+            writeLocalHeader(nameBytes, UTF8_NAMES, method, dosTime, crc, compressedSize, size);
+            if (data != null) {
+                out.write(data);
+            }
+            central.add(new CentralEntry(nameBytes, UTF8_NAMES, method, dosTime, crc, compressedSize, size, offset, directory));
+        }
+
+        private void writeLocalHeader(byte[] name, int flags, int method, long dosTime, long crc, long compressedSize, long size) throws IOException {
+            put(0, 0x04034b50, 4);
+            put(4, 20, 2);
+            put(6, flags, 2);
+            put(8, method, 2);
+            put(10, dosTime, 4);
+            put(14, crc, 4);
+            put(18, compressedSize, 4);
+            put(22, size, 4);
+            put(26, name.length, 2);
+            put(28, 0, 2);
+            out.write(header, 0, 30);
+            out.write(name);
+        }
+
+        private void put(int at, long value, int bytes) {
+            for (int i = 0; i < bytes; i++) {
+                header[at + i] = (byte) (value >>> (8 * i));
+            }
+        }
+
+        private void writeShort(int value) throws IOException {
+            out.write(value & 0xFF);
+            out.write((value >>> 8) & 0xFF);
+        }
+
+        private void writeInt(long value) throws IOException {
+            writeShort((int) (value & 0xFFFF));
+            writeShort((int) ((value >>> 16) & 0xFFFF));
+        }
+
+        private static void checkZip32(long value) throws IOException {
+            if (value > MAX_ZIP32) {
+                throw new IOException("Archive exceeds 4 GB; ZIP64 is not supported");
+            }
+        }
+
+        private static long dosTime(long millis) {
+            LocalDateTime time = LocalDateTime.ofInstant(java.time.Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+            if (time.getYear() < 1980) {
+                return (1 << 21) | (1 << 16);
+            }
+            return ((long) (time.getYear() - 1980) << 25) | ((long) time.getMonthValue() << 21) | ((long) time.getDayOfMonth() << 16)
+                    | ((long) time.getHour() << 11) | ((long) time.getMinute() << 5) | (time.getSecond() >> 1);
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package helpers;
+
+import config.ConfigurationManager;
+import config.EmailConfigManager;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Suite-level report stage: runs once, after every worker thread has finished its scenarios.
+ * <p>
+ * Hooks reports each scenario's outcome through {@link #scenarioFinished}. {@link #start()} takes the
+ * aggregated summary and then, on a background thread, generates the Allure report
+ * ({@code report.generate.command}), zips it with {@link ReportArchiver} and emails it through
+ * {@link EmailReportSender}. {@link #await()} waits for that at the very end of the suite.
+ * <p>
+ * Delivery is attach-or-summarise: a zip whose encoded size is within {@code email.maxAttachmentMb} is
+ * attached; a larger one (or a failed zip) is replaced by the summary and the report's location. Sending is
+ * retried {@code email.retries} times with a doubling backoff, except for rejected credentials or recipients,
+ * which no retry will fix. Pointing {@code email.host}/{@code email.port} at a local SMTP stand-in via system
+ * properties exercises all of it without a real mail server.
+ */
+public final class ReportFinalizer {
+
+    private static final Logger logger = LoggerHelper.getLogger(ReportFinalizer.class);
+
+    private static final boolean generate =
+            Boolean.parseBoolean(ConfigurationManager.getProperty("report.generate.enabled", "true"));
+    private static final String generateCommand = ConfigurationManager.getProperty("report.generate.command", "allure");
+    private static final long generateTimeoutSeconds = ConfigurationManager.getInt("report.generate.timeoutSeconds", 120);
+    private static final long finalizeTimeoutSeconds = ConfigurationManager.getInt("report.finalize.timeoutSeconds", 300);
+    private static final Path resultsDir = Paths.get(System.getProperty("allure.results.directory", "allure-results"));
+    private static final Path reportDir = Paths.get(ConfigurationManager.getProperty("report.archive.source", "allure-report"));
+    private static final Path zipFile = Paths.get(ConfigurationManager.getProperty("report.archive.target", "allure-report.zip"));
+
+    private static final int MAX_LISTED_FAILURES = 20;
+
+    private static final ConcurrentLinkedQueue<String[]> outcomes = new ConcurrentLinkedQueue<>();
+    private static final long suiteStart = System.currentTimeMillis();
+    private static final AtomicReference<CompletableFuture<Delivery>> finalization = new AtomicReference<>();
+
+    private ReportFinalizer() {
+    }
+
+    /**
+     * How the report went out.
+     */
+    public enum Delivery {
+        ATTACHED,
+        SUMMARY_ONLY,
+        DISABLED,
+        FAILED
+    }
+
+    /**
+     * Records one scenario's outcome; safe to call from any worker thread.
+     */
+    public static void scenarioFinished(String name, String status) {
+        outcomes.add(new String[]{name, status});
+    }
+
+    /**
+     * Starts finalizing the suite in the background, once; later calls return the same future.
+     */
+    public static CompletableFuture<Delivery> start() {
+        CompletableFuture<Delivery> mine = new CompletableFuture<>();
+        if (!finalization.compareAndSet(null, mine)) {
+            return finalization.get();
+        }
+
+        String summary = summary();
+        logger.info("📋 {}", summary.replace(System.lineSeparator(), " | "));
+        EmailConfigManager.loadProperties();
+        if (!Boolean.parseBoolean(EmailConfigManager.get("email.enabled", "false"))) {
+            logger.info("🚫 Email sending is disabled via config");
+            mine.complete(Delivery.DISABLED);
+            return mine;
+        }
+
+        Thread thread = new Thread(() -> {
+            try {
+                mine.complete(deliver(buildReport(), summary, maxAttachmentBytes()));
+            } catch (Throwable t) {
+                logger.error("❌ Report finalization failed: {}", t.getMessage(), t);
+                mine.complete(Delivery.FAILED);
+            }
+        }, "report-finalizer");
+        thread.setDaemon(true);
+        thread.start();
+        return mine;
+    }
+
+    /**
+     * Waits for {@link #start()}'s work, up to {@code report.finalize.timeoutSeconds}; never throws.
+     */
+    public static Delivery await() {
+        CompletableFuture<Delivery> pending = finalization.get();
+        if (pending == null) {
+            return null;
+        }
+        try {
+            Delivery delivery = pending.get(finalizeTimeoutSeconds, TimeUnit.SECONDS);
+            logger.info("📬 Report finalized: {}", delivery);
+            return delivery;
+        } catch (TimeoutException e) {
+            logger.warn("⏱️ Report finalization still running after {}s; abandoning it", finalizeTimeoutSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("❌ Report finalization failed: {}", e.getMessage(), e);
+        }
+        return Delivery.FAILED;
+    }
+
+    /**
+     * @return pass/fail counts, the first failed scenarios and the suite's wall time
+     */
+    public static String summary() {
+        Map<String, Integer> counts = new TreeMap<>();
+        List<String> failed = new ArrayList<>();
+        for (String[] outcome : outcomes) {
+            counts.merge(outcome[1], 1, Integer::sum);
+            if ("FAILED".equals(outcome[1])) {
+                failed.add(outcome[0]);
+            }
+        }
+
+        String nl = System.lineSeparator();
+        StringBuilder summary = new StringBuilder(String.format("Suite finished: %d scenario(s) in %d s", outcomes.size(),
+                (System.currentTimeMillis() - suiteStart) / 1000));
+        counts.forEach((status, count) -> summary.append(nl).append("  ").append(status).append(": ").append(count));
+        if (!failed.isEmpty()) {
+            summary.append(nl).append("Failed scenarios:");
+            failed.stream().limit(MAX_LISTED_FAILURES).forEach(name -> summary.append(nl).append("  - ").append(name));
+            if (failed.size() > MAX_LISTED_FAILURES) {
+                summary.append(nl).append("  … and ").append(failed.size() - MAX_LISTED_FAILURES).append(" more");
+            }
+        }
+        return summary.toString();
+    }
+
+    // === Report ===
+
+    /**
+     * Generates and zips the report.
+     *
+     * @return the zip, or null if there was nothing to zip or zipping failed
+     */
+    private static Path buildReport() {
+        Path source = reportDir;
+        if (generate && !generateReport()) {
+            // A stale report would be misleading; the raw results are at least current
+            source = resultsDir;
+        }
+        if (!Files.isDirectory(source)) {
+            logger.warn("⚠️ No report folder to zip at {}", source.toAbsolutePath());
+            return null;
+        }
+        try {
+            return ReportArchiver.archiveOnce(source, zipFile).join().getTarget();
+        } catch (Exception e) {
+            logger.error("❌ Zipping {} failed: {}", source, e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean generateReport() {
+        Path log = Paths.get("target", "allure-generate.log");
+        List<String> command = new ArrayList<>(List.of(generateCommand.split("\\s+")));
+        command.addAll(List.of("generate", resultsDir.toString(), "-o", reportDir.toString(), "--clean"));
+        long start = System.currentTimeMillis();
+        try {
+            Files.createDirectories(log.getParent());
+            Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.to(log.toFile())).start();
+            if (!process.waitFor(generateTimeoutSeconds, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                logger.warn("⏱️ '{}' did not finish within {}s; see {}", String.join(" ", command), generateTimeoutSeconds, log);
+                return false;
+            }
+            if (process.exitValue() != 0) {
+                logger.warn("⚠️ '{}' exited with {}; see {}", String.join(" ", command), process.exitValue(), log);
+                return false;
+            }
+            logger.info("📊 Allure report generated in {} ms", System.currentTimeMillis() - start);
+            return true;
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not run '{}': {}", generateCommand, e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // === Delivery ===
+
+    /**
+     * Sends {@code zip} (or, if it is null or too big, the summary alone) once, retrying transient failures.
+     *
+     * @param maxAttachmentBytes largest attachment to send, measured after base64 encoding
+     */
+    public static Delivery deliver(Path zip, String summary, long maxAttachmentBytes) {
+        String subject = EmailConfigManager.get("email.subject", "Allure Test Report");
+        String body = EmailConfigManager.get("email.body", "");
+        String nl = System.lineSeparator();
+
+        Path attachment = null;
+        String note;
+        long encodedSize = zip == null ? -1 : encodedSize(zip);
+        if (zip == null) {
+            note = "The report could not be zipped; see the run's logs.";
+        } else if (encodedSize > maxAttachmentBytes) {
+            note = String.format("The report (%d KB encoded) is over the %d KB attachment limit and was not attached. It is at: %s",
+                    encodedSize / 1024, maxAttachmentBytes / 1024, reportLocation(zip));
+        } else {
+            attachment = zip;
+            note = null;
+        }
+        String text = body + nl + nl + summary + (note == null ? "" : nl + nl + note);
+
+        int attempts = Math.max(1, Integer.parseInt(EmailConfigManager.get("email.retries", "3")) + 1);
+        long backoff = Long.parseLong(EmailConfigManager.get("email.retryBackoffMs", "2000"));
+        for (int attempt = 1; ; attempt++) {
+            try {
+                EmailReportSender.send(subject, text, attachment);
+                logger.info("✅ Report emailed ({}) on attempt {}", attachment != null ? "attached" : "summary only", attempt);
+                return attachment != null ? Delivery.ATTACHED : Delivery.SUMMARY_ONLY;
+            } catch (AuthenticationFailedException | SendFailedException e) {
+                logger.error("❌ Report email rejected, not retrying: {}", e.getMessage());
+                return Delivery.FAILED;
+            } catch (MessagingException e) {
+                if (attempt >= attempts) {
+                    logger.error("❌ Report email failed after {} attempt(s): {}", attempt, e.getMessage());
+                    return Delivery.FAILED;
+                }
+                logger.warn("🔁 Report email attempt {}/{} failed ({}); retrying in {} ms", attempt, attempts, e.getMessage(), backoff);
+                try {
+                    // Background thread after the last scenario: not part of the sleep budget
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return Delivery.FAILED;
+                }
+                backoff *= 2;
+            }
+        }
+    }
+
+    private static long maxAttachmentBytes() {
+        return Long.parseLong(EmailConfigManager.get("email.maxAttachmentMb", "20")) * 1024L * 1024L;
+    }
+
+    private static long encodedSize(Path zip) {
+        try {
+            // Base64 with MIME line breaks
+            return Files.size(zip) * 4 / 3 * 78 / 76;
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static String reportLocation(Path zip) {
+        String location = EmailConfigManager.get("email.reportLocation", "");
+        return location.isEmpty() ? zip.toAbsolutePath().toString().replace(File.separatorChar, '/') : location;
+    }
+}
@@ -1,46 +0,0 @@
-package helpers;
-
-import java.io.*;
-import java.util.zip.*;
-
-public class ReportZipper {
-
-    public static void zipFolder(String sourceFolderPath, String zipFilePath) throws IOException {
-        FileOutputStream fos = new FileOutputStream(zipFilePath);
-        ZipOutputStream zos = new ZipOutputStream(fos);
-
-        File folderToZip = new File(sourceFolderPath);
-        zipFile(folderToZip, folderToZip.getName(), zos);
-        zos.close();
-        fos.close();
-    }
-
-    private static void zipFile(File fileToZip, String fileName, ZipOutputStream zos) throws IOException {
-        if (fileToZip.isHidden()) return;
-
-        if (fileToZip.isDirectory()) {
-            if (!fileName.endsWith("/")) fileName += "/";
-            zos.putNextEntry(new ZipEntry(fileName));
-            zos.closeEntry();
-
-            File[] children = fileToZip.listFiles();
-            if (children != null) {
-                for (File child : children) {
-                    zipFile(child, fileName + child.getName(), zos);
-                }
-            }
-            return;
-        }
-
-        FileInputStream fis = new FileInputStream(fileToZip);
-        ZipEntry zipEntry = new ZipEntry(fileName);
-        zos.putNextEntry(zipEntry);
-
-        byte[] bytes = new byte[1024];
-        int length;
-        while ((length = fis.read(bytes)) >= 0) {
-            zos.write(bytes, 0, length);
-        }
-        fis.close();
-    }
-}
\ No newline at end of file
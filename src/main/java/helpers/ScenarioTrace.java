@@ -0,0 +1,438 @@
+package helpers;
+
+import config.ConfigurationManager;
+import drivers.DevicePool;
+import drivers.DeviceProfile;
+import org.slf4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-scenario timeline in Chrome trace-event JSON, for {@code chrome://tracing} or {@code ui.perfetto.dev}.
+ * <p>
+ * Nested spans: scenario, hooks and Gherkin steps (from {@code hooks.StepEventsPlugin}); page-object methods,
+ * {@code WebDriverWait}/{@link Sleeps#until} polling loops and hook phases; Appium commands (from
+ * {@code drivers.RecordingCommandExecutor}) and sleeps (from {@link Sleeps}). Method and wait spans are not
+ * instrumented one by one: at each command or sleep the stack is walked for frames of {@code trace.spanClasses}
+ * and wait loops, and spans open and close as those frames appear and disappear. A span therefore covers its
+ * first to its last command, and two back-to-back calls of the same method show as one span.
+ * <p>
+ * Events go into arrays owned by the scenario's thread, so recording takes no locks; the finished scenario
+ * is handed to a background writer that writes {@code trace.dir/<scenario>.json} and appends it to
+ * {@code trace.dir/suite.json}, where each device is one track.
+ */
+public final class ScenarioTrace {
+
+    private static final Logger logger = LoggerHelper.getLogger(ScenarioTrace.class);
+
+    private static final boolean enabled =
+            Boolean.parseBoolean(ConfigurationManager.getProperty("trace.enabled", "true"));
+    private static final Path dir = Paths.get(ConfigurationManager.getProperty("trace.dir", "target/traces"));
+    private static final String[] spanClasses =
+            ConfigurationManager.getProperty("trace.spanClasses", "pages.,hooks.").split("\\s*,\\s*");
+    private static final int maxEvents = ConfigurationManager.getInt("trace.maxEvents", 200_000);
+
+    private static final String WAIT_CLASS = "org.openqa.selenium.support.ui.FluentWait";
+    private static final int MAX_DEPTH = 64;
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("HHmmss_SSS").withZone(ZoneId.systemDefault());
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    // Trace timestamps are microseconds since the suite started
+    private static final long epochNanos = System.nanoTime();
+
+    private static final byte BEGIN = 'B';
+    private static final byte END = 'E';
+    private static final byte COMPLETE = 'X';
+
+    private static final String SCENARIO = "scenario";
+    private static final String STEP = "step";
+    private static final String HOOK = "hook";
+    private static final String WAIT = "wait";
+    private static final String COMMAND = "command";
+    private static final String SLEEP = "sleep";
+    private static final String PAGE = "page";
+    private static final String PHASE = "phase";
+
+    // Span name -> category, filled as stack frames are first seen
+    private static final Map<String, String> categories = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<Buffer> buffer = new ThreadLocal<>();
+
+    // Only touched by the writer thread
+    private static final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "trace-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static Writer suiteOut;
+    private static final Set<Integer> suiteTracks = new HashSet<>();
+    private static int suiteEvents;
+
+    private ScenarioTrace() {
+    }
+
+    /**
+     * One scenario's events, as parallel arrays; only its own thread writes to it until it is handed off.
+     */
+    private static final class Buffer {
+        final String scenario;
+        long[] ts = new long[1024];
+        long[] dur = new long[1024];
+        byte[] ph = new byte[1024];
+        String[] name = new String[1024];
+        String[] cat = new String[1024];
+        String[] detail = new String[1024];
+        int size;
+        int dropped;
+
+        // Spans derived from the stack, outermost first
+        final String[] frames = new String[MAX_DEPTH];
+        int depth;
+        long lastEnd;
+        String hook;
+        DeviceProfile device;
+
+        Buffer(String scenario) {
+            this.scenario = scenario;
+        }
+
+        void add(byte phase, long at, long duration, String eventName, String category, String eventDetail) {
+            if (size == ts.length) {
+                int capacity = size * 2;
+                ts = Arrays.copyOf(ts, capacity);
+                dur = Arrays.copyOf(dur, capacity);
+                ph = Arrays.copyOf(ph, capacity);
+                name = Arrays.copyOf(name, capacity);
+                cat = Arrays.copyOf(cat, capacity);
+                detail = Arrays.copyOf(detail, capacity);
+            }
+            ts[size] = at;
+            dur[size] = duration;
+            ph[size] = phase;
+            name[size] = eventName;
+            cat[size] = category;
+            detail[size] = eventDetail;
+            size++;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    // === Spans reported by the Cucumber plugin ===
+
+    public static void scenarioStarted(String name) {
+        if (!enabled) {
+            return;
+        }
+        Buffer events = new Buffer(name);
+        buffer.set(events);
+        events.add(BEGIN, now(), 0, name, SCENARIO, null);
+    }
+
+    public static void stepStarted(String text) {
+        begin(text, STEP);
+    }
+
+    public static void stepFinished() {
+        end(STEP);
+    }
+
+    /**
+     * @param codeLocation the hook's code location, e.g. {@code hooks.Hooks.beforeScenario(io.cucumber.java.Scenario)}
+     */
+    public static void hookStarted(String codeLocation) {
+        Buffer events = buffer.get();
+        if (events == null) {
+            return;
+        }
+        String method = codeLocation.contains("(") ? codeLocation.substring(0, codeLocation.indexOf('(')) : codeLocation;
+        int lastDot = method.lastIndexOf('.');
+        int classDot = lastDot > 0 ? method.lastIndexOf('.', lastDot - 1) : -1;
+        events.hook = method.substring(classDot + 1);
+        begin(events.hook, HOOK);
+    }
+
+    public static void hookFinished() {
+        end(HOOK);
+        Buffer events = buffer.get();
+        if (events != null) {
+            events.hook = null;
+        }
+    }
+
+    /**
+     * Closes the scenario and hands its events to the background writer.
+     */
+    public static void scenarioFinished(String status) {
+        Buffer events = buffer.get();
+        if (events == null) {
+            return;
+        }
+        buffer.remove();
+        long at = now();
+        closeFrames(events, 0);
+        events.add(END, at, 0, events.scenario, SCENARIO, status);
+        if (events.device == null) {
+            events.device = DevicePool.current();
+        }
+        writer.execute(() -> write(events));
+    }
+
+    private static void begin(String name, String category) {
+        Buffer events = buffer.get();
+        if (events == null) {
+            return;
+        }
+        long at = now();
+        closeFrames(events, 0);
+        events.add(BEGIN, at, 0, name, category, null);
+    }
+
+    private static void end(String category) {
+        Buffer events = buffer.get();
+        if (events == null) {
+            return;
+        }
+        long at = now();
+        closeFrames(events, 0);
+        events.add(END, at, 0, null, category, null);
+    }
+
+    // === Commands and sleeps ===
+
+    /**
+     * Records a finished Appium command on the current thread.
+     *
+     * @param startNanos {@link System#nanoTime()} when it was sent
+     */
+    public static void command(String name, String detail, long startNanos, long nanos) {
+        complete(name, COMMAND, detail, startNanos, nanos);
+    }
+
+    /**
+     * Records a finished sleep on the current thread.
+     */
+    public static void sleep(String kind, long startNanos, long nanos) {
+        complete(kind, SLEEP, null, startNanos, nanos);
+    }
+
+    private static void complete(String name, String category, String detail, long startNanos, long nanos) {
+        Buffer events = buffer.get();
+        if (events == null) {
+            return;
+        }
+        if (events.size >= maxEvents) {
+            // Commands, sleeps and the spans around them are dropped; scenario, hook and step spans are always kept
+            events.dropped++;
+            return;
+        }
+        if (events.device == null) {
+            events.device = DevicePool.current();
+        }
+        long start = (startNanos - epochNanos) / 1000;
+        syncFrames(events, start);
+        events.add(COMPLETE, start, nanos / 1000, name, category, detail);
+        events.lastEnd = start + nanos / 1000;
+    }
+
+    /**
+     * Opens and closes the stack-derived spans so they match the caller's stack at {@code at}.
+     */
+    private static void syncFrames(Buffer events, long at) {
+        List<String> stack = WALKER.walk(frames -> {
+            List<String> names = new ArrayList<>();
+            frames.forEach(frame -> {
+                String span = spanName(frame.getClassName(), frame.getMethodName());
+                if (span != null && !span.equals(events.hook)) {
+                    names.add(span);
+                }
+            });
+            return names;
+        });
+
+        // Walked innermost first; compare outermost first
+        int size = Math.min(stack.size(), MAX_DEPTH);
+        int common = 0;
+        while (common < events.depth && common < size && events.frames[common].equals(stack.get(stack.size() - 1 - common))) {
+            common++;
+        }
+        closeFrames(events, common);
+        for (int i = common; i < size; i++) {
+            String span = stack.get(stack.size() - 1 - i);
+            events.frames[i] = span;
+            events.add(BEGIN, at, 0, span, categoryOf(span), null);
+        }
+        events.depth = size;
+    }
+
+    private static void closeFrames(Buffer events, int keep) {
+        for (int i = events.depth - 1; i >= keep; i--) {
+            events.add(END, Math.max(events.lastEnd, events.ts[events.size - 1]), 0, null, categoryOf(events.frames[i]), null);
+            events.frames[i] = null;
+        }
+        events.depth = Math.min(events.depth, keep);
+    }
+
+    private static String spanName(String className, String method) {
+        if (method.startsWith("lambda$")) {
+            return null;
+        }
+        if (WAIT_CLASS.equals(className) && method.equals("until")) {
+            return "WebDriverWait.until";
+        }
+        if (className.equals(Sleeps.class.getName()) && method.equals("until")) {
+            return "Sleeps.until";
+        }
+        for (String prefix : spanClasses) {
+            if (!prefix.isEmpty() && className.startsWith(prefix)) {
+                String span = className.substring(className.lastIndexOf('.') + 1) + "." + method;
+                categories.putIfAbsent(span, className.startsWith("pages.") ? PAGE : className.startsWith("hooks.") ? HOOK : PHASE);
+                return span;
+            }
+        }
+        return null;
+    }
+
+    private static String categoryOf(String span) {
+        return span.endsWith(".until") ? WAIT : categories.getOrDefault(span, PHASE);
+    }
+
+    private static long now() {
+        return (System.nanoTime() - epochNanos) / 1000;
+    }
+
+    // === Writing (writer thread only) ===
+
+    /**
+     * Waits for pending scenarios to be written and closes {@code suite.json}; call once at suite end.
+     */
+    public static void finish() {
+        if (!enabled) {
+            return;
+        }
+        writer.execute(() -> {
+            if (suiteOut == null) {
+                return;
+            }
+            try {
+                suiteOut.write("\n],\"displayTimeUnit\":\"ms\"}\n");
+                suiteOut.close();
+                logger.info("🧵 Suite trace: {} event(s) on {} device track(s) in {}", suiteEvents, suiteTracks.size(), dir.resolve("suite.json"));
+            } catch (IOException e) {
+                logger.warn("⚠️ Could not finish suite trace: {}", e.getMessage());
+            }
+            suiteOut = null;
+        });
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("⏱️ Trace writer still busy after 30s; traces may be incomplete");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void write(Buffer events) {
+        int track = events.device == null ? 0 : DevicePool.getDevices().indexOf(events.device) + 1;
+        String trackName = events.device == null ? "no device" : events.device.getUdid() + " (" + events.device.getDeviceName() + ")";
+        Path file = dir.resolve(events.scenario.replaceAll("[^a-zA-Z0-9\\-_]", "_") + "_" + FILE_TIME.format(Instant.now()) + ".json");
+        try {
+            Files.createDirectories(dir);
+            StringBuilder meta = new StringBuilder();
+            metadata(meta, track, trackName);
+            StringBuilder json = new StringBuilder(events.size * 120);
+            for (int i = 0; i < events.size; i++) {
+                json.append(",\n");
+                event(json, events, i, track);
+            }
+
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                out.write("{\"traceEvents\":[\n");
+                out.append(meta).append(json);
+                out.write("\n],\"displayTimeUnit\":\"ms\"}\n");
+            }
+
+            if (suiteOut == null) {
+                suiteOut = new BufferedWriter(Files.newBufferedWriter(dir.resolve("suite.json"), StandardCharsets.UTF_8), 1 << 16);
+                suiteOut.write("{\"traceEvents\":[\n");
+                suiteOut.write("{\"name\":\"process_name\",\"ph\":\"M\",\"pid\":1,\"args\":{\"name\":\"suite\"}}");
+            }
+            if (suiteTracks.add(track)) {
+                suiteOut.append(",\n").append(meta);
+            }
+            suiteOut.append(json);
+            suiteEvents += events.size;
+
+            if (events.dropped > 0) {
+                logger.warn("⚠️ Trace of '{}' hit trace.maxEvents; {} event(s) dropped", events.scenario, events.dropped);
+            }
+            logger.debug("🧵 Trace of '{}': {} event(s) in {}", events.scenario, events.size, file);
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not write trace of '{}': {}", events.scenario, e.getMessage());
+        }
+    }
+
+    private static void metadata(StringBuilder json, int track, String trackName) {
+        json.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(track)
+                .append(",\"args\":{\"name\":\"").append(escape(trackName)).append("\"}}");
+    }
+
+    private static void event(StringBuilder json, Buffer events, int i, int track) {
+        json.append("{\"ph\":\"").append((char) events.ph[i]).append("\",\"cat\":\"").append(events.cat[i])
+                .append("\",\"ts\":").append(events.ts[i]).append(",\"pid\":1,\"tid\":").append(track);
+        if (events.name[i] != null) {
+            json.append(",\"name\":\"").append(escape(events.name[i])).append('"');
+        }
+        if (events.ph[i] == COMPLETE) {
+            json.append(",\"dur\":").append(events.dur[i]);
+        }
+        if (events.detail[i] != null) {
+            json.append(",\"args\":{\"detail\":\"").append(escape(events.detail[i])).append("\"}");
+        }
+        json.append('}');
+    }
+
+    private static String escape(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,147 @@
+package helpers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static helpers.AppStateDetector.AppState;
+
+/**
+ * The signature elements that identify one screen, matched against a {@link HierarchySnapshot}.
+ * <p>
+ * Required signals ({@link #visible}, {@link #present}, {@link #anyOf}, {@link #absent}) must all hold
+ * for the screen to match; supporting signals ({@link #supportedBy}) only raise confidence.
+ * Signals refer to locator keys in config.properties.
+ */
+public final class ScreenFingerprint {
+
+    private final AppState state;
+    private final List<Signal> required = new ArrayList<>();
+    private final List<Signal> supporting = new ArrayList<>();
+
+    private ScreenFingerprint(AppState state) {
+        this.state = state;
+    }
+
+    public static ScreenFingerprint of(AppState state) {
+        return new ScreenFingerprint(state);
+    }
+
+    /** At least one element for {@code key} is displayed with a non-empty area. */
+    public ScreenFingerprint visible(String key) {
+        required.add(new Signal("visible " + key, probe -> probe.visible(key)));
+        return this;
+    }
+
+    /** At least one element for {@code key} exists in the hierarchy. */
+    public ScreenFingerprint present(String key) {
+        required.add(new Signal("present " + key, probe -> probe.present(key)));
+        return this;
+    }
+
+    /** At least one of {@code keys} exists in the hierarchy. */
+    public ScreenFingerprint anyOf(String... keys) {
+        required.add(new Signal("any of " + Arrays.toString(keys), probe -> {
+            for (String key : keys) {
+                if (probe.present(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }));
+        return this;
+    }
+
+    /** None of {@code keys} exists in the hierarchy. */
+    public ScreenFingerprint absent(String... keys) {
+        required.add(new Signal("absent " + Arrays.toString(keys), probe -> {
+            for (String key : keys) {
+                if (probe.present(key)) {
+                    return false;
+                }
+            }
+            return true;
+        }));
+        return this;
+    }
+
+    /** Optional element that raises confidence when present. */
+    public ScreenFingerprint supportedBy(String key) {
+        supporting.add(new Signal("supported by " + key, probe -> probe.present(key)));
+        return this;
+    }
+
+    public AppState getState() {
+        return state;
+    }
+
+    /**
+     * Scores this fingerprint: 0 when any required signal fails, otherwise the fraction of
+     * all signals (required and supporting) that hold.
+     */
+    Match match(Probe probe) {
+        List<String> failed = new ArrayList<>();
+        int satisfied = 0;
+        for (Signal signal : required) {
+            if (signal.test.test(probe)) {
+                satisfied++;
+            } else {
+                failed.add(signal.description);
+            }
+        }
+        int requiredSatisfied = satisfied;
+        for (Signal signal : supporting) {
+            if (signal.test.test(probe)) {
+                satisfied++;
+            }
+        }
+
+        int total = required.size() + supporting.size();
+        boolean matched = requiredSatisfied == required.size();
+        double coverage = total == 0 ? 0 : (double) satisfied / total;
+        return new Match(this, matched, matched ? coverage : 0, coverage, Collections.unmodifiableList(failed));
+    }
+
+    @Override
+    public String toString() {
+        return state + " " + required.size() + " required/" + supporting.size() + " supporting signal(s)";
+    }
+
+    /**
+     * Answers presence/visibility questions for locator keys; backed by a snapshot, with a live
+     * fallback for locators a snapshot cannot evaluate.
+     */
+    interface Probe {
+        boolean present(String key);
+
+        boolean visible(String key);
+    }
+
+    static final class Match {
+        final ScreenFingerprint fingerprint;
+        final boolean matched;
+        final double confidence;
+        final double coverage;
+        final List<String> failed;
+
+        Match(ScreenFingerprint fingerprint, boolean matched, double confidence, double coverage, List<String> failed) {
+            this.fingerprint = fingerprint;
+            this.matched = matched;
+            this.confidence = confidence;
+            this.coverage = coverage;
+            this.failed = failed;
+        }
+    }
+
+    private static final class Signal {
+        final String description;
+        final Predicate<Probe> test;
+
+        Signal(String description, Predicate<Probe> test) {
+            this.description = description;
+            this.test = test;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package helpers;
+
+import config.ConfigurationManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The only place the framework sleeps, so every sleep is accounted for.
+ * <p>
+ * {@link #pause} is an unconditional sleep and counts against the sleep budget; prefer a condition wait
+ * ({@link #until}, {@link ElementProbe}, {@link HierarchySnapshot#awaitStable}) wherever there is something
+ * to observe. {@link #poll} is the interval between checks of a condition and is reported but not budgeted.
+ * <p>
+ * Sleep time is totalled per step and per scenario. A scenario over {@code sleeps.budget.scenarioMs}, or a suite
+ * over {@code sleeps.budget.suiteMs}, fails the run in {@link #enforceBudget()} (a budget of 0 disables it).
+ */
+public final class Sleeps {
+
+    private static final Logger logger = LoggerFactory.getLogger(Sleeps.class);
+
+    private static final long scenarioBudgetMs = ConfigurationManager.getInt("sleeps.budget.scenarioMs", 3000);
+    private static final long suiteBudgetMs = ConfigurationManager.getInt("sleeps.budget.suiteMs", 30000);
+    private static final boolean enforce =
+            Boolean.parseBoolean(ConfigurationManager.getProperty("sleeps.budget.enforce", "true"));
+
+    // Per step of the scenario on this thread: {pause ms, pause count, poll ms}
+    private static final ThreadLocal<Map<String, long[]>> scenarioSleeps = ThreadLocal.withInitial(LinkedHashMap::new);
+
+    private static final AtomicLong suitePauseMs = new AtomicLong();
+    private static final AtomicLong suitePauses = new AtomicLong();
+    private static final AtomicLong suitePollMs = new AtomicLong();
+    private static final List<String> violations = new ArrayList<>();
+
+    private Sleeps() {
+    }
+
+    /**
+     * Sleeps unconditionally; counted against the sleep budget.
+     *
+     * @param reason why there is nothing to wait on instead, for the audit log
+     */
+    public static void pause(long millis, String reason) {
+        logger.debug("💤 Pausing {} ms in '{}': {}", millis, StepContext.step(), reason);
+        record(millis, true);
+        sleep(millis, "pause");
+    }
+
+    /**
+     * Sleeps between two checks of a condition; reported, not budgeted.
+     */
+    public static void poll(long millis) {
+        record(millis, false);
+        sleep(millis, "poll");
+    }
+
+    /**
+     * Checks {@code condition} every {@code interval} until it holds or {@code timeout} runs out.
+     *
+     * @return true if the condition held in time
+     */
+    public static boolean until(Duration timeout, Duration interval, BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        while (true) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            if (System.currentTimeMillis() + interval.toMillis() > deadline || Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            poll(interval.toMillis());
+        }
+    }
+
+    /**
+     * Logs the finished scenario's sleeps per step and records it if it went over budget.
+     */
+    public static void scenarioFinished(String scenario) {
+        Map<String, long[]> steps = scenarioSleeps.get();
+        scenarioSleeps.remove();
+
+        long pauseMs = steps.values().stream().mapToLong(s -> s[0]).sum();
+        long pollMs = steps.values().stream().mapToLong(s -> s[2]).sum();
+        if (pauseMs == 0 && pollMs == 0) {
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder(String.format("💤 Sleeps in '%s': %d ms unconditional, %d ms polling", scenario, pauseMs, pollMs));
+        steps.forEach((step, s) -> {
+            if (s[0] > 0) {
+                sb.append(String.format("%n  ➤ %s: %d ms in %d pause(s)", step, s[0], s[1]));
+            }
+        });
+        logger.info(sb.toString());
+
+        if (scenarioBudgetMs > 0 && pauseMs > scenarioBudgetMs) {
+            String violation = String.format("'%s' slept %d ms unconditionally (budget %d ms)", scenario, pauseMs, scenarioBudgetMs);
+            logger.warn("⚠️ Sleep budget exceeded: {}", violation);
+            synchronized (violations) {
+                violations.add(violation);
+            }
+        }
+    }
+
+    public static void logStats() {
+        logger.info("📊 Sleeps: {} ms unconditional in {} pause(s), {} ms polling (budget {} ms per scenario, {} ms per suite)",
+                suitePauseMs.get(), suitePauses.get(), suitePollMs.get(), scenarioBudgetMs, suiteBudgetMs);
+    }
+
+    /**
+     * @throws AssertionError if a scenario or the suite went over its unconditional sleep budget
+     */
+    public static void enforceBudget() {
+        List<String> problems;
+        synchronized (violations) {
+            problems = new ArrayList<>(violations);
+        }
+        if (suiteBudgetMs > 0 && suitePauseMs.get() > suiteBudgetMs) {
+            problems.add(String.format("suite slept %d ms unconditionally (budget %d ms)", suitePauseMs.get(), suiteBudgetMs));
+        }
+        if (problems.isEmpty()) {
+            return;
+        }
+
+        String message = "❌ Sleep budget exceeded:\n  " + String.join("\n  ", problems);
+        if (enforce) {
+            throw new AssertionError(message);
+        }
+        logger.warn(message);
+    }
+
+    private static void record(long millis, boolean unconditional) {
+        long[] totals = scenarioSleeps.get().computeIfAbsent(StepContext.step(), k -> new long[3]);
+        if (unconditional) {
+            totals[0] += millis;
+            totals[1]++;
+            suitePauseMs.addAndGet(millis);
+            suitePauses.incrementAndGet();
+        } else {
+            totals[2] += millis;
+            suitePollMs.addAndGet(millis);
+        }
+    }
+
+    private static void sleep(long millis, String kind) {
+        long start = System.nanoTime();
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ScenarioTrace.sleep(kind, start, System.nanoTime() - start);
+    }
+}
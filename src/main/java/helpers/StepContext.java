@@ -0,0 +1,54 @@
+package helpers;
+
+/**
+ * Name of the scenario and step running on the current thread, for attributing timings to steps.
+ * <p>
+ * Fed by the {@code hooks.StepEventsPlugin} Cucumber plugin; outside a step (hooks, suite setup)
+ * {@link #step()} returns {@link #NO_STEP}. Both are mirrored into the logging MDC, see {@link LoggerHelper}.
+ */
+public final class StepContext {
+
+    public static final String NO_STEP = "(hooks)";
+
+    private static final ThreadLocal<String> scenario = new ThreadLocal<>();
+    private static final ThreadLocal<String> step = new ThreadLocal<>();
+
+    private StepContext() {
+    }
+
+    public static void scenarioStarted(String name) {
+        scenario.set(name);
+        step.remove();
+        LoggerHelper.tag(LoggerHelper.SCENARIO, name);
+        LoggerHelper.tag(LoggerHelper.STEP, null);
+    }
+
+    public static void stepStarted(String text) {
+        step.set(text);
+        LoggerHelper.tag(LoggerHelper.STEP, text);
+    }
+
+    public static void stepFinished() {
+        step.remove();
+        LoggerHelper.tag(LoggerHelper.STEP, null);
+    }
+
+    public static void scenarioFinished() {
+        scenario.remove();
+        step.remove();
+        LoggerHelper.tag(LoggerHelper.SCENARIO, null);
+        LoggerHelper.tag(LoggerHelper.STEP, null);
+    }
+
+    /**
+     * @return the current scenario name, or null outside a scenario
+     */
+    public static String scenario() {
+        return scenario.get();
+    }
+
+    public static String step() {
+        String current = step.get();
+        return current != null ? current : NO_STEP;
+    }
+}
@@ -0,0 +1,228 @@
+package helpers;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.nativekey.AndroidKey;
+import io.appium.java_client.android.nativekey.KeyEvent;
+import io.appium.java_client.clipboard.HasClipboard;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Types text into a field in one or two round trips instead of one key press per character.
+ * <p>
+ * Strategies, cheapest first:
+ * <ul>
+ *   <li>{@link Strategy#SEND_KEYS} – element {@code sendKeys}; replaces the value in one call</li>
+ *   <li>{@link Strategy#KEY_ACTIONS} – every character as one batched W3C key action sequence into the focused field;
+ *       behaves like real typing, so segmented inputs (OTP boxes) advance focus</li>
+ *   <li>{@link Strategy#MOBILE_TYPE} – {@code mobile: type} into the focused field (Android)</li>
+ *   <li>{@link Strategy#CLIPBOARD} – set the clipboard, then paste (Android)</li>
+ * </ul>
+ * The first strategy that works for a field (by name) is remembered and tried first next time. The value
+ * is read back once at the end; a mismatch moves on to the next strategy.
+ * <pre>
+ * TextEntry.into("payment.reference", field).clearFirst().type(reference);
+ * </pre>
+ */
+public final class TextEntry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TextEntry.class);
+
+    public enum Strategy {
+        SEND_KEYS,
+        KEY_ACTIONS,
+        MOBILE_TYPE,
+        CLIPBOARD
+    }
+
+    // Field name -> strategy that last worked for it
+    private static final Map<String, Strategy> learned = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final WebElement field;
+    private List<Strategy> strategies = Arrays.asList(Strategy.values());
+    private boolean clearFirst;
+    private boolean verify = true;
+
+    /**
+     * Outcome of an entry: the strategy that was used, what the field held afterwards and how long it took.
+     */
+    public static final class Result {
+        private final Strategy strategy;
+        private final String actual;
+        private final boolean verified;
+        private final long millis;
+
+        Result(Strategy strategy, String actual, boolean verified, long millis) {
+            this.strategy = strategy;
+            this.actual = actual;
+            this.verified = verified;
+            this.millis = millis;
+        }
+
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        /**
+         * @return the field value read back, or null when verification was off or the field went away
+         */
+        public String getActual() {
+            return actual;
+        }
+
+        public boolean isVerified() {
+            return verified;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+    }
+
+    private TextEntry(String name, WebElement field) {
+        this.name = name;
+        this.field = field;
+    }
+
+    /**
+     * @param name stable field name used to remember which strategy works for it
+     */
+    public static TextEntry into(String name, WebElement field) {
+        return new TextEntry(name, field);
+    }
+
+    /**
+     * Restricts and orders the strategies to try, e.g. key actions first for segmented OTP inputs.
+     */
+    public TextEntry strategies(Strategy... order) {
+        this.strategies = Arrays.asList(order);
+        return this;
+    }
+
+    /**
+     * Clears the field before typing (strategies other than {@link Strategy#SEND_KEYS} append otherwise).
+     */
+    public TextEntry clearFirst() {
+        this.clearFirst = true;
+        return this;
+    }
+
+    /**
+     * Skips the read-back, for fields that submit or disappear once filled.
+     */
+    public TextEntry withoutVerification() {
+        this.verify = false;
+        return this;
+    }
+
+    /**
+     * Types {@code text} with the remembered strategy for this field, falling back through the others.
+     *
+     * @return the outcome of the last strategy tried; {@link Result#isVerified()} is false if none produced {@code text}
+     */
+    public Result type(String text) {
+        AppiumDriver driver = ElementHelper.getDriverSafely();
+        long start = System.currentTimeMillis();
+        Result result = null;
+
+        for (Strategy strategy : order()) {
+            if (!supported(driver, strategy)) {
+                continue;
+            }
+            try {
+                if (result != null && !clearFirst) {
+                    // A previous attempt may have left partial text behind
+                    field.clear();
+                }
+                enter(driver, strategy, text);
+            } catch (StaleElementReferenceException e) {
+                throw e;
+            } catch (Exception e) {
+                logger.debug("⌨️ {} failed for '{}': {}", strategy, name, e.getMessage());
+                result = new Result(strategy, null, false, System.currentTimeMillis() - start);
+                continue;
+            }
+
+            String actual = verify ? readBack() : null;
+            boolean verified = !verify || text.equalsIgnoreCase(actual);
+            result = new Result(strategy, actual, verified, System.currentTimeMillis() - start);
+            if (verified) {
+                learned.put(name, strategy);
+                logger.info("⌨️ Typed {} char(s) into '{}' via {} in {} ms", text.length(), name, strategy, result.getMillis());
+                return result;
+            }
+            logger.warn("⚠️ {} left '{}' holding '{}' instead of the expected value, trying next strategy", strategy, name, actual);
+        }
+
+        logger.error("❌ No text entry strategy worked for '{}'", name);
+        return result != null ? result : new Result(null, null, false, System.currentTimeMillis() - start);
+    }
+
+    private List<Strategy> order() {
+        Strategy known = learned.get(name);
+        if (known == null || !strategies.contains(known) || strategies.get(0) == known) {
+            return strategies;
+        }
+        List<Strategy> order = new ArrayList<>(strategies);
+        order.remove(known);
+        order.add(0, known);
+        return order;
+    }
+
+    private static boolean supported(AppiumDriver driver, Strategy strategy) {
+        switch (strategy) {
+            case MOBILE_TYPE:
+            case CLIPBOARD:
+                return driver instanceof AndroidDriver;
+            default:
+                return true;
+        }
+    }
+
+    private void enter(AppiumDriver driver, Strategy strategy, String text) {
+        if (clearFirst) {
+            field.clear();
+        }
+        if (strategy == Strategy.SEND_KEYS) {
+            field.sendKeys(text);
+            return;
+        }
+
+        // The remaining strategies type into whatever has focus
+        field.click();
+
+        switch (strategy) {
+            case KEY_ACTIONS:
+                new Actions(driver).sendKeys(text).perform();
+                break;
+            case MOBILE_TYPE:
+                driver.executeScript("mobile: type", Map.of("text", text));
+                break;
+            case CLIPBOARD:
+                ((HasClipboard) driver).setClipboardText(text);
+                ((AndroidDriver) driver).pressKey(new KeyEvent(AndroidKey.PASTE));
+                break;
+            default:
+                throw new IllegalStateException("Unhandled strategy " + strategy);
+        }
+    }
+
+    private String readBack() {
+        try {
+            return field.getText();
+        } catch (StaleElementReferenceException e) {
+            return null;
+        }
+    }
+}
@@ -21,7 +21,7 @@ public class ToastHelper {
     }
 
     public boolean verifyToastVisible(String partialText, int timeoutSeconds) {
-        StepLogger.step("🔍 Verifying toast visibility: " + partialText);
+        logger.info("🔍 Verifying toast visibility: {}", partialText);
         try {
             By toastLocator = MobileBy.AndroidUIAutomator(
                     "new UiSelector().textContains(\"" + partialText + "\")"
@@ -32,23 +32,20 @@ public class ToastHelper {
 
             String toastText = toast.getText();
             logger.info("✅ Toast verified: {}", toastText);
-            StepLogger.step("✅ Toast found with text: " + toastText);
             return true;
 
         } catch (TimeoutException e) {
             logger.warn("⚠️ Toast not found within {} seconds: {}", timeoutSeconds, partialText);
-            StepLogger.warn("⚠️ Toast not found within timeout for text: " + partialText);
             return false;
 
         } catch (Exception e) {
             logger.error("❌ Error during toast verification", e);
-            StepLogger.error("❌ Exception during toast verification: " + e.getMessage());
             return false;
         }
     }
 
     public void waitForToastToDisappear(String partialText, int timeoutSeconds) {
-        StepLogger.step("⏳ Waiting for toast to disappear: " + partialText);
+        logger.info("⏳ Waiting for toast to disappear: {}", partialText);
         try {
             By toastLocator = MobileBy.AndroidUIAutomator(
                     "new UiSelector().textContains(\"" + partialText + "\")"
@@ -58,20 +55,17 @@ public class ToastHelper {
             wait.until(ExpectedConditions.invisibilityOfElementLocated(toastLocator));
 
             logger.info("✅ Toast disappeared: {}", partialText);
-            StepLogger.step("✅ Toast disappeared: " + partialText);
 
         } catch (TimeoutException e) {
             logger.warn("⚠️ Toast did not disappear in {} seconds: {}", timeoutSeconds, partialText);
-            StepLogger.warn("⚠️ Toast did not disappear in time: " + partialText);
 
         } catch (Exception e) {
             logger.error("❌ Error waiting for toast to disappear", e);
-            StepLogger.error("❌ Exception while waiting for toast to disappear: " + e.getMessage());
         }
     }
 
     public boolean verifyAndWaitForToast(String partialText, int visibleTimeout, int disappearTimeout) {
-        StepLogger.step("📋 Verifying and waiting for toast: " + partialText);
+        logger.info("📋 Verifying and waiting for toast: {}", partialText);
         boolean found = verifyToastVisible(partialText, visibleTimeout);
         if (found) {
             waitForToastToDisappear(partialText, disappearTimeout);
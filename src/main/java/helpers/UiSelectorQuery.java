@@ -0,0 +1,331 @@
+package helpers;
+
+import helpers.HierarchySnapshot.Node;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the subset of UiAutomator {@code UiSelector}/{@code UiScrollable} expressions used by this project
+ * and evaluates them against a {@link HierarchySnapshot}.
+ * <p>
+ * Supported selector methods: text/textContains/textStartsWith/textMatches, description (same variants),
+ * resourceId/resourceIdMatches, className/classNameMatches, packageName, the boolean state filters,
+ * index, instance and childSelector. For {@code UiScrollable} only {@code scrollIntoView(selector)} is
+ * evaluated (as its target selector); scrolling itself cannot happen on a snapshot.
+ */
+final class UiSelectorQuery {
+
+    private final List<Predicate<Node>> predicates = new ArrayList<>();
+    private UiSelectorQuery child;
+    private int instance = -1;
+
+    private UiSelectorQuery() {
+    }
+
+    static boolean isSupported(String expression) {
+        try {
+            parse(expression);
+            return true;
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @throws UnsupportedOperationException for methods outside the supported subset
+     * @throws IllegalArgumentException for malformed expressions
+     */
+    static UiSelectorQuery parse(String expression) {
+        Parser parser = new Parser(expression.trim());
+        UiSelectorQuery query = parser.expression();
+        parser.skipWhitespace();
+        parser.consume(";");
+        parser.skipWhitespace();
+        if (!parser.atEnd()) {
+            throw new IllegalArgumentException("Unexpected input at " + parser.pos + " in '" + expression + "'");
+        }
+        return query;
+    }
+
+    List<Node> select(HierarchySnapshot snapshot) {
+        return select(snapshot.getNodes(), null);
+    }
+
+    private List<Node> select(List<Node> candidates, Node scope) {
+        List<Node> matches = new ArrayList<>();
+        for (Node node : candidates) {
+            if (node != scope && (scope == null || node.isWithin(scope)) && matches(node)) {
+                matches.add(node);
+            }
+        }
+
+        if (child != null) {
+            Set<Node> descendants = new LinkedHashSet<>();
+            for (Node match : matches) {
+                descendants.addAll(child.select(candidates, match));
+            }
+            matches = new ArrayList<>(descendants);
+        }
+
+        if (instance >= 0) {
+            return instance < matches.size() ? List.of(matches.get(instance)) : List.of();
+        }
+        return matches;
+    }
+
+    private boolean matches(Node node) {
+        for (Predicate<Node> predicate : predicates) {
+            if (!predicate.test(node)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void apply(String method, Object arg) {
+        switch (method) {
+            case "text":
+                predicates.add(n -> n.getText().equals(arg));
+                break;
+            case "textContains":
+                predicates.add(n -> n.getText().contains((String) arg));
+                break;
+            case "textStartsWith":
+                predicates.add(n -> n.getText().startsWith((String) arg));
+                break;
+            case "textMatches":
+                Pattern textPattern = Pattern.compile((String) arg);
+                predicates.add(n -> textPattern.matcher(n.getText()).matches());
+                break;
+            case "description":
+                predicates.add(n -> n.getAccessibilityId().equals(arg));
+                break;
+            case "descriptionContains":
+                predicates.add(n -> n.getAccessibilityId().contains((String) arg));
+                break;
+            case "descriptionStartsWith":
+                predicates.add(n -> n.getAccessibilityId().startsWith((String) arg));
+                break;
+            case "descriptionMatches":
+                Pattern descPattern = Pattern.compile((String) arg);
+                predicates.add(n -> descPattern.matcher(n.getAccessibilityId()).matches());
+                break;
+            case "resourceId":
+                predicates.add(n -> n.getResourceId().equals(arg));
+                break;
+            case "resourceIdMatches":
+                Pattern idPattern = Pattern.compile((String) arg);
+                predicates.add(n -> idPattern.matcher(n.getResourceId()).matches());
+                break;
+            case "className":
+                predicates.add(n -> n.getClassName().equals(arg));
+                break;
+            case "classNameMatches":
+                Pattern classPattern = Pattern.compile((String) arg);
+                predicates.add(n -> classPattern.matcher(n.getClassName()).matches());
+                break;
+            case "packageName":
+                predicates.add(n -> n.getPackageName().equals(arg));
+                break;
+            case "index":
+                predicates.add(n -> n.getIndex() == (Integer) arg);
+                break;
+            case "instance":
+                instance = (Integer) arg;
+                break;
+            case "childSelector":
+                child = (UiSelectorQuery) arg;
+                break;
+            case "enabled":
+                predicates.add(flag(Node.ENABLED, arg));
+                break;
+            case "clickable":
+                predicates.add(flag(Node.CLICKABLE, arg));
+                break;
+            case "longClickable":
+                predicates.add(flag(Node.LONG_CLICKABLE, arg));
+                break;
+            case "scrollable":
+                predicates.add(flag(Node.SCROLLABLE, arg));
+                break;
+            case "checkable":
+                predicates.add(flag(Node.CHECKABLE, arg));
+                break;
+            case "checked":
+                predicates.add(flag(Node.CHECKED, arg));
+                break;
+            case "focusable":
+                predicates.add(flag(Node.FOCUSABLE, arg));
+                break;
+            case "focused":
+                predicates.add(flag(Node.FOCUSED, arg));
+                break;
+            case "selected":
+                predicates.add(flag(Node.SELECTED, arg));
+                break;
+            default:
+                throw new UnsupportedOperationException("UiSelector." + method + "() is not supported on a snapshot");
+        }
+    }
+
+    private static Predicate<Node> flag(int bit, Object expected) {
+        boolean value = (Boolean) expected;
+        return n -> n.has(bit) == value;
+    }
+
+    /**
+     * Recursive-descent parser for {@code new UiSelector()...} and {@code new UiScrollable(...)...}.
+     */
+    private static final class Parser {
+        private final String input;
+        private int pos;
+
+        Parser(String input) {
+            this.input = input;
+        }
+
+        UiSelectorQuery expression() {
+            skipWhitespace();
+            if (consume("new UiSelector()")) {
+                return selectorChain();
+            }
+            if (consume("new UiScrollable(")) {
+                expression(); // the scrollable container: not needed to locate the target
+                expect(')');
+                return scrollableChain();
+            }
+            throw new IllegalArgumentException("Expected 'new UiSelector()' or 'new UiScrollable(' at " + pos + " in '" + input + "'");
+        }
+
+        private UiSelectorQuery selectorChain() {
+            UiSelectorQuery query = new UiSelectorQuery();
+            while (peekCall()) {
+                String method = methodName();
+                Object arg = argument();
+                query.apply(method, arg);
+            }
+            return query;
+        }
+
+        private UiSelectorQuery scrollableChain() {
+            UiSelectorQuery target = null;
+            while (peekCall()) {
+                String method = methodName();
+                Object arg = argument();
+                switch (method) {
+                    case "setMaxSearchSwipes":
+                    case "setAsVerticalList":
+                    case "setAsHorizontalList":
+                    case "setSwipeDeadZonePercentage":
+                        break;
+                    case "scrollIntoView":
+                        if (!(arg instanceof UiSelectorQuery)) {
+                            throw new UnsupportedOperationException("UiScrollable.scrollIntoView() needs a UiSelector on a snapshot");
+                        }
+                        target = (UiSelectorQuery) arg;
+                        break;
+                    default:
+                        throw new UnsupportedOperationException("UiScrollable." + method + "() is not supported on a snapshot");
+                }
+            }
+            if (target == null) {
+                throw new UnsupportedOperationException("UiScrollable without scrollIntoView() does not locate an element");
+            }
+            return target;
+        }
+
+        private boolean peekCall() {
+            skipWhitespace();
+            return pos < input.length() && input.charAt(pos) == '.';
+        }
+
+        private String methodName() {
+            pos++; // '.'
+            int start = pos;
+            while (pos < input.length() && Character.isJavaIdentifierPart(input.charAt(pos))) {
+                pos++;
+            }
+            if (start == pos) {
+                throw new IllegalArgumentException("Expected method name at " + start + " in '" + input + "'");
+            }
+            return input.substring(start, pos);
+        }
+
+        private Object argument() {
+            expect('(');
+            skipWhitespace();
+            Object value;
+            char c = pos < input.length() ? input.charAt(pos) : 0;
+            if (c == ')') {
+                value = null;
+            } else if (c == '"') {
+                value = string();
+            } else if (input.startsWith("new ", pos)) {
+                value = expression();
+            } else if (input.startsWith("true", pos) || input.startsWith("false", pos)) {
+                boolean b = input.startsWith("true", pos);
+                pos += b ? 4 : 5;
+                value = b;
+            } else {
+                int start = pos;
+                while (pos < input.length() && (Character.isDigit(input.charAt(pos)) || input.charAt(pos) == '-')) {
+                    pos++;
+                }
+                if (start == pos) {
+                    throw new IllegalArgumentException("Unsupported argument at " + start + " in '" + input + "'");
+                }
+                value = Integer.parseInt(input.substring(start, pos));
+            }
+            skipWhitespace();
+            expect(')');
+            return value;
+        }
+
+        private String string() {
+            StringBuilder sb = new StringBuilder();
+            pos++; // opening quote
+            while (pos < input.length()) {
+                char c = input.charAt(pos++);
+                if (c == '\\' && pos < input.length()) {
+                    sb.append(input.charAt(pos++));
+                } else if (c == '"') {
+                    return sb.toString();
+                } else {
+                    sb.append(c);
+                }
+            }
+            throw new IllegalArgumentException("Unterminated string in '" + input + "'");
+        }
+
+        boolean consume(String token) {
+            if (input.startsWith(token, pos)) {
+                pos += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            skipWhitespace();
+            if (pos >= input.length() || input.charAt(pos) != c) {
+                throw new IllegalArgumentException("Expected '" + c + "' at " + pos + " in '" + input + "'");
+            }
+            pos++;
+        }
+
+        void skipWhitespace() {
+            while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        boolean atEnd() {
+            return pos >= input.length();
+        }
+    }
+}
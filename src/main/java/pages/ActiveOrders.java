@@ -3,7 +3,6 @@ package pages;
 import config.ConfigurationManager;
 import helpers.ElementHelper;
 import io.appium.java_client.AppiumDriver;
-import io.qameta.allure.Allure;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -37,7 +36,7 @@ public class ActiveOrders extends BasePage {
     /** Opens the Active Orders tab from Home */
     public void viewActiveOrders() {
         By locator = getLocator("activeOrderBtn.text");
-        Allure.step("Clicking on Active Orders button");
+        logger.info("Clicking on Active Orders button");
         clickElement(locator);
         logger.info("Clicked Active Orders button, waiting for Active Orders page to load...");
     }
@@ -47,11 +46,9 @@ public class ActiveOrders extends BasePage {
         try {
             wait.until(ExpectedConditions.visibilityOfElementLocated(getLocator("firstActiveOrderStatus.xpath")));
             logger.info("Active Orders page loaded");
-            Allure.step("✅ Active Orders page loaded");
             return true;
         } catch (Exception e) {
             logger.error("Error checking Active Orders page", e);
-            Allure.step("❌ Active Orders page NOT loaded: " + e.getMessage());
             return false;
         }
     }
@@ -59,7 +56,7 @@ public class ActiveOrders extends BasePage {
     /** Opens the details page of the first active order */
     public void viewOrderDetails() {
         By locator = getLocator("firstActiveOrderStatus.xpath");
-        Allure.step("Clicking the first Active Order to view details");
+        logger.info("Clicking the first Active Order to view details");
         clickElement(locator);
         logger.info("Clicked the first Active Order to view details");
     }
@@ -67,7 +64,7 @@ public class ActiveOrders extends BasePage {
     /** Opens the track order list */
     public void viewTrackOrderlist() {
         By locator = getLocator("trackOrderBtn.xpath");
-        Allure.step("Clicking Track Order button");
+        logger.info("Clicking Track Order button");
         clickElement(locator);
         logger.info("Clicked Track Order button");
     }
@@ -83,7 +80,7 @@ public class ActiveOrders extends BasePage {
 
         for (String status : statuses) {
             try {
-                Allure.step("Searching for order with status: " + status);
+                logger.info("Searching for order with status: {}", status);
                 logger.info("Searching for order with status: {}", status);
                 ElementHelper.scrollToTextAndReturn(status);
                 String xpath = String.format(xpathTemplate, status, status);
@@ -91,23 +88,20 @@ public class ActiveOrders extends BasePage {
                 if (!orders.isEmpty()) {
                     orders.get(0).click();
                     logger.info("Clicked order with status: {}", status);
-                    Allure.step("✅ Clicked order with status: " + status);
                     return;
                 }
             } catch (Exception e) {
                 logger.warn("Scroll or find failed for status '{}'", status, e);
-                Allure.step("⚠️ Failed for status '" + status + "': " + e.getMessage());
             }
         }
 
         // Fallback
         try {
-            Allure.step("Fallback: Clicking first Submitted order");
+            logger.info("Fallback: Clicking first Submitted order");
             logger.info("Fallback: Clicking first Submitted order");
             clickElement(getLocator("firstActiveOrderStatus.xpath"));
         } catch (Exception e) {
             logger.error("Fallback also failed", e);
-            Allure.step("❌ Even fallback failed: " + e.getMessage());
             throw e;
         }
     }
@@ -117,11 +111,9 @@ public class ActiveOrders extends BasePage {
         try {
             wait.until(ExpectedConditions.visibilityOfElementLocated(getLocator("orderTrackingTitle.text")));
             logger.info("Order Tracking page displayed");
-            Allure.step("✅ Order Tracking page displayed");
             return true;
         } catch (Exception e) {
             logger.error("Error checking Order Tracking page", e);
-            Allure.step("❌ Error checking Order Tracking page: " + e.getMessage());
             return false;
         }
     }
@@ -132,11 +124,9 @@ public class ActiveOrders extends BasePage {
             wait.withTimeout(Duration.ofSeconds(timeoutSeconds))
                     .until(ExpectedConditions.visibilityOfElementLocated(getLocator("paymentsTitle.text")));
             logger.info("Payments page loaded");
-            Allure.step("✅ Payments page loaded");
             return true;
         } catch (Exception e) {
             logger.error("Timeout waiting for Payment page", e);
-            Allure.step("❌ Timeout waiting for Payment page: " + e.getMessage());
             return false;
         }
     }
@@ -147,6 +137,5 @@ public class ActiveOrders extends BasePage {
                 ? "✅ " + context + " displayed"
                 : "❌ " + context + " NOT displayed";
         logger.info(msg);
-        Allure.step(msg);
     }
 }
\ No newline at end of file
@@ -1,14 +1,13 @@
 package pages;
 
 import config.ConfigurationManager;
+import helpers.AdaptiveWaits;
 import helpers.LocatorHelper;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileBy;
 import org.openqa.selenium.By;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.time.Duration;
-
 public class BasePage {
     protected AppiumDriver driver;
 
@@ -17,7 +16,7 @@ public class BasePage {
     }
 
     public WebDriverWait getWait() {
-        return new WebDriverWait(driver, Duration.ofSeconds(10));
+        return new WebDriverWait(driver, AdaptiveWaits.defaultTimeout());
     }
 
     protected By getLocator(String key) {
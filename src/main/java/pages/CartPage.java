@@ -4,7 +4,6 @@ import config.ConfigurationManager;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileBy;
 import io.appium.java_client.android.AndroidDriver;
-import io.qameta.allure.Allure;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -42,13 +41,11 @@ public class CartPage extends BasePage {
             });
 
             logger.info("📄 Cart page check - Title: {}, Detail elements: {}", isTitleVisible, detailElementsVisible);
-            Allure.step("📄 Cart page verified");
 
             return isTitleVisible && detailElementsVisible;
 
         } catch (Exception e) {
             logger.error("❌ Error checking cart page: {}", e.getMessage());
-            Allure.step("❌ Cart page check failed: " + e.getMessage());
             return false;
         }
     }
@@ -59,10 +56,8 @@ public class CartPage extends BasePage {
                     .until(ExpectedConditions.elementToBeClickable(getLocator("proceedToFulfilmentBtn.text")));
             btn.click();
             logger.info("✅ Clicked 'Proceed to Fulfilment'");
-            Allure.step("✅ Clicked 'Proceed to Fulfilment'");
         } catch (Exception e) {
             logger.error("❌ Failed to click 'Proceed to Fulfilment': {}", e.getMessage());
-            Allure.step("❌ Failed to click 'Proceed to Fulfilment': " + e.getMessage());
             throw e;
         }
     }
@@ -70,7 +65,6 @@ public class CartPage extends BasePage {
     public void updateQuantity(String quantity) {
         try {
             logger.info("🔢 Entering quantity: {}", quantity);
-            Allure.step("🔢 Updating quantity to: " + quantity);
 
             String qtyLocator = ConfigurationManager.getProperty("cartQtyInput.className");
 
@@ -88,18 +82,10 @@ public class CartPage extends BasePage {
                 logger.debug("⌨️ Keyboard could not be hidden");
             }
 
-            Thread.sleep(300);
-
             logger.info("✅ Quantity updated to {}", quantity);
-            Allure.step("✅ Quantity updated to " + quantity);
 
-        } catch (InterruptedException ie) {
-            Thread.currentThread().interrupt();
-            logger.error("⚠️ Sleep interrupted: {}", ie.getMessage());
-            throw new RuntimeException(ie);
         } catch (Exception e) {
             logger.error("❌ Failed to update quantity: {}", e.getMessage());
-            Allure.step("❌ Failed to update quantity: " + e.getMessage());
             throw e;
         }
     }
@@ -109,11 +95,9 @@ public class CartPage extends BasePage {
             new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds))
                     .until(ExpectedConditions.visibilityOfElementLocated(getLocator("cartPageTitle.text")));
             logger.info("✅ Cart page loaded");
-            Allure.step("✅ Cart page loaded");
             return true;
         } catch (Exception e) {
             logger.warn("❌ Cart page did not load in {} seconds", timeoutSeconds);
-            Allure.step("❌ Cart page load failed: " + e.getMessage());
             return false;
         }
     }
@@ -132,11 +116,9 @@ public class CartPage extends BasePage {
 
             element.click();
             logger.info("✅ Clicked 'Add More Items'");
-            Allure.step("✅ Clicked 'Add More Items'");
 
         } catch (Exception e) {
             logger.error("❌ Failed to click 'Add More Items': {}", e.getMessage());
-            Allure.step("❌ Failed to click 'Add More Items': " + e.getMessage());
             throw e;
         }
     }
@@ -151,16 +133,13 @@ public class CartPage extends BasePage {
 
             if (item != null && !matches.isEmpty()) {
                 logger.info("✅ Verified item '{}' with quantity {}", expectedItemName, expectedQuantity);
-                Allure.step("✅ Verified cart item quantity for " + expectedItemName);
                 return true;
             } else {
                 logger.warn("❌ Quantity {} not found for item '{}'", expectedQuantity, expectedItemName);
-                Allure.step("❌ Quantity mismatch for " + expectedItemName);
                 return false;
             }
         } catch (Exception e) {
             logger.error("❌ Error verifying cart item '{}': {}", expectedItemName, e.getMessage());
-            Allure.step("❌ Verification failed for " + expectedItemName);
             return false;
         }
     }
@@ -177,7 +156,6 @@ public class CartPage extends BasePage {
         }
 
         logger.info("✅ Verified cart delivery method: {}", deliveryMethod);
-        Allure.step("✅ Verified delivery method: " + deliveryMethod);
     }
 
     public void clickStartShoppingButton() {
@@ -189,12 +167,10 @@ public class CartPage extends BasePage {
 
             element.click();
             logger.info("✅ Clicked '{}'", buttonText);
-            Allure.step("✅ Clicked '" + buttonText + "'");
 
         } catch (Exception e) {
             String buttonText = ConfigurationManager.getProperty("cartDescription.text");
             logger.error("❌ Failed to click '{}': {}", buttonText, e.getMessage());
-            Allure.step("❌ Failed to click '" + buttonText + "': " + e.getMessage());
             throw e;
         }
     }
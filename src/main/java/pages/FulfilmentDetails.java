@@ -2,12 +2,10 @@ package pages;
 
 import config.ConfigurationManager;
 import drivers.DriverManager;
-import helpers.ElementHelper;
 import helpers.LocatorHelper;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileBy;
 import io.appium.java_client.android.AndroidDriver;
-import io.qameta.allure.Allure;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -43,13 +41,11 @@ public class FulfilmentDetails extends BasePage {
             });
 
             logger.info("📄 Fulfilment Details Displayed - Title: {}, Detail Elements: {}", isTitlePresent, hasDetailElements);
-            Allure.step("📄 Fulfilment Details Displayed");
 
             return isTitlePresent && hasDetailElements;
 
         } catch (Exception e) {
             logger.error("❌ Error checking Fulfilment Details page: {}", e.getMessage());
-            Allure.step("❌ Error checking Fulfilment Details page: " + e.getMessage());
             return false;
         }
     }
@@ -61,7 +57,6 @@ public class FulfilmentDetails extends BasePage {
             String proceedButtonText = ConfigurationManager.getProperty("proceedToPaymentBtn.text");
 
             logger.info("🚗 Entering plate number: {}", plateNumber);
-            Allure.step("🚗 Entering plate number: " + plateNumber);
 
             WebElement plateInput = new WebDriverWait(driver, Duration.ofSeconds(10))
                     .until(ExpectedConditions.elementToBeClickable(MobileBy.AndroidUIAutomator(plateLocator)));
@@ -83,11 +78,9 @@ public class FulfilmentDetails extends BasePage {
 
             proceedBtn.click();
             logger.info("✅ Proceeded to payment");
-            Allure.step("✅ Clicked 'Proceed to Payment'");
 
         } catch (Exception e) {
             logger.error("❌ Failed to proceed from Fulfilment page: {}", e.getMessage());
-            Allure.step("❌ Failed to proceed from Fulfilment page: " + e.getMessage());
             throw e;
         }
     }
@@ -97,11 +90,9 @@ public class FulfilmentDetails extends BasePage {
             new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds))
                     .until(ExpectedConditions.visibilityOfElementLocated(getLocator("cartPageTitle.text")));
             logger.info("✅ Fulfilment page loaded within {} seconds", timeoutSeconds);
-            Allure.step("✅ Fulfilment page loaded");
             return true;
         } catch (Exception e) {
             logger.error("❌ Fulfilment page did not load in time: {}", e.getMessage());
-            Allure.step("❌ Fulfilment page did not load");
             return false;
         }
     }
@@ -198,7 +189,7 @@ public class FulfilmentDetails extends BasePage {
             logger.info("🔄 Switching to Products Delivery tab...");
 
             if (isUpdatingProductPricingPopupVisible()) {
-                ElementHelper.safeAllureStep("⏳ Waiting for pricing popup...");
+                logger.info("⏳ Waiting for pricing popup...");
                 waitForPricingPopupToDismiss();
                 logger.info("✅ Pricing popup dismissed");
             }
@@ -209,7 +200,7 @@ public class FulfilmentDetails extends BasePage {
             productsPage.handleChangeAnywayButtonIfPresent();
 
             if (isUpdatingProductPricingPopupVisible()) {
-                ElementHelper.safeAllureStep("⏳ Waiting for pricing popup...");
+                logger.info("⏳ Waiting for pricing popup...");
                 waitForPricingPopupToDismiss();
                 logger.info("✅ Pricing popup dismissed");
             }
@@ -229,11 +220,10 @@ public class FulfilmentDetails extends BasePage {
     public void switchToSelfCollectMethod() {
         try {
             logger.info("🔄 Switching to Self Collect tab...");
-            Allure.step("🔄 Switching to Self Collect tab...");
 
             // STEP 1: Handle initial pricing popup (on page load)
             if (isUpdatingProductPricingPopupVisible()) {
-                ElementHelper.safeAllureStep("⏳ Waiting for initial 'Updating Product Pricing' popup to disappear...");
+                logger.info("⏳ Waiting for initial 'Updating Product Pricing' popup to disappear...");
                 waitForPricingPopupToDismiss();
                 logger.info("✅ Initial 'Updating Product Pricing' popup dismissed");
             }
@@ -248,7 +238,6 @@ public class FulfilmentDetails extends BasePage {
                     WebElement tab = wait.until(ExpectedConditions.elementToBeClickable(selfCollectTabLocator));
                     tab.click();
                     logger.info("✅ Clicked Self Collect tab (Attempt {})", attempt);
-                    Allure.step("✅ Clicked Self Collect tab (Attempt " + attempt + ")");
                     tabClicked = true;
                     break;
                 } catch (Exception e) {
@@ -266,7 +255,7 @@ public class FulfilmentDetails extends BasePage {
 
             // STEP 4: Wait for second pricing popup after tab click
             if (isUpdatingProductPricingPopupVisible()) {
-                ElementHelper.safeAllureStep("⏳ Waiting for second 'Updating Product Pricing' popup to disappear...");
+                logger.info("⏳ Waiting for second 'Updating Product Pricing' popup to disappear...");
                 waitForPricingPopupToDismiss();
                 logger.info("✅ Second 'Updating Product Pricing' popup dismissed");
             }
@@ -277,11 +266,9 @@ public class FulfilmentDetails extends BasePage {
             }
 
             logger.info("✅ Self Collect page is visible.");
-            Allure.step("✅ Self Collect page is visible.");
 
         } catch (Exception e) {
             logger.error("❌ Error while switching to Self Collect method", e);
-            Allure.step("❌ Failed to switch to Self Collect: " + e.getMessage());
             throw new AssertionError("❌ Could not switch to Self Collect tab: " + e.getMessage(), e);
         }
     }
@@ -2,6 +2,7 @@ package pages;
 
 import config.ConfigurationManager;
 import helpers.ElementHelper;
+import helpers.HierarchySnapshot;
 import helpers.ToastHelper;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileBy;
@@ -129,11 +130,8 @@ public class Payments extends BasePage {
                 return;
             } catch (Exception e) {
                 logger.warn("⚠️ Attempt {} to click Complete Order failed: {}", attempt, e.getMessage());
-                try {
-                    Thread.sleep(1500);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                }
+                // Retry once whatever was in the way (overlay, re-render) has settled
+                HierarchySnapshot.awaitStable(Duration.ofMillis(1500));
             }
         }
         Assert.fail("❌ Failed to click Complete Order button after " + maxRetries + " attempts");
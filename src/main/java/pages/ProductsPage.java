@@ -2,10 +2,10 @@ package pages;
 
 import config.ConfigurationManager;
 import helpers.ElementHelper;
+import helpers.GestureEngine;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileBy;
 import io.appium.java_client.android.AndroidDriver;
-import io.qameta.allure.Allure;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -27,15 +27,17 @@ public class ProductsPage extends BasePage {
     }
 
     protected void scrollToText(String text) {
-        String uiAutomatorString = "new UiScrollable(new UiSelector().scrollable(true))"
-                + ".scrollIntoView(new UiSelector().textContains(\"" + text + "\"))";
-        driver.findElement(MobileBy.AndroidUIAutomator(uiAutomatorString));
+        By target = MobileBy.AndroidUIAutomator("new UiSelector().textContains(\"" + text + "\")");
+        GestureEngine.ScrollResult result = GestureEngine.scrollTo(target);
+        if (!result.isFound()) {
+            throw new NoSuchElementException("Text '" + text + "' not found: " + result);
+        }
     }
 
     public boolean isProductsPageDisplayed() {
         String expectedText = ConfigurationManager.getProperty("ProductsPageTitle.text");
         try {
-            Allure.step("🔍 Checking if Products page is displayed with title: " + expectedText);
+            logger.info("🔍 Checking if Products page is displayed with title: {}", expectedText);
             logger.info("🔍 Checking if Products page is displayed with title: {}", expectedText);
 
             scrollToText(expectedText);
@@ -45,12 +47,10 @@ public class ProductsPage extends BasePage {
             boolean isVisible = wait.until(ExpectedConditions.visibilityOfElementLocated(descriptionLocator)).isDisplayed();
 
             logger.info("✅ Products page is visible with text: {}", expectedText);
-            Allure.step("✅ Products page is visible with text: " + expectedText);
             return isVisible;
         } catch (Exception e) {
             String msg = "❌ Failed to locate Products page with title: " + expectedText;
             logger.error(msg, e);
-            Allure.step(msg + " - " + e.getMessage());
             return false;
         }
     }
@@ -309,10 +309,8 @@ public class ProductsPage extends BasePage {
             clickElement(locator);
 
             logger.info("✅ Clicked Home button.");
-            Allure.step("✅ Clicked Home button.");
         } catch (Exception e) {
             logger.error("❌ Failed to click Home button: {}", e.getMessage());
-            Allure.step("❌ Failed to click Home button: " + e.getMessage());
             throw e;
         }
     }
@@ -14,7 +14,6 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pages.BasePage;
-import pages.FulfilmentDetails;
 import pages.login.LoginPage;
 import java.time.Duration;
 import java.util.Properties;
@@ -22,7 +21,7 @@ import java.util.Properties;
 import static helpers.ElementHelper.clickElement;
 
 public class AccountPage extends BasePage {
-    private static final Logger logger = LoggerFactory.getLogger(FulfilmentDetails.class);
+    private static final Logger logger = LoggerFactory.getLogger(AccountPage.class);
     private final Properties configProperties;
     private final WebDriverWait wait;
     private final LoginPage loginPage;
@@ -51,7 +50,6 @@ public class AccountPage extends BasePage {
             return true;
         } catch (Exception e) {
             logger.error("❌ Account Page not loaded: " + e.getMessage());
-            Allure.step("❌ Account Page not loaded: " + e.getMessage());
             return false;
         }
     }
@@ -66,7 +64,6 @@ public class AccountPage extends BasePage {
             return true;
         } catch (Exception e) {
             logger.error("❌ Notifications Page not loaded: " + e.getMessage());
-            Allure.step("❌ Notifications Page not loaded: " + e.getMessage());
             return false;
         }
     }
@@ -99,11 +96,11 @@ public class AccountPage extends BasePage {
 
         for (String key : toggleKeys) {
             try {
-                System.out.println("🔁 Toggling: " + key);
+                logger.info("🔁 Toggling: {}", key);
                 By locator = getLocator(key);
                 clickElement(locator);
             } catch (Exception e) {
-                System.out.println("❌ Failed to toggle " + key + ": " + e.getMessage());
+                logger.error("❌ Failed to toggle {}: {}", key, e.getMessage());
             }
         }
     }
@@ -114,7 +111,7 @@ public class AccountPage extends BasePage {
         By buttonLocator = getLocator("updatePreferences.text");
 
         try {
-            Allure.step("🔘 Clicking 'Update Preferences' button");
+            logger.info("🔘 Clicking 'Update Preferences' button");
             clickElement(buttonLocator);
 
             ToastHelper toastHelper = new ToastHelper(driver);
@@ -122,16 +119,13 @@ public class AccountPage extends BasePage {
 
             if (isToastDisplayed) {
                 logger.info("✅ Toast displayed after updating preferences: {}", expectedToast);
-                Allure.step("✅ Toast displayed: " + expectedToast);
                 return true;
             } else {
                 logger.warn("❌ Expected toast not displayed: {}", expectedToast);
-                Allure.step("❌ Expected toast not found: " + expectedToast);
                 return false;
             }
         } catch (Exception e) {
             logger.error("❌ Error verifying toast after clicking update preferences", e);
-            Allure.step("❌ Exception occurred while checking toast: " + e.getMessage());
             return false;
         }
     }
@@ -143,35 +137,28 @@ public class AccountPage extends BasePage {
         By loginPageTitle = getLocator("loginPageTitle.text"); // Ensure this is in your config
 
         try {
-            Allure.step("🔘 Clicking Logout button");
+            logger.info("🔘 Clicking Logout button");
             wait.until(ExpectedConditions.elementToBeClickable(logoutBtn)).click();
             logger.info("✅ Clicked Logout button");
 
-            Allure.step("🔎 Verifying Login button is visible after logout");
             if (wait.until(ExpectedConditions.visibilityOfElementLocated(loginButton)).isDisplayed()) {
                 logger.info("✅ Login button is displayed after logout");
 
-                Allure.step("🔘 Clicking Login button");
                 wait.until(ExpectedConditions.elementToBeClickable(loginButton)).click();
                 logger.info("✅ Clicked Login button");
 
-                Allure.step("🔎 Verifying Login page is displayed");
                 if (wait.until(ExpectedConditions.visibilityOfElementLocated(loginPageTitle)).isDisplayed()) {
                     logger.info("✅ Verified login page is displayed");
-                    Allure.step("✅ Login page displayed successfully");
                 } else {
                     logger.error("❌ Login page not displayed after clicking login button");
-                    Allure.step("❌ Login page not displayed after clicking login button");
                     throw new RuntimeException("Login page not displayed after logout");
                 }
             } else {
                 logger.error("❌ Login button not visible after logout");
-                Allure.step("❌ Login button not visible after logout");
                 throw new RuntimeException("Login button not visible after logout");
             }
         } catch (Exception e) {
             logger.error("❌ Logout and login redirection failed", e);
-            Allure.step("❌ Exception during logout/login redirection: " + e.getMessage());
             throw e;
         }
     }
@@ -195,12 +182,10 @@ public class AccountPage extends BasePage {
             String rawNumber = ConfigurationManager.getProperty("phoneNumber");
             String expectedPhoneNumber = "+254" + rawNumber;
             logger.info("📱 Expected: " + expectedPhoneNumber + " | Found: " + actualPhoneNumber);
-            Allure.step("📱 Expected: " + expectedPhoneNumber + " | Found: " + actualPhoneNumber);
 
             return actualPhoneNumber.equals(expectedPhoneNumber);
         } catch (Exception e) {
             logger.error("❌ Error verifying phone number", e);
-            Allure.step("❌ Exception occurred while verifying phone number: " + e.getMessage());
             return false;
         }
     }
@@ -234,10 +219,8 @@ public class AccountPage extends BasePage {
 
             if (ordersPage.isOrdersPageDisplayed()) {
                 logger.info("✅ Orders page displayed after click.");
-                Allure.step("✅ Orders page loaded after clicking Orders button.");
             } else {
                 logger.warn("⚠️ Orders page not visible after clicking.");
-                Allure.step("⚠️ Orders page did not appear.");
             }
         } catch (Exception e) {
             logger.error("❌ Failed to click Orders button: {}", e.getMessage());
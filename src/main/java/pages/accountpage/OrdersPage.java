@@ -2,7 +2,6 @@ package pages.accountpage;
 
 import config.ConfigurationManager;
 import helpers.LoggerHelper;
-import helpers.OrderCardHelper;
 import helpers.PropertiesLoader;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileBy;
@@ -23,13 +22,11 @@ public class OrdersPage extends BasePage {
     private static final Logger logger = LoggerFactory.getLogger(OrdersPage.class);
     private final Properties configProperties;
     private final AppiumDriver driver;
-    private final OrderCardHelper orderCardHelper;
 
     public OrdersPage(AppiumDriver driver) {
         super(driver);
         this.driver = driver;
         this.configProperties = PropertiesLoader.loadProperties("src/main/resources/config.properties");
-        this.orderCardHelper = new OrderCardHelper(driver);
     }
 
     public boolean isOrdersPageDisplayed() {
@@ -40,7 +37,6 @@ public class OrdersPage extends BasePage {
             WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(30));
             boolean isDisplayed = wait.until(ExpectedConditions.visibilityOfElementLocated(ordersPageTitleLocator)).isDisplayed();
             logger.info("✅ Orders page title is displayed.");
-            Allure.step("✅ Orders page is displayed.");
             return isDisplayed;
         } catch (Exception e) {
             logger.error("❌ Error checking orders page visibility: {}", e.getMessage());
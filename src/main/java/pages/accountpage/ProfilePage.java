@@ -47,10 +47,8 @@ public class ProfilePage extends BasePage {
 
             if (isProfilePageDisplayed()) {
                 logger.info("✅ Profile page displayed after click.");
-                Allure.step("✅ Profile page loaded after clicking Profile button.");
             } else {
                 logger.warn("⚠️ Profile page not visible after clicking.");
-                Allure.step("⚠️ Profile page did not appear.");
             }
         } catch (Exception e) {
             logger.error("❌ Failed to click Profile button: {}", e.getMessage());
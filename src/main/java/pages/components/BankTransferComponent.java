@@ -3,15 +3,15 @@ package pages.components;
 import config.ConfigurationManager;
 import drivers.DriverManager;
 import helpers.ElementHelper;
+import helpers.ElementProbe;
 import helpers.KeyboardHelper;
 import helpers.LocatorHelper;
 import helpers.PermissionHelper;
+import helpers.TextEntry;
 import io.appium.java_client.AppiumBy;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileBy;
 import io.appium.java_client.android.AndroidDriver;
-import io.appium.java_client.android.nativekey.AndroidKey;
-import io.appium.java_client.android.nativekey.KeyEvent;
 import io.appium.java_client.ios.IOSDriver;
 import io.cucumber.java.Scenario;
 import io.qameta.allure.Allure;
@@ -22,7 +22,6 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.Assert;
-import stepdefinitions.LoginSteps;
 import utils.ScreenshotUtil;
 import utils.TestContext;
 import utils.AndroidUtils;
@@ -43,7 +42,7 @@ public class BankTransferComponent {
     private final Scenario scenario;
 
     private final String bankTransferTextStr = ConfigurationManager.get("payment.bankTransfer.text");
-    private static final Logger logger = LoggerFactory.getLogger(LoginSteps.class);
+    private static final Logger logger = LoggerFactory.getLogger(BankTransferComponent.class);
 
     private final By headsUpToast;
     private final By referenceNumberInput;
@@ -76,7 +75,7 @@ public class BankTransferComponent {
         String[] bankOptions = ConfigurationManager.get("payment.bank.options").split(",");
         String selectedBank = bankOptions[new Random().nextInt(bankOptions.length)].trim();
 
-        System.out.println("🔘 Attempting to select bank: " + selectedBank);
+        logger.info("🔘 Attempting to select bank: {}", selectedBank);
 
         // Step 3: Scroll to and tap the option using visible text
         ElementHelper.scrollToText(selectedBank); // scroll helper can be platform-specific
@@ -84,25 +83,26 @@ public class BankTransferComponent {
         WebElement bankOption = ElementHelper.waitForElementVisible(driver, optionLocator, 10);
         bankOption.click();
 
-        System.out.println("✅ Selected bank: " + selectedBank);
+        logger.info("✅ Selected bank: {}", selectedBank);
     }
 
     public void expandBankTransferSectionIfNeeded() {
         try {
             ElementHelper.scrollToText(bankTransferTextStr);
 
-            if (!ElementHelper.isElementDisplayed(referenceNumberInput)) {
-                System.out.println("ℹ️ Expanding Bank Transfer section...");
+            if (!ElementProbe.isVisibleNow(referenceNumberInput)) {
+                logger.info("ℹ️ Expanding Bank Transfer section...");
                 ElementHelper.clickElement(ElementHelper.getLocator("payment.bankTransfer.text"));
 
-                Thread.sleep(1000); // optional wait
+                // Expanded once the reference input shows, or a heads-up toast covers it
+                ElementProbe.waitForAnyVisible(2, referenceNumberInput, headsUpToast);
                 new PermissionHelper(driver).allowAllPermissionsIfPresent();
                 handleHeadsUpToast();
 
                 ElementHelper.scrollToText(ConfigurationManager.get("payment.confirmPaymentBtn"));
-                System.out.println("✅ Expanded Bank Transfer section");
+                logger.info("✅ Expanded Bank Transfer section");
             } else {
-                System.out.println("✅ Bank Transfer section already visible");
+                logger.info("✅ Bank Transfer section already visible");
             }
         } catch (Exception e) {
             Assert.fail("❌ Failed to expand Bank Transfer section: " + e.getMessage());
@@ -112,12 +112,12 @@ public class BankTransferComponent {
 
     public void enterReferenceNumber(String referenceNumber) {
         if (referenceNumber == null || referenceNumber.trim().isEmpty()) {
-            System.out.println("⚠️ Reference number is empty. Skipping input.");
+            logger.warn("⚠️ Reference number is empty. Skipping input.");
             return;
         }
 
         try {
-            System.out.println("➡️ Starting to enter reference number: " + referenceNumber);
+            logger.info("➡️ Starting to enter reference number: {}", referenceNumber);
 
             // Scroll to the label text to bring field into view
             String refLabelText = ConfigurationManager.get("payment.referenceField.text"); // "Enter Payment Reference Number"
@@ -139,43 +139,27 @@ public class BankTransferComponent {
                 throw new RuntimeException("❌ No visible and enabled input field found.");
             }
 
-            System.out.println("📍 Element ready - Displayed: true, Enabled: true");
+            logger.info("📍 Element ready - Displayed: true, Enabled: true");
 
-            inputField.click(); // Ensure focus
-            Thread.sleep(500);
-
-            // Clear field (via End + multiple DEL keys)
-            ((AndroidDriver) driver).pressKey(new KeyEvent(AndroidKey.MOVE_END));
-            for (int i = 0; i < 12; i++) {
-                ((AndroidDriver) driver).pressKey(new KeyEvent(AndroidKey.DEL));
-            }
-
-            // Type reference using Android keys
-            for (char c : referenceNumber.toCharArray()) {
-                ((AndroidDriver) driver).pressKey(new KeyEvent(getAndroidKey(c)));
-            }
-
-            Thread.sleep(500); // Wait for UI update
-            // Hide keyboard after typing
+            // Replace any previous value in one or two round trips; the value is read back once
+            TextEntry.Result result = TextEntry.into("payment.reference", inputField)
+                    .clearFirst()
+                    .type(referenceNumber);
             KeyboardHelper.hideKeyboard(driver);
 
-            // Verify input using getAttribute("text")
-            String actual = inputField.getAttribute("text");
-            System.out.println("📋 Retrieved input field text: " + actual);
-
-
-            System.out.println("📋 Retrieved input field text: " + actual);
-            if (actual == null || !actual.equalsIgnoreCase(referenceNumber)) {
+            String actual = result.getActual();
+            logger.info("📋 Retrieved input field text: {} ({}, {} ms)", actual, result.getStrategy(), result.getMillis());
+            if (!result.isVerified()) {
                 ScreenshotUtil.captureAndAttachScreenshot(driver, scenario, "RefNumber_Mismatch", true);
                 throw new AssertionError("❌ Input verification failed: expected '" + referenceNumber + "', but found '" + actual + "'");
             }
 
             ScreenshotUtil.captureAndAttachScreenshot(driver, scenario, "RefNumber_Entry_Success", false);
-            System.out.println("✅ Successfully entered reference number: " + referenceNumber);
+            logger.info("✅ Successfully entered reference number: {}", referenceNumber);
 
         } catch (Exception e) {
             ScreenshotUtil.captureAndAttachScreenshot(driver, scenario, "RefNumber_Entry_Error", true);
-            System.out.println("❌ Failed to enter reference number: " + e.getMessage());
+            logger.error("❌ Failed to enter reference number: {}", e.getMessage());
             Assert.fail("❌ Failed to enter reference number: " + e.getMessage());
         }
     }
@@ -188,50 +172,7 @@ public class BankTransferComponent {
                 ((IOSDriver) driver).hideKeyboard();
             }
         } catch (Exception e) {
-            System.out.println("⚠️ Could not hide keyboard: " + e.getMessage());
-        }
-    }
-
-    private AndroidKey getAndroidKey(char c) {
-        switch (c) {
-            case '0': return AndroidKey.DIGIT_0;
-            case '1': return AndroidKey.DIGIT_1;
-            case '2': return AndroidKey.DIGIT_2;
-            case '3': return AndroidKey.DIGIT_3;
-            case '4': return AndroidKey.DIGIT_4;
-            case '5': return AndroidKey.DIGIT_5;
-            case '6': return AndroidKey.DIGIT_6;
-            case '7': return AndroidKey.DIGIT_7;
-            case '8': return AndroidKey.DIGIT_8;
-            case '9': return AndroidKey.DIGIT_9;
-            case 'A': return AndroidKey.A;
-            case 'B': return AndroidKey.B;
-            case 'C': return AndroidKey.C;
-            case 'D': return AndroidKey.D;
-            case 'E': return AndroidKey.E;
-            case 'F': return AndroidKey.F;
-            case 'G': return AndroidKey.G;
-            case 'H': return AndroidKey.H;
-            case 'I': return AndroidKey.I;
-            case 'J': return AndroidKey.J;
-            case 'K': return AndroidKey.K;
-            case 'L': return AndroidKey.L;
-            case 'M': return AndroidKey.M;
-            case 'N': return AndroidKey.N;
-            case 'O': return AndroidKey.O;
-            case 'P': return AndroidKey.P;
-            case 'Q': return AndroidKey.Q;
-            case 'R': return AndroidKey.R;
-            case 'S': return AndroidKey.S;
-            case 'T': return AndroidKey.T;
-            case 'U': return AndroidKey.U;
-            case 'V': return AndroidKey.V;
-            case 'W': return AndroidKey.W;
-            case 'X': return AndroidKey.X;
-            case 'Y': return AndroidKey.Y;
-            case 'Z': return AndroidKey.Z;
-            default:
-                throw new IllegalArgumentException("❌ Unsupported character for AndroidKey: '" + c + "'");
+            logger.warn("⚠️ Could not hide keyboard: {}", e.getMessage());
         }
     }
 
@@ -242,7 +183,8 @@ public class BankTransferComponent {
             new PermissionHelper(driver).allowAllPermissionsIfPresent();
 
             AndroidUtils.openAndroidFolder(driver, folderName, waitSeconds); // ✅ Moved to utility
-            Thread.sleep(waitSeconds * 1000L);
+            // Up to waitSeconds for the folder's thumbnails; selectImageWithFallback handles their absence
+            ElementProbe.waitForAnyVisible(waitSeconds, By.id("com.android.documentsui:id/icon_thumb"));
 
             boolean success = AndroidUtils.selectImageWithFallback(driver); // ✅ Also moved
             if (!success) {
@@ -263,14 +205,14 @@ public class BankTransferComponent {
             boolean enabled = "true".equalsIgnoreCase(button.getAttribute("enabled"));
             if (enabled) {
                 button.click();
-                System.out.println("🟢 Clicked Confirm Payment");
+                logger.info("🟢 Clicked Confirm Payment");
                 return true;
             } else {
-                System.out.println("⚠️ Confirm Payment button is disabled.");
+                logger.warn("⚠️ Confirm Payment button is disabled.");
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("❌ Confirm Payment failed: " + e.getMessage());
+            logger.error("❌ Confirm Payment failed: {}", e.getMessage());
             return false;
         }
     }
@@ -278,20 +220,20 @@ public class BankTransferComponent {
     private void handleHeadsUpToast() {
         try {
             wait.withTimeout(Duration.ofSeconds(5)).until(ExpectedConditions.elementToBeClickable(headsUpToast)).click();
-            System.out.println("ℹ️ Dismissed heads-up toast");
+            logger.info("ℹ️ Dismissed heads-up toast");
         } catch (Exception ignored) {
-            System.out.println("✅ No heads-up toast appeared");
+            logger.info("✅ No heads-up toast appeared");
         }
     }
 
     private void clickUploadButton() {
         wait.until(ExpectedConditions.elementToBeClickable(uploadButton)).click();
-        System.out.println("📤 Clicked Upload button");
+        logger.info("📤 Clicked Upload button");
     }
 
     private void clickUploadImageOption() {
         wait.until(ExpectedConditions.elementToBeClickable(uploadImageButton)).click();
-        System.out.println("🖼️ Selected 'Upload Image'");
+        logger.info("🖼️ Selected 'Upload Image'");
     }
 
     private boolean selectImageBasedOnAndroidVersion() {
@@ -311,17 +253,17 @@ public class BankTransferComponent {
                     String desc = thumb.getAttribute("content-desc");
                     if (desc != null && desc.toLowerCase().contains("image")) {
                         thumb.click();
-                        System.out.println("✅ Clicked thumbnail with content-desc: " + desc);
+                        logger.info("✅ Clicked thumbnail with content-desc: {}", desc);
                         return true;
                     }
                     thumb.click(); // fallback
-                    System.out.println("✅ Clicked visible thumbnail (fallback)");
+                    logger.info("✅ Clicked visible thumbnail (fallback)");
                     return true;
                 }
             }
-            System.out.println("❌ No visible thumbnails found.");
+            logger.error("❌ No visible thumbnails found.");
         } catch (Exception e) {
-            System.out.println("❌ Failed in Android 12 thumbnail logic: " + e.getMessage());
+            logger.error("❌ Failed in Android 12 thumbnail logic: {}", e.getMessage());
         }
         return false;
     }
@@ -331,10 +273,10 @@ public class BankTransferComponent {
             WebElement image = driver.findElement(MobileBy.AndroidUIAutomator(
                     "new UiSelector().className(\"android.view.View\").instance(9)"));
             image.click();
-            System.out.println("✅ Image clicked via instance(9)");
+            logger.info("✅ Image clicked via instance(9)");
             return true;
         } catch (Exception ignored) {
-            System.out.println("⚠️ Fallback to clickable images...");
+            logger.warn("⚠️ Fallback to clickable images...");
         }
 
         List<WebElement> images = driver.findElements(By.xpath(
@@ -342,7 +284,7 @@ public class BankTransferComponent {
 
         if (!images.isEmpty()) {
             images.get(0).click();
-            System.out.println("✅ Image clicked via fallback clickable element");
+            logger.info("✅ Image clicked via fallback clickable element");
             return true;
         }
 
@@ -350,12 +292,12 @@ public class BankTransferComponent {
             if ("true".equalsIgnoreCase(el.getAttribute("displayed"))) {
                 String bounds = el.getAttribute("bounds");
                 ElementHelper.tapElementByBounds(bounds);
-                System.out.println("✅ Tapped element via bounds: " + bounds);
+                logger.info("✅ Tapped element via bounds: {}", bounds);
                 return true;
             }
         }
 
-        System.out.println("❌ No image found with Android 14 fallback strategy.");
+        logger.error("❌ No image found with Android 14 fallback strategy.");
         return false;
     }
 
@@ -370,7 +312,7 @@ public class BankTransferComponent {
             for (By tab : tabs) {
                 if (!driver.findElements(tab).isEmpty()) {
                     driver.findElement(tab).click();
-                    System.out.println("📁 Switched to folder tab: " + tab);
+                    logger.info("📁 Switched to folder tab: {}", tab);
                     break;
                 }
             }
@@ -378,7 +320,7 @@ public class BankTransferComponent {
             By showRoots = MobileBy.AccessibilityId("Show roots");
             if (!driver.findElements(showRoots).isEmpty()) {
                 driver.findElement(showRoots).click();
-                System.out.println("☰ Clicked 'Show roots'");
+                logger.info("☰ Clicked 'Show roots'");
             }
 
             String lower = folderName.toLowerCase();
@@ -390,7 +332,7 @@ public class BankTransferComponent {
             for (By locator : folderLocators) {
                 if (!driver.findElements(locator).isEmpty()) {
                     driver.findElement(locator).click();
-                    System.out.println("📂 Opened folder: " + folderName);
+                    logger.info("📂 Opened folder: {}", folderName);
                     return;
                 }
             }
@@ -402,11 +344,7 @@ public class BankTransferComponent {
     }
 
     private By getLocator(String key) {
-        String value = ConfigurationManager.get(key);
-        if (value == null || value.trim().isEmpty()) {
-            throw new IllegalArgumentException("❌ Locator key '" + key + "' is null or empty.");
-        }
-        return isAndroid ? MobileBy.AndroidUIAutomator("new UiSelector().text(\"" + value + "\")") : MobileBy.AccessibilityId(value);
+        return LocatorHelper.resolveLocator(key);
     }
 
     private By byId(String id) {
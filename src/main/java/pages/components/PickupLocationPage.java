@@ -2,6 +2,7 @@ package pages.components;
 
 import config.ConfigurationManager;
 import helpers.ElementHelper;
+import helpers.HierarchySnapshot;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileBy;
 import io.qameta.allure.Allure;
@@ -11,6 +12,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pages.BasePage;
 
+import java.time.Duration;
 import java.util.List;
 
 public class PickupLocationPage extends BasePage {
@@ -30,19 +32,18 @@ public class PickupLocationPage extends BasePage {
 
     public void selectValidPickupLocation() {
         logger.info("📍 Selecting pickup location via dropdown + screen-relative tap");
-        Allure.step("Select pickup location");
 
         openDropdownAndTap();
 
         logger.info("🛒 Clicking Add to cart");
         ElementHelper.clickElement(addToCartBtn);
-        ElementHelper.delay(1000);
+        HierarchySnapshot.awaitStable(Duration.ofSeconds(2));
 
         if (isPickupErrorVisible()) {
             logger.warn("⚠️ Pickup error detected, retrying dropdown selection");
             openDropdownAndTap();
             ElementHelper.clickElement(addToCartBtn);
-            ElementHelper.delay(1000);
+            HierarchySnapshot.awaitStable(Duration.ofSeconds(2));
         }
 
         if (isPickupStillUnselected()) {
@@ -52,13 +53,14 @@ public class PickupLocationPage extends BasePage {
             throw new RuntimeException(errorMsg);
         }
 
-        Allure.step("✅ Pickup location selected successfully");
+        logger.info("✅ Pickup location selected successfully");
         logger.info("✅ Pickup location selection complete");
     }
 
     private void openDropdownAndTap() {
         ElementHelper.clickElement(pickupDropdown);
-        ElementHelper.delay(500);
+        // The tap below is screen-relative, so the dropdown must have finished opening
+        HierarchySnapshot.awaitStable(Duration.ofSeconds(1));
         ElementHelper.tapBelowElement(pickupDropdown, 100); // Adjust offset as needed
     }
 
@@ -3,7 +3,6 @@ package pages.home;
 import drivers.DriverManager;
 import helpers.ElementHelper;
 import io.appium.java_client.AppiumDriver;
-import io.qameta.allure.Allure;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -34,16 +33,13 @@ public class HomePage extends BasePage {
 
             if (element != null) {
                 logger.info("✅ Home page loaded successfully.");
-                ElementHelper.safeAllureStep("✅ Home page loaded successfully.");
                 return true;
             } else {
                 logger.error("❌ Home page element not visible.");
-                ElementHelper.safeAllureStep("❌ Home page element not visible.");
                 return false;
             }
         } catch (Exception e) {
             logger.error("❌ Home page did not load: {}", e.getMessage());
-            ElementHelper.safeAllureStep("❌ Home page did not load: " + e.getMessage());
             return false;
         }
     }
@@ -51,20 +47,17 @@ public class HomePage extends BasePage {
     public boolean isHomePageDisplayed() {
         boolean visible = ElementHelper.isElementDisplayed("selfCollectBtn.text");
         logger.info("🏠 Home page visible: {}", visible);
-        Allure.step("🏠 Home page visible: " + visible);
         return visible;
     }
 
     public void switchToDeliveryTab() {
         ElementHelper.clickElement("deliveryBtn.text");
         logger.info("🔄 Switched to Delivery tab");
-        Allure.step("🔄 Switched to Delivery tab");
     }
 
     public boolean isDeliveryPageDisplayed() {
         boolean visible = ElementHelper.isElementDisplayed("deliveryPageTitle.text");
         logger.info("📦 Delivery page visible: {}", visible);
-        Allure.step("📦 Delivery page visible: " + visible);
         return visible;
     }
 
@@ -76,31 +69,25 @@ public class HomePage extends BasePage {
             WebElement tab = ElementHelper.waitForElementVisible(DriverManager.getDriver(), selfCollectTab, 10);
             if (tab == null) {
                 logger.error("🔴 'Self Collect' tab element not found for locator: {}", selfCollectTab);
-                Allure.step("🔴 'Self Collect' tab element not found");
                 Assert.fail("❌ 'Self Collect' tab is not clickable or missing.");
             }
 
             tab.click();
             logger.info("🟢 Clicked on 'Self Collect' tab");
-            Allure.step("🟢 Clicked on 'Self Collect' tab");
 
             boolean isTitleVisible = ElementHelper.isElementDisplayed(selfCollectTitle, 5);
             if (isTitleVisible) {
                 logger.info("🟢 Self Collect page title is visible");
-                Allure.step("🟢 Self Collect page title is visible");
             } else {
                 logger.error("🔴 Self Collect page title is not visible for locator: {}", selfCollectTitle);
-                Allure.step("🔴 Self Collect page title is not visible");
                 Assert.fail("❌ Failed to load Self Collect page.");
             }
 
         } catch (IllegalArgumentException e) {
             logger.error("❌ Invalid locator format in config: {}", e.getMessage(), e);
-            Allure.step("❌ Invalid locator format in config: " + e.getMessage());
             Assert.fail("❌ Unrecognized locator. Check the config key and value.");
         } catch (Exception e) {
             logger.error("❌ Exception in switchToSelfCollectTab: {}", e.getMessage(), e);
-            Allure.step("❌ Exception in switchToSelfCollectTab: " + e.getMessage());
             Assert.fail("❌ Unexpected error while switching to Self Collect tab.");
         }
     }
@@ -108,14 +95,12 @@ public class HomePage extends BasePage {
     public boolean isSelfCollectPageDisplayed() {
         boolean visible = ElementHelper.isElementDisplayed("selfCollectPageTitle.text");
         logger.info("🏬 Self Collect page visible: {}", visible);
-        Allure.step("🏬 Self Collect page visible: " + visible);
         return visible;
     }
 
     public void tapSearchField() {
         ElementHelper.clickElement("searchField.text");
         logger.info("🔍 Tapped on search field");
-        Allure.step("🔍 Tapped on search field");
     }
 
     public void enterSearchQuery(String productName) {
@@ -125,10 +110,8 @@ public class HomePage extends BasePage {
             searchInput.clear();
             searchInput.sendKeys(productName);
             logger.info("✅ Entered search query: {}", productName);
-            Allure.step("✅ Entered search query: " + productName);
         } catch (Exception e) {
             logger.error("❌ Failed to enter search query: {}", e.getMessage(), e);
-            Allure.step("❌ Failed to enter search query: " + e.getMessage());
             throw e;
         }
     }
@@ -151,12 +134,10 @@ public class HomePage extends BasePage {
 
             boolean result = isTitleVisible && hasActions;
             logger.info("🛒 Products page displayed: {}", result);
-            Allure.step("🛒 Products page displayed: " + result);
             return result;
 
         } catch (Exception e) {
             logger.error("❌ Product Details Page not displayed correctly: {}", e.getMessage(), e);
-            Allure.step("❌ Product Details Page not displayed correctly: " + e.getMessage());
             return false;
         }
     }
@@ -164,7 +145,6 @@ public class HomePage extends BasePage {
     public boolean waitForPageLoad(int timeoutSeconds) {
         boolean visible = ElementHelper.waitUntilVisible(getLocator("searchField.text"), timeoutSeconds) != null;
         logger.info("⏳ Home page search field visible: {}", visible);
-        Allure.step("⏳ Home page search field visible: " + visible);
         return visible;
     }
 
@@ -173,22 +153,18 @@ public class HomePage extends BasePage {
             WebElement accountButton = ElementHelper.waitUntilClickable("accountPageButtonFromHome.uiautomator", 10);
             ElementHelper.clickElement(accountButton);
             logger.info("👤 Tapped on Account page button");
-            Allure.step("👤 Tapped on Account page button");
 
             WebElement accountPage = ElementHelper.waitUntilVisible(
                     ElementHelper.getLocator("accountPageTitle.uiautomator"), 5);
 
             if (accountPage != null && accountPage.isDisplayed()) {
                 logger.info("✅ Account page displayed");
-                Allure.step("✅ Account page displayed");
             } else {
                 logger.warn("⚠️ Account page not visible after click");
-                Allure.step("⚠️ Account page not visible after click");
             }
 
         } catch (Exception e) {
             logger.error("❌ Unable to open Account Page: {}", e.getMessage(), e);
-            Allure.step("❌ Unable to open Account Page: " + e.getMessage());
         }
     }
 
@@ -196,6 +172,5 @@ public class HomePage extends BasePage {
         By locator = getLocator("reorderButton.text");
         ElementHelper.clickElement(locator);
         logger.info("🔁 Clicked View Order Again button");
-        Allure.step("🔁 Clicked View Order Again button");
     }
 }
\ No newline at end of file
@@ -2,11 +2,9 @@ package pages.login;
 
 import config.ConfigurationManager;
 import helpers.ElementHelper;
-import helpers.StepLogger;
-import helpers.ToastHelper;
+import helpers.ElementProbe;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileBy;
-import io.qameta.allure.Allure;
 import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.TimeoutException;
@@ -21,7 +19,7 @@ import utils.SessionManager;
 import java.time.Duration;
 
 public class LoginPage extends BasePage {
-    private static final Logger logger = LoggerFactory.getLogger(ToastHelper.class);
+    private static final Logger logger = LoggerFactory.getLogger(LoginPage.class);
     private final By phoneField = getLocator("phoneInputField.text");
     private final By SmsOtp = getLocator("SmsOtp.text");
     private final By loginTitle = getLocator("loginPageTitle.text");
@@ -43,11 +41,10 @@ public class LoginPage extends BasePage {
 
     public void enterPhoneNumber(String phoneNumber) {
         logger.info("📱 Entering phone number: " + phoneNumber);
-        Allure.step("📱 Entering phone number: " + phoneNumber);
         driver.findElement(phoneField).sendKeys(phoneNumber);
     }
     public void clickContinue() {
-        StepLogger.step("➡️ Clicking Continue button");
+        logger.info("➡️ Clicking Continue button");
         driver.findElement(SmsOtp).click();
 
         try {
@@ -55,17 +52,17 @@ public class LoginPage extends BasePage {
             WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(8));
             wait.until(ExpectedConditions.visibilityOfElementLocated(otpTitle));
 
-            StepLogger.step("✅ OTP screen appeared.");
+            logger.info("✅ OTP screen appeared.");
         } catch (TimeoutException e) {
-            StepLogger.warn("⏳ OTP screen not visible within expected time. Checking for errors...");
+            logger.warn("⏳ OTP screen not visible within expected time. Checking for errors...");
 
             // Fallback: check for error toast or message
             try {
                 WebElement errorElement = driver.findElement(networkError);
                 String errorText = errorElement.getText().trim();
-                StepLogger.error("❌ Network or app error: " + errorText);
+                logger.error("❌ Network or app error: {}", errorText);
             } catch (NoSuchElementException ex) {
-                StepLogger.step("⚠️ No network error found, but OTP screen is still missing.");
+                logger.warn("⚠️ No network error found, but OTP screen is still missing.");
             }
         }
     }
@@ -77,17 +74,18 @@ public class LoginPage extends BasePage {
         By homeIndicatorLocator = ElementHelper.getLocator(homeIndicatorKey);
         By guestButtonLocator = ElementHelper.getLocator(guestButtonKey);
 
+        // One wait for whichever screen shows first, instead of waiting out the home check on the login page
+        By visible = ElementProbe.waitForAnyVisible(5, homeIndicatorLocator, guestButtonLocator);
+
         // ✅ If already on Home screen, assume guest session
-        if (ElementHelper.isElementPresent(homeIndicatorLocator, 3)) {
+        if (homeIndicatorLocator.equals(visible)) {
             logger.info("🟢 Already on Home screen. Guest login assumed.");
-            Allure.step("🟢 Already on Home screen. Guest login assumed.");
             return;
         }
 
         // ✅ If on login page and guest button is visible, click it
-        if (ElementHelper.waitForElementToBeVisible(guestButtonLocator, 5)) {
+        if (guestButtonLocator.equals(visible)) {
             logger.info("👉 Guest button visible. Clicking...");
-            Allure.step("👉 Guest button visible. Clicking...");
             ElementHelper.clickElement(guestButtonLocator);
         } else {
             throw new RuntimeException("❌ Guest button not found. App may have skipped login page.");
@@ -96,16 +94,13 @@ public class LoginPage extends BasePage {
 
     public boolean isLoginPageDisplayed() {
         logger.info("🔍 Checking if login page is displayed...");
-        Allure.step("🔍 Checking if login page is displayed...");
         try {
             WebElement titleElement = ElementHelper.waitUntilVisible(loginTitle, 5);
             boolean isDisplayed = titleElement != null && titleElement.isDisplayed();
             logger.info(isDisplayed ? "✅ Login page is visible." : "❌ Login page not visible.");
-            Allure.step(isDisplayed ? "✅ Login page is visible." : "❌ Login page not visible.");
             return isDisplayed;
         } catch (Exception e) {
             logger.error("💥 Error checking login page: " + e.getMessage());
-            Allure.step("💥 Error checking login page: " + e.getMessage());
             return false;
         }
     }
@@ -11,9 +11,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.Assert;
 import pages.BasePage;
-import utils.TestContext;
+import utils.PaymentContext;
+import utils.PaymentContextManager;
 import utils.PlatformHelper;
-import io.qameta.allure.Allure;
 
 import java.time.Duration;
 
@@ -33,18 +33,18 @@ public class OrderDetails extends BasePage {
     }
 
     /**
-     * ✅ Verifies transaction details using TestContext values and dynamic UIAutomator selectors.
+     * ✅ Verifies transaction details using the scenario's payment context and dynamic UIAutomator selectors.
      */
     public boolean verifyTransactionDetails() {
         try {
+            PaymentContext payment = PaymentContextManager.current();
             logger.info("🔍 Verifying transaction details on Order Details screen...");
-            Allure.step("🔍 Verifying transaction details on Order Details screen");
 
-            String methodLocator = "new UiSelector().textContains(\"" + TestContext.paymentMethod + "\")";
-            String amountLocator = "new UiSelector().textContains(\"" + TestContext.paymentAmount + "\")";
-            String refLocator = "new UiSelector().textContains(\"" + TestContext.referenceNumber + "\")";
+            String methodLocator = "new UiSelector().textContains(\"" + payment.getMethod() + "\")";
+            String amountLocator = "new UiSelector().textContains(\"" + payment.getAmount() + "\")";
+            String refLocator = "new UiSelector().textContains(\"" + payment.getReferenceNumber() + "\")";
 
-            String datePart = TestContext.paymentDateTime.split(",")[0];
+            String datePart = payment.getTimestamp().split(",")[0];
             String timeLocator = "new UiSelector().textContains(\"" + datePart + "\")";
 
             String actualMethod = driver.findElement(MobileBy.AndroidUIAutomator(methodLocator)).getText();
@@ -54,31 +54,27 @@ public class OrderDetails extends BasePage {
 
             logger.info("🧾 Found values: Method={}, Amount={}, Ref={}, Time={}", actualMethod, actualAmount, actualRef, actualTime);
 
-            boolean result = actualMethod.contains(TestContext.paymentMethod)
-                    && actualAmount.contains(TestContext.paymentAmount)
-                    && actualRef.equals(TestContext.referenceNumber)
+            boolean result = actualMethod.contains(payment.getMethod())
+                    && actualAmount.contains(payment.getAmount())
+                    && actualRef.equals(payment.getReferenceNumber())
                     && actualTime.contains(datePart);
 
             if (result) {
                 logger.info("✅ Transaction details match expected values.");
-                Allure.step("✅ Transaction details match expected values.");
             } else {
                 logger.warn("❌ Transaction details mismatch.");
-                Allure.step("❌ Transaction details mismatch.");
             }
 
             return result;
 
         } catch (Exception e) {
             logger.error("❌ Failed to verify transaction details", e);
-            Allure.step("❌ Exception verifying transaction details: " + e.getMessage());
             return false;
         }
     }
 
     public void clickPayNowLink() {
         logger.info("➡️ Clicking 'Pay Now' link");
-        Allure.step("➡️ Clicking 'Pay Now' link");
         clickElement("payNowLink.text");
     }
 
@@ -88,17 +84,14 @@ public class OrderDetails extends BasePage {
     public boolean waitForPageLoad(int timeoutSeconds) {
         try {
             logger.info("⏳ Waiting for Payments page to load...");
-            Allure.step("⏳ Waiting for Payments page to load...");
             wait.withTimeout(Duration.ofSeconds(timeoutSeconds))
                     .until(ExpectedConditions.visibilityOfElementLocated(getLocator("paymentsTitle.text")));
 
             logger.info("✅ Payments page loaded successfully");
-            Allure.step("✅ Payments page loaded successfully");
             return true;
 
         } catch (Exception e) {
             logger.error("❌ Timeout waiting for Payments page to load", e);
-            Allure.step("❌ Timeout waiting for Payments page to load: " + e.getMessage());
             return false;
         }
     }
@@ -107,7 +100,6 @@ public class OrderDetails extends BasePage {
 
         try {
             logger.info("➡️ Scrolling to 'Reorder' button with text: {}", reorderBtnText);
-            Allure.step("➡️ Scrolling to 'Reorder' button with text: " + reorderBtnText);
 
             // Step 1: Scroll to the text
             ElementHelper.scrollToTextAndReturn(reorderBtnText);
@@ -116,22 +108,18 @@ public class OrderDetails extends BasePage {
             By reorderBtnLocator = ElementHelper.getLocator("reorderBtn.text");
             if (ElementHelper.isElementDisplayed(reorderBtnLocator)) {
                 logger.info("✅ 'Reorder' button is visible, clicking...");
-                Allure.step("✅ 'Reorder' button is visible, clicking...");
 
                 // Step 3: Click it
                 ElementHelper.clickElement(reorderBtnLocator);
 
                 logger.info("✅ Clicked 'Reorder' button");
-                Allure.step("✅ Clicked 'Reorder' button");
             } else {
                 logger.error("❌ 'Reorder' button is not visible after scrolling.");
-                Allure.step("❌ 'Reorder' button is not visible after scrolling.");
                 Assert.fail("❌ 'Reorder' button is not visible after scrolling.");
             }
 
         } catch (Exception e) {
             logger.error("❌ Failed to click 'Reorder' button: {}", e.getMessage());
-            Allure.step("❌ Failed to click 'Reorder' button");
             Assert.fail("❌ Failed to click 'Reorder' button: " + e.getMessage());
         }
     }
@@ -141,7 +129,6 @@ public class OrderDetails extends BasePage {
 
         try {
             logger.info("➡️ Scrolling to 'Track Order' button with text: {}", trackOrderBtnText);
-            Allure.step("➡️ Scrolling to 'Track Order' button with text: " + trackOrderBtnText);
 
             // Step 1: Scroll to the text
             ElementHelper.scrollToTextAndReturn(trackOrderBtnText);
@@ -150,16 +137,13 @@ public class OrderDetails extends BasePage {
             By trackOrderBtnLocator = ElementHelper.getLocator("trackOrderBtn.text");
             if (ElementHelper.isElementDisplayed(trackOrderBtnLocator)) {
                 logger.info("✅ 'Track Order' button is visible");
-                Allure.step("✅ 'Track Order' button is visible");
             } else {
                 logger.error("❌ 'Track Order' button is not visible after scrolling.");
-                Allure.step("❌ 'Track Order' button is not visible after scrolling.");
                 Assert.fail("❌ 'Track Order' button is not visible after scrolling.");
             }
 
         } catch (Exception e) {
             logger.error("❌ Failed to scroll to 'Track Order' button: {}", e.getMessage());
-            Allure.step("❌ Failed to scroll to 'Track Order' button");
             Assert.fail("❌ Failed to scroll to 'Track Order' button: " + e.getMessage());
         }
     }
@@ -1,7 +1,6 @@
 package pages.orders;
 
 import io.appium.java_client.AppiumDriver;
-import io.qameta.allure.Allure;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -45,23 +44,20 @@ public class Reorder extends BasePage {
             });
 
             logger.info("✅ Reorder Page Check - Title: {}, Buttons: {}", isTitlePresent, hasCompletedOrReorderBtn);
-            Allure.step("✅ Reorder Page Displayed - Title: " + isTitlePresent + ", Buttons: " + hasCompletedOrReorderBtn);
 
             return isTitlePresent && hasCompletedOrReorderBtn;
 
         } catch (WebDriverException e) {
             logger.error("💥 Driver/UiAutomator crash or timeout: {}", e.getMessage());
-            Allure.step("💥 Driver crash or timeout while checking Reorder page: " + e.getMessage());
             return false;
         } catch (Exception e) {
             logger.error("❌ Error checking Reorder page: {}", e.getMessage());
-            Allure.step("❌ General error checking Reorder page: " + e.getMessage());
             return false;
         }
     }
 
     public void clickReorderButton() {
-        Allure.step("Clicking Reorder button...");
+        logger.info("Clicking Reorder button...");
         driver.findElement(reorderButton).click();
         logger.info("✅ Clicked Reorder button");
     }
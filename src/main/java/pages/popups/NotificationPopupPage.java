@@ -4,7 +4,6 @@ import config.ConfigurationManager;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileBy;
 import io.appium.java_client.remote.SupportsContextSwitching;
-import io.qameta.allure.Allure;
 import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.TimeoutException;
@@ -52,7 +51,6 @@ public class NotificationPopupPage {
 
                 if (System.currentTimeMillis() - start > maxDurationMs) {
                     logger.warn("⏱️ Time budget exceeded, skipping remaining locators.");
-                    Allure.step("⏱️ Time budget exceeded.");
                     break;
                 }
 
@@ -65,7 +63,6 @@ public class NotificationPopupPage {
                     WebElement allowBtn = fastWait.until(ExpectedConditions.elementToBeClickable(locator));
                     allowBtn.click();
                     logger.info("✅ Clicked allow notification button via: {}", locator);
-                    Allure.step("✅ Notification allowed via: " + locator);
 
                     waitForMainAppElement();
                     logger.info("⏱️ Notification handled in {} ms", System.currentTimeMillis() - start);
@@ -77,12 +74,10 @@ public class NotificationPopupPage {
             }
 
             logger.info("ℹ️ No notification popup appeared.");
-            Allure.step("ℹ️ No notification popup appeared.");
             return false;
 
         } catch (Exception e) {
             logger.error("❌ Failed to handle notification", e);
-            Allure.step("❌ Failed to handle notification: " + e.getMessage());
             return false;
         }
     }
@@ -6,7 +6,6 @@ import helpers.ElementHelper;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileBy;
 import io.appium.java_client.remote.SupportsContextSwitching;
-import io.qameta.allure.Allure;
 import org.openqa.selenium.By;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -30,7 +29,6 @@ public class PermissionHandler {
 
         if (isLoginPageVisible()) {
             logger.info("ℹ️ Login page already visible. Skipping permission handling.");
-            Allure.step("ℹ️ Login page already visible. Skipping permission handling.");
             return;
         }
 
@@ -41,7 +39,6 @@ public class PermissionHandler {
             waitForLoginPage();
         } else {
             logger.info("ℹ️ No permission popups appeared.");
-            Allure.step("ℹ️ No permission popups appeared.");
         }
     }
 
@@ -51,7 +48,6 @@ public class PermissionHandler {
         if (ElementHelper.isElementPresent(locationAllowBtn, 2)) {
             driver.findElement(locationAllowBtn).click();
             logger.info("✅ Location permission allowed.");
-            Allure.step("✅ Location permission allowed.");
             return true;
         }
 
@@ -66,10 +62,8 @@ public class PermissionHandler {
         try {
             ElementHelper.waitUntilVisible(guestButton, 6);
             logger.info("✅ Login page detected after permissions.");
-            Allure.step("✅ Login page detected after permissions.");
         } catch (TimeoutException e) {
             logger.warn("⚠️ Login page not detected after permission handling: {}", e.getMessage());
-            Allure.step("⚠️ Login page not detected after permission handling: " + e.getMessage());
         }
     }
 
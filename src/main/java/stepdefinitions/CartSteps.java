@@ -2,10 +2,12 @@ package stepdefinitions;
 
 import config.ConfigurationManager;
 import helpers.CartHelper;
+import helpers.LoggerHelper;
 import io.appium.java_client.AppiumDriver;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
+import org.slf4j.Logger;
 import org.testng.Assert;
 import pages.CartPage;
 import pages.FulfilmentDetails;
@@ -15,6 +17,8 @@ import utils.ScreenshotUtil;
 import utils.TestContext;
 
 public class CartSteps {
+
+    private static final Logger logger = LoggerHelper.getLogger(CartSteps.class);
     private final AppiumDriver driver;
     private final TestContext context;
     private final HomePage homePage;
@@ -38,7 +42,7 @@ public class CartSteps {
     @Then ("the cart page should be displayed")
     public void theCartPageShouldBeDisplayed() {
         boolean displayed = cartPage.isCartPageDisplayed();
-        System.out.println("🛒 Cart page displayed: " + displayed);
+        logger.info("🛒 Cart page displayed: {}", displayed);
         Assert.assertTrue(displayed, "Cart page should be displayed");
     }
 
@@ -71,7 +75,7 @@ public class CartSteps {
         try {
             // Step 1: Verify cart page is visible
             boolean isDisplayed = cartPage.isCartPageDisplayed();
-            System.out.println("🛒 Cart page displayed: " + isDisplayed);
+            logger.info("🛒 Cart page displayed: {}", isDisplayed);
             Assert.assertTrue(isDisplayed, "❌ Cart page should be displayed");
 
             // Step 2: Parse item names and quantities from config
@@ -87,7 +91,7 @@ public class CartSteps {
                 int qty = Integer.parseInt(quantities[i].trim());
 
                 boolean result = cartPage.verifyCartItemQuantity(item, qty);
-                System.out.println("🧾 Verifying '" + item + "' with quantity " + qty + ": " + result);
+                logger.info("🧾 Verifying '{}' with quantity {}: {}", item, qty, result);
                 Assert.assertTrue(result, "❌ '" + item + "' with quantity " + qty + " not found in cart");
             }
 
@@ -103,7 +107,7 @@ public class CartSteps {
     @Then("the search product page should be displayed")
     public void theSearchProductPageShouldBeDisplayed() {
         boolean displayed = ProductsPage.isSearchProductsPageDisplayed();
-        System.out.println("📄 Search product page displayed: " + displayed);
+        logger.info("📄 Search product page displayed: {}", displayed);
         Assert.assertTrue(displayed, "Search product page should be displayed");
     }
 
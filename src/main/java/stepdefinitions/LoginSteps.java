@@ -7,7 +7,6 @@ import io.appium.java_client.MobileBy;
 import io.cucumber.java.Scenario;
 import io.cucumber.java.en.*;
 import org.openqa.selenium.By;
-import org.openqa.selenium.OutputType;
 import org.openqa.selenium.WebDriverException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +14,7 @@ import pages.home.HomePage;
 import pages.login.LoginPage;
 import pages.login.OTPPage;
 import pages.popups.NotificationPopupPage;
+import utils.ArtifactPipeline;
 import utils.SessionManager;
 import utils.ScreenshotUtil;
 import utils.TestContext;
@@ -215,8 +215,10 @@ public class LoginSteps {
     private void takeScreenshot(String label) {
         if (driver != null) {
             try {
-                byte[] screenshot = driver.getScreenshotAs(OutputType.BYTES);
-                scenario.attach(screenshot, "image/png", label);
+                byte[] screenshot = ArtifactPipeline.screenshot(driver);
+                if (screenshot != null) {
+                    ArtifactPipeline.artifact(label, screenshot, ArtifactPipeline.PNG).toCucumber(scenario).submit();
+                }
             } catch (WebDriverException ex) {
                 logger.warn("⚠️ Could not take screenshot '{}': {}", label, ex.getMessage());
             }
@@ -1,22 +1,24 @@
 package stepdefinitions;
 import config.ConfigurationManager;
+import helpers.HierarchySnapshot;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import org.testng.Assert;
 import pages.home.HomePage;
 import pages.components.PickupLocationPage;
 import pages.ProductsPage;
-import utils.LogUtils;
 import utils.TestContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
 public class ProductSteps {
 
     private final ProductsPage productsPage;
-    private final LogUtils log = new LogUtils(ProductSteps.class);
     private final HomePage homePage;
     private final PickupLocationPage pickupLocationPage;
-    private static final Logger logger = LoggerFactory.getLogger(HomeSteps.class);
+    private static final Logger logger = LoggerFactory.getLogger(ProductSteps.class);
 
     public ProductSteps(TestContext context) {
         this.productsPage = new ProductsPage(context.getDriver());
@@ -26,36 +28,36 @@ public class ProductSteps {
 
     @When("user clicks products button")
     public void userClicksProductsButton() {
-        System.out.println("🖱️ Clicking on products button...");
+        logger.info("🖱️ Clicking on products button...");
         try {
             productsPage.clickProductsButton();
-            System.out.println("✅ Clicked on products button.");
+            logger.info("✅ Clicked on products button.");
         } catch (Exception e) {
-            System.out.println("❌ Failed to click products button: " + e.getMessage());
+            logger.error("❌ Failed to click products button: {}", e.getMessage());
             Assert.fail("❌ Could not click on products button: " + e.getMessage());
         }
     }
 
     @When("the user switches to the products Delivery tab")
     public void theUserSwitchesToTheProductsDeliveryTab() {
-        System.out.println("🔄 Switching to Products Delivery tab...");
+        logger.info("🔄 Switching to Products Delivery tab...");
         try {
             productsPage.switchToProductsDeliveryTabAndVerifyFlow();
-            System.out.println("✅ Successfully switched to Products Delivery tab and verified flow.");
+            logger.info("✅ Successfully switched to Products Delivery tab and verified flow.");
         } catch (Exception e) {
-            System.out.println("❌ Failed during Products Delivery tab flow: " + e.getMessage());
+            logger.error("❌ Failed during Products Delivery tab flow: {}", e.getMessage());
             Assert.fail("❌ Could not switch to Products Delivery tab: " + e.getMessage());
         }
     }
 
     @Then("the user switches back to Self Collect tab")
     public void theUserSwitchesBackToSelfCollectTab() {
-        System.out.println("🔁 Switching back to Self Collect...");
+        logger.info("🔁 Switching back to Self Collect...");
         try {
             productsPage.switchBackToSelfCollectAndVerify();
-            System.out.println("✅ Successfully switched back to Self Collect.");
+            logger.info("✅ Successfully switched back to Self Collect.");
         } catch (Exception e) {
-            System.out.println("❌ Failed to switch back to Self Collect: " + e.getMessage());
+            logger.error("❌ Failed to switch back to Self Collect: {}", e.getMessage());
             Assert.fail("❌ Could not switch back to Self Collect: " + e.getMessage());
         }
     }
@@ -84,7 +86,8 @@ public class ProductSteps {
         logger.info("🛒 Selecting the first product in the search results...");
         try {
             productsPage.selectFirstSearchResult();
-            Thread.sleep(1000); // can be replaced with wait helper
+            // The first tap can land while the results are still re-laying out; tap again once they settle
+            HierarchySnapshot.awaitStable(Duration.ofSeconds(2));
             productsPage.selectFirstSearchResult();
             logger.info("✅ Product selected: {}", ConfigurationManager.getProperty("productName"));
         } catch (Exception e) {
@@ -33,11 +33,9 @@ public class AccountPageSteps {
     @Given("user is on Profile page")
     public void userIsOnProfilePage() {
         logger.info("🔍 Navigating to Profile page via Account...");
-        Allure.step("Navigating to Profile page via Account");
         try {
             navigationHelper.goToProfilePageViaAccount();
             logger.info("✅ User successfully landed on the Profile page.");
-            Allure.step("✅ Profile page loaded successfully");
         } catch (Exception e) {
             logger.error("❌ Error navigating to Profile page: {}", e.getMessage(), e);
             Allure.addAttachment("Profile Page Error", e.toString());
@@ -51,7 +49,6 @@ public class AccountPageSteps {
         try {
             homePage.switchToAccountPage();
             logger.info("✅ Clicked account button.");
-            Allure.step("Clicked account button successfully.");
         } catch (Exception e) {
             logger.error("❌ Error clicking account button: {}", e.getMessage(), e);
             Allure.addAttachment("Click Account Button Error", e.toString());
@@ -69,7 +66,6 @@ public class AccountPageSteps {
             if (ElementHelper.waitForElementToBeClickable(loginBtn, 10)) {
                 ElementHelper.clickElement(loginBtn);
                 logger.info("✅ Clicked Login button.");
-                Allure.step("Clicked Login button.");
             } else {
                 throw new RuntimeException("Login button not clickable");
             }
@@ -89,7 +85,6 @@ public class AccountPageSteps {
             boolean isPhoneCorrect = accountPage.isLoggedInPhoneNumberCorrect();
 
             logger.info("✅ Account profile loaded: {}, profile visible: {}, phone correct: {}", isLoaded, isProfileVisible, isPhoneCorrect);
-            Allure.step("Verified account profile elements.");
 
             Assert.assertTrue(isLoaded, "Profile page did not load within timeout.");
             Assert.assertTrue(isProfileVisible, "Profile page is not displayed.");
@@ -108,7 +103,6 @@ public class AccountPageSteps {
             boolean isLoaded = accountPage.waitForPageLoad(10);
             boolean isDisplayed = accountPage.isAccountPageDisplayed();
             logger.info("✅ Account page loaded: {}, displayed: {}", isLoaded, isDisplayed);
-            Allure.step("Account page verified.");
         } catch (Exception e) {
             logger.error("❌ Error checking Account page: {}", e.getMessage(), e);
             Allure.addAttachment("Account Page Check Error", e.toString());
@@ -121,7 +115,6 @@ public class AccountPageSteps {
         try {
             profilePage.clickProfileButton();
             logger.info("✅ Clicked profile button.");
-            Allure.step("Clicked profile button.");
         } catch (Exception e) {
             logger.error("❌ Error clicking profile button: {}", e.getMessage(), e);
             Allure.addAttachment("Profile Button Error", e.toString());
@@ -136,7 +129,6 @@ public class AccountPageSteps {
             boolean isLoaded = accountPage.waitForPageLoad(10);
             boolean isDisplayed = accountPage.isProfilePageDisplayed();
             logger.info("✅ Profile page loaded: {}, displayed: {}", isLoaded, isDisplayed);
-            Allure.step("Profile page check completed.");
         } catch (Exception e) {
             logger.error("❌ Error checking Profile page: {}", e.getMessage(), e);
             Allure.addAttachment("Profile Page Error", e.toString());
@@ -149,7 +141,6 @@ public class AccountPageSteps {
         try {
             accountPage.clickNotificationPreferencesButton();
             logger.info("✅ Clicked notification preferences button.");
-            Allure.step("Clicked notification preferences button.");
         } catch (Exception e) {
             logger.error("❌ Error clicking notification preferences button: {}", e.getMessage(), e);
             Allure.addAttachment("Notification Preferences Button Error", e.toString());
@@ -164,7 +155,6 @@ public class AccountPageSteps {
             boolean isLoaded = accountPage.waitForNotificationsPageLoad(10);
             boolean isDisplayed = accountPage.isNotificationPreferencesPageDisplayed();
             logger.info("✅ Notification Preferences page loaded: {}, displayed: {}", isLoaded, isDisplayed);
-            Allure.step("Notification Preferences page check completed.");
         } catch (Exception e) {
             logger.error("❌ Error checking Notification Preferences page: {}", e.getMessage(), e);
             Allure.addAttachment("Notification Preferences Page Error", e.toString());
@@ -177,7 +167,6 @@ public class AccountPageSteps {
         try {
             accountPage.toggleAllNotificationToggles();
             logger.info("✅ Clicked Account Verified button.");
-            Allure.step("Toggled all notification preferences.");
         } catch (Exception e) {
             logger.error("❌ Error clicking Account Verified button: {}", e.getMessage(), e);
             Allure.addAttachment("Toggle Notification Error", e.toString());
@@ -193,7 +182,6 @@ public class AccountPageSteps {
 
             if (toastDisplayed) {
                 logger.info("✅ Toast displayed after clicking update preferences.");
-                Allure.step("Toast displayed after updating preferences.");
             } else {
                 logger.warn("❌ Toast was not displayed.");
                 Allure.addAttachment("Toast Missing", "Toast message not shown.");
@@ -1,7 +1,9 @@
 package stepdefinitions.accountpage;
 
+import helpers.LoggerHelper;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Then;
+import org.slf4j.Logger;
 import pages.accountpage.AccountPage;
 
 import io.cucumber.java.en.When;
@@ -10,6 +12,8 @@ import org.testng.Assert;
 
 
 public class LogoutSteps {
+
+    private static final Logger logger = LoggerHelper.getLogger(LogoutSteps.class);
     private final AccountPage accountPage;
 
     public LogoutSteps(TestContext context) {
@@ -18,12 +22,12 @@ public class LogoutSteps {
 
     @Then("the user logs out and returns to login page")
     public void userClicksLogoutButton(){
-        System.out.println("🟡 Attempting to click Logout button...");
+        logger.info("🟡 Attempting to click Logout button...");
         try {
             accountPage.clickLogoutButton();
-            System.out.println("✅ Clicked Logout button.");
+            logger.info("✅ Clicked Logout button.");
         } catch (Exception e) {
-            System.out.println("❌ Error clicking logout button: " + e.getMessage());
+            logger.error("❌ Error clicking logout button: {}", e.getMessage());
             Assert.fail("Failed to click logout button: " + e.getMessage());
         }
     }
@@ -2,7 +2,6 @@ package stepdefinitions.accountpage;
 
 import helpers.LoggerHelper;
 import io.cucumber.java.en.And;
-import io.qameta.allure.Allure;
 import org.slf4j.Logger;
 import helpers.NavigationHelper;
 import pages.home.HomePage;
@@ -38,12 +37,10 @@ public class ProfileSteps {
     @And("the user is on profile page")
     public void theUserIsOnProfilePage() {
         logger.info("🔍 Navigating to Profile page via Account...");
-        Allure.step("Navigating to Profile page via Account");
 
         navigationHelper.goToProfilePageViaAccount();
 
         logger.info("✅ User successfully landed on the Profile page.");
-        Allure.step("✅ Profile page loaded successfully");
     }
 
 }
\ No newline at end of file
@@ -22,9 +22,7 @@ public class ordersSteps {
         HomeSteps homeSteps = new HomeSteps(context);
         HomePage homePage = new HomePage(context.getDriver());
         AccountPage accountPage = new AccountPage(context.getDriver());
-        OrderCardHelper orderCardHelper = new OrderCardHelper(context.getDriver());
         this.ordersPage = new OrdersPage(context.getDriver());
-        this.orderCardHelper = orderCardHelper;
         this.orderDetails = new OrderDetails(context.getDriver());
 
         this.navigationHelper = new NavigationHelper.Builder()
@@ -33,6 +31,7 @@ public class ordersSteps {
                 .withAccountPage(accountPage)
                 .withOrdersPage(ordersPage)
                 .build();
+        this.orderCardHelper = new OrderCardHelper(context.getDriver(), navigationHelper::goToOrderListingPageViaAccount);
     }
 
     @Given("the user is on order listing page")
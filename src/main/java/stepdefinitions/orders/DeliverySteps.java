@@ -1,10 +1,12 @@
 package stepdefinitions.orders;
 
+import helpers.LoggerHelper;
 import io.appium.java_client.AppiumDriver;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
+import org.slf4j.Logger;
 import org.testng.Assert;
 
 import pages.CartPage;
@@ -17,6 +19,8 @@ import config.ConfigurationManager;
 
 public class DeliverySteps {
 
+    private static final Logger logger = LoggerHelper.getLogger(DeliverySteps.class);
+
     private final ProductsPage ProductsPage;
     private final CartPage cartPage;
     private final FulfilmentDetails fulfilmentDetails;
@@ -39,12 +43,12 @@ public class DeliverySteps {
 
     @When("the user switches to the Delivery method page")
     public void theUserSwitchesToTheDeliveryMethodPage() {
-        System.out.println("🔄 Switching to Products Delivery tab...");
+        logger.info("🔄 Switching to Products Delivery tab...");
         try {
             fulfilmentDetails.switchToDeliveryMethod();
-            System.out.println("✅ Successfully switched to Products Delivery tab and verified flow.");
+            logger.info("✅ Successfully switched to Products Delivery tab and verified flow.");
         } catch (Exception e) {
-            System.out.println("❌ Failed during Products Delivery tab flow: " + e.getMessage());
+            logger.error("❌ Failed during Products Delivery tab flow: {}", e.getMessage());
             Assert.fail("❌ Could not switch to Products Delivery tab: " + e.getMessage());
         }
     }
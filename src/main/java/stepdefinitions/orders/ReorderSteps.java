@@ -5,7 +5,6 @@ import helpers.NavigationHelper;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
-import io.qameta.allure.Allure;
 import org.slf4j.Logger;
 import pages.CartPage;
 import pages.orders.OrderDetails;
@@ -36,41 +35,35 @@ public class ReorderSteps {
         homePage.switchToDeliveryTab();
         homePage.viewOrderAgain();
         logger.info("🔁 Clicked View Order Again button");
-        Allure.step("🔁 Clicked View Order Again button");
     }
 
     @Then("completed recent orders page should be displayed")
     public void completedRecentOrdersPageShouldBeDisplayed() {
         reorder.isorderAgainPageDisplayed();
         logger.info("✅ Reorder Page Displayed");
-        Allure.step("✅ Reorder Page Displayed");
     }
 
     @When("user clicks reorder button of the most recent order")
     public void userClicksReorderButton(){
         reorder.clickReorderButton();
         logger.info("✅ Clicked Reorder button");
-        Allure.step("✅ Clicked Reorder button");
     }
 
     @And("cart page should be displayed with the same items as the original order")
     public void cartPageShouldBeDisplayedWithTheSameItemsAsTheOriginalOrder() {
         cartPage.isCartPageDisplayed();
         logger.info("🛒 Cart page displayed");
-        Allure.step("🛒 Cart page displayed");
     }
 
     @Then("user should be able to complete the selfcollect order")
     public void userShouldBeAbleToCompleteselfcollectTheOrder() {
         logger.info("🚀 Completing self-collect reorder flow via NavigationHelper...");
-        Allure.step("🚀 Self-collect reorder flow started");
         navigationHelper.selfCollectReorderFlow();
     }
 
     @Then("user should be able to complete the delivery order")
     public void userShouldBeAbleToCompleteTheDeliveryOrder() {
         logger.info("🚀 Completing delivery reorder flow via NavigationHelper...");
-        Allure.step("🚀 Delivery reorder flow started");
         navigationHelper.deliveryReorderFlow();
     }
 
@@ -80,7 +73,6 @@ public class ReorderSteps {
     public void userClicksReOrderButton() {
         orderDetails.clickReorderButton();
         logger.info("✅ Clicked Reorder button");
-        Allure.step("✅ Clicked Reorder button");
     }
 
     @When("track order button should be visible")
@@ -1,12 +1,14 @@
 package stepdefinitions.payments;
 
 import config.ConfigurationManager;
+import helpers.LoggerHelper;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.android.AndroidDriver;
 import io.cucumber.java.Scenario;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
+import org.slf4j.Logger;
 import org.testng.Assert;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import pages.Payments;
@@ -21,6 +23,8 @@ import java.time.Duration;
 
 public class BankTransferSteps {
 
+    private static final Logger logger = LoggerHelper.getLogger(BankTransferSteps.class);
+
     private final Payments payments;
     private final AppiumDriver driver;
     private final TestContext testContext;
@@ -40,15 +44,15 @@ public class BankTransferSteps {
     @When("user selects a bank from the dropdown")
     public void user_selects_a_bank_from_the_dropdown() {
         try {
-            System.out.println("➡️ Starting to expand and select a bank...");
+            logger.info("➡️ Starting to expand and select a bank...");
 
             // Ensure Bank Transfer section is expanded, toast is dismissed, and Confirm Payment is scrolled to
             bankTransferComponent.expandBankTransferSectionIfNeeded();
 
             bankTransferComponent.selectRandomBankFromDropdown();
-            System.out.println("✅ Bank selected successfully.");
+            logger.info("✅ Bank selected successfully.");
         } catch (Exception e) {
-            System.out.println("❌ Failed to select bank: " + e.getMessage());
+            logger.error("❌ Failed to select bank: {}", e.getMessage());
             Assert.fail("❌ Failed to select bank: " + e.getMessage());
         }
     }
@@ -58,16 +62,16 @@ public class BankTransferSteps {
     public void user_enters_unique_reference_number_for_bank_transfer() {
         try {
             // NOW we log and proceed with entering the reference number
-            System.out.println("➡️ Starting to enter unique reference number for Bank Transfer...");
+            logger.info("➡️ Starting to enter unique reference number for Bank Transfer...");
 
             generatedReferenceNumber = RandomGenerator.generateRandomReference();
             bankTransferComponent.enterReferenceNumber(generatedReferenceNumber);
 
             ScreenshotUtil.captureAndAttachScreenshot(driver, testContext.getScenario(), "Entered_Ref_" + generatedReferenceNumber, false);
 
-            System.out.println("✅ Successfully entered unique reference number: " + generatedReferenceNumber);
+            logger.info("✅ Successfully entered unique reference number: {}", generatedReferenceNumber);
         } catch (Exception e) {
-            System.out.println("❌ Exception while entering reference number: " + e.getMessage());
+            logger.error("❌ Exception while entering reference number: {}", e.getMessage());
             Assert.fail("❌ Failed to enter unique reference number: " + e.getMessage());
         }
     }
@@ -77,7 +81,7 @@ public class BankTransferSteps {
     // Added Scenario parameter here too
     @When("user uploads proof of payment image")
     public void user_uploads_proof_of_payment_image() {
-        System.out.println("➡️ Starting to upload proof of payment image...");
+        logger.info("➡️ Starting to upload proof of payment image...");
 
         try {
             String fileName = ConfigurationManager.get("payment.proofOfPaymentFile");
@@ -96,98 +100,98 @@ public class BankTransferSteps {
 
         } catch (Exception e) {
             ScreenshotUtil.captureAndAttachScreenshot(driver, testContext.getScenario(), "BankTransfer", true);
-            System.out.println("❌ Error uploading proof of payment: " + e.getMessage());
+            logger.error("❌ Error uploading proof of payment: {}", e.getMessage());
             Assert.fail("❌ Failed to upload proof of payment: " + e.getMessage());
         }
     }
 
     @Then("confirm payment button should be enabled")
     public void confirm_payment_button_should_be_enabled() {
-        System.out.println("➡️ Verifying Confirm Payment button is enabled...");
+        logger.info("➡️ Verifying Confirm Payment button is enabled...");
 
         try {
             bankTransferComponent.confirmPaymentIfEnabled();
-            System.out.println("✅ Confirm Payment button is enabled.");
+            logger.info("✅ Confirm Payment button is enabled.");
         } catch (Exception e) {
-            System.out.println("❌ Confirm Payment button is not enabled: " + e.getMessage());
+            logger.error("❌ Confirm Payment button is not enabled: {}", e.getMessage());
             Assert.fail("❌ Confirm Payment button is not enabled: " + e.getMessage());
         }
     }
 
     @When("user clicks confirm payment button")
     public void user_clicks_confirm_payment_button() {
-        System.out.println("➡️ Clicking Confirm Payment button...");
+        logger.info("➡️ Clicking Confirm Payment button...");
 
         try {
             payments.clickConfirmPayment();
-            System.out.println("✅ Clicked Confirm Payment button.");
+            logger.info("✅ Clicked Confirm Payment button.");
         } catch (Exception e) {
-            System.out.println("❌ Error clicking Confirm Payment: " + e.getMessage());
+            logger.error("❌ Error clicking Confirm Payment: {}", e.getMessage());
             Assert.fail("Failed to click Confirm Payment: " + e.getMessage());
         }
     }
 
     @And("user clicks complete order button")
     public void user_clicks_complete_order_button() {
-        System.out.println("➡️ Clicking Complete Order button...");
+        logger.info("➡️ Clicking Complete Order button...");
 
         try {
             payments.clickCompleteOrder();
-            System.out.println("✅ Clicked Complete Order button.");
+            logger.info("✅ Clicked Complete Order button.");
         } catch (Exception e) {
-            System.out.println("❌ Error clicking Complete Order: " + e.getMessage());
+            logger.error("❌ Error clicking Complete Order: {}", e.getMessage());
             Assert.fail("Failed to click Complete Order: " + e.getMessage());
         }
     }
 
     @When("user clicks view order")
     public void user_clicks_view_order() {
-        System.out.println("➡️ Clicking View Order button...");
+        logger.info("➡️ Clicking View Order button...");
 
         try {
             payments.clickViewOrder();
-            System.out.println("✅ Clicked View Order button.");
+            logger.info("✅ Clicked View Order button.");
         } catch (Exception e) {
-            System.out.println("❌ Error clicking View Order: " + e.getMessage());
+            logger.error("❌ Error clicking View Order: {}", e.getMessage());
             Assert.fail("Failed to click View Order: " + e.getMessage());
         }
     }
 
     @Then("the order details page should be displayed with correct payment info")
     public void the_order_details_page_should_be_displayed_with_correct_payment_info() {
-        System.out.println("➡️ Verifying Order Details page...");
+        logger.info("➡️ Verifying Order Details page...");
 
         try {
             payments.isOrderDetailsPageVisible();
-            System.out.println("✅ Verified Order Details page.");
+            logger.info("✅ Verified Order Details page.");
         } catch (Exception e) {
-            System.out.println("❌ Error verifying Order Details: " + e.getMessage());
+            logger.error("❌ Error verifying Order Details: {}", e.getMessage());
             Assert.fail("Failed to verify Order Details: " + e.getMessage());
         }
     }
 
     @When("user clicks pay balance later button")
     public void user_clicks_pay_balance_later_button() {
-        System.out.println("➡️ Clicking Pay Balance Later button...");
+        logger.info("➡️ Clicking Pay Balance Later button...");
 
         try {
             payments.clickPayBalanceLater();
-            System.out.println("✅ Clicked Pay Balance Later button.");
+            logger.info("✅ Clicked Pay Balance Later button.");
         } catch (Exception e) {
-            System.out.println("❌ Error clicking Pay Balance Later: " + e.getMessage());
+            logger.error("❌ Error clicking Pay Balance Later: {}", e.getMessage());
             Assert.fail("Failed to click Pay Balance Later: " + e.getMessage());
         }
     }
 
     @Then("user clicks back to home button and home page should be displayed")
     public void user_clicks_back_to_home_button_and_home_page_should_be_displayed() {
-        System.out.println("➡️ Clicking Back to Home button...");
+        logger.info("➡️ Clicking Back to Home button...");
 
         try {
             payments.clickBackToHome();
-            System.out.println("✅ Clicked Back to Home button.");
+            logger.info("✅ Clicked Back to Home button.");
         } catch (Exception e) {
-            System.out.println("❌ Error clicking Back to Home: " + e.getMessage());
+            logger.error("❌ Error clicking Back to Home: {}", e.getMessage());
             Assert.fail("Failed to click Back to Home: " + e.getMessage());
         }
     }
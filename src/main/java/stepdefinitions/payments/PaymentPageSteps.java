@@ -1,9 +1,11 @@
 package stepdefinitions.payments;
 
+import helpers.LoggerHelper;
 import io.appium.java_client.AppiumDriver;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
+import org.slf4j.Logger;
 import org.testng.Assert;
 import pages.Payments;
 import pages.ActiveOrders;
@@ -12,6 +14,8 @@ import utils.TestContext;
 
 public class PaymentPageSteps {
 
+    private static final Logger logger = LoggerHelper.getLogger(PaymentPageSteps.class);
+
     private final OrderDetails orderDetails;
     private final Payments payments;
     private final ActiveOrders activeOrders;
@@ -29,36 +33,36 @@ public class PaymentPageSteps {
     // ====View Payment Page====
     @When("user clicks pay now link")
     public void userClicksPayNowLink() {
-        System.out.println("🔄 Clicking pay now link...");
+        logger.info("🔄 Clicking pay now link...");
         try {
             orderDetails.clickPayNowLink();
-            System.out.println("✅ Clicked pay now link");
+            logger.info("✅ Clicked pay now link");
         } catch (Exception e) {
-            System.out.println("❌ Error clicking pay now link: " + e.getMessage());
+            logger.error("❌ Error clicking pay now link: {}", e.getMessage());
             Assert.fail("Failed to click pay now link");
         }
 
     }
     @Then("payment page should be displayed")
     public void paymentPageShouldBeDisplayed() {
-        System.out.println("🔍 Waiting for Payment page to load...");
+        logger.info("🔍 Waiting for Payment page to load...");
         try {
             boolean isLoaded = payments.waitForPageLoad(10);
             boolean isDisplayed = payments.isPaymentsDisplayed();
-            System.out.println("✅ Payment page loaded: " + isLoaded + ", displayed: " + isDisplayed);
+            logger.info("✅ Payment page loaded: {}, displayed: {}", isLoaded, isDisplayed);
         } catch (Exception e) {
-            System.out.println("❌ Error checking Payment page: " + e.getMessage());
+            logger.error("❌ Error checking Payment page: {}", e.getMessage());
         }
     }
     @And("user has navigated to the Payment Page via Orders")
     public void theUserIsOnPaymentPage() {
-        System.out.println("Navigating to Payment Page via Orders");
+        logger.info("Navigating to Payment Page via Orders");
         activeOrders.viewActiveOrders();
         activeOrders.isActiveOrdersDisplayed();
         activeOrders.viewOrderDetails();
         orderDetails.clickPayNowLink();
         payments.waitForPageLoad(10);
-        System.out.println("✅ Clicked pay now link, waiting for Payment page to load...");
+        logger.info("✅ Clicked pay now link, waiting for Payment page to load...");
 
     }
 
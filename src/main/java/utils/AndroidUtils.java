@@ -1,6 +1,8 @@
 package utils;
 
 import helpers.ElementHelper;
+import helpers.GestureEngine;
+import helpers.Sleeps;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.MobileBy;
 import io.appium.java_client.TouchAction;
@@ -10,15 +12,10 @@ import io.appium.java_client.android.nativekey.KeyEvent;
 import io.appium.java_client.touch.WaitOptions;
 import io.appium.java_client.touch.offset.PointOption;
 import org.openqa.selenium.By;
-import org.openqa.selenium.Dimension;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.interactions.PointerInput;
-import org.openqa.selenium.interactions.Sequence;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.Duration;
-import java.util.Collections;
 import java.util.List;
 
 public class AndroidUtils {
@@ -101,46 +98,34 @@ public class AndroidUtils {
     }
 
     public static void scrollToText(AndroidDriver driver, String text) {
-        String uiSelector = "new UiScrollable(new UiSelector().scrollable(true)).scrollIntoView(new UiSelector().textContains(\"" + text + "\"))";
+        By target = MobileBy.AndroidUIAutomator("new UiSelector().textContains(\"" + text + "\")");
         try {
-            driver.findElement(MobileBy.AndroidUIAutomator(uiSelector));
-            logger.info("✅ Scrolled to element with text: {}", text);
+            GestureEngine.ScrollResult result = GestureEngine.scrollTo(target);
+            if (result.isFound()) {
+                logger.info("✅ Scrolled to element with text: {}", text);
+            } else {
+                logger.warn("❌ Failed to scroll to element with text '{}': {}", text, result);
+            }
         } catch (Exception e) {
             logger.warn("❌ Failed to scroll to element with text '{}': {}", text, e.getMessage());
         }
     }
 
     public static void swipeUp(AndroidDriver driver) {
-        Dimension size = driver.manage().window().getSize();
-        int startX = size.width / 2;
-        int startY = (int) (size.height * 0.8);
-        int endY = (int) (size.height * 0.3);
-
-        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
-        Sequence swipe = new Sequence(finger, 1);
-
-        swipe.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), startX, startY));
-        swipe.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
-        swipe.addAction(finger.createPointerMove(Duration.ofMillis(500), PointerInput.Origin.viewport(), startX, endY));
-        swipe.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
-
-        driver.perform(Collections.singletonList(swipe));
+        GestureEngine.swipe(GestureEngine.Direction.UP);
     }
 
+    /**
+     * Unconditional pause; counted against the sleep budget, see {@link Sleeps}.
+     */
     public static void sleep(long millis) {
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            System.out.println("⚠️ Sleep interrupted: " + e.getMessage());
-        }
+        Sleeps.pause(millis, "AndroidUtils.sleep");
     }
 
     public static void pressKeyWithRetry(AndroidDriver driver, AndroidKey key, int retries, long intervalMs) {
         for (int i = 0; i < retries; i++) {
             try {
                 driver.pressKey(new KeyEvent(key));
-                Thread.sleep(intervalMs);
                 logger.info("✅ Pressed key: {}", key.name());
                 return;
             } catch (Exception e) {
@@ -148,6 +133,8 @@ public class AndroidUtils {
                     logger.error("❌ Key press failed for: {} → {}", key.name(), e.getMessage());
                     throw new RuntimeException("Key press failed for: " + key.name(), e);
                 }
+                // Back off only when there is a retry to make
+                Sleeps.pause(intervalMs, "key press retry backoff");
             }
         }
     }
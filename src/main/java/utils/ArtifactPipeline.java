@@ -0,0 +1,369 @@
+package utils;
+
+import config.ConfigurationManager;
+import helpers.JfrEvents;
+import helpers.StepContext;
+import io.appium.java_client.AppiumDriver;
+import io.cucumber.java.Scenario;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Attachment;
+import org.openqa.selenium.OutputType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves screenshot and page source handling off the test thread.
+ * <p>
+ * The test thread only does the driver round trip ({@link #screenshot}) and registers the Allure
+ * attachment (thread-bound, no I/O). Disk writes and the Allure attachment content run on a small
+ * bounded pool. When its queue is full the submitting thread runs the job itself, so a burst of
+ * captures slows the test down instead of piling up memory.
+ * <p>
+ * Screenshots ({@link #PNG}) go through {@link ImageStore}: downscaled, re-encoded and written once per
+ * distinct image, with Allure and Cucumber both referring to that file. For them {@link Job#toDisk} links
+ * (or copies) the stored file to the path, under the stored file's extension, and names it in the store's index.
+ * <p>
+ * Cucumber attachments are events published on the scenario's own thread (and mirrored into Allure by
+ * its Cucumber plugin), so they are made there: {@code @After} calls {@link #awaitScenario(String)} last,
+ * which waits for anything still in flight and then attaches. A job goes to Allure or to Cucumber, not
+ * both, or Allure would get it twice.
+ * <pre>
+ * ArtifactPipeline.artifact("Failure Screenshot", ArtifactPipeline.screenshot(driver), ArtifactPipeline.PNG)
+ *         .toDisk(path).toAllure().toCucumber(scenario).submit();
+ * </pre>
+ */
+public final class ArtifactPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactPipeline.class);
+
+    public static final String PNG = "image/png";
+    public static final String XML = "text/xml";
+    public static final String TEXT = "text/plain";
+
+    private static final int threads = ConfigurationManager.getInt("artifacts.threads", 2);
+    private static final int queueCapacity = ConfigurationManager.getInt("artifacts.queueCapacity", 16);
+    private static final long drainTimeoutSeconds = ConfigurationManager.getInt("artifacts.drainTimeoutSeconds", 30);
+
+    // === Metrics ===
+    private static final AtomicLong jobs = new AtomicLong();
+    private static final AtomicLong callerRuns = new AtomicLong();
+    private static final AtomicLong failures = new AtomicLong();
+    private static final AtomicLong bytesWritten = new AtomicLong();
+    private static final AtomicLong captureMs = new AtomicLong();
+    private static final AtomicLong backgroundMs = new AtomicLong();
+    private static final AtomicLong drainWaitMs = new AtomicLong();
+
+    private static final AtomicInteger threadIds = new AtomicInteger();
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "artifact-writer-" + threadIds.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            (job, pool) -> {
+                // Back-pressure: the producer does the work itself
+                callerRuns.incrementAndGet();
+                job.run();
+            });
+
+    // Allure sources already written, when the image store is not the results directory itself
+    private static final Set<String> allureWritten = ConcurrentHashMap.newKeySet();
+
+    // Jobs submitted by the scenario on this thread that Cucumber still has to see
+    private static final ThreadLocal<List<Job>> pending = ThreadLocal.withInitial(ArrayList::new);
+
+    private ArtifactPipeline() {
+    }
+
+    /**
+     * Takes one PNG screenshot as bytes, on the calling thread.
+     *
+     * @return the PNG bytes, or null if the driver is gone or the capture failed
+     */
+    public static byte[] screenshot(AppiumDriver driver) {
+        if (driver == null || driver.getSessionId() == null) {
+            return null;
+        }
+        long start = System.currentTimeMillis();
+        JfrEvents.ScreenshotEvent event = new JfrEvents.ScreenshotEvent();
+        event.begin();
+        byte[] png = null;
+        try {
+            png = driver.getScreenshotAs(OutputType.BYTES);
+            return png;
+        } catch (Exception e) {
+            logger.error("❌ Screenshot capture failed: {}", e.getMessage());
+            return null;
+        } finally {
+            captureMs.addAndGet(System.currentTimeMillis() - start);
+            if (event.shouldCommit()) {
+                event.size = png != null ? png.length : 0;
+                event.step = StepContext.step();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Starts describing where {@code bytes} should go; nothing happens until {@link Job#submit()}.
+     */
+    public static Job artifact(String name, byte[] bytes, String mimeType) {
+        return new Job(name, bytes, mimeType);
+    }
+
+    /**
+     * One artifact and its destinations.
+     */
+    public static final class Job implements Runnable {
+        private final String name;
+        private final byte[] bytes;
+        private final String mimeType;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        // The submitting thread's device/scenario/step, so background log lines stay attributable
+        private final Map<String, String> logContext = MDC.getCopyOfContextMap();
+        private Path path;
+        private boolean allure;
+        private String allureSource;
+        private Attachment allureAttachment;
+        private String imageHash;
+        private volatile String cucumberLink;
+        private Scenario scenario;
+        private long workMs;
+
+        private Job(String name, byte[] bytes, String mimeType) {
+            this.name = name;
+            this.bytes = bytes;
+            this.mimeType = mimeType;
+        }
+
+        public Job toDisk(Path path) {
+            this.path = path;
+            return this;
+        }
+
+        public Job toAllure() {
+            this.allure = true;
+            return this;
+        }
+
+        /**
+         * Attaches to {@code scenario} from {@link #awaitScenario(String)}; ignored if the job also goes to Allure.
+         */
+        public Job toCucumber(Scenario scenario) {
+            this.scenario = scenario;
+            return this;
+        }
+
+        /**
+         * Registers the Allure attachment against the current test step, then hands the work to the pool.
+         */
+        public void submit() {
+            if (PNG.equals(mimeType) && ImageStore.isEnabled()) {
+                imageHash = ImageStore.hash(bytes);
+            }
+            if (allure && imageHash != null) {
+                // Every attachment of the same screen points at one stored file
+                allureSource = ImageStore.fileName(imageHash);
+                allureAttachment = new Attachment().setName(name).setType(ImageStore.mimeType()).setSource(allureSource);
+                attachToCurrentAllureStep(allureAttachment);
+            } else if (allure) {
+                // Binds to this thread's current step; only the content is written later
+                allureSource = Allure.getLifecycle().prepareAttachment(name, mimeType, extension(mimeType));
+            }
+            jobs.incrementAndGet();
+            if (scenario != null && allure) {
+                logger.debug("⚠️ '{}' goes to Allure; not attaching it to Cucumber as well", name);
+                scenario = null;
+            }
+            if (scenario != null) {
+                pending.get().add(this);
+            }
+            if (executor.isShutdown()) {
+                run();
+            } else {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            long start = System.currentTimeMillis();
+            JfrEvents.ArtifactEvent event = new JfrEvents.ArtifactEvent();
+            event.begin();
+            Map<String, String> previousContext = MDC.getCopyOfContextMap();
+            if (logContext != null) {
+                MDC.setContextMap(logContext);
+            }
+            try {
+                if (imageHash != null) {
+                    storeImage();
+                    return;
+                }
+                if (path != null) {
+                    Files.createDirectories(path.toAbsolutePath().getParent());
+                    Files.write(path, bytes, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                    bytesWritten.addAndGet(bytes.length);
+                    logger.info("📸 Saved {} ({} KB): {}", name, bytes.length / 1024, path);
+                }
+                if (allureSource != null) {
+                    Allure.getLifecycle().writeAttachment(allureSource, new ByteArrayInputStream(bytes));
+                }
+            } catch (IOException | RuntimeException e) {
+                failures.incrementAndGet();
+                logger.warn("⚠️ Failed to store artifact '{}': {}", name, e.getMessage());
+            } finally {
+                workMs = System.currentTimeMillis() - start;
+                backgroundMs.addAndGet(workMs);
+                if (event.shouldCommit()) {
+                    event.name = name;
+                    event.mimeType = mimeType;
+                    event.size = bytes.length;
+                    event.commit();
+                }
+                if (previousContext != null) {
+                    MDC.setContextMap(previousContext);
+                } else {
+                    MDC.clear();
+                }
+                done.complete(null);
+            }
+        }
+
+        private void storeImage() throws IOException {
+            ImageStore.StoredImage image = ImageStore.store(imageHash, bytes, mimeType, extension(mimeType), path != null ? path.toString() : name);
+            if (path != null) {
+                logger.info("📸 Saved {}: {}", name, ImageStore.place(image, path));
+            }
+            if (allureAttachment != null && !image.isReencoded()) {
+                // Stored as captured: point the attachment (not yet written with its step) at the file and type it really is
+                allureSource = image.getPath().getFileName().toString();
+                allureAttachment.setSource(allureSource).setType(image.getMimeType());
+            }
+            if (allureSource != null && !ImageStore.isAllureResults() && allureWritten.add(allureSource)) {
+                Allure.getLifecycle().writeAttachment(allureSource, new ByteArrayInputStream(image.bytes()));
+            }
+            if (scenario != null) {
+                cucumberLink = ImageStore.cucumberLink(image);
+            }
+        }
+
+        /**
+         * Runs on the scenario's thread: the stored image's link once written, else the bytes as captured.
+         */
+        private void attachToCucumber() {
+            String link = cucumberLink;
+            if (link != null) {
+                scenario.attach(link, "text/uri-list", name);
+            } else {
+                scenario.attach(bytes, mimeType, name);
+            }
+        }
+    }
+
+    private static void attachToCurrentAllureStep(Attachment attachment) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        Optional<String> current = lifecycle.getCurrentTestCaseOrStep();
+        if (!current.isPresent()) {
+            logger.debug("⚠️ No Allure test running; '{}' not attached", attachment.getName());
+        } else if (current.equals(lifecycle.getCurrentTestCase())) {
+            lifecycle.updateTestCase(testCase -> testCase.getAttachments().add(attachment));
+        } else {
+            lifecycle.updateStep(step -> step.getAttachments().add(attachment));
+        }
+    }
+
+    /**
+     * Waits for the artifacts this thread submitted for the current scenario, then attaches them to
+     * Cucumber from this thread before it closes. Call last in {@code @After}, after any other teardown work.
+     */
+    public static void awaitScenario(String scenarioName) {
+        List<Job> jobsForScenario = pending.get();
+        pending.remove();
+        if (jobsForScenario.isEmpty()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            CompletableFuture.allOf(jobsForScenario.stream().map(job -> job.done).toArray(CompletableFuture[]::new))
+                    .get(drainTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("⏱️ Artifacts for '{}' still writing after {}s", scenarioName, drainTimeoutSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("⚠️ Waiting for artifacts of '{}' failed: {}", scenarioName, e.getMessage());
+        }
+        long waited = System.currentTimeMillis() - start;
+        drainWaitMs.addAndGet(waited);
+
+        for (Job job : jobsForScenario) {
+            try {
+                job.attachToCucumber();
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                logger.warn("⚠️ Failed to attach '{}' to Cucumber: {}", job.name, e.getMessage());
+            }
+        }
+
+        long work = jobsForScenario.stream().mapToLong(job -> job.workMs).sum();
+        logger.info("📦 {} artifact(s) for '{}': {} ms of writing off the test thread, {} ms waited at teardown",
+                jobsForScenario.size(), scenarioName, work, waited);
+    }
+
+    /**
+     * Finishes queued work and logs totals; later submissions run inline.
+     */
+    public static void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(drainTimeoutSeconds, TimeUnit.SECONDS)) {
+                logger.warn("⏱️ Artifact writers still busy after {}s", drainTimeoutSeconds);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logStats();
+    }
+
+    public static void logStats() {
+        logger.info("📊 Artifacts: {} job(s), {} KB written, {} ms capturing on test threads, {} ms writing in background "
+                        + "({} ms of it waited for at teardown, {} run inline under back-pressure), {} failure(s)",
+                jobs.get(), bytesWritten.get() / 1024, captureMs.get(), backgroundMs.get(),
+                drainWaitMs.get(), callerRuns.get(), failures.get());
+        ImageStore.logStats();
+    }
+
+    private static String extension(String mimeType) {
+        switch (mimeType) {
+            case PNG:
+                return ".png";
+            case XML:
+                return ".xml";
+            default:
+                return ".txt";
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package utils;
 
+import helpers.LoggerHelper;
+import org.slf4j.Logger;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -7,6 +9,8 @@ import java.util.Properties;
 
 public class ConfigReader {
 
+    private static final Logger logger = LoggerHelper.getLogger(ConfigReader.class);
+
     private static Properties properties = new Properties();
 
     static {
@@ -17,9 +21,9 @@ public class ConfigReader {
         String relativePath = "src/main/resources/config.properties";  // Update path to main/resources
         try (FileInputStream input = new FileInputStream(relativePath)) {
             properties.load(input);
-            System.out.println("Loaded config.properties from relative path: " + relativePath);
+            logger.info("Loaded config.properties from relative path: {}", relativePath);
         } catch (IOException e) {
-            System.err.println("Failed to load config.properties from relative path: " + relativePath);
+            logger.error("❌ Failed to load config.properties from relative path: {}", relativePath);
             throw new RuntimeException("Failed to load config.properties file.");
         }
     }
@@ -27,7 +31,7 @@ public class ConfigReader {
     public static String getProperty(String key) {
         String value = properties.getProperty(key);
         if (value == null) {
-            System.err.println("Warning: Property key '" + key + "' not found in config.properties");
+            logger.warn("⚠️ Property key '{}' not found in config.properties", key);
         }
         return value;
     }
@@ -1,11 +1,15 @@
 package utils;
 
+import helpers.LoggerHelper;
 import io.appium.java_client.AppiumDriver;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
 
 public class DriverUtils {
 
+    private static final Logger logger = LoggerHelper.getLogger(DriverUtils.class);
+
     /**
      * Checks if the driver is invalid or its session is not active.
      *
@@ -16,7 +20,7 @@ public class DriverUtils {
         try {
             return driver == null || driver.getSessionId() == null;
         } catch (WebDriverException e) {
-            System.err.println("⚠️ Driver session check failed: " + e.getMessage());
+            logger.warn("⚠️ Driver session check failed: {}", e.getMessage());
             return true;
         }
     }
@@ -32,7 +36,7 @@ public class DriverUtils {
         try {
             return driver.findElement(By.xpath("//*[@content-desc='Continue as Guest']")).isDisplayed();
         } catch (Exception e) {
-            System.out.println("🔍 Not on login screen: " + e.getMessage());
+            logger.info("🔍 Not on login screen: {}", e.getMessage());
             return false;
         }
     }
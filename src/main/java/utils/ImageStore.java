@@ -0,0 +1,345 @@
+package utils;
+
+import config.ConfigurationManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed store for screenshots: each distinct image is downscaled, re-encoded and written
+ * once, as {@code <hash>-attachment.<ext>}, however many reports and labels refer to it.
+ * <p>
+ * By default the store is the Allure results directory itself, so the stored file is the Allure attachment
+ * (every attachment of the same screen shares its source) and the Cucumber report links to it instead of
+ * embedding a copy. The hash is taken over the raw capture, so an unchanged screen is recognised before any
+ * encoding. {@code artifacts.images.index} maps each label to its image. Images wider than
+ * {@code artifacts.images.maxWidth} are scaled down; {@code artifacts.images.format} is {@code jpg}
+ * (at {@code artifacts.images.quality}) or {@code png}. A capture ImageIO cannot decode is stored as captured,
+ * under the capture's own extension and MIME type (see {@link StoredImage#getMimeType()}).
+ */
+public final class ImageStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageStore.class);
+
+    private static final boolean enabled =
+            Boolean.parseBoolean(ConfigurationManager.getProperty("artifacts.images.enabled", "true"));
+    private static final int maxWidth = ConfigurationManager.getInt("artifacts.images.maxWidth", 720);
+    private static final String format = ConfigurationManager.getProperty("artifacts.images.format", "jpg").toLowerCase();
+    private static final float quality = Float.parseFloat(ConfigurationManager.getProperty("artifacts.images.quality", "0.7"));
+    private static final Path allureResults = Paths.get(System.getProperty("allure.results.directory", "allure-results"));
+    private static final Path dir = Paths.get(ConfigurationManager.getProperty("artifacts.images.dir", allureResults.toString()));
+    private static final Path indexFile = Paths.get(ConfigurationManager.getProperty("artifacts.images.index", "target/image-index.tsv"));
+    private static final Path cucumberReportDir = Paths.get(ConfigurationManager.getProperty("artifacts.images.cucumberReportDir", "target/cucumber-reports"));
+    // From the Cucumber report to wherever the store (by default allure.results.directory) really is
+    private static final String cucumberLinkBase = ConfigurationManager.getProperty("artifacts.images.cucumberLinkBase", linkBase(cucumberReportDir, dir));
+
+    private static final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private static final Map<String, CompletableFuture<StoredImage>> images = new ConcurrentHashMap<>();
+
+    // === Metrics ===
+    private static final AtomicLong stored = new AtomicLong();
+    private static final AtomicLong reused = new AtomicLong();
+    private static final AtomicLong rawBytes = new AtomicLong();
+    private static final AtomicLong storedBytes = new AtomicLong();
+    private static final AtomicLong encodeMs = new AtomicLong();
+
+    private ImageStore() {
+    }
+
+    /**
+     * One image as written to the store.
+     */
+    public static final class StoredImage {
+        private final String hash;
+        private final Path path;
+        private final int rawLength;
+        private final int storedLength;
+        private final long encodeMillis;
+        private final String mimeType;
+        private final boolean reencoded;
+        // Only set for the caller that wrote the image; not kept in the store's index
+        private final byte[] encoded;
+
+        StoredImage(String hash, Path path, int rawLength, int storedLength, long encodeMillis, String mimeType,
+                    boolean reencoded, byte[] encoded) {
+            this.hash = hash;
+            this.path = path;
+            this.rawLength = rawLength;
+            this.storedLength = storedLength;
+            this.encodeMillis = encodeMillis;
+            this.mimeType = mimeType;
+            this.reencoded = reencoded;
+            this.encoded = encoded;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public int getRawLength() {
+            return rawLength;
+        }
+
+        public int getStoredLength() {
+            return storedLength;
+        }
+
+        public long getEncodeMillis() {
+            return encodeMillis;
+        }
+
+        /**
+         * @return {@link ImageStore#mimeType()} when re-encoded, the capture's own type when stored as captured
+         */
+        public String getMimeType() {
+            return mimeType;
+        }
+
+        /**
+         * @return false if the capture could not be decoded and was stored as captured
+         */
+        public boolean isReencoded() {
+            return reencoded;
+        }
+
+        /**
+         * @return the stored bytes, read back from disk if another caller wrote them
+         */
+        public byte[] bytes() throws IOException {
+            return encoded != null ? encoded : Files.readAllBytes(path);
+        }
+
+        StoredImage withoutBytes() {
+            return new StoredImage(hash, path, rawLength, storedLength, encodeMillis, mimeType, reencoded, null);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Hashes a raw capture; cheap enough for the test thread.
+     */
+    public static String hash(byte[] raw) {
+        byte[] digest = digests.get().digest(raw);
+        StringBuilder hex = new StringBuilder(40);
+        // 160 bits is plenty to tell screenshots apart and keeps file names short
+        for (int i = 0; i < 20; i++) {
+            hex.append(String.format("%02x", digest[i]));
+        }
+        return hex.toString();
+    }
+
+    public static String fileName(String hash) {
+        return hash + "-attachment." + format;
+    }
+
+    /**
+     * @return true if stored files already are Allure attachments and need no second copy
+     */
+    public static boolean isAllureResults() {
+        return dir.toAbsolutePath().normalize().equals(allureResults.toAbsolutePath().normalize());
+    }
+
+    /**
+     * @return the extension (with the dot) images are re-encoded to
+     */
+    public static String extension() {
+        return "." + format;
+    }
+
+    public static String mimeType() {
+        return "png".equals(format) ? "image/png" : "image/jpeg";
+    }
+
+    /**
+     * @return where the Cucumber report finds the image, relative to the report
+     */
+    public static String cucumberLink(StoredImage image) {
+        return cucumberLinkBase + image.getPath().getFileName();
+    }
+
+    private static String linkBase(Path from, Path to) {
+        String relative = from.toAbsolutePath().normalize().relativize(to.toAbsolutePath().normalize()).toString().replace('\\', '/');
+        return relative.isEmpty() ? "" : relative + "/";
+    }
+
+    /**
+     * Puts a stored image at {@code target} as well, with the stored file's extension: a hard link where the file
+     * system allows, else a copy.
+     *
+     * @return where the image was put
+     */
+    public static Path place(StoredImage image, Path target) throws IOException {
+        String stored = image.getPath().getFileName().toString();
+        String wanted = target.getFileName().toString();
+        int dot = wanted.lastIndexOf('.');
+        Path placed = target.resolveSibling((dot > 0 ? wanted.substring(0, dot) : wanted) + stored.substring(stored.lastIndexOf('.')));
+        Files.createDirectories(placed.toAbsolutePath().getParent());
+        Files.deleteIfExists(placed);
+        try {
+            Files.createLink(placed, image.getPath());
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(image.getPath(), placed);
+        }
+        return placed;
+    }
+
+    /**
+     * Encodes and writes {@code raw} unless an image with {@code hash} is already stored, and records
+     * {@code label} against it in the index.
+     *
+     * @param rawMimeType   what {@code raw} is, for when it cannot be decoded and is stored as captured
+     * @param rawExtension  file extension (with the dot) for {@code rawMimeType}
+     */
+    public static StoredImage store(String hash, byte[] raw, String rawMimeType, String rawExtension, String label) throws IOException {
+        CompletableFuture<StoredImage> mine = new CompletableFuture<>();
+        CompletableFuture<StoredImage> existing = images.putIfAbsent(hash, mine);
+        if (existing != null) {
+            StoredImage image;
+            try {
+                image = existing.join();
+            } catch (CompletionException e) {
+                throw new IOException("Storing " + fileName(hash) + " failed", e.getCause());
+            }
+            reused.incrementAndGet();
+            rawBytes.addAndGet(raw.length);
+            logger.info("♻️ '{}' is already stored as {}", label, image.getPath().getFileName());
+            index(label, image);
+            return image;
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            byte[] encoded = encode(raw);
+            long millis = System.currentTimeMillis() - start;
+
+            boolean reencoded = encoded != null;
+            if (!reencoded) {
+                logger.warn("⚠️ '{}' is not a decodable image; storing it as captured ({})", label, rawMimeType);
+                encoded = raw;
+            }
+            Path path = dir.resolve(reencoded ? fileName(hash) : hash + "-attachment" + rawExtension);
+            Files.createDirectories(dir);
+            Files.write(path, encoded, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+
+            StoredImage image = new StoredImage(hash, path, raw.length, encoded.length, millis,
+                    reencoded ? mimeType() : rawMimeType, reencoded, encoded);
+            mine.complete(image.withoutBytes());
+            stored.incrementAndGet();
+            rawBytes.addAndGet(raw.length);
+            storedBytes.addAndGet(encoded.length);
+            encodeMs.addAndGet(millis);
+            logger.info("🗜️ Stored '{}' as {}: {} KB → {} KB in {} ms", label, path.getFileName(),
+                    raw.length / 1024, encoded.length / 1024, millis);
+            index(label, image);
+            return image;
+        } catch (IOException | RuntimeException e) {
+            images.remove(hash, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public static void logStats() {
+        long images = stored.get() + reused.get();
+        logger.info("📊 Images: {} attached, {} stored, {} deduplicated; {} KB captured → {} KB on disk, avg encode {} ms",
+                images, stored.get(), reused.get(), rawBytes.get() / 1024, storedBytes.get() / 1024,
+                stored.get() == 0 ? 0 : encodeMs.get() / stored.get());
+    }
+
+    // === Encoding ===
+
+    /**
+     * @return the downscaled, re-encoded image, or null if ImageIO cannot decode {@code raw}
+     */
+    private static byte[] encode(byte[] raw) throws IOException {
+        BufferedImage source;
+        try {
+            source = ImageIO.read(new ByteArrayInputStream(raw));
+        } catch (IOException e) {
+            // Recognised format but corrupt or truncated data
+            return null;
+        }
+        if (source == null) {
+            return null;
+        }
+
+        int width = Math.min(source.getWidth(), maxWidth);
+        int height = (int) Math.round(source.getHeight() * (width / (double) source.getWidth()));
+        BufferedImage target = new BufferedImage(width, height,
+                "png".equals(format) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4);
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed() && !"png".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(target, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static synchronized void index(String label, StoredImage image) {
+        String line = String.join("\t", Instant.now().toString(), label.replaceAll("\\s+", " "),
+                image.getPath().getFileName().toString()) + System.lineSeparator();
+        try {
+            if (indexFile.getParent() != null) {
+                Files.createDirectories(indexFile.getParent());
+            }
+            Files.write(indexFile, line.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.debug("⚠️ Could not update image index: {}", e.getMessage());
+        }
+    }
+}
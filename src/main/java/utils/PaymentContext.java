@@ -0,0 +1,57 @@
+package utils;
+
+/**
+ * Payment details captured during one scenario. Owned by the scenario's {@link TestContext}
+ * and exposed to page objects through {@link PaymentContextManager}.
+ */
+public class PaymentContext {
+
+    private volatile String method;
+    private volatile String amount;
+    private volatile String referenceNumber;
+    private volatile String timestamp;
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getAmount() {
+        return amount;
+    }
+
+    public void setAmount(String amount) {
+        this.amount = amount;
+    }
+
+    public String getReferenceNumber() {
+        return referenceNumber;
+    }
+
+    public void setReferenceNumber(String referenceNumber) {
+        this.referenceNumber = referenceNumber;
+    }
+
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(String timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public void clear() {
+        method = null;
+        amount = null;
+        referenceNumber = null;
+        timestamp = null;
+    }
+
+    @Override
+    public String toString() {
+        return "Method=" + method + ", Amount=" + amount + ", Ref=" + referenceNumber + ", Time=" + timestamp;
+    }
+}
@@ -3,65 +3,81 @@ package utils;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
+import helpers.LoggerHelper;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 
 import io.appium.java_client.AppiumDriver;
+import org.slf4j.Logger;
 
+/**
+ * Static access to the payment details of the scenario running on the current thread.
+ * Hooks binds the scenario's {@link TestContext#getPaymentContext()} before each scenario,
+ * so parallel scenarios never see each other's values.
+ */
 public class PaymentContextManager {
-    private static String paymentMethod;
-    private static String amount;
-    private static String referenceNumber;
-    private static String timestamp;
+
+    private static final Logger logger = LoggerHelper.getLogger(PaymentContextManager.class);
+    private static final ThreadLocal<PaymentContext> current = ThreadLocal.withInitial(PaymentContext::new);
 
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("M/d/yyyy,hh:mm:ss a");
 
+    public static void bind(PaymentContext context) {
+        current.set(context);
+    }
+
+    public static void clear() {
+        current.remove();
+    }
+
+    public static PaymentContext current() {
+        return current.get();
+    }
+
     public static void setPaymentMethod(String methodName) {
-        paymentMethod = methodName;
-        System.out.println("📌 Payment method set to: " + paymentMethod);
+        current().setMethod(methodName);
+        logger.info("📌 Payment method set to: {}", methodName);
     }
 
     public static void capturePaymentDetails(AppiumDriver driver, String amountFieldLocator, String refFieldLocator) {
+        PaymentContext context = current();
         try {
-            timestamp = LocalDateTime.now().format(formatter);
+            context.setTimestamp(LocalDateTime.now().format(formatter));
 
             WebElement amountField = driver.findElement(By.id(amountFieldLocator));
-            amount = amountField.getText();
+            context.setAmount(amountField.getText());
 
             WebElement refField = driver.findElement(By.id(refFieldLocator));
-            referenceNumber = refField.getText();
+            context.setReferenceNumber(refField.getText());
 
-            System.out.println("📦 Captured Payment Details:");
-            System.out.println("⏰ Time: " + timestamp);
-            System.out.println("💰 Amount: " + amount);
-            System.out.println("🔖 Ref #: " + referenceNumber);
+            // One line, so parallel devices' details cannot interleave
+            logger.info("📦 Captured Payment Details: ⏰ Time: {} | 💰 Amount: {} | 🔖 Ref #: {}",
+                    context.getTimestamp(), context.getAmount(), context.getReferenceNumber());
         } catch (Exception e) {
-            System.out.println("❌ Failed to capture payment details: " + e.getMessage());
+            logger.error("❌ Failed to capture payment details: {}", e.getMessage());
             throw e;
         }
     }
 
     public static String getPaymentMethod() {
-        return paymentMethod;
+        return current().getMethod();
     }
 
     public static String getAmount() {
-        return amount;
+        return current().getAmount();
     }
 
     public static String getReferenceNumber() {
-        return referenceNumber;
+        return current().getReferenceNumber();
     }
 
     public static String getTimestamp() {
-        return timestamp;
+        return current().getTimestamp();
     }
 
     public static void printContext() {
-        System.out.println("🔎 Stored Payment Context:");
-        System.out.println("Method: " + paymentMethod);
-        System.out.println("Amount: " + amount);
-        System.out.println("Ref #: " + referenceNumber);
-        System.out.println("Time: " + timestamp);
+        PaymentContext context = current();
+        logger.info("🔎 Stored Payment Context: Method: {} | Amount: {} | Ref #: {} | Time: {}",
+                context.getMethod(), context.getAmount(), context.getReferenceNumber(), context.getTimestamp());
     }
-}
\ No newline at end of file
+}
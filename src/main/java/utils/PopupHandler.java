@@ -1,12 +1,16 @@
 package utils;
 
+import helpers.LoggerHelper;
 import io.appium.java_client.AppiumDriver;
+import org.slf4j.Logger;
 
 /**
  * Utility class for handling various in-app popups.
  */
 public class PopupHandler {
 
+    private static final Logger logger = LoggerHelper.getLogger(PopupHandler.class);
+
     private final AppiumDriver driver;
 
     public PopupHandler(AppiumDriver driver) {
@@ -18,6 +22,6 @@ public class PopupHandler {
      */
     public void handleDiscountPopupIfPresent() {
         // Add logic for handling in-app popups like discount banners here.
-        System.out.println("ℹ️ No popup handling required at this time.");
+        logger.info("ℹ️ No popup handling required at this time.");
     }
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package utils;
 
+import helpers.LoggerHelper;
+import org.slf4j.Logger;
 import java.util.Random;
 
 public class RandomGenerator {
 
+    private static final Logger logger = LoggerHelper.getLogger(RandomGenerator.class);
+
     public static String generateRandomReference() {
         String characters = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
         StringBuilder ref = new StringBuilder();
@@ -17,7 +21,7 @@ public class RandomGenerator {
             length = Integer.parseInt(ConfigReader.getProperty("payment.refLength"));
         } catch (NumberFormatException e) {
             length = 8; // fallback
-            System.out.println("⚠️ Invalid 'payment.refLength'. Using default value: 8");
+            logger.warn("⚠️ Invalid 'payment.refLength'. Using default value: 8");
         }
 
         ref.append(prefix != null ? prefix : "");
@@ -1,10 +1,14 @@
 package utils;
 
+import helpers.LoggerHelper;
+import org.slf4j.Logger;
 import org.testng.IRetryAnalyzer;
 import org.testng.ITestResult;
 
 public class RetryAnalyzer implements IRetryAnalyzer {
 
+    private static final Logger logger = LoggerHelper.getLogger(RetryAnalyzer.class);
+
     private int retryCount = 0;
     private final int maxRetryCount = 2;
 
@@ -12,7 +16,7 @@ public class RetryAnalyzer implements IRetryAnalyzer {
     public boolean retry(ITestResult result) {
         if (retryCount < maxRetryCount) {
             retryCount++;
-            System.out.println("🔁 Retrying test: " + result.getName() + " | Attempt: " + (retryCount + 1));
+            logger.info("🔁 Retrying test: {} | Attempt: {}", result.getName(), retryCount + 1);
             return true;
         }
         return false;
@@ -1,11 +1,13 @@
 package utils;
 
 import helpers.ElementHelper;
-
-import java.time.LocalTime;
+import helpers.LoggerHelper;
+import org.slf4j.Logger;
 
 public class SessionManager {
 
+    private static final Logger logger = LoggerHelper.getLogger(SessionManager.class);
+
     private static final ThreadLocal<Boolean> loggedIn = ThreadLocal.withInitial(() -> false);
     private static final ThreadLocal<String> accessToken = new ThreadLocal<>();
     private static final ThreadLocal<String> userId = new ThreadLocal<>();
@@ -87,21 +89,11 @@ public class SessionManager {
         cartId.remove();
         orderRef.remove();
         balanceAmount.remove();
-        log("🔄 Session reset (loggedIn=false, other data cleared)");
+        logger.info("🔄 Session reset (loggedIn=false, other data cleared)");
     }
 
     public static void printSessionState() {
-        log("🧾 Session State:");
-        log("  - loggedIn: " + isLoggedIn());
-        log("  - accessToken: " + getAccessToken());
-        log("  - userId: " + getUserId());
-        log("  - userRole: " + getUserRole());
-        log("  - cartId: " + getCartId());
-        log("  - orderRef: " + getOrderRef());
-        log("  - balanceAmount: " + getBalanceAmount());
-    }
-
-    private static void log(String message) {
-        System.out.println("[" + LocalTime.now() + "] " + message);
+        logger.info("🧾 Session State: loggedIn={}, accessToken={}, userId={}, userRole={}, cartId={}, orderRef={}, balanceAmount={}",
+                isLoggedIn(), getAccessToken(), getUserId(), getUserRole(), getCartId(), getOrderRef(), getBalanceAmount());
     }
 }
\ No newline at end of file
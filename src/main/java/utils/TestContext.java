@@ -1,15 +1,20 @@
 package utils;
 
 import drivers.DriverManager;
+import helpers.LoggerHelper;
 import helpers.NavigationHelper;
+import helpers.OrderCardIndex;
 import io.appium.java_client.AppiumDriver;
 import io.cucumber.java.Scenario;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
 
 import java.time.Duration;
 
 public class TestContext {
 
+    private static final Logger logger = LoggerHelper.getLogger(TestContext.class);
+
     private AppiumDriver driver;
     private WebDriverWait wait;
     private Scenario scenario;
@@ -17,11 +22,11 @@ public class TestContext {
 
     private static final Duration TIMEOUT = Duration.ofSeconds(30);
 
-    // ==== Shared Payment Context ====
-    public static String paymentMethod;
-    public static String referenceNumber;
-    public static String paymentAmount;
-    public static String paymentDateTime;
+    // ==== Scenario Payment Context ====
+    private final PaymentContext paymentContext = new PaymentContext();
+
+    // ==== Scenario Order Card Index ====
+    private final OrderCardIndex orderCardIndex = new OrderCardIndex();
 
     // === Driver & Wait Management ===
 
@@ -52,9 +57,9 @@ public class TestContext {
         if (driver != null) {
             try {
                 driver.quit();
-                System.out.println("🧹 Driver terminated");
+                logger.info("🧹 Driver terminated");
             } catch (Exception e) {
-                System.err.println("⚠️ Failed to quit driver: " + e.getMessage());
+                logger.warn("⚠️ Failed to quit driver: {}", e.getMessage());
             } finally {
                 driver = null;
                 wait = null;
@@ -63,6 +68,15 @@ public class TestContext {
         }
     }
 
+    /**
+     * Drops this context's driver reference without quitting it, for sessions
+     * already handed to {@link drivers.SessionPool} for asynchronous shutdown.
+     */
+    public void releaseDriver() {
+        driver = null;
+        wait = null;
+    }
+
     public Scenario getScenario() {
         return scenario;
     }
@@ -79,13 +93,18 @@ public class TestContext {
         this.navigationHelper = navigationHelper;
     }
 
+    public PaymentContext getPaymentContext() {
+        return paymentContext;
+    }
+
+    public OrderCardIndex getOrderCardIndex() {
+        return orderCardIndex;
+    }
+
     // === Debug Info ===
 
-    public static void logPaymentContext() {
-        System.out.println("📦 Payment Context:");
-        System.out.println("  📌 Method: " + paymentMethod);
-        System.out.println("  💰 Amount: " + paymentAmount);
-        System.out.println("  🧾 Reference: " + referenceNumber);
-        System.out.println("  🕒 DateTime: " + paymentDateTime);
+    public void logPaymentContext() {
+        logger.info("📦 Payment Context: 📌 Method: {} | 💰 Amount: {} | 🧾 Reference: {} | 🕒 DateTime: {}",
+                paymentContext.getMethod(), paymentContext.getAmount(), paymentContext.getReferenceNumber(), paymentContext.getTimestamp());
     }
 }
\ No newline at end of file
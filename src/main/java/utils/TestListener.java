@@ -1,62 +1,59 @@
 package utils;
 
 import drivers.DriverManager;
+import drivers.FlightRecorder;
+import helpers.LoggerHelper;
 import io.appium.java_client.AppiumDriver;
-import org.apache.commons.io.FileUtils;
-import org.openqa.selenium.OutputType;
+import org.slf4j.Logger;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-import java.io.File;
-import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 public class TestListener implements ITestListener {
 
+    private static final Logger logger = LoggerHelper.getLogger(TestListener.class);
+
     @Override
     public void onTestSuccess(ITestResult result) {
-        System.out.println("✅ Test passed: " + result.getName());
-        captureScreenshot(result, "passed");
+        logger.info("✅ Test passed: {}", result.getName());
+        if (FlightRecorder.recordsPasses()) {
+            captureScreenshot(result, "passed");
+        }
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
-        System.out.println("❌ Test failed: " + result.getName());
+        logger.error("❌ Test failed: {}", result.getName());
         captureScreenshot(result, "failed");
     }
 
     private void captureScreenshot(ITestResult result, String status) {
         AppiumDriver driver = DriverManager.getDriver();
         if (driver == null) {
-            System.out.println("⚠️ Driver is null. Cannot capture screenshot.");
+            logger.warn("⚠️ Driver is null. Cannot capture screenshot.");
             return;
         }
 
         // Additional check: make sure session is active
         try {
             if (driver.getSessionId() == null) {
-                System.out.println("⚠️ Session is null. Driver might have crashed. Skipping screenshot.");
+                logger.warn("⚠️ Session is null. Driver might have crashed. Skipping screenshot.");
                 return;
             }
 
-            File srcFile = driver.getScreenshotAs(OutputType.FILE);
-            String screenshotDir = System.getProperty("user.dir") + File.separator +
-                    "test-results" + File.separator + "screenshots" + File.separator + status;
-            File destDir = new File(screenshotDir);
-            if (!destDir.exists() && !destDir.mkdirs()) {
-                System.out.println("⚠️ Failed to create screenshot folder: " + destDir.getAbsolutePath());
+            byte[] screenshot = ArtifactPipeline.screenshot(driver);
+            if (screenshot == null) {
+                logger.warn("⚠️ Screenshot capture returned nothing. Skipping.");
                 return;
             }
 
             String methodName = result.getName().replaceAll("[^a-zA-Z0-9-_]", "_");
-            String fileName = methodName + ".png";
-
-            File destFile = new File(destDir, fileName);
-            FileUtils.copyFile(srcFile, destFile);
-
-            System.out.println("📸 Screenshot saved: " + destFile.getAbsolutePath());
-
+            Path destFile = Paths.get(System.getProperty("user.dir"), "test-results", "screenshots", status, methodName + ".png");
+            ArtifactPipeline.artifact(methodName, screenshot, ArtifactPipeline.PNG).toDisk(destFile).submit();
         } catch (Exception e) {
-            System.err.println("❌ Screenshot capture failed: " + e.getMessage());
+            logger.error("❌ Screenshot capture failed: {}", e.getMessage());
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package utils.debug;
+
+import helpers.AppStateDetector;
+import helpers.HierarchySnapshot;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Classifies saved page sources with the screen fingerprints, offline, and times the classification.
+ * <p>
+ * Each argument is {@code path[=EXPECTED_STATE]}; a mismatch with the expected state exits with status 1.
+ * Without arguments {@code pickup_view.xml} is expected to classify as {@code PRODUCT_SCREEN}.
+ * <p>
+ * Usage: {@code java utils.debug.AppStateClassifierCheck [dump.xml[=STATE] ...]}
+ */
+public class AppStateClassifierCheck {
+
+    private static final int ITERATIONS = 500;
+
+    public static void main(String[] args) throws Exception {
+        String[] dumps = args.length > 0 ? args : new String[]{"pickup_view.xml=PRODUCT_SCREEN"};
+        boolean ok = true;
+
+        for (String arg : dumps) {
+            String[] parts = arg.split("=", 2);
+            String xml = new String(Files.readAllBytes(Paths.get(parts[0])), StandardCharsets.UTF_8);
+
+            long parseStart = System.nanoTime();
+            HierarchySnapshot snapshot = HierarchySnapshot.parse(xml);
+            long parseMicros = (System.nanoTime() - parseStart) / 1000;
+
+            AppStateDetector.Detection detection = AppStateDetector.classify(snapshot);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                AppStateDetector.classify(snapshot);
+            }
+            double classifyMicros = (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+
+            System.out.printf("📍 %s → %s [parse %d µs, classify %.1f µs]%n", parts[0], detection, parseMicros, classifyMicros);
+
+            if (parts.length > 1 && !detection.getState().name().equals(parts[1])) {
+                System.err.println("❌ Expected " + parts[1] + " for " + parts[0]);
+                ok = false;
+            }
+        }
+
+        if (!ok) {
+            System.exit(1);
+        }
+        System.out.println("✅ All dumps classified as expected");
+    }
+}
@@ -0,0 +1,247 @@
+package utils.debug;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reads a JFR recording made with {@code src/test/resources/jfr/automation.jfc} and reports, per Cucumber step
+ * (from the {@code automation.Step} events of {@code helpers.JfrEvents}), what the test JVM spent while it ran:
+ * <ul>
+ *     <li>CPU: execution samples on the step's thread, split by the top frame's owner (framework code,
+ *     the Selenium/Appium client and its HTTP stack, the JDK, anything else)</li>
+ *     <li>allocation: sampled bytes allocated on the step's thread</li>
+ *     <li>GC pause time overlapping the step, and time the thread was parked, blocked or sleeping</li>
+ *     <li>waits and Appium commands issued</li>
+ * </ul>
+ * Activity on test threads outside any step is reported as {@code (between steps)}; threads that never run a
+ * step (artifact writers, session pool) as {@code (other threads)}. The hottest framework frames by CPU and by
+ * allocation follow the table.
+ * <p>
+ * Usage: {@code java utils.debug.JfrStepReport [recording.jfr] [samplePeriodMs]}
+ */
+public class JfrStepReport {
+
+    private static final String[] FRAMEWORK = {"config.", "drivers.", "helpers.", "pages.", "stepdefinitions.", "hooks.", "utils.", "runners."};
+    private static final String[] CLIENT = {"org.openqa.", "io.appium.", "io.netty.", "org.asynchttpclient.", "com.google."};
+    private static final String[] JDK = {"java.", "javax.", "jdk.", "sun.", "com.sun."};
+
+    private static final String BETWEEN_STEPS = "(between steps)";
+    private static final String OTHER_THREADS = "(other threads)";
+
+    private static final int TOP_FRAMES = 10;
+
+    private static final class Span {
+        final long start;
+        final long end;
+        final String step;
+
+        Span(long start, long end, String step) {
+            this.start = start;
+            this.end = end;
+            this.step = step;
+        }
+    }
+
+    private static final class Stats {
+        long runs;
+        long wallNanos;
+        long samples;
+        long frameworkSamples;
+        long clientSamples;
+        long jdkSamples;
+        long allocatedBytes;
+        long gcNanos;
+        long blockedNanos;
+        long waits;
+        long waitNanos;
+        long commands;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path file = Paths.get(args.length > 0 ? args[0] : "target/automation.jfr");
+        long periodMs = args.length > 1 ? Long.parseLong(args[1]) : 10;
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Map<Long, TreeMap<Long, Span>> stepsByThread = new HashMap<>();
+        Map<String, Stats> stats = new HashMap<>();
+        List<RecordedEvent> gcs = new ArrayList<>();
+
+        for (RecordedEvent event : events) {
+            String type = event.getEventType().getName();
+            if (type.equals("automation.Step")) {
+                long start = nanos(event.getStartTime());
+                String step = event.getString("step");
+                stepsByThread.computeIfAbsent(threadId(event.getThread()), k -> new TreeMap<>())
+                        .put(start, new Span(start, nanos(event.getEndTime()), step));
+                Stats s = stats.computeIfAbsent(step, k -> new Stats());
+                s.runs++;
+                s.wallNanos += event.getDuration().toNanos();
+            } else if (type.equals("jdk.GarbageCollection")) {
+                gcs.add(event);
+            }
+        }
+
+        Map<String, Long> hotCpu = new HashMap<>();
+        Map<String, Long> hotAlloc = new HashMap<>();
+        for (RecordedEvent event : events) {
+            String type = event.getEventType().getName();
+            switch (type) {
+                case "jdk.ExecutionSample" -> {
+                    Stats s = stats.computeIfAbsent(stepAt(stepsByThread, event.getThread("sampledThread"), event.getStartTime()), k -> new Stats());
+                    s.samples++;
+                    String owner = topFrame(event.getStackTrace(), null);
+                    if (owner == null) {
+                        continue;
+                    }
+                    if (startsWithAny(owner, FRAMEWORK)) {
+                        s.frameworkSamples++;
+                    } else if (startsWithAny(owner, CLIENT)) {
+                        s.clientSamples++;
+                    } else if (startsWithAny(owner, JDK)) {
+                        s.jdkSamples++;
+                    }
+                    String framework = topFrame(event.getStackTrace(), FRAMEWORK);
+                    if (framework != null) {
+                        hotCpu.merge(framework, 1L, Long::sum);
+                    }
+                }
+                case "jdk.ObjectAllocationSample" -> {
+                    long weight = event.getLong("weight");
+                    stats.computeIfAbsent(stepAt(stepsByThread, event.getThread(), event.getStartTime()), k -> new Stats()).allocatedBytes += weight;
+                    String framework = topFrame(event.getStackTrace(), FRAMEWORK);
+                    if (framework != null) {
+                        hotAlloc.merge(framework, weight, Long::sum);
+                    }
+                }
+                case "jdk.ThreadPark", "jdk.JavaMonitorEnter", "jdk.ThreadSleep" ->
+                        stats.computeIfAbsent(stepAt(stepsByThread, event.getThread(), event.getStartTime()), k -> new Stats()).blockedNanos
+                                += event.getDuration().toNanos();
+                case "automation.Wait" -> {
+                    Stats s = stats.computeIfAbsent(stepAt(stepsByThread, event.getThread(), event.getStartTime()), k -> new Stats());
+                    s.waits++;
+                    s.waitNanos += event.getDuration().toNanos();
+                }
+                case "automation.Command" ->
+                        stats.computeIfAbsent(stepAt(stepsByThread, event.getThread(), event.getStartTime()), k -> new Stats()).commands++;
+                default -> {
+                }
+            }
+        }
+
+        // GC pauses stop every thread: charge each step the pause time that overlaps it
+        for (RecordedEvent gc : gcs) {
+            long gcStart = nanos(gc.getStartTime());
+            long gcEnd = nanos(gc.getEndTime());
+            long pauses = gc.getDuration("sumOfPauses").toNanos();
+            for (TreeMap<Long, Span> spans : stepsByThread.values()) {
+                // steps on one thread never overlap, so walking back from the GC's end we can stop at the first that ended before it
+                for (Span span : spans.headMap(gcEnd, false).descendingMap().values()) {
+                    if (span.end <= gcStart) {
+                        break;
+                    }
+                    long overlap = Math.min(span.end, gcEnd) - Math.max(span.start, gcStart);
+                    stats.get(span.step).gcNanos += Math.min(overlap, pauses);
+                }
+            }
+        }
+
+        print(file, events.size(), periodMs, stats);
+        printHot("🔥 Hottest framework frames by CPU samples", hotCpu, v -> v + " sample(s), ~" + v * periodMs + " ms");
+        printHot("🧱 Hottest framework frames by sampled allocation", hotAlloc, v -> v / 1024 + " KB");
+    }
+
+    private static void print(Path file, int eventCount, long periodMs, Map<String, Stats> stats) {
+        System.out.printf("📼 %s: %d event(s), CPU at ~%d ms per sample%n%n", file, eventCount, periodMs);
+        System.out.printf("%5s %9s %8s %6s %6s %6s %9s %7s %9s %6s %8s %5s  %s%n", "runs", "wall ms", "cpu ms", "fw%", "client%", "jdk%",
+                "alloc KB", "gc ms", "block ms", "waits", "wait ms", "cmds", "step");
+        List<Map.Entry<String, Stats>> rows = new ArrayList<>(stats.entrySet());
+        rows.sort(Comparator.comparingLong((Map.Entry<String, Stats> e) -> e.getValue().samples).reversed());
+        for (Map.Entry<String, Stats> row : rows) {
+            Stats s = row.getValue();
+            System.out.printf("%5d %9d %8d %6d %6d %6d %9d %7d %9d %6d %8d %5d  %s%n", s.runs, s.wallNanos / 1_000_000, s.samples * periodMs,
+                    percent(s.frameworkSamples, s.samples), percent(s.clientSamples, s.samples), percent(s.jdkSamples, s.samples),
+                    s.allocatedBytes / 1024, s.gcNanos / 1_000_000, s.blockedNanos / 1_000_000, s.waits, s.waitNanos / 1_000_000,
+                    s.commands, row.getKey());
+        }
+    }
+
+    private interface Format {
+        String of(long value);
+    }
+
+    private static void printHot(String title, Map<String, Long> frames, Format format) {
+        if (frames.isEmpty()) {
+            return;
+        }
+        System.out.printf("%n%s%n", title);
+        frames.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(TOP_FRAMES)
+                .forEach(e -> System.out.printf("  %-70s %s%n", e.getKey(), format.of(e.getValue())));
+    }
+
+    // === Attribution ===
+
+    private static String stepAt(Map<Long, TreeMap<Long, Span>> stepsByThread, RecordedThread thread, Instant time) {
+        TreeMap<Long, Span> spans = stepsByThread.get(threadId(thread));
+        if (spans == null) {
+            return OTHER_THREADS;
+        }
+        long at = nanos(time);
+        Map.Entry<Long, Span> entry = spans.floorEntry(at);
+        return entry != null && at <= entry.getValue().end ? entry.getValue().step : BETWEEN_STEPS;
+    }
+
+    /**
+     * @return {@code Class.method} of the innermost frame, or of the innermost frame in {@code packages} if given
+     */
+    private static String topFrame(RecordedStackTrace stack, String[] packages) {
+        if (stack == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stack.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String name = frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+            if (packages == null || startsWithAny(name, packages)) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    private static boolean startsWithAny(String name, String[] prefixes) {
+        for (String prefix : prefixes) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long threadId(RecordedThread thread) {
+        return thread == null ? -1 : thread.getJavaThreadId();
+    }
+
+    private static long nanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private static long percent(long part, long whole) {
+        return whole == 0 ? 0 : 100 * part / whole;
+    }
+}
@@ -0,0 +1,133 @@
+package utils.debug;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal SMTP sink on localhost for exercising the report email without a real server: accepts any
+ * sender and recipient (no AUTH, no STARTTLS) and keeps every message it receives in memory.
+ * <p>
+ * {@link #failNext(int)} makes the next connections answer {@code 421}, to exercise retries;
+ * {@link #rejectRecipients(boolean)} makes RCPT fail permanently.
+ * <p>
+ * Usage: {@code java utils.debug.LocalSmtpServer [port]} keeps a server running and prints each message
+ * size; run the suite with {@code -Demail.host=localhost -Demail.port=<port> -Demail.auth=false
+ * -Demail.starttls=false -Demail.enabled=true}.
+ */
+public class LocalSmtpServer implements AutoCloseable {
+
+    private final ServerSocket server;
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger connections = new AtomicInteger();
+    private volatile boolean rejectRecipients;
+
+    public LocalSmtpServer(int port) throws IOException {
+        server = new ServerSocket(port);
+        Thread acceptor = new Thread(this::acceptLoop, "local-smtp");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public static void main(String[] args) throws Exception {
+        try (LocalSmtpServer smtp = new LocalSmtpServer(args.length > 0 ? Integer.parseInt(args[0]) : 2525)) {
+            System.out.println("📮 Local SMTP listening on port " + smtp.getPort());
+            int seen = 0;
+            while (true) {
+                Thread.sleep(500);
+                for (; seen < smtp.messages().size(); seen++) {
+                    System.out.println("📨 Message " + (seen + 1) + ": " + smtp.messages().get(seen).length() / 1024 + " KB");
+                }
+            }
+        }
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * @return the raw DATA of every message received so far
+     */
+    public List<String> messages() {
+        return messages;
+    }
+
+    public int connections() {
+        return connections.get();
+    }
+
+    public void failNext(int count) {
+        failures.set(count);
+    }
+
+    public void rejectRecipients(boolean reject) {
+        rejectRecipients = reject;
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+    }
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            try (Socket socket = server.accept()) {
+                connections.incrementAndGet();
+                handle(socket);
+            } catch (IOException e) {
+                if (!server.isClosed()) {
+                    System.err.println("⚠️ SMTP session failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handle(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        OutputStream raw = socket.getOutputStream();
+        PrintWriter out = new PrintWriter(raw, true, StandardCharsets.US_ASCII);
+
+        if (failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            reply(out, "421 localhost Service not available, try later");
+            return;
+        }
+        reply(out, "220 localhost ESMTP stand-in");
+        for (String line; (line = in.readLine()) != null; ) {
+            String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+            switch (command) {
+                case "EHLO" -> reply(out, "250 localhost");
+                case "HELO", "MAIL", "RSET", "NOOP" -> reply(out, "250 OK");
+                case "RCPT" -> reply(out, rejectRecipients ? "550 No such user" : "250 OK");
+                case "DATA" -> {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    StringBuilder message = new StringBuilder();
+                    for (String data; (data = in.readLine()) != null && !data.equals("."); ) {
+                        message.append(data.startsWith("..") ? data.substring(1) : data).append("\r\n");
+                    }
+                    messages.add(message.toString());
+                    reply(out, "250 OK queued");
+                }
+                case "QUIT" -> {
+                    reply(out, "221 Bye");
+                    return;
+                }
+                default -> reply(out, "502 Command not implemented");
+            }
+        }
+    }
+
+    private static void reply(PrintWriter out, String line) {
+        out.print(line + "\r\n");
+        out.flush();
+    }
+}
@@ -0,0 +1,145 @@
+package utils.debug;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import helpers.LoggerHelper;
+import helpers.StepContext;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.TestResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.regex.Matcher;
+
+/**
+ * Measures what logging costs a test thread per Gherkin step, before and after the move to the async,
+ * MDC-tagged pipeline.
+ * <ul>
+ *     <li><b>before</b>: the old {@code LogUtils} path, a regex {@code replaceFirst} per argument, a synchronous
+ *     file appender and an {@code Allure.step} per line</li>
+ *     <li><b>after</b>: parameterised slf4j calls with device/scenario/step MDC, queued to an
+ *     {@link AsyncAppender} in front of the same file appender; report steps only at step boundaries</li>
+ * </ul>
+ * Both write the same pattern to a temporary file; the async run also reports how long its queue took to drain
+ * afterwards, which is work moved off the test thread rather than removed.
+ * <p>
+ * Usage: {@code java utils.debug.LoggingOverheadBenchmark [steps] [linesPerStep]}
+ */
+public class LoggingOverheadBenchmark {
+
+    private static final String PATTERN = "%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} [%X{udid:--}] [%X{scenario:--}] [%X{step:--}] - %msg%n";
+
+    public static void main(String[] args) throws Exception {
+        int steps = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int linesPerStep = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+        Path dir = Files.createTempDirectory("logging-benchmark");
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger logger = LoggerHelper.getLogger(LoggingOverheadBenchmark.class);
+
+        // Warm-up on both paths, then the measured runs
+        run(context, dir.resolve("warmup-before.log"), false, logger, steps / 10, linesPerStep);
+        run(context, dir.resolve("warmup-after.log"), true, logger, steps / 10, linesPerStep);
+        long[] before = run(context, dir.resolve("before.log"), false, logger, steps, linesPerStep);
+        long[] after = run(context, dir.resolve("after.log"), true, logger, steps, linesPerStep);
+
+        System.out.printf("📏 %d steps × %d lines, logs in %s%n", steps, linesPerStep, dir);
+        System.out.printf("⏱️ Before: %7.1f µs per step on the test thread%n", before[0] / 1000.0 / steps);
+        System.out.printf("⏱️ After : %7.1f µs per step on the test thread (+%d ms draining the queue afterwards)%n",
+                after[0] / 1000.0 / steps, after[1] / 1_000_000);
+        System.out.printf("📉 %.1fx less time spent logging per step%n", before[0] / (double) Math.max(1, after[0]));
+    }
+
+    /**
+     * @return nanoseconds spent on the test thread, and nanoseconds spent draining the async queue
+     */
+    private static long[] run(LoggerContext context, Path file, boolean async, Logger logger, int steps, int linesPerStep) {
+        Appender<ILoggingEvent> appender = configure(context, file, async);
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName("logging benchmark"));
+        lifecycle.startTestCase(uuid);
+
+        LoggerHelper.tag(LoggerHelper.DEVICE, "emulator-5554");
+        StepContext.scenarioStarted("Guest checkout with bank transfer");
+        long start = System.nanoTime();
+        for (int step = 0; step < steps; step++) {
+            String stepText = "When user selects bank " + (step % 7);
+            if (async) {
+                // One report step per Gherkin step, as the Cucumber plugin does
+                StepContext.stepStarted(stepText);
+                Allure.step(stepText);
+                for (int line = 0; line < linesPerStep; line++) {
+                    logger.info("👉 Tapping '{}' ({} of {}) after {} ms", "confirmPaymentBtn.text", line, linesPerStep, step);
+                }
+                StepContext.stepFinished();
+            } else {
+                for (int line = 0; line < linesPerStep; line++) {
+                    String message = legacyFormat("👉 Tapping '{}' ({} of {}) after {} ms", "confirmPaymentBtn.text", line, linesPerStep, step);
+                    logger.info(message);
+                    Allure.step("ℹ️ " + message);
+                }
+            }
+        }
+        long onThread = System.nanoTime() - start;
+        StepContext.scenarioFinished();
+        LoggerHelper.tag(LoggerHelper.DEVICE, null);
+
+        long drainStart = System.nanoTime();
+        // Stopping an async appender waits for its queue to empty
+        appender.stop();
+        long drain = System.nanoTime() - drainStart;
+
+        lifecycle.stopTestCase(uuid);
+        return new long[]{onThread, async ? drain : 0};
+    }
+
+    private static Appender<ILoggingEvent> configure(LoggerContext context, Path file, boolean async) {
+        context.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setName("FILE");
+        fileAppender.setFile(file.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> appender = fileAppender;
+        if (async) {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(context);
+            asyncAppender.setName("ASYNC_FILE");
+            asyncAppender.setQueueSize(2048);
+            asyncAppender.setDiscardingThreshold(0);
+            asyncAppender.setMaxFlushTime(60_000);
+            asyncAppender.addAppender(fileAppender);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+
+        ch.qos.logback.classic.Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        root.addAppender(appender);
+        return appender;
+    }
+
+    // The removed LogUtils formatter, kept for comparison
+    private static String legacyFormat(String message, Object... args) {
+        for (Object arg : args) {
+            message = message.replaceFirst("\\{\\}", Matcher.quoteReplacement(String.valueOf(arg)));
+        }
+        return message;
+    }
+}
@@ -15,8 +15,6 @@ import java.util.List;
 
 public class LoginDebugger {
 
-    private static final WebDriver driver = DriverManager.getDriver();
-    private static final WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
 
     public static void debugGuestLogin(Scenario scenario) {
         String guestText = ConfigurationManager.getProperty("continueAsGuest.accessibility");
@@ -31,6 +29,8 @@ public class LoginDebugger {
     }
 
     private static void tryLocateAndClick(String visibleText, Scenario scenario, String screenshotName) {
+        WebDriver driver = DriverManager.getDriver();
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
         try {
             // 1. Try UIAutomator exact match
             By exactBy = MobileBy.AndroidUIAutomator("new UiSelector().text(\"" + visibleText + "\")");
@@ -0,0 +1,173 @@
+package utils.debug;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Static report of call sites that use a positive-wait API (one that waits out its timeout before
+ * answering "no") where absence is a likely answer and a zero-wait probe from {@code helpers.ElementProbe}
+ * would do.
+ * <p>
+ * A call is flagged when it is negated, sits inside a loop, guards an optional element
+ * (method names such as {@code ...IfPresent}, {@code handle...Popup}) or is a shortcut check
+ * ("already on ..."). Findings are sorted by the time each one costs when the element is absent.
+ * <p>
+ * Usage: {@code java utils.debug.NegativeCheckAudit [sourceRoot ...]} (defaults to src/main/java and src/test/java)
+ */
+public class NegativeCheckAudit {
+
+    // API name -> timeout in seconds when no explicit timeout argument is passed
+    private static final Map<String, Integer> POSITIVE_WAIT_APIS = Map.of(
+            "isElementDisplayed", 10,
+            "isElementPresent", 5,
+            "waitUntilVisible", 0,
+            "waitForElementToBeVisible", 0,
+            "waitForElementVisible", 0,
+            "getElement", 10);
+
+    private static final Pattern CALL = Pattern.compile(
+            "(!\\s*)?(?:ElementHelper\\.)?\\b(" + String.join("|", POSITIVE_WAIT_APIS.keySet()) + ")\\s*\\(([^;]*)");
+    private static final Pattern LOOP_HEADER = Pattern.compile("\\b(while|for)\\s*\\(|\\bdo\\s*\\{");
+    private static final Pattern METHOD_DECLARATION = Pattern.compile(
+            "^\\s*(?:public|private|protected)\\s+[^=;(]*?\\b(\\w+)\\s*\\(");
+    private static final Pattern OPTIONAL_METHOD = Pattern.compile(
+            "(?i).*(ifpresent|ifneeded|ifvisible|ifshown|dismiss|skip|close|popup|permission|optional|toast).*");
+    private static final Pattern SHORTCUT_HINT = Pattern.compile("(?i)already|if shown|not shown|optional|if present|popup");
+    private static final Pattern TIMEOUT_ARG = Pattern.compile(",\\s*(\\d+)\\s*\\)");
+
+    public static void main(String[] args) throws IOException {
+        List<Path> roots = new ArrayList<>();
+        for (String arg : args.length > 0 ? args : new String[]{"src/main/java", "src/test/java"}) {
+            roots.add(Paths.get(arg));
+        }
+
+        List<Finding> findings = new ArrayList<>();
+        for (Path root : roots) {
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(root)) {
+                for (Path file : files.filter(f -> f.toString().endsWith(".java")).collect(Collectors.toList())) {
+                    if (file.endsWith("ElementHelper.java") || file.endsWith("ElementProbe.java")) {
+                        continue; // the APIs themselves
+                    }
+                    scan(root.relativize(file).toString(), Files.readAllLines(file, StandardCharsets.UTF_8), findings);
+                }
+            }
+        }
+
+        findings.sort(Comparator.comparingInt((Finding f) -> -f.timeoutSeconds).thenComparing(f -> f.location));
+
+        System.out.println("🔎 Positive-wait APIs used for likely-negative checks: " + findings.size());
+        int totalSeconds = 0;
+        for (Finding finding : findings) {
+            totalSeconds += finding.timeoutSeconds;
+            System.out.printf("  ➤ %-60s %-26s %3ds  %s%n",
+                    finding.location, finding.api, finding.timeoutSeconds, String.join(", ", finding.reasons));
+        }
+        System.out.println("⏱️ Worst case if every flagged element is absent once: " + totalSeconds + " s");
+        System.out.println("💡 Replace with ElementProbe.isPresentNow/isVisibleNow, waitForAnyVisible or waitUntilAbsent.");
+    }
+
+    static void scan(String file, List<String> lines, List<Finding> findings) {
+        Deque<Integer> loopDepths = new ArrayDeque<>();
+        int depth = 0;
+        String method = "";
+
+        for (int i = 0; i < lines.size(); i++) {
+            String code = stripStringsAndComments(lines.get(i));
+
+            Matcher declaration = METHOD_DECLARATION.matcher(code);
+            if (declaration.find() && !code.contains(" new ") && !code.contains("=")) {
+                method = declaration.group(1);
+            }
+            if (LOOP_HEADER.matcher(code).find()) {
+                loopDepths.push(depth);
+            }
+
+            Matcher call = CALL.matcher(lines.get(i));
+            while (call.find()) {
+                Set<String> reasons = new LinkedHashSet<>();
+                if (call.group(1) != null) {
+                    reasons.add("negated");
+                }
+                if (!loopDepths.isEmpty()) {
+                    reasons.add("in loop");
+                }
+                if (OPTIONAL_METHOD.matcher(method).matches()) {
+                    reasons.add("optional element (" + method + ")");
+                }
+                if (hasShortcutHint(lines, i)) {
+                    reasons.add("shortcut/optional check");
+                }
+                if (!reasons.isEmpty()) {
+                    String api = call.group(2);
+                    findings.add(new Finding(file + ":" + (i + 1), api, timeoutOf(api, call.group(3)), reasons));
+                }
+            }
+
+            for (char c : code.toCharArray()) {
+                if (c == '{') {
+                    depth++;
+                } else if (c == '}') {
+                    depth--;
+                    while (!loopDepths.isEmpty() && depth <= loopDepths.peek()) {
+                        loopDepths.pop();
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean hasShortcutHint(List<String> lines, int index) {
+        for (int i = Math.max(0, index - 1); i <= Math.min(lines.size() - 1, index + 3); i++) {
+            if (SHORTCUT_HINT.matcher(lines.get(i)).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int timeoutOf(String api, String arguments) {
+        Matcher explicit = TIMEOUT_ARG.matcher(arguments);
+        if (explicit.find()) {
+            return Integer.parseInt(explicit.group(1));
+        }
+        return POSITIVE_WAIT_APIS.get(api);
+    }
+
+    private static String stripStringsAndComments(String line) {
+        String withoutStrings = line.replaceAll("\"(\\\\.|[^\"\\\\])*\"", "\"\"").replaceAll("'(\\\\.|[^'\\\\])'", "''");
+        int comment = withoutStrings.indexOf("//");
+        return comment >= 0 ? withoutStrings.substring(0, comment) : withoutStrings;
+    }
+
+    static final class Finding {
+        final String location;
+        final String api;
+        final int timeoutSeconds;
+        final Set<String> reasons;
+
+        Finding(String location, String api, int timeoutSeconds, Set<String> reasons) {
+            this.location = location;
+            this.api = api;
+            this.timeoutSeconds = timeoutSeconds;
+            this.reasons = reasons;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package utils.debug;
+
+import helpers.ReportArchiver;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Benchmark for {@link ReportArchiver} against the previous recursive {@code java.io.File} zipper, on a
+ * synthetic Allure-like report tree (JSON results, text/HTML, random-content PNGs).
+ * <p>
+ * Each archiver runs {@code rounds} times after one warm-up; the new archive is then read back with
+ * {@link ZipInputStream} and every entry's CRC and the entry count checked against the source tree.
+ * <p>
+ * Usage: {@code java utils.debug.ReportArchiverBenchmark [files] [rounds] [workDir]}
+ */
+public class ReportArchiverBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int files = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        Path work = args.length > 2 ? Paths.get(args[2]) : Files.createTempDirectory("report-archiver-bench");
+        Path report = work.resolve("allure-report");
+        Path legacyZip = work.resolve("legacy.zip");
+        Path newZip = work.resolve("archiver.zip");
+
+        Map<String, Long> expected = generate(report, files);
+        System.out.printf("🧪 Generated %d files under %s%n", expected.size(), report);
+
+        long legacy = time(rounds, () -> legacyZip(report.toString(), legacyZip.toString()));
+        long archiver = time(rounds, () -> ReportArchiver.archive(report, newZip));
+        System.out.printf("⏱️ Legacy zipper : %6d ms, %6d KB%n", legacy, Files.size(legacyZip) / 1024);
+        System.out.printf("⏱️ ReportArchiver: %6d ms, %6d KB (%.1fx faster)%n", archiver, Files.size(newZip) / 1024,
+                archiver == 0 ? 0.0 : legacy / (double) archiver);
+
+        if (!verify(newZip, expected)) {
+            System.exit(1);
+        }
+        System.out.println("✅ Archive verified: every entry present with a matching CRC");
+    }
+
+    // === Synthetic report ===
+
+    private static Map<String, Long> generate(Path report, int files) throws IOException {
+        if (Files.exists(report)) {
+            try (Stream<Path> old = Files.walk(report)) {
+                old.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+        Random random = new Random(42);
+        Map<String, Long> expected = new HashMap<>();
+        for (int i = 0; i < files; i++) {
+            // Roughly the mix of a real report: 60% JSON, 25% text/HTML, 15% screenshots
+            int kind = i % 20;
+            Path file;
+            byte[] content;
+            if (kind < 12) {
+                file = report.resolve("data/test-cases/" + (i % 50) + "/" + i + "-result.json");
+                content = json(random, i).getBytes(StandardCharsets.UTF_8);
+            } else if (kind < 17) {
+                file = report.resolve("data/attachments/" + i + (kind % 2 == 0 ? "-log.txt" : "-page.html"));
+                content = text(random, i).getBytes(StandardCharsets.UTF_8);
+            } else {
+                file = report.resolve("data/attachments/" + i + "-attachment.png");
+                // Random bytes stand in for already-compressed image data
+                content = new byte[20_000 + random.nextInt(80_000)];
+                random.nextBytes(content);
+            }
+            Files.createDirectories(file.getParent());
+            Files.write(file, content);
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            expected.put(report.getFileName() + "/" + report.relativize(file).toString().replace('\\', '/'), crc.getValue());
+        }
+        return expected;
+    }
+
+    private static String json(Random random, int i) {
+        StringBuilder json = new StringBuilder("{\"uid\":\"").append(Long.toHexString(random.nextLong()))
+                .append("\",\"name\":\"Scenario ").append(i).append("\",\"status\":\"passed\",\"steps\":[");
+        int steps = 5 + random.nextInt(25);
+        for (int s = 0; s < steps; s++) {
+            json.append(s == 0 ? "" : ",").append("{\"name\":\"Given the user taps element ").append(random.nextInt(100))
+                    .append("\",\"status\":\"passed\",\"start\":").append(1_700_000_000_000L + random.nextInt(1_000_000))
+                    .append(",\"stop\":").append(1_700_000_000_000L + random.nextInt(1_000_000)).append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String text(Random random, int i) {
+        StringBuilder text = new StringBuilder();
+        int lines = 20 + random.nextInt(200);
+        for (int l = 0; l < lines; l++) {
+            text.append("12:00:").append(l % 60).append(" INFO  step ").append(i).append(" 👉 Clicking element #")
+                    .append(random.nextInt(1000)).append(System.lineSeparator());
+        }
+        return text.toString();
+    }
+
+    // === Timing and verification ===
+
+    private interface Run {
+        void run() throws Exception;
+    }
+
+    private static long time(int rounds, Run run) throws Exception {
+        run.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            run.run();
+        }
+        return (System.nanoTime() - start) / 1_000_000 / Math.max(1, rounds);
+    }
+
+    private static boolean verify(Path zip, Map<String, Long> expected) throws IOException {
+        int found = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(zip))) {
+            for (ZipEntry entry; (entry = in.getNextEntry()) != null; ) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                CRC32 crc = new CRC32();
+                for (int read; (read = in.read(buffer)) > 0; ) {
+                    crc.update(buffer, 0, read);
+                }
+                Long want = expected.get(entry.getName());
+                if (want == null || want != crc.getValue()) {
+                    System.out.println("❌ Unexpected or corrupt entry: " + entry.getName());
+                    return false;
+                }
+                found++;
+            }
+        }
+        if (found != expected.size()) {
+            System.out.printf("❌ Archive has %d of %d files%n", found, expected.size());
+            return false;
+        }
+        return true;
+    }
+
+    // === The previous zipper, kept verbatim for comparison ===
+
+    private static void legacyZip(String sourceFolderPath, String zipFilePath) throws IOException {
+        FileOutputStream fos = new FileOutputStream(zipFilePath);
+        ZipOutputStream zos = new ZipOutputStream(fos);
+
+        File folderToZip = new File(sourceFolderPath);
+        legacyZipFile(folderToZip, folderToZip.getName(), zos);
+        zos.close();
+        fos.close();
+    }
+
+    private static void legacyZipFile(File fileToZip, String fileName, ZipOutputStream zos) throws IOException {
+        if (fileToZip.isHidden()) return;
+
+        if (fileToZip.isDirectory()) {
+            if (!fileName.endsWith("/")) fileName += "/";
+            zos.putNextEntry(new ZipEntry(fileName));
+            zos.closeEntry();
+
+            File[] children = fileToZip.listFiles();
+            if (children != null) {
+                for (File child : children) {
+                    legacyZipFile(child, fileName + child.getName(), zos);
+                }
+            }
+            return;
+        }
+
+        InputStream fis = new FileInputStream(fileToZip);
+        ZipEntry zipEntry = new ZipEntry(fileName);
+        zos.putNextEntry(zipEntry);
+
+        byte[] bytes = new byte[1024];
+        int length;
+        while ((length = fis.read(bytes)) >= 0) {
+            zos.write(bytes, 0, length);
+        }
+        fis.close();
+    }
+}
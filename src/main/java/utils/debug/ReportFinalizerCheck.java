@@ -0,0 +1,98 @@
+package utils.debug;
+
+import helpers.ReportArchiver;
+import helpers.ReportFinalizer;
+import helpers.ReportFinalizer.Delivery;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * Offline check of {@link ReportFinalizer}'s delivery policy against a {@link LocalSmtpServer}: attach,
+ * summarise when over the size limit or when there is no zip, retry transient failures, and give up at once
+ * on rejected recipients.
+ * <p>
+ * Run from the project root (email.properties is read from src/main/resources).
+ * <p>
+ * Usage: {@code java utils.debug.ReportFinalizerCheck}
+ */
+public class ReportFinalizerCheck {
+
+    private static int failures;
+
+    public static void main(String[] args) throws Exception {
+        try (LocalSmtpServer smtp = new LocalSmtpServer(0)) {
+            System.setProperty("email.enabled", "true");
+            System.setProperty("email.host", "localhost");
+            System.setProperty("email.port", String.valueOf(smtp.getPort()));
+            System.setProperty("email.auth", "false");
+            System.setProperty("email.starttls", "false");
+            System.setProperty("email.retries", "2");
+            System.setProperty("email.retryBackoffMs", "50");
+
+            Path work = Files.createTempDirectory("report-finalizer-check");
+            Path report = work.resolve("allure-report");
+            Files.createDirectories(report.resolve("data"));
+            Files.write(report.resolve("index.html"), "<html>report</html>".getBytes(StandardCharsets.UTF_8));
+            byte[] noise = new byte[200_000];
+            new Random(7).nextBytes(noise);
+            Files.write(report.resolve("data/screen.png"), noise);
+            Path zip = ReportArchiver.archive(report, work.resolve("allure-report.zip")).getTarget();
+
+            ReportFinalizer.scenarioFinished("Guest checkout", "PASSED");
+            ReportFinalizer.scenarioFinished("Pay by bank transfer", "FAILED");
+            String summary = ReportFinalizer.summary();
+            check("summary lists the failure", summary.contains("FAILED: 1") && summary.contains("Pay by bank transfer"));
+
+            long limit = 20L * 1024 * 1024;
+            expect("small report is attached", smtp, 1, ReportFinalizer.deliver(zip, summary, limit), Delivery.ATTACHED,
+                    message -> message.contains("Allure-Report.zip") && message.contains("Pay by bank transfer"));
+            expect("large report is summarised", smtp, 1, ReportFinalizer.deliver(zip, summary, 1024), Delivery.SUMMARY_ONLY,
+                    message -> !message.contains("Allure-Report.zip") && message.contains("not attached"));
+            expect("missing zip is summarised", smtp, 1, ReportFinalizer.deliver(null, summary, limit), Delivery.SUMMARY_ONLY,
+                    message -> message.contains("could not be zipped"));
+
+            smtp.failNext(2);
+            expect("transient failures are retried", smtp, 3, ReportFinalizer.deliver(zip, summary, limit), Delivery.ATTACHED,
+                    message -> message.contains("Allure-Report.zip"));
+
+            smtp.failNext(10);
+            expect("retries are bounded", smtp, 3, ReportFinalizer.deliver(zip, summary, limit), Delivery.FAILED, null);
+            smtp.failNext(0);
+
+            smtp.rejectRecipients(true);
+            expect("rejected recipients are not retried", smtp, 1, ReportFinalizer.deliver(zip, summary, limit), Delivery.FAILED, null);
+        }
+
+        if (failures > 0) {
+            System.out.println("❌ " + failures + " check(s) failed");
+            System.exit(1);
+        }
+        System.out.println("✅ All delivery checks passed");
+    }
+
+    private static int lastConnections;
+    private static int lastMessages;
+
+    private static void expect(String name, LocalSmtpServer smtp, int connections, Delivery actual, Delivery expected,
+                               Predicate<String> message) {
+        int newConnections = smtp.connections() - lastConnections;
+        int newMessages = smtp.messages().size() - lastMessages;
+        lastConnections = smtp.connections();
+        lastMessages = smtp.messages().size();
+
+        boolean ok = actual == expected && newConnections == connections
+                && (message == null ? newMessages == 0 : newMessages == 1 && message.test(smtp.messages().get(lastMessages - 1)));
+        check(String.format("%s (%s, %d connection(s))", name, actual, newConnections), ok);
+    }
+
+    private static void check(String name, boolean ok) {
+        System.out.println((ok ? "✅ " : "❌ ") + name);
+        if (!ok) {
+            failures++;
+        }
+    }
+}
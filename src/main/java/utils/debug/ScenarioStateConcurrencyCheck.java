@@ -0,0 +1,100 @@
+package utils.debug;
+
+import utils.PaymentContext;
+import utils.PaymentContextManager;
+import utils.SessionManager;
+import utils.TestContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Offline check that scenario-scoped state does not bleed between threads.
+ * Runs many simulated scenarios at once, each writing unique payment/session values,
+ * and verifies every read returns the scenario's own values.
+ * <p>
+ * Usage: {@code java utils.debug.ScenarioStateConcurrencyCheck [threads] [scenariosPerThread]}
+ */
+public class ScenarioStateConcurrencyCheck {
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int scenariosPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+
+        AtomicInteger bleeds = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            final int worker = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < scenariosPerThread; i++) {
+                    runScenario(worker + "-" + i, bleeds);
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.currentTimeMillis();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        int total = threads * scenariosPerThread;
+        System.out.println("🧪 Simulated " + total + " scenarios on " + threads + " threads in "
+                + (System.currentTimeMillis() - begin) + " ms");
+
+        if (bleeds.get() > 0) {
+            System.err.println("❌ Detected " + bleeds.get() + " cross-scenario state bleed(s)");
+            System.exit(1);
+        }
+        System.out.println("✅ No state bleed detected");
+    }
+
+    private static void runScenario(String id, AtomicInteger bleeds) throws InterruptedException {
+        // Mirrors Hooks: a fresh TestContext per scenario, bound to the thread before steps run
+        TestContext context = new TestContext();
+        PaymentContextManager.bind(context.getPaymentContext());
+        SessionManager.resetSession();
+
+        PaymentContext payment = PaymentContextManager.current();
+        payment.setMethod("method-" + id);
+        payment.setAmount("amount-" + id);
+        payment.setReferenceNumber("ref-" + id);
+        payment.setTimestamp("time-" + id);
+        SessionManager.setOrderRef("order-" + id);
+
+        // Let other threads interleave between write and read
+        Thread.sleep(ThreadLocalRandom.current().nextInt(0, 2));
+
+        expect(id, "method", "method-" + id, PaymentContextManager.getPaymentMethod(), bleeds);
+        expect(id, "amount", "amount-" + id, PaymentContextManager.getAmount(), bleeds);
+        expect(id, "reference", "ref-" + id, PaymentContextManager.getReferenceNumber(), bleeds);
+        expect(id, "timestamp", "time-" + id, PaymentContextManager.getTimestamp(), bleeds);
+        expect(id, "orderRef", "order-" + id, SessionManager.getOrderRef(), bleeds);
+        expect(id, "testContext", "ref-" + id, context.getPaymentContext().getReferenceNumber(), bleeds);
+
+        PaymentContextManager.clear();
+        expect(id, "cleared", null, PaymentContextManager.getReferenceNumber(), bleeds);
+    }
+
+    private static void expect(String id, String field, String expected, String actual, AtomicInteger bleeds) {
+        boolean matches = expected == null ? actual == null : expected.equals(actual);
+        if (!matches) {
+            bleeds.incrementAndGet();
+            System.err.println("⚠️ Scenario " + id + " read " + field + "='" + actual + "', expected '" + expected + "'");
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package utils.debug;
+
+import helpers.HierarchySnapshot;
+import helpers.LocatorRegistry;
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Offline check and benchmark for {@link HierarchySnapshot} against a saved page source.
+ * <p>
+ * With the default dump ({@code pickup_view.xml}) it first verifies a set of known locators resolve
+ * to the expected number of nodes, then times parsing and per-locator evaluation for those locators
+ * and for every Android locator in config.properties.
+ * <p>
+ * Usage: {@code java utils.debug.SnapshotBenchmark [pageSource.xml] [iterations]}
+ */
+public class SnapshotBenchmark {
+
+    private static final String DEFAULT_DUMP = "pickup_view.xml";
+
+    public static void main(String[] args) throws Exception {
+        Path dump = Paths.get(args.length > 0 ? args[0] : DEFAULT_DUMP);
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        String xml = new String(Files.readAllBytes(dump), StandardCharsets.UTF_8);
+
+        HierarchySnapshot snapshot = HierarchySnapshot.parse(xml);
+        System.out.println("📸 Parsed " + dump + ": " + snapshot.size() + " nodes (" + snapshot.getPlatform() + ")");
+
+        Map<By, Integer> known = knownLocators();
+        if (dump.getFileName().toString().equals(DEFAULT_DUMP) && !verify(snapshot, known)) {
+            System.exit(1);
+        }
+
+        // Parse cost
+        for (int i = 0; i < iterations / 10; i++) {
+            HierarchySnapshot.parse(xml);
+        }
+        long parseStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            HierarchySnapshot.parse(xml);
+        }
+        System.out.printf("⏱️ Parse: %.1f µs per page source%n", (System.nanoTime() - parseStart) / 1000.0 / iterations);
+
+        System.out.println("⏱️ Known locators:");
+        for (By locator : known.keySet()) {
+            report(locator.toString(), snapshot, locator, iterations);
+        }
+
+        Map<String, By> configured = new TreeMap<>(LocatorRegistry.locators(snapshot.getPlatform()));
+        int unsupported = 0;
+        long totalNanos = 0;
+        int evaluated = 0;
+        for (Map.Entry<String, By> entry : configured.entrySet()) {
+            if (!HierarchySnapshot.supports(entry.getValue())) {
+                unsupported++;
+                continue;
+            }
+            totalNanos += time(snapshot, entry.getValue(), iterations);
+            evaluated++;
+        }
+        System.out.printf("⏱️ config.properties: %d locator(s) evaluated, %d unsupported, avg %.1f µs per locator%n",
+                evaluated, unsupported, evaluated == 0 ? 0 : totalNanos / 1000.0 / evaluated);
+    }
+
+    private static Map<By, Integer> knownLocators() {
+        Map<By, Integer> known = new LinkedHashMap<>();
+        known.put(By.id("action_bar_root"), 1);
+        known.put(By.id("android:id/content"), 1);
+        known.put(AppiumBy.accessibilityId("Add To Cart"), 1);
+        known.put(By.className("android.widget.FrameLayout"), -1);
+        known.put(By.xpath("//*[@text='Buy Now']"), 1);
+        known.put(By.xpath("//android.widget.TextView[contains(@text,'Simba')]"), -1);
+        known.put(AppiumBy.androidUIAutomator("new UiSelector().text(\"Add To Cart\")"), 1);
+        known.put(AppiumBy.androidUIAutomator("new UiSelector().textContains(\"Simba\")"), 3);
+        known.put(AppiumBy.androidUIAutomator("new UiSelector().textContains(\"Simba\").instance(1)"), 1);
+        known.put(AppiumBy.androidUIAutomator("new UiSelector().resourceId(\"android:id/content\").childSelector(new UiSelector().text(\"Buy Now\"))"), 1);
+        known.put(AppiumBy.androidUIAutomator("new UiScrollable(new UiSelector().scrollable(true)).scrollIntoView(new UiSelector().text(\"Description\"))"), 1);
+        known.put(AppiumBy.androidUIAutomator("new UiSelector().text(\"Not on this screen\")"), 0);
+        return known;
+    }
+
+    /**
+     * Expected counts of -1 mean "at least one".
+     */
+    private static boolean verify(HierarchySnapshot snapshot, Map<By, Integer> known) {
+        boolean ok = true;
+        for (Map.Entry<By, Integer> entry : known.entrySet()) {
+            int count = snapshot.findAll(entry.getKey()).size();
+            int expected = entry.getValue();
+            boolean matches = expected < 0 ? count > 0 : count == expected;
+            if (!matches) {
+                System.err.println("❌ " + entry.getKey() + ": found " + count + ", expected " + (expected < 0 ? ">0" : expected));
+                ok = false;
+            }
+        }
+        System.out.println(ok ? "✅ All known locators resolved as expected" : "❌ Snapshot evaluation mismatches found");
+        return ok;
+    }
+
+    private static void report(String label, HierarchySnapshot snapshot, By locator, int iterations) {
+        System.out.printf("  ➤ %-110s %6.1f µs%n", label, time(snapshot, locator, iterations) / 1000.0);
+    }
+
+    private static long time(HierarchySnapshot snapshot, By locator, int iterations) {
+        for (int i = 0; i < iterations / 10; i++) {
+            snapshot.findAll(locator);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            snapshot.findAll(locator);
+        }
+        return (System.nanoTime() - start) / iterations;
+    }
+}
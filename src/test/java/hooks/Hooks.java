@@ -1,15 +1,16 @@
 package hooks;
 
 import config.ConfigurationManager;
-import config.EmailConfigManager;
+import drivers.DevicePool;
 import drivers.DriverManager;
+import drivers.FlightRecorder;
+import drivers.SessionPool;
 import helpers.*;
 import io.appium.java_client.AppiumDriver;
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
 import io.qameta.allure.Allure;
-import org.openqa.selenium.OutputType;
 import org.openqa.selenium.WebDriverException;
 import org.slf4j.Logger;
 import pages.*;
@@ -26,13 +27,16 @@ import stepdefinitions.accountpage.AccountPageSteps;
 import stepdefinitions.payments.PaymentPageSteps;
 import utils.*;
 
-import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.HashSet;
 import java.util.Set;
 
+import static helpers.AppResetEngine.ResetResult;
+import static helpers.AppResetEngine.ResetTier;
+import static helpers.AppResetEngine.TargetState;
 import static helpers.AppStateDetector.AppState;
 
 public class Hooks {
@@ -40,8 +44,10 @@ public class Hooks {
     private NavigationHelper navigationHelper;
     private static final Logger logger = LoggerHelper.getLogger(Hooks.class);
     private final TestContext testContext;
-    private static String lastFeatureFile = null;
-    private static boolean reportSent = false;
+    // Each worker thread owns one device session, so the last feature it ran is tracked per thread
+    private static final ThreadLocal<String> lastFeatureFile = new ThreadLocal<>();
+    // Set when a scenario leaves the app in a state the next one on this thread must reset from
+    private static final ThreadLocal<Boolean> resetPending = ThreadLocal.withInitial(() -> false);
 
     public Hooks(TestContext context) {
         this.testContext = context;
@@ -49,21 +55,43 @@ public class Hooks {
 
     @Before
     public void beforeScenario(Scenario scenario) {
+        long setupStart = System.currentTimeMillis();
         testContext.setScenario(scenario);
+        PaymentContextManager.bind(testContext.getPaymentContext());
+        OrderCardIndex.bind(testContext.getOrderCardIndex());
+        FlightRecorder recorder = FlightRecorder.current();
+        if (recorder != null) {
+            recorder.clear();
+        }
         Set<String> tags = new HashSet<>(scenario.getSourceTagNames());
         String currentFeatureFile = extractFeatureFileName(scenario);
         boolean shouldResetApp = shouldReset(tags, currentFeatureFile);
 
         AppiumDriver driver = DriverManager.getDriver();
+        AppState verifiedState = null;
 
-        if (shouldResetApp || DriverUtils.isDriverInvalid(driver)) {
-            logger.info("🔄 Resetting session before scenario: {}", scenario.getName());
+        if (AppResetEngine.isEnabled() && (shouldResetApp || resetPending.get() || DriverUtils.isDriverInvalid(driver))) {
+            logger.info("🔄 Resetting app before scenario: {}", scenario.getName());
             SessionManager.resetSession();
-            DriverManager.quitDriver();
-            initializeDriverWithRetry();
+            TargetState target = AppResetEngine.targetStateFor(tags);
+            ResetTier minimum = DriverUtils.isDriverInvalid(driver) ? ResetTier.NEW_SESSION : AppResetEngine.minimumTierFor(target);
+            ResetResult reset = AppResetEngine.reset(target, minimum, this::initializeDriverWithRetry);
+            resetPending.set(false);
             driver = DriverManager.getDriver();
             testContext.setDriver(driver);
-            lastFeatureFile = currentFeatureFile;
+            lastFeatureFile.set(currentFeatureFile);
+            if (reset.getTier() == ResetTier.NAVIGATE_HOME) {
+                verifiedState = reset.getState();
+            } else {
+                handleStartupPopups(driver);
+            }
+            buildNavigationHelper(driver);
+        } else if (shouldResetApp || DriverUtils.isDriverInvalid(driver)) {
+            logger.info("🔄 Resetting session before scenario: {}", scenario.getName());
+            SessionManager.resetSession();
+            driver = SessionPool.freshSession(this::initializeDriverWithRetry);
+            testContext.setDriver(driver);
+            lastFeatureFile.set(currentFeatureFile);
             handleStartupPopups(driver);
             buildNavigationHelper(driver);
         } else {
@@ -84,23 +112,33 @@ public class Hooks {
             throw new IllegalStateException(errorMsg);
         }
 
-        AppState currentState = AppStateDetector.detectAppState();
+        AppState currentState = verifiedState != null ? verifiedState : AppStateDetector.detectAppState();
 
+        // Keyed by starting state: logging in from the login screen and finding the session already there cost very different amounts
+        long loginStart = System.currentTimeMillis();
         if (tags.contains("@guestSession")) {
             handleGuestSession(currentState);
+            PerfBaseline.setup("login.guest from " + currentState, System.currentTimeMillis() - loginStart, true);
         } else if (tags.contains("@otpSession")) {
             handleOtpSession(currentState);
+            PerfBaseline.setup("login.otp from " + currentState, System.currentTimeMillis() - loginStart, true);
         } else if (tags.contains("@notification") || tags.contains("@resetSession") || tags.contains("@freshLaunch")) {
             logger.info("🌱 Fresh launch or notification-only scenario — skipping login.");
         } else {
             logger.warn("❓ No session tag found. Defaulting to OTP session.");
             handleOtpSession(currentState);
+            PerfBaseline.setup("login.otp from " + currentState, System.currentTimeMillis() - loginStart, true);
         }
 
         if (tags.contains("@notifications")) {
             logger.info("🔔 Handling notification popup...");
             new PopupHandler(driver).handleDiscountPopupIfPresent();
         }
+
+        long setupMs = System.currentTimeMillis() - setupStart;
+        SessionPool.recordSetup(setupMs);
+        PerfBaseline.setup("scenario.setup", setupMs, true);
+        logger.info("⏱️ Scenario setup took {} ms", setupMs);
     }
 
     @After
@@ -108,13 +146,30 @@ public class Hooks {
         AppiumDriver driver = DriverManager.getDriver();
 
         try {
-            if (driver != null && driver.getSessionId() != null) {
-                driver.getPageSource(); // refresh layout
-                byte[] screenshot = driver.getScreenshotAs(OutputType.BYTES);
+            // Passing scenarios leave no artifacts unless record-passes mode is on
+            boolean keepArtifacts = scenario.isFailed() || FlightRecorder.recordsPasses();
+            if (keepArtifacts && driver != null && driver.getSessionId() != null) {
+                // Only the driver round trips happen here; writing and attaching run in the background
+                long captureStart = System.currentTimeMillis();
                 String title = scenario.isFailed() ? "❌ Failure Screenshot" : "✅ Success Screenshot";
-                scenario.attach(screenshot, "image/png", title);
-                Allure.addAttachment(title, new ByteArrayInputStream(screenshot));
-                logger.info("📸 Screenshot attached to Allure report.");
+                byte[] screenshot = ArtifactPipeline.screenshot(driver);
+                if (screenshot != null) {
+                    ArtifactPipeline.artifact(title, screenshot, ArtifactPipeline.PNG).toAllure().submit();
+                }
+                if (scenario.isFailed()) {
+                    ArtifactPipeline.artifact("❌ Failure Page Source", driver.getPageSource().getBytes(StandardCharsets.UTF_8), ArtifactPipeline.XML)
+                            .toAllure().submit();
+                }
+                logger.info("📸 Scenario artifacts captured in {} ms", System.currentTimeMillis() - captureStart);
+            }
+
+            FlightRecorder recorder = FlightRecorder.current();
+            if (recorder != null) {
+                if (keepArtifacts) {
+                    recorder.dump(scenario.getName(), scenario.isFailed());
+                } else {
+                    recorder.clear();
+                }
             }
         } catch (Exception e) {
             logger.error("❌ Error capturing screenshot: {}", e.getMessage(), e);
@@ -126,35 +181,27 @@ public class Hooks {
                 tag.equals("@logout") || tag.equals("@selfcollect") ||
                         tag.equals("@delivery") || tag.equals("@order"));
 
-        if (shouldCleanup) {
+        if (shouldCleanup && AppResetEngine.isEnabled() && !DriverUtils.isDriverInvalid(driver)) {
+            logger.info("🧹 Scheduling in-session reset before the next scenario (after: {})", scenario.getName());
+            resetPending.set(true);
+        } else if (shouldCleanup) {
             logger.info("🧹 Tearing down session after scenario: {}", scenario.getName());
-            DriverManager.quitDriver();
-            testContext.tearDown();
+            SessionPool.recycle();
+            testContext.releaseDriver();
             logger.info("✅ Session ended.");
         }
 
-        if (!reportSent) {
-            EmailConfigManager.loadProperties();
-            if (Boolean.parseBoolean(EmailConfigManager.get("email.enabled").trim())) {
-                synchronized (Hooks.class) {
-                    if (!reportSent) {
-                        try {
-                            logger.info("📦 Zipping and emailing Allure report...");
-                            ReportZipper.zipFolder("allure-report", "allure-report.zip");
-                            EmailReportSender.sendReportEmail("allure-report.zip");
-                            reportSent = true;
-                            Allure.addAttachment("✅ Report Sent", "Allure report emailed.");
-                        } catch (Exception e) {
-                            logger.error("❌ Failed to email report: {}", e.getMessage(), e);
-                            Allure.addAttachment("Email Error", e.toString());
-                        }
-                    }
-                }
-            } else {
-                Allure.addAttachment("Email Skipped", "email.enabled=false");
-                logger.info("🚫 Email sending is disabled via config");
-            }
+        if (DriverUtils.isDriverInvalid(DriverManager.getDriver()) && !SessionPool.hasPending()) {
+            DevicePool.release();
         }
+
+        PaymentContextManager.clear();
+        OrderCardIndex.clear();
+        Sleeps.scenarioFinished(scenario.getName());
+        ReportFinalizer.scenarioFinished(scenario.getName(), scenario.getStatus().name());
+
+        // Last, so the background writes overlap the teardown above
+        ArtifactPipeline.awaitScenario(scenario.getName());
     }
 
     private void handleGuestSession(AppState state) {
@@ -243,9 +290,7 @@ public class Hooks {
                 }
             } catch (WebDriverException e) {
                 logger.warn("⚠️ Driver init failed. Retrying...");
-                try {
-                    Thread.sleep(1500);
-                } catch (InterruptedException ignored) {}
+                Sleeps.pause(1500, "driver init retry backoff");
             }
         }
         String msg = "❌ Failed to initialize Appium driver after retries.";
@@ -270,7 +315,7 @@ public class Hooks {
                 tags.contains("@delivery") || tags.contains("@order") ||
                 tags.contains("@logout") ||
                 currentFeatureFile.contains("login") ||
-                !currentFeatureFile.equals(lastFeatureFile);
+                !currentFeatureFile.equals(lastFeatureFile.get());
     }
 
     private String extractFeatureFileName(Scenario scenario) {
@@ -0,0 +1,74 @@
+package hooks;
+
+import drivers.CommandTracer;
+import helpers.JfrEvents;
+import helpers.PerfBaseline;
+import helpers.ScenarioTrace;
+import helpers.StepContext;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+/**
+ * Keeps {@link StepContext}, the {@link CommandTracer}'s step boundaries, the {@link ScenarioTrace} timeline and
+ * the {@link JfrEvents} scenario/step events in step with the scenario, hook and Gherkin step running on each thread,
+ * and records scenario and step durations for the {@link PerfBaseline}.
+ * <p>
+ * Concurrent listeners receive events on the thread executing the scenario, so the thread-locals
+ * line up with the parallel device workers. Hook steps are left out of the step context (they show as
+ * {@link StepContext#NO_STEP}) but get their own timeline span.
+ */
+public class StepEventsPlugin implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, event -> {
+            StepContext.scenarioStarted(event.getTestCase().getName());
+            CommandTracer.scenarioStarted(event.getTestCase().getName());
+            ScenarioTrace.scenarioStarted(event.getTestCase().getName());
+            JfrEvents.scenarioStarted(event.getTestCase().getName());
+        });
+        publisher.registerHandlerFor(TestStepStarted.class, event -> {
+            if (event.getTestStep() instanceof PickleStepTestStep) {
+                PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+                String text = step.getStep().getKeyword() + step.getStep().getText();
+                StepContext.stepStarted(text);
+                CommandTracer.stepStarted(text);
+                ScenarioTrace.stepStarted(text);
+                JfrEvents.stepStarted(text);
+            } else if (event.getTestStep() instanceof HookTestStep) {
+                ScenarioTrace.hookStarted(event.getTestStep().getCodeLocation());
+            }
+        });
+        publisher.registerHandlerFor(TestStepFinished.class, event -> {
+            if (event.getTestStep() instanceof PickleStepTestStep) {
+                PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+                record(PerfBaseline.STEP, step.getStep().getKeyword() + step.getStep().getText(), event.getResult());
+                JfrEvents.stepFinished(event.getResult().getStatus().name());
+                ScenarioTrace.stepFinished();
+                CommandTracer.stepFinished();
+                StepContext.stepFinished();
+            } else if (event.getTestStep() instanceof HookTestStep) {
+                ScenarioTrace.hookFinished();
+            }
+        });
+        publisher.registerHandlerFor(TestCaseFinished.class, event -> {
+            record(PerfBaseline.SCENARIO, event.getTestCase().getName(), event.getResult());
+            JfrEvents.scenarioFinished(event.getResult().getStatus().name());
+            ScenarioTrace.scenarioFinished(event.getResult().getStatus().name());
+            CommandTracer.scenarioFinished();
+            StepContext.scenarioFinished();
+        });
+    }
+
+    private static void record(String kind, String name, Result result) {
+        PerfBaseline.record(kind, name, result.getDuration().toMillis(), result.getStatus() == Status.PASSED);
+    }
+}
@@ -0,0 +1,138 @@
+package runners;
+
+import config.ConfigurationManager;
+import drivers.DevicePool;
+import helpers.AppResetEngine;
+import helpers.LoggerHelper;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static helpers.AppResetEngine.TargetState;
+
+/**
+ * Reorders the scenarios handed to TestNG so that scenarios needing the same session state run back to back.
+ * <p>
+ * Scenarios are grouped fresh-launch first, then guest, then OTP (the order in which the app naturally
+ * moves after a data reset). Within a group features stay contiguous and keep their first-seen order,
+ * and scenarios that end the session ({@code @logout}) run last within their feature, so the feature is
+ * not split. Features tagged {@code @ordered} are moved as one block in their original order.
+ * <p>
+ * The plan assumes the scenarios run one after another, which only holds for a single-device pool. With
+ * several devices the parallel data provider hands each scenario to whichever device is free, so every
+ * device sees an interleaved slice of the plan: groups still tend to run together, but the per-device
+ * transition count is no longer the one logged here.
+ */
+public class ScenarioScheduler {
+
+    private static final Logger logger = LoggerHelper.getLogger(ScenarioScheduler.class);
+
+    private static final String ORDERED_TAG = "@ordered";
+    private static final String SESSION_ENDING_TAG = "@logout";
+
+    private ScenarioScheduler() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigurationManager.getProperty("scheduler.enabled", "true"));
+    }
+
+    public static Object[][] schedule(Object[][] scenarios) {
+        List<Entry> entries = new ArrayList<>();
+        Map<String, Integer> featureIndex = new HashMap<>();
+        Map<String, Entry> orderedFeatureHeads = new HashMap<>();
+
+        for (int i = 0; i < scenarios.length; i++) {
+            Pickle pickle = ((PickleWrapper) scenarios[i][0]).getPickle();
+            String feature = pickle.getUri().toString();
+            featureIndex.putIfAbsent(feature, featureIndex.size());
+
+            Entry entry = new Entry(scenarios[i], i, featureIndex.get(feature),
+                    AppResetEngine.targetStateFor(pickle.getTags()),
+                    pickle.getTags().contains(SESSION_ENDING_TAG));
+
+            // An @ordered feature sorts as a single block keyed by its first scenario
+            if (pickle.getTags().contains(ORDERED_TAG)) {
+                Entry head = orderedFeatureHeads.computeIfAbsent(feature, f -> entry);
+                entry.blockHead = head;
+            }
+            entries.add(entry);
+        }
+
+        int naive = countTransitions(entries);
+
+        List<Entry> planned = new ArrayList<>(entries);
+        planned.sort(Comparator
+                .comparingInt((Entry e) -> groupRank(e.head().state))
+                .thenComparingInt(e -> e.head().featureIndex)
+                .thenComparingInt(e -> e.blockHead == null && e.endsSession ? 1 : 0)
+                .thenComparingInt(e -> e.originalIndex));
+
+        int scheduled = countTransitions(planned);
+        logger.info("🗓️ Scenario schedule: {} scenario(s), {} session transition(s) planned vs {} in discovery order",
+                planned.size(), scheduled, naive);
+        if (DevicePool.size() > 1) {
+            logger.warn("🗓️ The schedule assumes serial execution; with {} devices scenarios go to whichever device is free, "
+                    + "so session transitions per device will be higher than planned", DevicePool.size());
+        }
+
+        Object[][] result = new Object[planned.size()][];
+        for (int i = 0; i < planned.size(); i++) {
+            result[i] = planned.get(i).row;
+        }
+        return result;
+    }
+
+    /**
+     * Counts the points where the next scenario needs a different session than the previous one left behind.
+     */
+    static int countTransitions(List<Entry> order) {
+        int transitions = 0;
+        Entry previous = null;
+        for (Entry entry : order) {
+            if (previous != null && (previous.state != entry.state || previous.endsSession)) {
+                transitions++;
+            }
+            previous = entry;
+        }
+        return transitions;
+    }
+
+    private static int groupRank(TargetState state) {
+        switch (state) {
+            case FRESH_LAUNCH:
+                return 0;
+            case GUEST:
+                return 1;
+            default:
+                return 2;
+        }
+    }
+
+    static final class Entry {
+        final Object[] row;
+        final int originalIndex;
+        final int featureIndex;
+        final TargetState state;
+        final boolean endsSession;
+        Entry blockHead;
+
+        Entry(Object[] row, int originalIndex, int featureIndex, TargetState state, boolean endsSession) {
+            this.row = row;
+            this.originalIndex = originalIndex;
+            this.featureIndex = featureIndex;
+            this.state = state;
+            this.endsSession = endsSession;
+        }
+
+        Entry head() {
+            return blockHead != null ? blockHead : this;
+        }
+    }
+}
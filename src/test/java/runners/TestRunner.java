@@ -1,8 +1,23 @@
 package runners;
 
+import drivers.CommandTracer;
+import drivers.DevicePool;
+import drivers.SessionPool;
+import drivers.SessionTimeouts;
+import helpers.AdaptiveWaits;
+import helpers.AppResetEngine;
+import helpers.GestureEngine;
+import helpers.PerfBaseline;
+import helpers.ReportFinalizer;
+import helpers.ScenarioTrace;
+import helpers.Sleeps;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import org.testng.ITestContext;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
+import utils.ArtifactPipeline;
 
 @CucumberOptions(
         features = "src/test/resources/features",
@@ -17,16 +32,50 @@ import org.testng.annotations.DataProvider;
                 "html:target/cucumber-reports/cucumber.html",
                 "json:target/cucumber-reports/cucumber.json",
                 "junit:target/cucumber-reports/cucumber.xml",
-                "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm"
+                "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm",
+                "hooks.StepEventsPlugin"
         },
         tags = "@notification or @guestSession or @otpSession or @cart or @logout or @orderlisting or @selfcollect or @reorder or @paynow or @bankTransferViaOrderListing or @bankTransfer or @productSearch or @orderTracking",  // @notification or @guestSession or @otpSession or @cart or @switchDelivery or @logout or @orderlisting or @order or @selfcollect or @delivery or @reorder or @paynow or @bankTransferViaOrderListing or @bankTransfer or @productSearch or @orderTracking
         monochrome = true
 )
 public class TestRunner extends AbstractTestNGCucumberTests {
 
+        /**
+         * One worker thread per pooled device; a single-device pool keeps the run serial.
+         */
+        @BeforeClass(alwaysRun = true)
+        public void configureDevicePool(ITestContext context) {
+                context.getCurrentXmlTest().getSuite().setDataProviderThreadCount(DevicePool.size());
+        }
+
         @Override
-        @DataProvider(parallel = false)
+        @DataProvider(parallel = true)
         public Object[][] scenarios() {
-                return super.scenarios();
+                Object[][] scenarios = super.scenarios();
+                return ScenarioScheduler.isEnabled() ? ScenarioScheduler.schedule(scenarios) : scenarios;
+        }
+
+        @AfterClass(alwaysRun = true)
+        public void reportPools() {
+                ArtifactPipeline.shutdown();
+                // Every worker is done and every artifact written: report generation and email overlap the stats below
+                ReportFinalizer.start();
+                SessionPool.shutdown();
+                AppResetEngine.logStats();
+                SessionTimeouts.logStats();
+                AdaptiveWaits.saveAndReport();
+                GestureEngine.logStats();
+                CommandTracer.report();
+                ScenarioTrace.finish();
+                DevicePool.logStats();
+                Sleeps.logStats();
+                PerfBaseline.saveAndReport();
+                ReportFinalizer.await();
+                // Last, so a blown sleep budget or a gated regression fails the run without hiding the other reports
+                try {
+                        PerfBaseline.enforceGate();
+                } finally {
+                        Sleeps.enforceBudget();
+                }
         }
-}
\ No newline at end of file
+}